@@ -0,0 +1,102 @@
+package benchmarks;
+
+import algorithms.ParallelBeamSearch;
+import algorithms.SearchAlgorithms;
+import algorithms.SearchWorkspace;
+import model.CsrGraph;
+import model.Graph;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Beam search across a large weighted grid, corner to corner, with the Manhattan distance to
+// the goal as heuristic, for a range of beam widths. For the serial workspace beamSearch it
+// reports the largest level (never more than the width), the levels searched and the bytes
+// allocated per level after warm-up, which depend on the width but not on the graph size or
+// on how far the search has gone. ParallelBeamSearch runs the same queries on all cores.
+// Usage: java benchmarks.BeamSearchBenchmark [gridSide] [threads]
+public class BeamSearchBenchmark {
+    private static final int[] WIDTHS = {1, 4, 16, 64, 256, 1024, 4096};
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        Graph graph = GraphGenerators.grid(side, 9, 42);
+        int goal = side * side - 1;
+        Map<Integer, Integer> heuristics = new HashMap<>();
+        for (int node = 0; node <= goal; node++) {
+            heuristics.put(node, (side - 1 - node / side) + (side - 1 - node % side));
+        }
+        CsrGraph csr = CsrGraph.from(graph, heuristics);
+        System.out.printf("Grid %dx%d (%d nodes), %d threads for the parallel search%n", side, side, csr.nodeCount(), threads);
+        System.out.printf("%6s %10s %8s %14s %12s %12s %12s%n",
+                "width", "maxLevel", "levels", "bytes/level", "serial ms", "parallel ms", "path cost");
+
+        SearchAlgorithms search = new SearchAlgorithms();
+        SearchWorkspace workspace = new SearchWorkspace();
+        int[] maxLevel = new int[1];
+        int[] pathLength = new int[1];
+        search.setListener(stats -> {
+            maxLevel[0] = stats.getMaxFrontier();
+            pathLength[0] = stats.getPathLength();
+        });
+        ParallelBeamSearch parallel = new ParallelBeamSearch(threads);
+        for (int width : WIDTHS) {
+            search.setBeamWidth(width);
+            parallel.setBeamWidth(width);
+            search.beamSearch(csr, 0, goal, workspace); // Warm-up, which also grows the workspace
+            parallel.beamSearch(csr, 0, goal);
+
+            long allocatedBefore = allocatedBytes();
+            long begin = System.nanoTime();
+            List<Integer> path = null;
+            for (int run = 0; run < RUNS; run++) {
+                path = search.beamSearch(csr, 0, goal, workspace);
+            }
+            double serialMillis = (System.nanoTime() - begin) / 1e6 / RUNS;
+            long allocated = (allocatedBytes() - allocatedBefore) / RUNS;
+            int levels = Math.max(1, pathLength[0] - 1);
+
+            begin = System.nanoTime();
+            for (int run = 0; run < RUNS; run++) {
+                parallel.beamSearch(csr, 0, goal);
+            }
+            double parallelMillis = (System.nanoTime() - begin) / 1e6 / RUNS;
+
+            System.out.printf("%6d %10d %8d %14.1f %12.2f %12.2f %12d%n", width, maxLevel[0], levels,
+                    allocated < 0 ? Double.NaN : (double) allocated / levels, serialMillis, parallelMillis, cost(csr, path));
+        }
+        parallel.shutdown();
+    }
+
+    // Total weight along the path, or -1 for no path
+    private static long cost(CsrGraph graph, List<Integer> path) {
+        if (path.isEmpty()) {
+            return -1;
+        }
+        long cost = 0;
+        for (int i = 0; i + 1 < path.size(); i++) {
+            int node = path.get(i);
+            for (int e = graph.firstEdge(node); e < graph.endEdge(node); e++) {
+                if (graph.target(e) == path.get(i + 1)) {
+                    cost += graph.weight(e);
+                    break;
+                }
+            }
+        }
+        return cost;
+    }
+
+    // Bytes allocated by this thread so far, or -1 if the JVM cannot tell
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,41 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+// Timing helpers for the benchmark programs that run outside JMH
+final class BenchmarkSupport {
+    private static volatile Object sink; // Keeps the JIT from dropping the measured work
+
+    private BenchmarkSupport() {
+    }
+
+    // Median time of one call in milliseconds, over measuredRounds calls after warmupRounds untimed ones
+    static double medianMillis(int warmupRounds, int measuredRounds, Supplier<?> call) {
+        for (int i = 0; i < warmupRounds; i++) {
+            sink = call.get();
+        }
+        double[] millis = new double[measuredRounds];
+        for (int i = 0; i < measuredRounds; i++) {
+            long begin = System.nanoTime();
+            sink = call.get();
+            millis[i] = (System.nanoTime() - begin) / 1e6;
+        }
+        Arrays.sort(millis);
+        return millis[measuredRounds / 2];
+    }
+
+    // Thread counts for a scaling run: 1, 2, 4 ... up to maxThreads, and maxThreads itself
+    // last when it is not a power of two
+    static int[] threadCounts(int maxThreads) {
+        int max = Math.max(1, maxThreads);
+        int powers = 32 - Integer.numberOfLeadingZeros(max); // Powers of two up to max
+        boolean powerOfTwo = Integer.bitCount(max) == 1;
+        int[] counts = new int[powerOfTwo ? powers : powers + 1];
+        for (int i = 0; i < powers; i++) {
+            counts[i] = 1 << i;
+        }
+        counts[counts.length - 1] = max;
+        return counts;
+    }
+}
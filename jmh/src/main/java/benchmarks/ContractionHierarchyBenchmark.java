@@ -0,0 +1,74 @@
+package benchmarks;
+
+import algorithms.ContractionHierarchy;
+import algorithms.SearchAlgorithms;
+import model.CsrGraph;
+import model.Graph;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+// Preprocessing time, index size and query latency of a ContractionHierarchy on a weighted
+// grid, against A* with the indexed heap on the same random queries. The index is written to
+// a temporary file and read back, so the load time is reported too.
+// Usage: java benchmarks.ContractionHierarchyBenchmark [gridSide] [queries]
+public class ContractionHierarchyBenchmark {
+    public static void main(String[] args) throws IOException {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+        Graph graph = GraphGenerators.grid(side, 9, 42);
+        CsrGraph csr = CsrGraph.from(graph);
+        long begin = System.nanoTime();
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(csr);
+        double buildSeconds = (System.nanoTime() - begin) / 1e9;
+        System.out.printf("Grid %dx%d: %d edges, hierarchy of %d edges (%d shortcuts) built in %.2f s%n",
+                side, side, csr.edgeCount(), hierarchy.edgeCount(), hierarchy.shortcutCount(), buildSeconds);
+
+        Path file = Files.createTempFile("hierarchy", ".chix");
+        try {
+            hierarchy.write(file);
+            begin = System.nanoTime();
+            hierarchy = ContractionHierarchy.read(file);
+            System.out.printf("Index file %d KB, read in %.1f ms%n", Files.size(file) / 1024, (System.nanoTime() - begin) / 1e6);
+        } finally {
+            Files.delete(file);
+        }
+
+        SearchAlgorithms search = new SearchAlgorithms();
+        search.setIndexedHeap(true);
+        ContractionHierarchy.Query query = hierarchy.newQuery();
+        Random random = new Random(1);
+        int nodes = csr.nodeCount();
+        for (int i = 0; i < queries; i++) {
+            search.contractionHierarchySearch(query, random.nextInt(nodes), random.nextInt(nodes)); // Warm-up
+        }
+        double[] micros = new double[queries];
+        for (int i = 0; i < queries; i++) {
+            int start = random.nextInt(nodes);
+            int goal = random.nextInt(nodes);
+            long queryBegin = System.nanoTime();
+            search.contractionHierarchySearch(query, start, goal);
+            micros[i] = (System.nanoTime() - queryBegin) / 1e3;
+        }
+        Arrays.sort(micros);
+        System.out.printf("contractionHierarchySearch  median %8.1f us  p99 %8.1f us%n",
+                micros[queries / 2], micros[queries * 99 / 100]);
+
+        int aStarQueries = Math.max(1, Math.min(queries, 100));
+        double[] aStarMicros = new double[aStarQueries];
+        for (int i = 0; i < aStarQueries; i++) {
+            int start = random.nextInt(nodes);
+            int goal = random.nextInt(nodes);
+            long queryBegin = System.nanoTime();
+            search.aStarAlgorithm(csr, start, goal, Integer.MAX_VALUE);
+            aStarMicros[i] = (System.nanoTime() - queryBegin) / 1e3;
+        }
+        Arrays.sort(aStarMicros);
+        System.out.printf("aStarAlgorithm[csr+indexed heap]  median %8.1f us  p99 %8.1f us%n",
+                aStarMicros[aStarQueries / 2], aStarMicros[aStarQueries * 99 / 100]);
+    }
+}
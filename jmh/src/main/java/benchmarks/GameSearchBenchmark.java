@@ -0,0 +1,62 @@
+package benchmarks;
+
+import cia2.AlphaBetaSearcher;
+import cia2.ConnectFour;
+import cia2.GameState;
+
+// Nodes and time of AlphaBetaSearcher (iterative deepening, transposition table, move ordering)
+// against plain minimax at the same depth, on a few Connect Four positions. The searcher's node
+// count covers all of its iterations.
+// Usage: java benchmarks.GameSearchBenchmark [maxDepth]
+public class GameSearchBenchmark {
+    private static final String[] POSITIONS = {
+            "", // Empty board
+            "4453", // Opening
+            "44444326555", // Middle game
+            "4444443332222375", // Crowded center
+    };
+
+    private static long minimaxNodes;
+
+    public static void main(String[] args) {
+        int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        System.out.printf("%-18s %5s %14s %10s %12s %10s %10s %8s%n",
+                "position", "depth", "minimax nodes", "ms", "search nodes", "ms", "reduction", "value");
+        for (String position : POSITIONS) {
+            for (int depth = 2; depth <= maxDepth; depth += 2) {
+                ConnectFour game = ConnectFour.of(position);
+                minimaxNodes = 0;
+                long begin = System.nanoTime();
+                int minimaxValue = minimax(game, depth);
+                double minimaxMillis = (System.nanoTime() - begin) / 1e6;
+
+                AlphaBetaSearcher searcher = new AlphaBetaSearcher(20);
+                begin = System.nanoTime();
+                AlphaBetaSearcher.Result result = searcher.search(game, depth);
+                double searchMillis = (System.nanoTime() - begin) / 1e6;
+
+                System.out.printf("%-18s %5d %14d %10.1f %12d %10.1f %9.0fx %8s%n",
+                        position.isEmpty() ? "(empty)" : position, depth, minimaxNodes, minimaxMillis,
+                        result.getNodes(), searchMillis, (double) minimaxNodes / result.getNodes(),
+                        result.getValue() == minimaxValue ? "same" : minimaxValue + "/" + result.getValue());
+            }
+        }
+    }
+
+    // Plain negamax without pruning
+    private static int minimax(GameState state, int depth) {
+        minimaxNodes++;
+        if (depth == 0 || state.isTerminal()) {
+            return state.evaluate();
+        }
+        int[] moves = new int[state.maxMoves()];
+        int count = state.generateMoves(moves);
+        int best = -AlphaBetaSearcher.INFINITY;
+        for (int i = 0; i < count; i++) {
+            state.makeMove(moves[i]);
+            best = Math.max(best, -minimax(state, depth - 1));
+            state.undoMove(moves[i]);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,69 @@
+package benchmarks;
+
+import algorithms.IncrementalPlanner;
+import algorithms.SearchAlgorithms;
+import model.Graph;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Re-planning cost of an IncrementalPlanner on a weighted grid that gets a stream of single
+// edge weight changes, against running A* with the indexed heap from scratch after each one.
+// The planner goes from one corner to the opposite one; every update changes the weight of a
+// random edge in both directions.
+// Usage: java benchmarks.IncrementalPlannerBenchmark [gridSide] [updates]
+public class IncrementalPlannerBenchmark {
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int updates = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+
+        Graph graph = GraphGenerators.grid(side, 9, 42);
+        int nodes = side * side;
+        int start = 0;
+        int goal = nodes - 1;
+        SearchAlgorithms search = new SearchAlgorithms();
+        search.setIndexedHeap(true);
+        long[] expanded = new long[1];
+        search.setListener(stats -> expanded[0] = stats.getExpanded());
+
+        IncrementalPlanner planner = new IncrementalPlanner(graph, start, goal);
+        long begin = System.nanoTime();
+        search.incrementalAStar(planner);
+        System.out.printf("Grid %dx%d: first plan %.1f ms, %d expansions%n",
+                side, side, (System.nanoTime() - begin) / 1e6, expanded[0]);
+
+        Random random = new Random(1);
+        double[] replanMicros = new double[updates];
+        double[] aStarMicros = new double[updates];
+        long replanExpanded = 0;
+        long aStarExpanded = 0;
+        for (int i = 0; i < updates; i++) {
+            int node = random.nextInt(nodes);
+            List<Integer> neighbors = graph.getNeighbors(node);
+            int neighbor = neighbors.get(random.nextInt(neighbors.size()));
+            int weight = 1 + random.nextInt(9);
+            graph.setEdgeWeight(node, neighbor, weight);
+            graph.setEdgeWeight(neighbor, node, weight);
+
+            begin = System.nanoTime();
+            search.incrementalAStar(planner);
+            replanMicros[i] = (System.nanoTime() - begin) / 1e3;
+            replanExpanded += expanded[0];
+
+            begin = System.nanoTime();
+            search.aStarAlgorithm(graph, start, goal, graph.getHeuristics(), Integer.MAX_VALUE);
+            aStarMicros[i] = (System.nanoTime() - begin) / 1e3;
+            aStarExpanded += expanded[0];
+        }
+        planner.close();
+        report("incrementalAStar", replanMicros, replanExpanded);
+        report("aStarAlgorithm[indexed heap]", aStarMicros, aStarExpanded);
+    }
+
+    private static void report(String name, double[] micros, long expanded) {
+        Arrays.sort(micros);
+        System.out.printf("%-30s median %8.1f us  p99 %8.1f us  %8.1f expansions/update%n",
+                name, micros[micros.length / 2], micros[micros.length * 99 / 100], (double) expanded / micros.length);
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+
+import algorithms.SearchAlgorithms;
+import algorithms.SearchWorkspace;
+import model.CsrGraph;
+import model.Graph;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// The memory-bounded searches on a weighted grid, corner to corner, with the Manhattan distance
+// to the goal as heuristic. A* sets the baseline: the search nodes it creates, all of which it
+// keeps until it returns, and its expansions. SMA* then runs with node budgets from that many
+// nodes down to a fraction of them, showing how a tighter memory ceiling turns into
+// re-expansions and time; well below the nodes A* needs it mostly re-expands. IDA* keeps only
+// the current path but searches every path separately, so it only runs on grids up to idaSide.
+// Usage: java benchmarks.MemoryBoundedSearchBenchmark [gridSide] [idaSide]
+public class MemoryBoundedSearchBenchmark {
+    private static final double[] BUDGET_FACTORS = {1, 0.5, 0.25, 0.125};
+
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int idaSide = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+
+        Graph graph = GraphGenerators.grid(side, 9, 42);
+        int goal = side * side - 1;
+        Map<Integer, Integer> heuristics = new HashMap<>();
+        for (int node = 0; node <= goal; node++) {
+            heuristics.put(node, (side - 1 - node / side) + (side - 1 - node % side));
+        }
+        CsrGraph csr = CsrGraph.from(graph, heuristics);
+
+        SearchAlgorithms search = new SearchAlgorithms();
+        long[] expanded = new long[1];
+        long[] generated = new long[1];
+        int[] maxFrontier = new int[1];
+        search.setListener(stats -> {
+            expanded[0] = stats.getExpanded();
+            generated[0] = stats.getGenerated();
+            maxFrontier[0] = stats.getMaxFrontier();
+        });
+        System.out.printf("Grid %dx%d (%d nodes)%n", side, side, csr.nodeCount());
+        System.out.printf("%-24s %10s %12s %10s %10s%n", "search", "budget", "expanded", "ms", "path");
+
+        long begin = System.nanoTime();
+        List<Integer> path = search.aStarAlgorithm(csr, 0, goal, Integer.MAX_VALUE);
+        long aStarNodes = generated[0] + 1; // The start node is not counted as generated
+        report("aStarAlgorithm[csr]", aStarNodes, expanded[0], begin, path);
+
+        for (double factor : BUDGET_FACTORS) {
+            int budget = (int) Math.max(2, aStarNodes * factor);
+            search.setNodeBudget(budget);
+            begin = System.nanoTime();
+            path = search.smaStar(csr, 0, goal);
+            report("smaStar[csr]", budget, expanded[0], begin, path);
+        }
+
+        if (side <= idaSide) {
+            begin = System.nanoTime();
+            path = search.idaStar(csr, 0, goal, Integer.MAX_VALUE, new SearchWorkspace());
+            report("idaStar[csr+workspace]", maxFrontier[0], expanded[0], begin, path);
+        } else {
+            System.out.printf("idaStar skipped, grid side above %d%n", idaSide);
+        }
+    }
+
+    // The budget column is the nodes created for A* and the deepest path for IDA*
+    private static void report(String name, long budget, long expanded, long beginNanos, List<Integer> path) {
+        System.out.printf("%-24s %10d %12d %10.1f %10s%n", name, budget, expanded,
+                (System.nanoTime() - beginNanos) / 1e6, path.isEmpty() ? "none" : path.size() + " nodes");
+    }
+}
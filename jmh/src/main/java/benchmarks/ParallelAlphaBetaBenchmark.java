@@ -0,0 +1,56 @@
+package benchmarks;
+
+import cia2.ParallelAlphaBeta;
+
+import java.util.Random;
+
+// Speedup of ParallelAlphaBeta over serial alpha-beta on random synthetic trees, for 1, 2, 4 ...
+// threads up to the number of processors. Random leaves give poor move ordering, so the trees
+// keep plenty of work to share. Times are the median of several runs after a warmup, and every
+// run is checked against the serial value.
+// Usage: java benchmarks.ParallelAlphaBetaBenchmark [maxThreads]
+public class ParallelAlphaBetaBenchmark {
+    private static final int[][] TREES = { // {branching factor, depth}
+            {2, 26},
+            {4, 13},
+            {8, 8},
+    };
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 7;
+
+    public static void main(String[] args) {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        System.out.println("Processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-8s %8s %10s %10s %8s%n", "tree", "threads", "ms", "speedup", "value");
+        for (int[] tree : TREES) {
+            int branchingFactor = tree[0];
+            int depth = tree[1];
+            int[] values = randomLeaves(branchingFactor, depth, new Random(42));
+            String name = branchingFactor + "^" + depth;
+
+            int serialValue = ParallelAlphaBeta.serialSearch(values, branchingFactor, depth);
+            double serialMillis = BenchmarkSupport.medianMillis(WARMUP_ROUNDS, MEASURED_ROUNDS, () -> ParallelAlphaBeta.serialSearch(values, branchingFactor, depth));
+            System.out.printf("%-8s %8s %10.1f %10s %8d%n", name, "serial", serialMillis, "1.00x", serialValue);
+
+            for (int threads : BenchmarkSupport.threadCounts(maxThreads)) {
+                ParallelAlphaBeta searcher = new ParallelAlphaBeta(threads);
+                try {
+                    int value = searcher.search(values, branchingFactor, depth);
+                    double millis = BenchmarkSupport.medianMillis(WARMUP_ROUNDS, MEASURED_ROUNDS, () -> searcher.search(values, branchingFactor, depth));
+                    System.out.printf("%-8s %8d %10.1f %9.2fx %8s%n", name, threads, millis, serialMillis / millis,
+                            value == serialValue ? "same" : String.valueOf(value));
+                } finally {
+                    searcher.shutdown();
+                }
+            }
+        }
+    }
+
+    private static int[] randomLeaves(int branchingFactor, int depth, Random random) {
+        int[] values = new int[(int) Math.pow(branchingFactor, depth)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(2001) - 1000;
+        }
+        return values;
+    }
+}
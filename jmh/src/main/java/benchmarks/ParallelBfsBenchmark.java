@@ -0,0 +1,41 @@
+package benchmarks;
+
+import algorithms.ParallelBfs;
+import algorithms.SearchAlgorithms;
+import model.CsrGraph;
+
+import java.util.Arrays;
+
+// Scaling benchmark for ParallelBfs: a full traversal of a random graph with 1, 2, 4 ... N
+// threads, against the serial CSR bfs.
+// Usage: java benchmarks.ParallelBfsBenchmark [nodes] [averageDegree] [maxThreads]
+public class ParallelBfsBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    public static void main(String[] args) {
+        int nodes = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 18;
+        int averageDegree = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        CsrGraph graph = CsrGraph.from(GraphGenerators.erdosRenyi(nodes, (long) nodes * averageDegree / 2, 10, 42));
+        System.out.printf("Graph: %d nodes, %d directed edges%n", graph.nodeCount(), graph.edgeCount());
+
+        SearchAlgorithms serial = new SearchAlgorithms();
+        // Unreachable goal, so the whole component is visited
+        double serialMillis = BenchmarkSupport.medianMillis(WARMUP_ROUNDS, MEASURED_ROUNDS, () -> serial.bfs(graph, 0, -1));
+        System.out.printf("serial     %10.2f ms%n", serialMillis);
+
+        for (int threads : BenchmarkSupport.threadCounts(maxThreads)) {
+            ParallelBfs bfs = new ParallelBfs(threads);
+            try {
+                int reached = (int) Arrays.stream(bfs.parents(graph, 0)).filter(p -> p != ParallelBfs.UNREACHED).count();
+                double millis = BenchmarkSupport.medianMillis(WARMUP_ROUNDS, MEASURED_ROUNDS, () -> bfs.parents(graph, 0));
+                System.out.printf("%2d threads %10.2f ms  speedup %5.2fx  (%d nodes reached)%n",
+                        threads, millis, serialMillis / millis, reached);
+            } finally {
+                bfs.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package benchmarks;
+
+import algorithms.ParallelPathSearch;
+import algorithms.SearchAlgorithms;
+import model.CsrGraph;
+import model.Graph;
+
+import java.util.List;
+
+// Scaling benchmark for ParallelPathSearch on a weighted grid, corner to corner, with the
+// oracle value at 1.5 times the shortest path cost: the serial oracleSearch against the
+// parallel oracle search (all paths) and the best-so-far branch and bound with 1, 2, 4 ... N
+// threads.
+// Usage: java benchmarks.ParallelPathSearchBenchmark [gridSide] [maxThreads]
+public class ParallelPathSearchBenchmark {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 7;
+
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 7;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        Graph graph = GraphGenerators.grid(side, 9, 42);
+        CsrGraph csr = CsrGraph.from(graph);
+        int goal = side * side - 1;
+        SearchAlgorithms serial = new SearchAlgorithms();
+        List<Integer> shortest = serial.aStarAlgorithm(csr, 0, goal, Integer.MAX_VALUE);
+        int shortestCost = 0;
+        for (int i = 1; i < shortest.size(); i++) {
+            shortestCost += graph.getEdgeWeight(shortest.get(i - 1), shortest.get(i));
+        }
+        int oracle = shortestCost * 3 / 2;
+
+        int pathCount = serial.oracleSearch(graph, 0, goal, oracle).size();
+        System.out.printf("Grid %dx%d, oracle value %d (shortest %d), %d paths%n", side, side, oracle, shortestCost, pathCount);
+        double serialMillis = BenchmarkSupport.medianMillis(WARMUP_ROUNDS, MEASURED_ROUNDS, () -> serial.oracleSearch(graph, 0, goal, oracle));
+        System.out.printf("serial oracleSearch %10.2f ms%n", serialMillis);
+
+        for (int threads : BenchmarkSupport.threadCounts(maxThreads)) {
+            ParallelPathSearch search = new ParallelPathSearch(threads);
+            try {
+                int found = search.oracleSearch(csr, 0, goal, oracle).size();
+                double allMillis = BenchmarkSupport.medianMillis(WARMUP_ROUNDS, MEASURED_ROUNDS,
+                        () -> search.oracleSearch(csr, 0, goal, oracle));
+                double bestMillis = BenchmarkSupport.medianMillis(WARMUP_ROUNDS, MEASURED_ROUNDS,
+                        () -> search.branchAndBound(csr, 0, goal, oracle));
+                System.out.printf("%2d threads  all paths %10.2f ms  speedup %5.2fx (%d paths)  best so far %8.2f ms%n",
+                        threads, allMillis, serialMillis / allMillis, found, bestMillis);
+            } finally {
+                search.shutdown();
+            }
+        }
+    }
+}
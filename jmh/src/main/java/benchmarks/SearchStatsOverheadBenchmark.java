@@ -0,0 +1,77 @@
+package benchmarks;
+
+import algorithms.SearchAlgorithms;
+import algorithms.SearchStats;
+import algorithms.SearchWorkspace;
+import jdk.jfr.Recording;
+import model.CsrGraph;
+import model.Graph;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Cost of the search statistics: the same queries with no listener (the default), with a
+// listener, and with the "algorithms.Search" Flight Recorder event recording.
+// With no listener and no recording the searches only pay one branch per counter call; the
+// "disabled" column can also be compared with GraphSearchBenchmark results from before the
+// statistics were added.
+// Usage: java benchmarks.SearchStatsOverheadBenchmark [gridSide]
+public class SearchStatsOverheadBenchmark {
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 30;
+    private static final int CALLS_PER_ROUND = 10;
+
+    private static volatile SearchStats lastStats;
+
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        Graph graph = GraphGenerators.grid(side, 10, 42);
+        CsrGraph csr = CsrGraph.from(graph);
+        Map<Integer, Integer> heuristics = graph.getHeuristics();
+        SearchWorkspace workspace = new SearchWorkspace();
+        SearchAlgorithms search = new SearchAlgorithms();
+        int goal = side * side - 1;
+
+        System.out.printf("Grid %dx%d, median of %d rounds of %d calls%n", side, side, MEASURED_ROUNDS, CALLS_PER_ROUND);
+        System.out.printf("%-34s %12s %12s %9s %12s %9s%n", "search", "disabled ms", "listener ms", "overhead", "JFR ms", "overhead");
+        compare("bfs", search, () -> search.bfs(graph, 0, goal));
+        compare("bfs[csr+workspace]", search, () -> search.bfs(csr, 0, goal, workspace));
+        compare("dfs[csr+workspace]", search, () -> search.dfs(csr, 0, goal, workspace));
+        compare("aStarAlgorithm", search, () -> search.aStarAlgorithm(graph, 0, goal, heuristics, Integer.MAX_VALUE));
+        compare("aStarAlgorithm[csr]", search, () -> search.aStarAlgorithm(csr, 0, goal, Integer.MAX_VALUE));
+        compare("aStarAlgorithm[csr+workspace]", search, () -> search.aStarAlgorithm(csr, 0, goal, Integer.MAX_VALUE, workspace));
+        compare("bidirectionalAStar", search, () -> search.bidirectionalAStar(graph, 0, goal, heuristics));
+    }
+
+    private static void compare(String name, SearchAlgorithms search, Supplier<Object> query) {
+        search.setListener(null);
+        double disabled = median(query);
+
+        search.setListener(stats -> lastStats = stats);
+        double withListener = median(query);
+        search.setListener(null);
+
+        double withRecording;
+        try (Recording recording = new Recording()) {
+            recording.enable("algorithms.Search");
+            recording.start();
+            withRecording = median(query);
+        }
+
+        System.out.printf("%-34s %12.3f %12.3f %8.1f%% %12.3f %8.1f%%%n", name, disabled,
+                withListener, 100 * (withListener / disabled - 1), withRecording, 100 * (withRecording / disabled - 1));
+    }
+
+    // Median over the rounds of the average milliseconds per call in a round
+    private static double median(Supplier<Object> query) {
+        return BenchmarkSupport.medianMillis(WARMUP_ROUNDS, MEASURED_ROUNDS, () -> round(query)) / CALLS_PER_ROUND;
+    }
+
+    private static Object round(Supplier<Object> query) {
+        Object result = null;
+        for (int i = 0; i < CALLS_PER_ROUND; i++) {
+            result = query.get();
+        }
+        return result;
+    }
+}
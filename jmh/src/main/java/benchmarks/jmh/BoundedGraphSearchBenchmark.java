@@ -0,0 +1,66 @@
+package benchmarks.jmh;
+
+import algorithms.ContractionHierarchy;
+import algorithms.SearchAlgorithms;
+import benchmarks.SearchInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Searches that only run up to the medium graphs: the list-based branchAndBound re-expands
+// duplicate queue entries, and contraction hierarchy preprocessing gets slow on the large
+// random and scale-free graphs.
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoundedGraphSearchBenchmark {
+    @Param({"grid", "erdos-renyi", "scale-free"})
+    public String shape;
+
+    @Param({"small", "medium"})
+    public String size;
+
+    private SearchInput in;
+    private final SearchAlgorithms search = new SearchAlgorithms();
+    private ContractionHierarchy.Query query;
+
+    @Setup
+    public void setUp() {
+        in = SearchInput.of(shape, size);
+        query = ContractionHierarchy.build(in.csr).newQuery();
+    }
+
+    @Benchmark
+    public List<List<Integer>> branchAndBound() {
+        return search.branchAndBound(in.graph, in.start, in.goal, in.heuristics, in.oracle);
+    }
+
+    @Benchmark
+    public List<List<Integer>> branchAndBoundMap() {
+        return search.branchAndBound(in.graph, in.start, in.goal, in.heuristics, in.weights, in.oracle);
+    }
+
+    @Benchmark
+    public List<List<Integer>> branchAndBoundCsr() {
+        return search.branchAndBound(in.csr, in.start, in.goal, in.oracle);
+    }
+
+    @Benchmark
+    public List<Integer> contractionHierarchySearch() {
+        return search.contractionHierarchySearch(query, in.start, in.goal);
+    }
+}
@@ -0,0 +1,120 @@
+package benchmarks.jmh;
+
+import algorithms.SearchAlgorithms;
+import algorithms.SearchWorkspace;
+import benchmarks.SearchInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Searches whose cost grows exponentially with the graph, on the small graphs only: the ones
+// that enumerate paths (British Museum, Oracle, dead horse) and IDA*, which keeps no record
+// of the nodes it has seen.
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExhaustiveSearchBenchmark {
+    @Param({"grid", "erdos-renyi", "scale-free"})
+    public String shape;
+
+    @Param({"small"})
+    public String size;
+
+    private SearchInput in;
+    private final SearchAlgorithms search = new SearchAlgorithms();
+    private final SearchWorkspace workspace = new SearchWorkspace();
+
+    @Setup
+    public void setUp() {
+        in = SearchInput.of(shape, size);
+    }
+
+    @Benchmark
+    public List<Integer> idaStar() {
+        return search.idaStar(in.graph, in.start, in.goal, in.heuristics, in.oracle);
+    }
+
+    @Benchmark
+    public List<Integer> idaStarMap() {
+        return search.idaStar(in.graph, in.start, in.goal, in.heuristics, in.weights, in.oracle);
+    }
+
+    @Benchmark
+    public List<Integer> idaStarCsrWorkspace() {
+        return search.idaStar(in.csr, in.start, in.goal, in.oracle, workspace);
+    }
+
+    @Benchmark
+    public List<Integer> britishMuseumSearch() {
+        return search.britishMuseumSearch(in.graph, in.start, in.goal);
+    }
+
+    @Benchmark
+    public long allPathsStreamFirst10() {
+        return search.allPathsStream(in.graph, in.start, in.goal).limit(10).count();
+    }
+
+    @Benchmark
+    public int allPathsIteratorFirst10() {
+        return GraphSearchBenchmark.first10(search.allPathsIterator(in.graph, in.start, in.goal));
+    }
+
+    @Benchmark
+    public List<List<Integer>> oracleSearch() {
+        return search.oracleSearch(in.graph, in.start, in.goal, in.oracle);
+    }
+
+    @Benchmark
+    public long oracleSearchStreamFirst10() {
+        return search.oracleSearchStream(in.graph, in.start, in.goal, in.oracle).limit(10).count();
+    }
+
+    @Benchmark
+    public List<List<Integer>> oracleSearchMap() {
+        return search.oracleSearch(in.graph, in.start, in.goal, in.weights, in.oracle);
+    }
+
+    @Benchmark
+    public long oracleSearchStreamMapFirst10() {
+        return search.oracleSearchStream(in.graph, in.start, in.goal, in.weights, in.oracle).limit(10).count();
+    }
+
+    @Benchmark
+    public int oracleSearchIteratorFirst10() {
+        return GraphSearchBenchmark.first10(search.oracleSearchIterator(in.graph, in.start, in.goal, in.oracle));
+    }
+
+    @Benchmark
+    public int oracleSearchIteratorMapFirst10() {
+        return GraphSearchBenchmark.first10(search.oracleSearchIterator(in.graph, in.start, in.goal, in.weights, in.oracle));
+    }
+
+    @Benchmark
+    public List<Integer> branchAndBoundDeadHorse() {
+        return search.branchAndBoundDeadHorse(in.graph, in.start, in.goal, in.heuristics);
+    }
+
+    @Benchmark
+    public List<Integer> branchAndBoundDeadHorseMap() {
+        return search.branchAndBoundDeadHorse(in.graph, in.start, in.goal, in.heuristics, in.weights);
+    }
+
+    @Benchmark
+    public List<Integer> branchAndBoundDeadHorseCsr() {
+        return search.branchAndBoundDeadHorse(in.csr, in.start, in.goal);
+    }
+}
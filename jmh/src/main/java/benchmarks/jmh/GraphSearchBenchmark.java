@@ -0,0 +1,279 @@
+package benchmarks.jmh;
+
+import algorithms.IncrementalPlanner;
+import algorithms.Landmarks;
+import algorithms.ParallelHillClimbing;
+import algorithms.SearchAlgorithms;
+import algorithms.SearchWorkspace;
+import benchmarks.SearchInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The searches that scale to every graph size, on each SearchInput graph. Every form of a
+// search gets its own method: Graph, "src,dest" weight map ("Map"), CSR, workspace, indexed
+// heap and landmarks, and the lazy iterator and stream forms for their first 10 paths.
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphSearchBenchmark {
+    @Param({"grid", "erdos-renyi", "scale-free"})
+    public String shape;
+
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    private SearchInput in;
+    private final SearchAlgorithms search = new SearchAlgorithms();
+    private final SearchAlgorithms indexed = new SearchAlgorithms();
+    private final SearchWorkspace workspace = new SearchWorkspace();
+    private Landmarks landmarks;
+    private ParallelHillClimbing restarts;
+    private IncrementalPlanner planner;
+    private int firstNeighbor;
+    private int firstEdgeWeight;
+    private boolean raised;
+
+    @Setup
+    public void setUp() {
+        in = SearchInput.of(shape, size);
+        indexed.setIndexedHeap(true);
+        landmarks = Landmarks.avoid(in.csr, 8, 42);
+        restarts = new ParallelHillClimbing(Runtime.getRuntime().availableProcessors());
+        planner = new IncrementalPlanner(in.graph, in.start, in.goal);
+        search.incrementalAStar(planner);
+        firstNeighbor = in.graph.getNeighbors(in.start).get(0);
+        firstEdgeWeight = in.graph.getEdgeWeight(in.start, firstNeighbor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        restarts.shutdown();
+        planner.close();
+    }
+
+    @Benchmark
+    public List<Integer> bfs() {
+        return search.bfs(in.graph, in.start, in.goal);
+    }
+
+    @Benchmark
+    public List<Integer> bfsCsr() {
+        return search.bfs(in.csr, in.start, in.goal);
+    }
+
+    @Benchmark
+    public List<Integer> bfsCsrWorkspace() {
+        return search.bfs(in.csr, in.start, in.goal, workspace);
+    }
+
+    @Benchmark
+    public List<Integer> bidirectionalBfs() {
+        return search.bidirectionalBfs(in.graph, in.start, in.goal);
+    }
+
+    @Benchmark
+    public List<Integer> dfs() {
+        return search.dfs(in.graph, in.start, in.goal);
+    }
+
+    @Benchmark
+    public List<Integer> dfsCsr() {
+        return search.dfs(in.csr, in.start, in.goal);
+    }
+
+    @Benchmark
+    public List<Integer> dfsCsrWorkspace() {
+        return search.dfs(in.csr, in.start, in.goal, workspace);
+    }
+
+    @Benchmark
+    public List<Integer> hillClimbing() {
+        return search.hillClimbing(in.graph, in.start, in.goal, in.heuristics);
+    }
+
+    @Benchmark
+    public List<Integer> hillClimbingMap() {
+        return search.hillClimbing(in.graph, in.start, in.goal, in.heuristics, in.weights);
+    }
+
+    @Benchmark
+    public List<Integer> hillClimbingCsrParallelRestarts() {
+        return restarts.hillClimbing(in.csr, in.start, in.goal);
+    }
+
+    @Benchmark
+    public List<Integer> beamSearch() {
+        return search.beamSearch(in.graph, in.start, in.goal, in.heuristics);
+    }
+
+    @Benchmark
+    public List<Integer> beamSearchMap() {
+        return search.beamSearch(in.graph, in.start, in.goal, in.heuristics, in.weights);
+    }
+
+    @Benchmark
+    public List<Integer> beamSearchCsrWorkspace() {
+        return search.beamSearch(in.csr, in.start, in.goal, workspace);
+    }
+
+    @Benchmark
+    public List<List<Integer>> branchAndBoundIndexedHeap() {
+        return indexed.branchAndBound(in.graph, in.start, in.goal, in.heuristics, in.oracle);
+    }
+
+    @Benchmark
+    public List<Integer> branchAndBoundWithHeuristics() {
+        return search.branchAndBoundWithHeuristics(in.graph, in.start, in.goal, in.heuristics, in.oracle);
+    }
+
+    @Benchmark
+    public List<Integer> branchAndBoundWithHeuristicsMap() {
+        return search.branchAndBoundWithHeuristics(in.graph, in.start, in.goal, in.heuristics, in.weights, in.oracle);
+    }
+
+    @Benchmark
+    public List<Integer> branchAndBoundWithHeuristicsCsr() {
+        return search.branchAndBoundWithHeuristics(in.csr, in.start, in.goal, in.oracle);
+    }
+
+    @Benchmark
+    public List<Integer> branchAndBoundWithHeuristicsCsrWorkspace() {
+        return search.branchAndBoundWithHeuristics(in.csr, in.start, in.goal, in.oracle, workspace);
+    }
+
+    @Benchmark
+    public List<Integer> branchAndBoundWithHeuristicsCsrLandmarks() {
+        return search.branchAndBoundWithHeuristics(in.csr, in.start, in.goal, in.oracle, landmarks);
+    }
+
+    @Benchmark
+    public List<Integer> aStarAlgorithm() {
+        return search.aStarAlgorithm(in.graph, in.start, in.goal, in.heuristics, in.oracle);
+    }
+
+    @Benchmark
+    public List<Integer> aStarAlgorithmMap() {
+        return search.aStarAlgorithm(in.graph, in.start, in.goal, in.heuristics, in.weights, in.oracle);
+    }
+
+    @Benchmark
+    public List<Integer> aStarAlgorithmCsr() {
+        return search.aStarAlgorithm(in.csr, in.start, in.goal, in.oracle);
+    }
+
+    @Benchmark
+    public List<Integer> aStarAlgorithmCsrWorkspace() {
+        return search.aStarAlgorithm(in.csr, in.start, in.goal, in.oracle, workspace);
+    }
+
+    @Benchmark
+    public List<Integer> aStarAlgorithmIndexedHeap() {
+        return indexed.aStarAlgorithm(in.graph, in.start, in.goal, in.heuristics, in.oracle);
+    }
+
+    @Benchmark
+    public List<Integer> aStarAlgorithmCsrIndexedHeap() {
+        return indexed.aStarAlgorithm(in.csr, in.start, in.goal, in.oracle);
+    }
+
+    @Benchmark
+    public List<Integer> aStarAlgorithmCsrIndexedHeapLandmarks() {
+        return indexed.aStarAlgorithm(in.csr, in.start, in.goal, in.oracle, landmarks);
+    }
+
+    @Benchmark
+    public List<Integer> bidirectionalAStar() {
+        return search.bidirectionalAStar(in.graph, in.start, in.goal, in.heuristics);
+    }
+
+    @Benchmark
+    public List<Integer> bidirectionalAStarMap() {
+        return search.bidirectionalAStar(in.graph, in.start, in.goal, in.heuristics, in.weights);
+    }
+
+    @Benchmark
+    public List<List<Integer>> kShortestPaths() {
+        return search.kShortestPaths(in.graph, in.start, in.goal, 10);
+    }
+
+    @Benchmark
+    public List<List<Integer>> kShortestPathsMap() {
+        return search.kShortestPaths(in.graph, in.start, in.goal, in.weights, 10);
+    }
+
+    @Benchmark
+    public List<List<Integer>> kShortestPathsCsr() {
+        return search.kShortestPaths(in.csr, in.start, in.goal, 10);
+    }
+
+    @Benchmark
+    public long kShortestPathsStreamFirst10() {
+        return search.kShortestPathsStream(in.graph, in.start, in.goal).limit(10).count();
+    }
+
+    @Benchmark
+    public long kShortestPathsStreamCsrFirst10() {
+        return search.kShortestPathsStream(in.csr, in.start, in.goal).limit(10).count();
+    }
+
+    @Benchmark
+    public int kShortestPathsIteratorFirst10() {
+        return first10(search.kShortestPathsIterator(in.graph, in.start, in.goal));
+    }
+
+    @Benchmark
+    public int kShortestPathsIteratorCsrFirst10() {
+        return first10(search.kShortestPathsIterator(in.csr, in.start, in.goal));
+    }
+
+    @Benchmark
+    public List<Integer> smaStar() {
+        return search.smaStar(in.graph, in.start, in.goal, in.heuristics);
+    }
+
+    @Benchmark
+    public List<Integer> smaStarMap() {
+        return search.smaStar(in.graph, in.start, in.goal, in.heuristics, in.weights);
+    }
+
+    @Benchmark
+    public List<Integer> smaStarCsr() {
+        return search.smaStar(in.csr, in.start, in.goal);
+    }
+
+    // Re-plans after the weight of the first edge from the start changes, alternating it
+    // between its original value and one more, so the heuristics stay admissible
+    @Benchmark
+    public List<Integer> incrementalAStarAfterEdgeChange() {
+        raised = !raised;
+        in.graph.setEdgeWeight(in.start, firstNeighbor, raised ? firstEdgeWeight + 1 : firstEdgeWeight);
+        return search.incrementalAStar(planner);
+    }
+
+    // Number of paths among the first 10 the iterator produces
+    static int first10(Iterator<List<Integer>> paths) {
+        int count = 0;
+        while (count < 10 && paths.hasNext()) {
+            paths.next();
+            count++;
+        }
+        return count;
+    }
+}
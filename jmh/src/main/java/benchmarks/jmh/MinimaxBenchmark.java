@@ -0,0 +1,49 @@
+package benchmarks.jmh;
+
+import benchmarks.SearchInput;
+import cia2.AlphaBetaPruning;
+import cia2.TraceRecorder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// AlphaBetaPruning.minimax on seeded complete binary game trees, with and without a tracer
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinimaxBenchmark {
+    @Param({"4", "10", "16"})
+    public int depth;
+
+    private int[] values;
+    private final TraceRecorder recorder = new TraceRecorder();
+
+    @Setup
+    public void setUp() {
+        values = SearchInput.minimaxLeaves(depth);
+    }
+
+    @Benchmark
+    public int minimax() {
+        return AlphaBetaPruning.minimax(0, 0, true, values, Integer.MIN_VALUE, Integer.MAX_VALUE, depth);
+    }
+
+    @Benchmark
+    public int minimaxTraceRecorder() {
+        recorder.clear();
+        return AlphaBetaPruning.minimax(0, 0, true, values, Integer.MIN_VALUE, Integer.MAX_VALUE, depth, recorder);
+    }
+}
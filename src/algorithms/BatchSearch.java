@@ -0,0 +1,239 @@
+package algorithms;
+
+import model.CsrGraph;
+import model.Graph;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+
+// Answers batches of (start, goal) queries against one graph concurrently.
+// BFS and Dijkstra queries that share a start node are answered from a single search tree,
+// which stops growing once every goal of the group is reached. A* queries run one by one,
+// since each has its own goal. Every worker thread keeps its own SearchWorkspace.
+//
+// Results go to a sink as soon as they are ready, from the worker threads, so the sink must
+// be thread-safe. Any ExecutorService works, for example a virtual-thread-per-task executor
+// on Java 21; by default a fixed pool with one daemon thread per core is used.
+public final class BatchSearch implements AutoCloseable {
+    public enum Algorithm {
+        BFS, // Fewest hops
+        DIJKSTRA, // Cheapest path by edge weight; missing weights cost Integer.MAX_VALUE
+        A_STAR // SearchAlgorithms.aStarAlgorithm with no oracle limit, using the graph's heuristics
+    }
+
+    public static final class Query {
+        private final int start;
+        private final int goal;
+
+        public Query(int start, int goal) {
+            this.start = start;
+            this.goal = goal;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getGoal() {
+            return goal;
+        }
+
+        @Override
+        public String toString() {
+            return start + " -> " + goal;
+        }
+    }
+
+    public static final class Result {
+        private final Query query;
+        private final List<Integer> path;
+
+        Result(Query query, List<Integer> path) {
+            this.query = query;
+            this.path = path;
+        }
+
+        public Query getQuery() {
+            return query;
+        }
+
+        // The path from start to goal, or an empty list if there is none
+        public List<Integer> getPath() {
+            return path;
+        }
+    }
+
+    private final CsrGraph graph;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final SearchAlgorithms searchAlgorithms = new SearchAlgorithms();
+    private final ThreadLocal<SearchWorkspace> workspaces = ThreadLocal.withInitial(SearchWorkspace::new);
+
+    public BatchSearch(Graph graph) {
+        this(CsrGraph.from(graph), defaultExecutor(), true);
+    }
+
+    public BatchSearch(CsrGraph graph, ExecutorService executor) {
+        this(graph, executor, false);
+    }
+
+    private BatchSearch(CsrGraph graph, ExecutorService executor, boolean ownsExecutor) {
+        this.graph = graph;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    // One daemon thread per core, so a BatchSearch that is never closed does not keep the JVM alive
+    private static ExecutorService defaultExecutor() {
+        ThreadFactory threads = Executors.defaultThreadFactory();
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+            Thread thread = threads.newThread(task);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Start answering the queries; the future completes when every result has reached the sink
+    public CompletableFuture<Void> submit(List<Query> queries, Algorithm algorithm, Consumer<Result> sink) {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        if (algorithm == Algorithm.A_STAR) {
+            for (Query query : queries) {
+                tasks.add(CompletableFuture.runAsync(() -> sink.accept(new Result(query,
+                        searchAlgorithms.aStarAlgorithm(graph, query.start, query.goal, Integer.MAX_VALUE, workspaces.get()))), executor));
+            }
+        } else {
+            Map<Integer, List<Query>> byStart = new LinkedHashMap<>();
+            for (Query query : queries) {
+                byStart.computeIfAbsent(query.start, k -> new ArrayList<>()).add(query);
+            }
+            for (List<Query> group : byStart.values()) {
+                tasks.add(CompletableFuture.runAsync(() -> answerGroup(group, algorithm, sink), executor));
+            }
+        }
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]));
+    }
+
+    // Answer the queries and wait until every result has reached the sink
+    public void run(List<Query> queries, Algorithm algorithm, Consumer<Result> sink) {
+        submit(queries, algorithm, sink).join();
+    }
+
+    // Answer the queries and return the results in query order
+    public List<Result> runAll(List<Query> queries, Algorithm algorithm) {
+        Map<Query, Result> results = new ConcurrentHashMap<>();
+        run(queries, algorithm, result -> results.put(result.query, result));
+        List<Result> ordered = new ArrayList<>();
+        for (Query query : queries) {
+            ordered.add(results.get(query));
+        }
+        return ordered;
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    // Grow one search tree from the shared start until every goal of the group is reached
+    private void answerGroup(List<Query> group, Algorithm algorithm, Consumer<Result> sink) {
+        int start = group.get(0).start;
+        if (!graph.containsNode(start)) {
+            for (Query query : group) {
+                sink.accept(new Result(query, unreachable(query)));
+            }
+            return;
+        }
+        SearchWorkspace workspace = workspaces.get();
+        workspace.begin(graph.nodeCount());
+        int goalsLeft = markGoals(group, workspace);
+        if (goalsLeft == 0) {
+            // No goal is in the graph, so there is nothing to search for
+        } else if (algorithm == Algorithm.BFS) {
+            bfsTree(start, goalsLeft, workspace);
+        } else {
+            dijkstraTree(start, goalsLeft, workspace);
+        }
+        for (Query query : group) {
+            boolean reached = graph.containsNode(query.goal) && workspace.isVisited(query.goal);
+            sink.accept(new Result(query, reached ? workspace.pathTo(start, query.goal) : unreachable(query)));
+        }
+    }
+
+    // Mark the distinct goals of the group with the workspace counters and return how many there are
+    private int markGoals(List<Query> group, SearchWorkspace workspace) {
+        int goals = 0;
+        for (Query query : group) {
+            if (graph.containsNode(query.goal) && workspace.count(query.goal) == 0) {
+                workspace.addCount(query.goal, 1);
+                goals++;
+            }
+        }
+        return goals;
+    }
+
+    private void bfsTree(int start, int goalsLeft, SearchWorkspace workspace) {
+        int[] queue = workspace.buffer(graph.nodeCount());
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        workspace.markVisited(start);
+
+        while (head < tail) {
+            int node = queue[head++];
+            if (workspace.count(node) > 0 && --goalsLeft == 0) {
+                return;
+            }
+            for (int e = graph.firstEdge(node); e < graph.endEdge(node); e++) {
+                int neighbor = graph.target(e);
+                if (!workspace.isVisited(neighbor)) {
+                    workspace.markVisited(neighbor);
+                    workspace.setParent(neighbor, node);
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+    }
+
+    // Dijkstra; a node counts as visited once it is settled
+    private void dijkstraTree(int start, int goalsLeft, SearchWorkspace workspace) {
+        IndexedIntHeap heap = workspace.heap();
+        workspace.setCost(start, 0);
+        heap.insert(start, 0);
+
+        while (!heap.isEmpty()) {
+            long cost = heap.peekMinKey();
+            int node = heap.pollMin();
+            workspace.markVisited(node);
+            if (workspace.count(node) > 0 && --goalsLeft == 0) {
+                return;
+            }
+            for (int e = graph.firstEdge(node); e < graph.endEdge(node); e++) {
+                int neighbor = graph.target(e);
+                long newCost = cost + graph.weight(e);
+                if (!workspace.isVisited(neighbor) && newCost < workspace.cost(neighbor)) {
+                    workspace.setCost(neighbor, newCost);
+                    workspace.setParent(neighbor, node);
+                    heap.insertOrDecrease(neighbor, newCost);
+                }
+            }
+        }
+    }
+
+    private static List<Integer> unreachable(Query query) {
+        List<Integer> path = new ArrayList<>();
+        if (query.start == query.goal) {
+            path.add(query.start);
+        }
+        return path;
+    }
+}
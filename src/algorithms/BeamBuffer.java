@@ -0,0 +1,137 @@
+package algorithms;
+
+// Fixed-size top-k selection for one beam search level. Candidates are offered one by one and
+// only the width best, by heuristic and then by node id, are kept, in a max-heap whose root is
+// the worst kept candidate. A candidate that beats the root replaces it in place, so the
+// buffer never holds more than width candidates, however many are offered.
+//
+// Each candidate carries a node, its path cost and heuristic, and a parent reference whose
+// meaning is up to the caller. After sort() the kept candidates are read best first with the
+// accessors. Not thread-safe; parallel searches give every task its own buffer.
+final class BeamBuffer {
+    private final int width;
+    private final int[] heap; // Slots, a max-heap on keys until sort() orders them best first
+    private final long[] keys; // Per slot
+    private final int[] nodes;
+    private final int[] costs;
+    private final int[] heuristics;
+    private final int[] parents;
+    private int size;
+
+    BeamBuffer(int width) {
+        if (width < 1) {
+            throw new IllegalArgumentException("Beam width must be at least 1, got " + width);
+        }
+        this.width = width;
+        heap = new int[width];
+        keys = new long[width];
+        nodes = new int[width];
+        costs = new int[width];
+        heuristics = new int[width];
+        parents = new int[width];
+    }
+
+    int width() {
+        return width;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    // Keep the candidate if the buffer has room or it beats the worst kept one. Returns false
+    // if it was turned away; a candidate turned away once would be turned away again in the
+    // same level, as the worst kept key only goes down.
+    boolean offer(int node, int cost, int heuristic, int parent) {
+        long key = key(heuristic, node);
+        int slot;
+        if (size < width) {
+            slot = size;
+            heap[size] = slot;
+            keys[slot] = key;
+            siftUp(size++);
+        } else if (key < keys[heap[0]]) {
+            slot = heap[0];
+            keys[slot] = key;
+            siftDown(0);
+        } else {
+            return false;
+        }
+        nodes[slot] = node;
+        costs[slot] = cost;
+        heuristics[slot] = heuristic;
+        parents[slot] = parent;
+        return true;
+    }
+
+    // Order the kept candidates best first for node(i) and the other accessors (heapsort, in place)
+    void sort() {
+        for (int end = size - 1; end > 0; end--) {
+            int worst = heap[0];
+            heap[0] = heap[end];
+            heap[end] = worst;
+            siftDown(0, end);
+        }
+    }
+
+    int node(int i) {
+        return nodes[heap[i]];
+    }
+
+    int cost(int i) {
+        return costs[heap[i]];
+    }
+
+    int heuristic(int i) {
+        return heuristics[heap[i]];
+    }
+
+    int parent(int i) {
+        return parents[heap[i]];
+    }
+
+    // Heuristic first, node id second, so the kept set does not depend on the offer order
+    private static long key(int heuristic, int node) {
+        return ((long) heuristic << 32) | (node & 0xFFFFFFFFL);
+    }
+
+    private void siftUp(int index) {
+        int slot = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (keys[heap[parent]] >= keys[slot]) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = slot;
+    }
+
+    private void siftDown(int index) {
+        siftDown(index, size);
+    }
+
+    private void siftDown(int index, int end) {
+        int slot = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= end) {
+                break;
+            }
+            if (child + 1 < end && keys[heap[child + 1]] > keys[heap[child]]) {
+                child++;
+            }
+            if (keys[heap[child]] <= keys[slot]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = slot;
+    }
+}
@@ -0,0 +1,672 @@
+package algorithms;
+
+import model.CsrGraph;
+import model.Graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Contraction hierarchy over a CsrGraph, for many shortest path queries on a static graph.
+// Preprocessing removes ("contracts") the nodes one at a time, least important first, and
+// adds a shortcut u -> w through each removed node v wherever u -> v -> w was the only
+// shortest way from u to w left; a bounded Dijkstra search from u (the witness search) looks
+// for another one. A node's importance is its edge difference (shortcuts added minus edges
+// removed) plus the number of its neighbors that are contracted already, kept up to date
+// lazily.
+//
+// Every edge, original or shortcut, then leads either up (to a node contracted later) or
+// down. A query runs Dijkstra forward from the start over upward edges and backward from the
+// goal over downward edges; some shortest path always climbs to a top node and descends from
+// it, so both searches stay in the few nodes above their source. Nodes whose label can be
+// beaten through a higher neighbor are stalled (not expanded). Shortcuts remember their middle
+// node and are unpacked into original edges, so paths come out like those of the other
+// searches. Edges are directed and costs are added in long arithmetic, so a missing weight
+// (NO_WEIGHT) is just a very expensive edge, as in the CSR searches.
+//
+// The index can be saved with write and loaded with read. File layout, little-endian:
+//   MAGIC, FORMAT_VERSION, nodeCount, upCount, downCount (ints), rank (nodeCount ints),
+//   upOffsets (nodeCount + 1 ints), upTargets, upMiddles (upCount ints), upWeights (upCount longs),
+//   downOffsets (nodeCount + 1 ints), downSources, downMiddles (downCount ints), downWeights (downCount longs)
+public final class ContractionHierarchy {
+    public static final int MAGIC = 0x58494843; // "CHIX" in little-endian bytes
+    public static final int FORMAT_VERSION = 1;
+    private static final int HEADER_INTS = 5;
+    private static final int NO_MIDDLE = -1;
+
+    // Witness searches give up after settling this many nodes and just add the shortcut
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+    private static final int SIMULATION_SETTLE_LIMIT = 20;
+
+    private final int nodeCount;
+    private final int[] rank; // Contraction order
+    // Upward edges a -> b (rank[b] > rank[a]), grouped by a
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final int[] upMiddles; // Node a shortcut skips, NO_MIDDLE for original edges
+    private final long[] upWeights;
+    // Downward edges a -> b (rank[a] > rank[b]), grouped by b for the backward search
+    private final int[] downOffsets;
+    private final int[] downSources;
+    private final int[] downMiddles;
+    private final long[] downWeights;
+
+    private ContractionHierarchy(int[] rank, int[] upOffsets, int[] upTargets, int[] upMiddles, long[] upWeights,
+                                 int[] downOffsets, int[] downSources, int[] downMiddles, long[] downWeights) {
+        this.nodeCount = rank.length;
+        this.rank = rank;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upMiddles = upMiddles;
+        this.upWeights = upWeights;
+        this.downOffsets = downOffsets;
+        this.downSources = downSources;
+        this.downMiddles = downMiddles;
+        this.downWeights = downWeights;
+    }
+
+    public static ContractionHierarchy build(CsrGraph graph) {
+        return new Contractor(graph).contractAll();
+    }
+
+    public static ContractionHierarchy build(Graph graph) {
+        return build(CsrGraph.from(graph));
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    // Number of upward plus downward edges, shortcuts included
+    public int edgeCount() {
+        return upTargets.length + downSources.length;
+    }
+
+    public int shortcutCount() {
+        int shortcuts = 0;
+        for (int middle : upMiddles) {
+            shortcuts += middle != NO_MIDDLE ? 1 : 0;
+        }
+        for (int middle : downMiddles) {
+            shortcuts += middle != NO_MIDDLE ? 1 : 0;
+        }
+        return shortcuts;
+    }
+
+    // Per-search state for queries on this hierarchy. A query is not thread-safe; give each
+    // thread its own.
+    public Query newQuery() {
+        return new Query();
+    }
+
+    // Middle node of the edge from a to b, which is stored at whichever end ranks lower
+    private int middleOf(int a, int b) {
+        if (rank[a] < rank[b]) {
+            for (int e = upOffsets[a]; e < upOffsets[a + 1]; e++) {
+                if (upTargets[e] == b) {
+                    return upMiddles[e];
+                }
+            }
+        } else {
+            for (int e = downOffsets[b]; e < downOffsets[b + 1]; e++) {
+                if (downSources[e] == a) {
+                    return downMiddles[e];
+                }
+            }
+        }
+        throw new IllegalStateException("No edge " + a + " -> " + b + " in the hierarchy");
+    }
+
+    public final class Query {
+        private final long[] forwardCost = new long[nodeCount];
+        private final long[] backwardCost = new long[nodeCount];
+        private final int[] forwardParent = new int[nodeCount];
+        private final int[] backwardParent = new int[nodeCount];
+        private final int[] forwardMiddle = new int[nodeCount]; // Middle of the edge from the parent
+        private final int[] backwardMiddle = new int[nodeCount];
+        private final int[] forwardStamp = new int[nodeCount]; // A label is set when its stamp == epoch
+        private final int[] backwardStamp = new int[nodeCount];
+        private int epoch;
+        private final IndexedIntHeap forward = new IndexedIntHeap(nodeCount);
+        private final IndexedIntHeap backward = new IndexedIntHeap(nodeCount);
+        private int[] unpackStack = new int[48]; // (from, to, middle) triples
+
+        private Query() {
+        }
+
+        // Shortest path from start to goal, or an empty list if there is none
+        List<Integer> search(int start, int goal, SearchStats stats) {
+            if (start < 0 || start >= nodeCount || goal < 0 || goal >= nodeCount) {
+                return new ArrayList<>();
+            }
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(forwardStamp, 0);
+                Arrays.fill(backwardStamp, 0);
+                epoch = 1;
+            }
+            forward.clear();
+            backward.clear();
+            forwardStamp[start] = epoch;
+            forwardCost[start] = 0;
+            forwardParent[start] = -1;
+            forward.insert(start, 0);
+            backwardStamp[goal] = epoch;
+            backwardCost[goal] = 0;
+            backwardParent[goal] = -1;
+            backward.insert(goal, 0);
+            long best = start == goal ? 0 : Long.MAX_VALUE;
+            int meeting = start == goal ? start : -1;
+
+            while (true) {
+                long forwardMin = forward.isEmpty() ? Long.MAX_VALUE : forward.peekMinKey();
+                long backwardMin = backward.isEmpty() ? Long.MAX_VALUE : backward.peekMinKey();
+                if (Math.min(forwardMin, backwardMin) >= best) {
+                    break; // Also true when both queues are empty
+                }
+                if (forwardMin <= backwardMin) {
+                    int current = forward.pollMin();
+                    if (stalledForward(current)) {
+                        continue;
+                    }
+                    stats.recordExpansion(current);
+                    for (int e = upOffsets[current]; e < upOffsets[current + 1]; e++) {
+                        int next = upTargets[e];
+                        long cost = forwardCost[current] + upWeights[e];
+                        if (forwardStamp[next] == epoch && cost >= forwardCost[next]) {
+                            continue;
+                        }
+                        forwardStamp[next] = epoch;
+                        forwardCost[next] = cost;
+                        forwardParent[next] = current;
+                        forwardMiddle[next] = upMiddles[e];
+                        forward.insertOrDecrease(next, cost);
+                        stats.recordGenerated();
+                        if (backwardStamp[next] == epoch && cost + backwardCost[next] < best) {
+                            best = cost + backwardCost[next];
+                            meeting = next;
+                        }
+                    }
+                } else {
+                    int current = backward.pollMin();
+                    if (stalledBackward(current)) {
+                        continue;
+                    }
+                    stats.recordExpansion(current);
+                    for (int e = downOffsets[current]; e < downOffsets[current + 1]; e++) {
+                        int previous = downSources[e];
+                        long cost = backwardCost[current] + downWeights[e];
+                        if (backwardStamp[previous] == epoch && cost >= backwardCost[previous]) {
+                            continue;
+                        }
+                        backwardStamp[previous] = epoch;
+                        backwardCost[previous] = cost;
+                        backwardParent[previous] = current;
+                        backwardMiddle[previous] = downMiddles[e];
+                        backward.insertOrDecrease(previous, cost);
+                        stats.recordGenerated();
+                        if (forwardStamp[previous] == epoch && cost + forwardCost[previous] < best) {
+                            best = cost + forwardCost[previous];
+                            meeting = previous;
+                        }
+                    }
+                }
+                stats.recordFrontier(forward.size() + backward.size());
+            }
+            if (meeting == -1) {
+                return new ArrayList<>();
+            }
+            return buildPath(start, meeting);
+        }
+
+        // A higher node reaches this one more cheaply than its own label, through a downward
+        // edge, so no shortest path goes up from here
+        private boolean stalledForward(int node) {
+            for (int e = downOffsets[node]; e < downOffsets[node + 1]; e++) {
+                int higher = downSources[e];
+                if (forwardStamp[higher] == epoch && forwardCost[higher] + downWeights[e] < forwardCost[node]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean stalledBackward(int node) {
+            for (int e = upOffsets[node]; e < upOffsets[node + 1]; e++) {
+                int higher = upTargets[e];
+                if (backwardStamp[higher] == epoch && backwardCost[higher] + upWeights[e] < backwardCost[node]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // The forward tree up to the meeting node, then the backward tree down to the goal,
+        // with every shortcut unpacked
+        private List<Integer> buildPath(int start, int meeting) {
+            List<Integer> climb = new ArrayList<>();
+            for (int node = meeting; node != -1; node = forwardParent[node]) {
+                climb.add(node);
+            }
+            List<Integer> path = new ArrayList<>();
+            path.add(start);
+            for (int i = climb.size() - 1; i > 0; i--) {
+                int to = climb.get(i - 1);
+                unpack(climb.get(i), to, forwardMiddle[to], path);
+            }
+            for (int node = meeting; backwardParent[node] != -1; node = backwardParent[node]) {
+                unpack(node, backwardParent[node], backwardMiddle[node], path);
+            }
+            return path;
+        }
+
+        // Append the nodes after from, up to and including to, of the edge from -> to
+        private void unpack(int from, int to, int middle, List<Integer> path) {
+            int size = 0;
+            size = push(size, from, to, middle);
+            while (size > 0) {
+                size -= 3;
+                int a = unpackStack[size];
+                int b = unpackStack[size + 1];
+                int m = unpackStack[size + 2];
+                if (m == NO_MIDDLE) {
+                    path.add(b);
+                } else {
+                    size = push(size, m, b, middleOf(m, b)); // Second half first, so it pops last
+                    size = push(size, a, m, middleOf(a, m));
+                }
+            }
+        }
+
+        private int push(int size, int from, int to, int middle) {
+            if (size + 3 > unpackStack.length) {
+                unpackStack = Arrays.copyOf(unpackStack, unpackStack.length * 2);
+            }
+            unpackStack[size] = from;
+            unpackStack[size + 1] = to;
+            unpackStack[size + 2] = middle;
+            return size + 3;
+        }
+    }
+
+    // Save the hierarchy, for read
+    public void write(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(nodeCount).putInt(upTargets.length).putInt(downSources.length);
+            for (Object section : new Object[]{rank, upOffsets, upTargets, upMiddles, upWeights,
+                    downOffsets, downSources, downMiddles, downWeights}) {
+                if (section instanceof int[]) {
+                    for (int value : (int[]) section) {
+                        if (buffer.remaining() < Integer.BYTES) {
+                            drain(channel, buffer);
+                        }
+                        buffer.putInt(value);
+                    }
+                } else {
+                    for (long value : (long[]) section) {
+                        if (buffer.remaining() < Long.BYTES) {
+                            drain(channel, buffer);
+                        }
+                        buffer.putLong(value);
+                    }
+                }
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Load a hierarchy saved by write
+    public static ContractionHierarchy read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.limit(HEADER_INTS * Integer.BYTES);
+            fill(channel, buffer);
+            if (buffer.remaining() < HEADER_INTS * Integer.BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException(file + " is not a contraction hierarchy file");
+            }
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException(file + " has format version " + version + ", expected " + FORMAT_VERSION);
+            }
+            int nodeCount = buffer.getInt();
+            int upCount = buffer.getInt();
+            int downCount = buffer.getInt();
+            long size = (long) HEADER_INTS * Integer.BYTES + (3L * nodeCount + 2) * Integer.BYTES
+                    + ((long) upCount + downCount) * (2 * Integer.BYTES + Long.BYTES);
+            if (nodeCount < 0 || upCount < 0 || downCount < 0 || channel.size() != size) {
+                throw new IOException(file + " is truncated or has a corrupt header");
+            }
+            int[] rank = readInts(channel, buffer, nodeCount);
+            int[] upOffsets = readInts(channel, buffer, nodeCount + 1);
+            int[] upTargets = readInts(channel, buffer, upCount);
+            int[] upMiddles = readInts(channel, buffer, upCount);
+            long[] upWeights = readLongs(channel, buffer, upCount);
+            int[] downOffsets = readInts(channel, buffer, nodeCount + 1);
+            int[] downSources = readInts(channel, buffer, downCount);
+            int[] downMiddles = readInts(channel, buffer, downCount);
+            long[] downWeights = readLongs(channel, buffer, downCount);
+            return new ContractionHierarchy(rank, upOffsets, upTargets, upMiddles, upWeights,
+                    downOffsets, downSources, downMiddles, downWeights);
+        }
+    }
+
+    private static int[] readInts(FileChannel channel, ByteBuffer buffer, int count) throws IOException {
+        int[] values = new int[count];
+        int done = 0;
+        while (done < count) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), (long) (count - done) * Integer.BYTES));
+            fill(channel, buffer);
+            int read = buffer.remaining() / Integer.BYTES;
+            buffer.asIntBuffer().get(values, done, read);
+            done += read;
+        }
+        return values;
+    }
+
+    private static long[] readLongs(FileChannel channel, ByteBuffer buffer, int count) throws IOException {
+        long[] values = new long[count];
+        int done = 0;
+        while (done < count) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), (long) (count - done) * Long.BYTES));
+            fill(channel, buffer);
+            int read = buffer.remaining() / Long.BYTES;
+            buffer.asLongBuffer().get(values, done, read);
+            done += read;
+        }
+        return values;
+    }
+
+    // Read until the buffer is full or the file ends, then flip it
+    private static void fill(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // Keep reading
+        }
+        buffer.flip();
+    }
+
+    // Preprocessing: the remaining graph as growable per-node edge lists, to which shortcuts
+    // are added. Contracting a node detaches it from its neighbors' lists, and the edges left
+    // in its own lists, all to nodes contracted later, are its upward and downward edges.
+    private static final class Contractor {
+        final int nodeCount;
+        final int[][] outTargets;
+        final long[][] outWeights;
+        final int[][] outMiddles;
+        final int[] outSize;
+        final int[][] inSources;
+        final long[][] inWeights;
+        final int[][] inMiddles;
+        final int[] inSize;
+        final int[] contractedNeighbors;
+        final int[] updatedBy; // Node whose contraction last updated this one, plus 1
+        final int[] rank;
+
+        // Witness search state
+        final long[] cost;
+        final int[] stamp;
+        final int[] targetStamp; // Out-neighbors of the node being contracted have targetStamp == epoch
+        int epoch;
+        final IndexedIntHeap heap;
+
+        Contractor(CsrGraph graph) {
+            nodeCount = graph.nodeCount();
+            outTargets = new int[nodeCount][];
+            outWeights = new long[nodeCount][];
+            outMiddles = new int[nodeCount][];
+            outSize = new int[nodeCount];
+            inSources = new int[nodeCount][];
+            inWeights = new long[nodeCount][];
+            inMiddles = new int[nodeCount][];
+            inSize = new int[nodeCount];
+            for (int node = 0; node < nodeCount; node++) {
+                outTargets[node] = new int[Math.max(2, graph.degree(node))];
+                outWeights[node] = new long[outTargets[node].length];
+                outMiddles[node] = new int[outTargets[node].length];
+                inSources[node] = new int[2];
+                inWeights[node] = new long[2];
+                inMiddles[node] = new int[2];
+            }
+            contractedNeighbors = new int[nodeCount];
+            updatedBy = new int[nodeCount];
+            rank = new int[nodeCount];
+            cost = new long[nodeCount];
+            stamp = new int[nodeCount];
+            targetStamp = new int[nodeCount];
+            heap = new IndexedIntHeap(nodeCount);
+            for (int node = 0; node < nodeCount; node++) {
+                for (int e = graph.firstEdge(node); e < graph.endEdge(node); e++) {
+                    if (graph.target(e) != node) { // Self loops are never on a shortest path
+                        addOrLower(node, graph.target(e), graph.weight(e), NO_MIDDLE);
+                    }
+                }
+            }
+        }
+
+        ContractionHierarchy contractAll() {
+            IndexedIntHeap queue = new IndexedIntHeap(nodeCount);
+            for (int node = 0; node < nodeCount; node++) {
+                queue.insert(node, contract(node, true));
+            }
+            int order = 0;
+            while (!queue.isEmpty()) {
+                int node = queue.pollMin();
+                // Edge differences go stale as shortcuts are added; put the node back if it is
+                // no longer the least important
+                long priority = contract(node, true);
+                if (!queue.isEmpty() && priority > queue.peekMinKey()) {
+                    queue.insert(node, priority);
+                    continue;
+                }
+                contract(node, false);
+                detach(node);
+                rank[node] = order++;
+                for (int i = 0; i < outSize[node]; i++) {
+                    updateNeighbor(queue, node, outTargets[node][i]);
+                }
+                for (int i = 0; i < inSize[node]; i++) {
+                    updateNeighbor(queue, node, inSources[node][i]);
+                }
+            }
+            return toHierarchy();
+        }
+
+        // Count the contracted neighbor right away; simulating the neighbor's contraction again
+        // would cost a witness search per edge of every neighbor, which is cubic in the degree
+        // of the dense top levels, so its edge difference is only rechecked when it is polled
+        private void updateNeighbor(IndexedIntHeap queue, int node, int neighbor) {
+            if (updatedBy[neighbor] != node + 1) {
+                updatedBy[neighbor] = node + 1;
+                contractedNeighbors[neighbor]++;
+                queue.changeKey(neighbor, queue.key(neighbor) + 1);
+            }
+        }
+
+        // Add the shortcuts that contracting the node needs, or with simulate just count them;
+        // returns the node's priority
+        // (edge difference plus contracted neighbors)
+        private long contract(int node, boolean simulate) {
+            int shortcuts = 0;
+            for (int i = 0; i < inSize[node]; i++) {
+                int from = inSources[node][i];
+                long inWeight = inWeights[node][i];
+                nextEpoch();
+                long maxCost = -1;
+                int targets = 0;
+                for (int j = 0; j < outSize[node]; j++) {
+                    int to = outTargets[node][j];
+                    if (to != from) {
+                        maxCost = Math.max(maxCost, inWeight + outWeights[node][j]);
+                        targetStamp[to] = epoch;
+                        targets++;
+                    }
+                }
+                if (targets == 0) {
+                    continue;
+                }
+                witnessSearch(from, node, maxCost, targets, simulate ? SIMULATION_SETTLE_LIMIT : WITNESS_SETTLE_LIMIT);
+                for (int j = 0; j < outSize[node]; j++) {
+                    int to = outTargets[node][j];
+                    if (to == from) {
+                        continue;
+                    }
+                    long via = inWeight + outWeights[node][j];
+                    if (stamp[to] == epoch && cost[to] <= via) {
+                        continue; // A witness path avoids the node
+                    }
+                    shortcuts++;
+                    if (!simulate) {
+                        addOrLower(from, to, via, node);
+                    }
+                }
+            }
+            return shortcuts - inSize[node] - outSize[node] + contractedNeighbors[node];
+        }
+
+        private void nextEpoch() {
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(stamp, 0);
+                Arrays.fill(targetStamp, 0);
+                epoch = 1;
+            }
+        }
+
+        // Dijkstra from the source around the excluded node, until the targets (nodes with a
+        // current targetStamp) are all settled, the costs pass maxCost or settleLimit nodes
+        // are settled
+        private void witnessSearch(int source, int excluded, long maxCost, int targets, int settleLimit) {
+            heap.clear();
+            stamp[source] = epoch;
+            cost[source] = 0;
+            heap.insert(source, 0);
+            int settled = 0;
+            while (!heap.isEmpty() && heap.peekMinKey() <= maxCost && settled++ < settleLimit) {
+                int current = heap.pollMin();
+                if (targetStamp[current] == epoch && --targets == 0) {
+                    return;
+                }
+                for (int i = 0; i < outSize[current]; i++) {
+                    int next = outTargets[current][i];
+                    if (next == excluded) {
+                        continue;
+                    }
+                    long newCost = cost[current] + outWeights[current][i];
+                    if (stamp[next] == epoch && newCost >= cost[next]) {
+                        continue;
+                    }
+                    stamp[next] = epoch;
+                    cost[next] = newCost;
+                    heap.insertOrDecrease(next, newCost);
+                }
+            }
+        }
+
+        // Add the edge, or lower the weight of the existing edge between the same nodes
+        private void addOrLower(int from, int to, long weight, int middle) {
+            for (int i = 0; i < outSize[from]; i++) {
+                if (outTargets[from][i] == to) {
+                    if (weight < outWeights[from][i]) {
+                        outWeights[from][i] = weight;
+                        outMiddles[from][i] = middle;
+                        int j = indexOf(inSources[to], inSize[to], from);
+                        inWeights[to][j] = weight;
+                        inMiddles[to][j] = middle;
+                    }
+                    return;
+                }
+            }
+            if (outSize[from] == outTargets[from].length) {
+                int capacity = outSize[from] * 2;
+                outTargets[from] = Arrays.copyOf(outTargets[from], capacity);
+                outWeights[from] = Arrays.copyOf(outWeights[from], capacity);
+                outMiddles[from] = Arrays.copyOf(outMiddles[from], capacity);
+            }
+            outTargets[from][outSize[from]] = to;
+            outWeights[from][outSize[from]] = weight;
+            outMiddles[from][outSize[from]] = middle;
+            outSize[from]++;
+            if (inSize[to] == inSources[to].length) {
+                int capacity = inSize[to] * 2;
+                inSources[to] = Arrays.copyOf(inSources[to], capacity);
+                inWeights[to] = Arrays.copyOf(inWeights[to], capacity);
+                inMiddles[to] = Arrays.copyOf(inMiddles[to], capacity);
+            }
+            inSources[to][inSize[to]] = from;
+            inWeights[to][inSize[to]] = weight;
+            inMiddles[to][inSize[to]] = middle;
+            inSize[to]++;
+        }
+
+        // Remove the contracted node from the lists of its neighbors, moving their last entry
+        // into its place
+        private void detach(int node) {
+            for (int i = 0; i < outSize[node]; i++) {
+                int to = outTargets[node][i];
+                int j = indexOf(inSources[to], inSize[to], node);
+                int last = --inSize[to];
+                inSources[to][j] = inSources[to][last];
+                inWeights[to][j] = inWeights[to][last];
+                inMiddles[to][j] = inMiddles[to][last];
+            }
+            for (int i = 0; i < inSize[node]; i++) {
+                int from = inSources[node][i];
+                int j = indexOf(outTargets[from], outSize[from], node);
+                int last = --outSize[from];
+                outTargets[from][j] = outTargets[from][last];
+                outWeights[from][j] = outWeights[from][last];
+                outMiddles[from][j] = outMiddles[from][last];
+            }
+        }
+
+        private static int indexOf(int[] nodes, int size, int node) {
+            for (int i = 0; i < size; i++) {
+                if (nodes[i] == node) {
+                    return i;
+                }
+            }
+            throw new IllegalStateException("Edge lists out of sync at node " + node);
+        }
+
+        // Each node's remaining out edges lead up and its remaining in edges come down
+        private ContractionHierarchy toHierarchy() {
+            int[] upOffsets = new int[nodeCount + 1];
+            int[] downOffsets = new int[nodeCount + 1];
+            for (int node = 0; node < nodeCount; node++) {
+                upOffsets[node + 1] = upOffsets[node] + outSize[node];
+                downOffsets[node + 1] = downOffsets[node] + inSize[node];
+            }
+            int[] upTargets = new int[upOffsets[nodeCount]];
+            int[] upMiddles = new int[upTargets.length];
+            long[] upWeights = new long[upTargets.length];
+            int[] downSources = new int[downOffsets[nodeCount]];
+            int[] downMiddles = new int[downSources.length];
+            long[] downWeights = new long[downSources.length];
+            for (int node = 0; node < nodeCount; node++) {
+                System.arraycopy(outTargets[node], 0, upTargets, upOffsets[node], outSize[node]);
+                System.arraycopy(outMiddles[node], 0, upMiddles, upOffsets[node], outSize[node]);
+                System.arraycopy(outWeights[node], 0, upWeights, upOffsets[node], outSize[node]);
+                System.arraycopy(inSources[node], 0, downSources, downOffsets[node], inSize[node]);
+                System.arraycopy(inMiddles[node], 0, downMiddles, downOffsets[node], inSize[node]);
+                System.arraycopy(inWeights[node], 0, downWeights, downOffsets[node], inSize[node]);
+            }
+            return new ContractionHierarchy(rank, upOffsets, upTargets, upMiddles, upWeights,
+                    downOffsets, downSources, downMiddles, downWeights);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Explicit stack for the iterative deepening searches: one entry per node on the current
+// path, holding the node, the next of its edges to try and the cost of the path up to it.
+// The arrays only grow, to the deepest path seen, so a stack reused across iterations and
+// queries allocates nothing after warm-up.
+final class DepthFirstStack {
+    private int[] nodes = new int[16];
+    private int[] edges = new int[16];
+    private long[] costs = new long[16];
+    private int size;
+
+    void clear() {
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void push(int node, int edge, long cost) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            edges = Arrays.copyOf(edges, size * 2);
+            costs = Arrays.copyOf(costs, size * 2);
+        }
+        nodes[size] = node;
+        edges[size] = edge;
+        costs[size] = cost;
+        size++;
+    }
+
+    void pop() {
+        size--;
+    }
+
+    int topNode() {
+        return nodes[size - 1];
+    }
+
+    long topCost() {
+        return costs[size - 1];
+    }
+
+    // Next edge of the top node to try, advancing the cursor past it
+    int nextEdge() {
+        return edges[size - 1]++;
+    }
+
+    // The nodes on the stack, bottom first
+    List<Integer> path() {
+        List<Integer> path = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            path.add(nodes[i]);
+        }
+        return path;
+    }
+}
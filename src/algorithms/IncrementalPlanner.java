@@ -0,0 +1,304 @@
+package algorithms;
+
+import model.Graph;
+import model.GraphListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Lifelong Planning A* (LPA*) for one (start, goal) pair on a Graph that keeps changing.
+// Every node has g, its cost from start as of the last expansion, and rhs, the cost that its
+// predecessors' g values offer now. A node whose g and rhs differ is inconsistent and waits in
+// the open list. The planner listens to the graph, so an added edge, a new weight or a new
+// heuristic value only updates the rhs of the nodes it touches; the next plan call then
+// expands just the inconsistent nodes that can still change the path to goal, instead of
+// searching the whole graph again.
+//
+// Edge costs are the graph's src -> dest weights, with missing weights costing
+// Integer.MAX_VALUE, added in long arithmetic like bidirectionalAStar; weights must not be
+// negative. Every cost also carries its number of edges, which breaks ties between equal
+// weights: LPA* needs every edge to cost more than nothing, or two nodes joined by zero-weight
+// edges could keep vouching for each other's outdated cost. Missing heuristics count as 0.
+// The path is the cheapest one when the heuristics are consistent
+// (h(u) <= cost(u, v) + h(v) for every edge), for example all 0.
+//
+// Like Graph, a planner is not thread-safe: mutate the graph and plan on the same thread.
+// Call close() to stop listening to the graph once the planner is no longer needed.
+public final class IncrementalPlanner implements GraphListener, AutoCloseable {
+    private static final long INFINITY = Long.MAX_VALUE;
+
+    private final Graph graph;
+    private final int start;
+    private final int goal;
+    private final Map<Integer, State> states = new HashMap<>();
+    // Entries are {cost + heuristic, cost, hops, node} of min(g, rhs), ordered field by field.
+    // Entries are never removed in place: an entry whose node is no longer queued with that key
+    // is skipped when it surfaces.
+    private final PriorityQueue<long[]> open = new PriorityQueue<>(IncrementalPlanner::compareKeys);
+    private int queuedCount; // Nodes with a live entry in open
+    private boolean keysOutdated; // A heuristic changed, so the queued keys must be recomputed
+    private boolean closed;
+
+    // Per-node search state. Nodes that were never reached have no State: g = rhs = INFINITY.
+    private static final class State {
+        final int node;
+        long g = INFINITY;
+        int gHops;
+        long rhs = INFINITY;
+        int rhsHops;
+        boolean queued; // Whether open holds a live entry for the node
+        long[] queuedKey; // That entry
+
+        State(int node) {
+            this.node = node;
+        }
+
+        boolean consistent() {
+            return compareCosts(g, gHops, rhs, rhsHops) == 0;
+        }
+    }
+
+    public IncrementalPlanner(Graph graph, int start, int goal) {
+        this.graph = graph;
+        this.start = start;
+        this.goal = goal;
+        State startState = state(start);
+        startState.rhs = 0;
+        enqueue(startState, SearchStats.DISABLED);
+        graph.addListener(this);
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getGoal() {
+        return goal;
+    }
+
+    // Cost of the path found by the last plan call, or Long.MAX_VALUE if there is none
+    public long getCost() {
+        State goalState = states.get(goal);
+        return goalState == null ? INFINITY : goalState.g;
+    }
+
+    // Bring the search up to date with the graph and return the path from start to goal, or an
+    // empty list if there is none. The first call is an ordinary A* search; later calls only
+    // repair what the graph changes since the previous call have invalidated.
+    List<Integer> plan(SearchStats stats) {
+        if (closed) {
+            throw new IllegalStateException("The planner has been closed");
+        }
+        if (keysOutdated) {
+            keysOutdated = false;
+            rebuildOpenList();
+        }
+        State goalState = state(goal);
+        while (!open.isEmpty()) {
+            long[] top = open.peek();
+            State state = states.get((int) top[3]);
+            if (!state.queued || state.queuedKey != top) {
+                open.poll(); // Outdated entry
+                continue;
+            }
+            // Done once the goal is consistent and no node left in the open list has a smaller key
+            if (goalState.consistent() && compareKeys(top, key(goalState)) >= 0) {
+                break;
+            }
+            open.poll();
+            state.queued = false;
+            queuedCount--;
+            stats.recordExpansion(state.node);
+            if (compareCosts(state.rhs, state.rhsHops, state.g, state.gHops) < 0) {
+                // Overconsistent: the cheaper cost is final, and can only lower the successors' rhs
+                state.g = state.rhs;
+                state.gHops = state.rhsHops;
+                for (int neighbor : graph.getNeighbors(state.node)) {
+                    relax(state(neighbor), state.g + graph.getEdgeWeight(state.node, neighbor), state.gHops + 1, stats);
+                }
+            } else {
+                // Underconsistent: the old cost no longer holds, so recompute the node and its successors
+                state.g = INFINITY;
+                updateRhs(state, stats);
+                for (int neighbor : graph.getNeighbors(state.node)) {
+                    updateRhs(state(neighbor), stats);
+                }
+            }
+            stats.recordFrontier(queuedCount);
+        }
+        compactOpenList();
+        return goalState.g == INFINITY ? new ArrayList<>() : extractPath();
+    }
+
+    @Override
+    public void edgeAdded(int src, int dest) {
+        // Both directions were added: each end may now be reached more cheaply through the other
+        updateRhs(state(dest), SearchStats.DISABLED);
+        updateRhs(state(src), SearchStats.DISABLED);
+    }
+
+    @Override
+    public void edgeWeightChanged(int src, int dest) {
+        updateRhs(state(dest), SearchStats.DISABLED);
+    }
+
+    @Override
+    public void heuristicChanged(int node) {
+        // g and rhs do not depend on the heuristics, only the keys of the queued nodes do. They
+        // are recomputed once at the next plan call, however many heuristics change before it.
+        keysOutdated = true;
+    }
+
+    // Stop listening to the graph; the planner cannot plan any more
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            graph.removeListener(this);
+        }
+    }
+
+    // Recompute rhs from the node's predecessors (its neighbors, as every edge is stored both
+    // ways), then queue or drop the node
+    private void updateRhs(State state, SearchStats stats) {
+        if (state.node != start) {
+            state.rhs = INFINITY;
+            for (int predecessor : graph.getNeighbors(state.node)) {
+                State predecessorState = states.get(predecessor);
+                if (predecessorState != null && predecessorState.g != INFINITY) {
+                    long cost = predecessorState.g + graph.getEdgeWeight(predecessor, state.node);
+                    int hops = predecessorState.gHops + 1;
+                    if (compareCosts(cost, hops, state.rhs, state.rhsHops) < 0) {
+                        state.rhs = cost;
+                        state.rhsHops = hops;
+                    }
+                }
+            }
+        }
+        requeue(state, stats);
+    }
+
+    // Lower rhs to the cost offered through a predecessor, if that is cheaper
+    private void relax(State state, long cost, int hops, SearchStats stats) {
+        if (state.node != start && compareCosts(cost, hops, state.rhs, state.rhsHops) < 0) {
+            state.rhs = cost;
+            state.rhsHops = hops;
+            requeue(state, stats);
+        }
+    }
+
+    // Queue the node if it is inconsistent, or drop it from the open list if it is consistent
+    private void requeue(State state, SearchStats stats) {
+        if (!state.consistent()) {
+            enqueue(state, stats);
+        } else if (state.queued) {
+            state.queued = false;
+            queuedCount--;
+        }
+    }
+
+    private void enqueue(State state, SearchStats stats) {
+        long[] key = key(state);
+        if (state.queued && compareKeys(state.queuedKey, key) == 0) {
+            return; // Already queued with this key
+        }
+        if (!state.queued) {
+            state.queued = true;
+            queuedCount++;
+        }
+        state.queuedKey = key;
+        open.add(key);
+        stats.recordGenerated();
+    }
+
+    // Drop outdated entries once they outnumber the live ones
+    private void compactOpenList() {
+        if (open.size() > 2 * queuedCount + 64) {
+            rebuildOpenList();
+        }
+    }
+
+    // Queue every inconsistent node again with its current key
+    private void rebuildOpenList() {
+        open.clear();
+        queuedCount = 0;
+        for (State state : states.values()) {
+            state.queued = false;
+            if (!state.consistent()) {
+                enqueue(state, SearchStats.DISABLED);
+            }
+        }
+    }
+
+    // Walk back from goal, each time to a predecessor whose g plus the edge gives the node's g.
+    // Every node on the way has one, one hop closer to start, so the walk cannot go in circles.
+    private List<Integer> extractPath() {
+        List<Integer> path = new ArrayList<>();
+        State current = states.get(goal);
+        path.add(current.node);
+        while (current.node != start) {
+            State next = null;
+            for (int predecessor : graph.getNeighbors(current.node)) {
+                State predecessorState = states.get(predecessor);
+                if (predecessorState != null && predecessorState.g != INFINITY
+                        && predecessorState.gHops + 1 == current.gHops
+                        && predecessorState.g + graph.getEdgeWeight(predecessor, current.node) == current.g) {
+                    next = predecessorState;
+                    break;
+                }
+            }
+            if (next == null) {
+                return new ArrayList<>(); // Inconsistent heuristics left g without a way back to start
+            }
+            current = next;
+            path.add(current.node);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    // Queue entry for the node: min(g, rhs) plus the heuristic, then min(g, rhs) itself
+    private long[] key(State state) {
+        boolean useRhs = compareCosts(state.rhs, state.rhsHops, state.g, state.gHops) < 0;
+        long cost = useRhs ? state.rhs : state.g;
+        int hops = useRhs ? state.rhsHops : state.gHops;
+        if (cost == INFINITY) {
+            return new long[]{INFINITY, INFINITY, 0, state.node};
+        }
+        return new long[]{cost + heuristic(state.node), cost, hops, state.node};
+    }
+
+    private long heuristic(int node) {
+        return graph.getHeuristics().getOrDefault(node, 0);
+    }
+
+    // Orders entries by estimate, cost and hops; the node is not compared
+    private static int compareKeys(long[] a, long[] b) {
+        for (int i = 0; i < 3; i++) {
+            if (a[i] != b[i]) {
+                return Long.compare(a[i], b[i]);
+            }
+        }
+        return 0;
+    }
+
+    // Orders costs by weight, then by hops; all infinite costs are equal
+    private static int compareCosts(long cost1, int hops1, long cost2, int hops2) {
+        if (cost1 != cost2) {
+            return Long.compare(cost1, cost2);
+        }
+        return cost1 == INFINITY ? 0 : Integer.compare(hops1, hops2);
+    }
+
+    private State state(int node) {
+        return states.computeIfAbsent(node, State::new);
+    }
+}
@@ -0,0 +1,181 @@
+package algorithms;
+
+import java.util.Arrays;
+
+// Indexed 4-ary min-heap of int ids with long keys.
+// Each id is in the heap at most once, and pos[] remembers where, so a cheaper key for a
+// queued id is applied in place (decrease-key) instead of pushing a duplicate entry.
+// Ids must be non-negative; the id space grows on demand.
+public final class IndexedIntHeap {
+    private static final int ARITY = 4;
+    private static final int ABSENT = -1;
+
+    private int[] heap; // Ids in heap order
+    private long[] keys; // keys[i] is the key of heap[i]
+    private int[] pos; // pos[id] is the heap index of id, or ABSENT
+    private int size;
+
+    public IndexedIntHeap(int idCapacity) {
+        heap = new int[Math.max(1, idCapacity)];
+        keys = new long[heap.length];
+        pos = new int[heap.length];
+        Arrays.fill(pos, ABSENT);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int id) {
+        return id < pos.length && pos[id] != ABSENT;
+    }
+
+    // Key of a queued id
+    public long key(int id) {
+        return keys[pos[id]];
+    }
+
+    // Add an id that is not in the heap yet
+    public void insert(int id, long key) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Heap ids must be non-negative, got " + id);
+        }
+        ensureIdCapacity(id + 1);
+        if (pos[id] != ABSENT) {
+            throw new IllegalStateException("Id " + id + " is already in the heap");
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        heap[size] = id;
+        keys[size] = key;
+        pos[id] = size;
+        siftUp(size++);
+    }
+
+    // Lower the key of a queued id; larger keys are ignored
+    public void decreaseKey(int id, long key) {
+        int index = pos[id];
+        if (key < keys[index]) {
+            keys[index] = key;
+            siftUp(index);
+        }
+    }
+
+    // Set the key of a queued id, moving it up or down as needed
+    public void changeKey(int id, long key) {
+        int index = pos[id];
+        long old = keys[index];
+        keys[index] = key;
+        if (key < old) {
+            siftUp(index);
+        } else {
+            siftDown(index);
+        }
+    }
+
+    // Insert the id, or lower its key if it is already queued. Returns true if the heap changed.
+    public boolean insertOrDecrease(int id, long key) {
+        if (!contains(id)) {
+            insert(id, key);
+            return true;
+        }
+        if (key < keys[pos[id]]) {
+            decreaseKey(id, key);
+            return true;
+        }
+        return false;
+    }
+
+    public int peekMin() {
+        return heap[0];
+    }
+
+    public long peekMinKey() {
+        return keys[0];
+    }
+
+    // Remove and return the id with the smallest key
+    public int pollMin() {
+        int min = heap[0];
+        pos[min] = ABSENT;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            keys[0] = keys[size];
+            pos[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    // Empty the heap in O(size), keeping the allocated arrays
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            pos[heap[i]] = ABSENT;
+        }
+        size = 0;
+    }
+
+    private void ensureIdCapacity(int capacity) {
+        if (capacity > pos.length) {
+            int oldLength = pos.length;
+            pos = Arrays.copyOf(pos, Math.max(capacity, oldLength * 2));
+            Arrays.fill(pos, oldLength, pos.length, ABSENT);
+        }
+    }
+
+    private void siftUp(int index) {
+        int id = heap[index];
+        long key = keys[index];
+        while (index > 0) {
+            int parent = (index - 1) / ARITY;
+            if (keys[parent] <= key) {
+                break;
+            }
+            move(parent, index);
+            index = parent;
+        }
+        heap[index] = id;
+        keys[index] = key;
+        pos[id] = index;
+    }
+
+    private void siftDown(int index) {
+        int id = heap[index];
+        long key = keys[index];
+        while (true) {
+            int first = index * ARITY + 1;
+            if (first >= size) {
+                break;
+            }
+            int best = first;
+            int last = Math.min(first + ARITY, size);
+            for (int child = first + 1; child < last; child++) {
+                if (keys[child] < keys[best]) {
+                    best = child;
+                }
+            }
+            if (keys[best] >= key) {
+                break;
+            }
+            move(best, index);
+            index = best;
+        }
+        heap[index] = id;
+        keys[index] = key;
+        pos[id] = index;
+    }
+
+    // Copy the entry at index from to index to
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        keys[to] = keys[from];
+        pos[heap[to]] = to;
+    }
+}
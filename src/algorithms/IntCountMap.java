@@ -0,0 +1,89 @@
+package algorithms;
+
+// Open-addressing map from an int key to an int count, for per-node counters over
+// arbitrary (possibly negative) node ids without boxing
+final class IntCountMap {
+    private int[] keys = new int[16];
+    private int[] counts = new int[16];
+    private boolean[] used = new boolean[16];
+    private int size;
+
+    void increment(int key) {
+        int slot = findSlot(key);
+        if (!used[slot]) {
+            used[slot] = true;
+            keys[slot] = key;
+            if (++size > keys.length / 2) {
+                resize();
+                slot = findSlot(key);
+            }
+        }
+        counts[slot]++;
+    }
+
+    // Only for keys in the map: a free slot must keep a count of 0 for the next key it takes
+    void decrement(int key) {
+        int slot = findSlot(key);
+        if (!used[slot]) {
+            throw new IllegalStateException("No count to decrement for " + key);
+        }
+        counts[slot]--;
+    }
+
+    // Drop the key and its count. Later keys of the same probe run shift back into the gap, so
+    // the map holds only the keys still in use and stays as small as the largest live set.
+    void remove(int key) {
+        int hole = findSlot(key);
+        if (!used[hole]) {
+            return;
+        }
+        int mask = keys.length - 1;
+        for (int slot = (hole + 1) & mask; used[slot]; slot = (slot + 1) & mask) {
+            // An entry can move back into the hole if its home slot is not between the two
+            if (((slot - home(keys[slot])) & mask) >= ((slot - hole) & mask)) {
+                keys[hole] = keys[slot];
+                counts[hole] = counts[slot];
+                hole = slot;
+            }
+        }
+        used[hole] = false;
+        counts[hole] = 0;
+        size--;
+    }
+
+    int get(int key) {
+        int slot = findSlot(key);
+        return used[slot] ? counts[slot] : 0;
+    }
+
+    private int findSlot(int key) {
+        int mask = keys.length - 1;
+        int slot = home(key);
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int home(int key) {
+        int hash = key * 0x9E3779B9; // Fibonacci hashing
+        return (hash ^ (hash >>> 16)) & (keys.length - 1);
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        boolean[] oldUsed = used;
+        keys = new int[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = findSlot(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+}
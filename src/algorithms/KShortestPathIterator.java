@@ -0,0 +1,295 @@
+package algorithms;
+
+import model.CsrGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// Yen's k shortest loopless paths over a CsrGraph, one path per next() in order of cost
+// (ties in the order the candidates were found). Each new path costs one Dijkstra run per
+// node of the previous path: the spur search from that node, banned from stepping to the next
+// node of any accepted path with the same root, and banned from the root nodes themselves so
+// the result stays simple. Steps are banned by target node rather than by edge, so parallel
+// edges do not bring back a path that was already found. With Lawler's refinement a path only spurs from where it deviated
+// from its parent, since the earlier spurs were already tried.
+//
+// The spur searches are A* runs guided by the exact cost from every node to the goal, found
+// once by a Dijkstra search over the reversed edges. Bans only make paths longer, so that
+// cost stays a consistent lower bound, and a spur search mostly walks straight along its
+// cheapest spur instead of flooding the graph. The kernel uses an IndexedIntHeap and
+// epoch-stamped arrays, so a search touches only the nodes it reaches. Costs are added in
+// long arithmetic.
+final class KShortestPathIterator implements Iterator<List<Integer>> {
+    private final CsrGraph graph;
+    private final int start;
+    private final int goal;
+    private final SearchStats stats;
+
+    private final List<Path> accepted = new ArrayList<>();
+    private final PriorityQueue<Path> candidates = new PriorityQueue<>((a, b) ->
+            a.cost != b.cost ? Long.compare(a.cost, b.cost) : Long.compare(a.sequence, b.sequence));
+    private final Set<Path> seen = new HashSet<>(); // Every path ever queued, compared by nodes
+    private long sequence;
+
+    // Dijkstra state, reused by every spur search
+    private final long[] cost;
+    private final int[] parent;
+    private final int[] parentEdge;
+    private final int[] stamp; // A node's cost and parents are valid when stamp[node] == epoch
+    private int epoch;
+    private long[] toGoal; // Cheapest cost from each node to the goal, UNREACHABLE if none
+    private final boolean[] bannedNodes;
+    private final boolean[] bannedSteps; // Next nodes the spur node must not step to
+    private final IndexedIntHeap heap;
+
+    private static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private boolean started;
+    private boolean finished;
+    private List<Integer> next;
+    private List<Integer> firstPath;
+
+    // A path as nodes and edges, with the index at which it left its parent path
+    private static final class Path {
+        final int[] nodes;
+        final int[] edges; // edges[i] leads from nodes[i] to nodes[i + 1]
+        final long cost;
+        final int deviation;
+        final long sequence;
+
+        Path(int[] nodes, int[] edges, long cost, int deviation, long sequence) {
+            this.nodes = nodes;
+            this.edges = edges;
+            this.cost = cost;
+            this.deviation = deviation;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Path && Arrays.equals(nodes, ((Path) other).nodes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(nodes);
+        }
+
+        List<Integer> toList() {
+            List<Integer> list = new ArrayList<>(nodes.length);
+            for (int node : nodes) {
+                list.add(node);
+            }
+            return list;
+        }
+    }
+
+    KShortestPathIterator(CsrGraph graph, int start, int goal, SearchStats stats) {
+        this.graph = graph;
+        this.start = start;
+        this.goal = goal;
+        this.stats = stats;
+        int nodeCount = graph.nodeCount();
+        this.cost = new long[nodeCount];
+        this.parent = new int[nodeCount];
+        this.parentEdge = new int[nodeCount];
+        this.stamp = new int[nodeCount];
+        this.bannedNodes = new boolean[nodeCount];
+        this.bannedSteps = new boolean[nodeCount];
+        this.heap = new IndexedIntHeap(nodeCount);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            next = advance();
+            if (next == null) {
+                finish();
+            } else if (firstPath == null) {
+                firstPath = next;
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public List<Integer> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<Integer> path = next;
+        next = null;
+        return path;
+    }
+
+    // Finish the stats with the first path; called when the paths run out or the caller stops
+    void finish() {
+        if (!finished) {
+            finished = true;
+            stats.finish(firstPath);
+        }
+    }
+
+    private List<Integer> advance() {
+        if (!started) {
+            started = true;
+            if (start == goal) {
+                accepted.add(new Path(new int[]{start}, new int[0], 0, 0, 0));
+                return accepted.get(0).toList();
+            }
+            if (!graph.containsNode(start) || !graph.containsNode(goal)) {
+                return null;
+            }
+            toGoal = costsToGoal();
+            if (toGoal[start] == UNREACHABLE) {
+                return null;
+            }
+            Path shortest = spur(new Path(new int[]{start}, new int[0], 0, 0, 0), 0, 0);
+            if (shortest == null) {
+                return null;
+            }
+            accepted.add(shortest);
+            seen.add(shortest);
+            return shortest.toList();
+        }
+        Path previous = accepted.get(accepted.size() - 1);
+        addCandidates(previous);
+        Path best = candidates.poll();
+        if (best == null) {
+            return null;
+        }
+        accepted.add(best);
+        return best.toList();
+    }
+
+    // Queue the deviations of the path at each of its nodes from its own deviation point on.
+    // The root nodes are banned, and the root cost summed, as the deviation point moves along.
+    private void addCandidates(Path path) {
+        long rootCost = 0;
+        for (int j = 0; j < path.deviation; j++) {
+            bannedNodes[path.nodes[j]] = true;
+            rootCost += graph.weight(path.edges[j]);
+        }
+        for (int i = path.deviation; i < path.nodes.length - 1; i++) {
+            setSteps(path, i, true);
+            Path candidate = spur(path, i, rootCost);
+            if (candidate != null && seen.add(candidate)) {
+                candidates.add(candidate);
+                stats.recordGenerated();
+            }
+            setSteps(path, i, false);
+            bannedNodes[path.nodes[i]] = true;
+            rootCost += graph.weight(path.edges[i]);
+        }
+        for (int j = 0; j < path.nodes.length - 1; j++) {
+            bannedNodes[path.nodes[j]] = false;
+        }
+        stats.recordFrontier(candidates.size());
+    }
+
+    // Ban or allow the steps that accepted paths with the same root take from node i
+    private void setSteps(Path path, int i, boolean banned) {
+        for (Path other : accepted) {
+            if (other.nodes.length > i + 1 && sharesRoot(other, path, i)) {
+                bannedSteps[other.nodes[i + 1]] = banned;
+            }
+        }
+    }
+
+    // True if both paths have the same nodes up to and including index i
+    private static boolean sharesRoot(Path a, Path b, int i) {
+        for (int j = 0; j <= i; j++) {
+            if (a.nodes[j] != b.nodes[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Dijkstra from the last root node to the goal, avoiding the banned nodes and steps; the root
+    // followed by the cheapest spur, or null if the goal cannot be reached
+    private Path spur(Path path, int deviation, long rootCost) {
+        int source = path.nodes[deviation];
+        epoch++;
+        heap.clear();
+        stamp[source] = epoch;
+        cost[source] = 0;
+        parentEdge[source] = -1;
+        heap.insert(source, toGoal[source]);
+
+        while (!heap.isEmpty()) {
+            int current = heap.pollMin();
+            if (current == goal) {
+                return join(path, deviation, rootCost);
+            }
+            stats.recordExpansion(current);
+            for (int e = graph.firstEdge(current); e < graph.endEdge(current); e++) {
+                int neighbor = graph.target(e);
+                if (toGoal[neighbor] == UNREACHABLE || bannedNodes[neighbor] || (current == source && bannedSteps[neighbor])) {
+                    continue;
+                }
+                long newCost = cost[current] + graph.weight(e);
+                if (stamp[neighbor] == epoch && newCost >= cost[neighbor]) {
+                    continue;
+                }
+                if (stamp[neighbor] == epoch && !heap.contains(neighbor)) {
+                    continue; // Already settled
+                }
+                stamp[neighbor] = epoch;
+                cost[neighbor] = newCost;
+                parent[neighbor] = current;
+                parentEdge[neighbor] = e;
+                heap.insertOrDecrease(neighbor, newCost + toGoal[neighbor]);
+            }
+        }
+        return null;
+    }
+
+    // Dijkstra from the goal over the reversed edges
+    private long[] costsToGoal() {
+        CsrGraph reversed = graph.reversed();
+        int nodeCount = graph.nodeCount();
+        long[] costs = new long[nodeCount];
+        Arrays.fill(costs, UNREACHABLE);
+        boolean[] settled = new boolean[nodeCount];
+        costs[goal] = 0;
+        heap.clear();
+        heap.insert(goal, 0);
+        while (!heap.isEmpty()) {
+            int current = heap.pollMin();
+            settled[current] = true;
+            for (int e = reversed.firstEdge(current); e < reversed.endEdge(current); e++) {
+                int previous = reversed.target(e);
+                long newCost = costs[current] + reversed.weight(e);
+                if (!settled[previous] && newCost < costs[previous]) {
+                    costs[previous] = newCost;
+                    heap.insertOrDecrease(previous, newCost);
+                }
+            }
+        }
+        return costs;
+    }
+
+    // The root (the path up to the deviation node) followed by the spur found by the search
+    private Path join(Path path, int deviation, long rootCost) {
+        int spurLength = 0;
+        for (int at = goal; parentEdge[at] != -1; at = parent[at]) {
+            spurLength++;
+        }
+        int[] nodes = Arrays.copyOf(path.nodes, deviation + 1 + spurLength);
+        int[] edges = Arrays.copyOf(path.edges, deviation + spurLength);
+        int index = nodes.length - 1;
+        for (int at = goal; parentEdge[at] != -1; at = parent[at]) {
+            nodes[index] = at;
+            edges[index - 1] = parentEdge[at];
+            index--;
+        }
+        return new Path(nodes, edges, rootCost + cost[goal], deviation, sequence++);
+    }
+}
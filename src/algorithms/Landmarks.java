@@ -0,0 +1,374 @@
+package algorithms;
+
+import model.CsrGraph;
+import model.HeuristicLookup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+// Landmark (ALT) heuristics for a CsrGraph: the exact distances from and to a few landmark
+// nodes, found once by Dijkstra, bound the distance between any two nodes by the triangle
+// inequality:
+//   d(v, goal) >= d(L, goal) - d(L, v)   and   d(v, goal) >= d(v, L) - d(goal, L)
+// The largest of these bounds over all landmarks is admissible and consistent, so A* stays
+// optimal while expanding far fewer nodes than with no heuristic at all. Edges are directed
+// (a missing weight is just a very expensive edge), so both directions are kept.
+//
+// Landmarks are picked by one of two strategies:
+//   farthest   each new landmark is the node farthest from the landmarks picked so far
+//   avoid      each new landmark is the leaf of the shortest path tree from a random root
+//              whose branch the current landmarks bound worst (Goldberg and Werneck)
+//
+// Distances are ints, capped at Integer.MAX_VALUE (which also stands for unreachable); a
+// capped distance only ever lowers a bound, so the estimates stay admissible. They are kept
+// node by node, negated where the bound subtracts them, so the estimate for a node is one
+// pass of add-and-max over a contiguous row. A goal's own distances go into a small array
+// once per search by towards(graph, goal).
+public final class Landmarks {
+    public static final int MAGIC = 0x4C544C41; // "ALTL" in little-endian bytes
+    public static final int FORMAT_VERSION = 1;
+    private static final int HEADER_INTS = 5;
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final int nodeCount;
+    private final int edgeCount; // Of the graph the landmarks belong to, to catch mismatched graphs
+    private final int[] landmarks;
+    private final int stride; // Ints per node: -d(L, v) for every landmark, then d(v, L) for every landmark
+    private final int[] rows;
+
+    private Landmarks(int nodeCount, int edgeCount, int[] landmarks, int[] rows) {
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+        this.landmarks = landmarks;
+        this.stride = 2 * landmarks.length;
+        this.rows = rows;
+    }
+
+    // Landmarks picked by the farthest strategy, starting from the first node with edges
+    public static Landmarks farthest(CsrGraph graph, int count) {
+        Builder builder = new Builder(graph, count);
+        for (int i = 0; i < builder.count; i++) {
+            builder.add(i, i == 0 ? builder.farthestFrom(builder.firstNodeWithEdges()) : builder.farthestFromLandmarks(i));
+        }
+        return builder.build();
+    }
+
+    // Landmarks picked by the avoid strategy; the seed picks the roots of the trees
+    public static Landmarks avoid(CsrGraph graph, int count, long seed) {
+        Builder builder = new Builder(graph, count);
+        Random random = new Random(seed);
+        for (int i = 0; i < builder.count; i++) {
+            builder.add(i, i == 0 ? builder.farthestFrom(builder.randomNodeWithEdges(random)) : builder.avoiding(i, random));
+        }
+        return builder.build();
+    }
+
+    public int count() {
+        return landmarks.length;
+    }
+
+    public int landmark(int index) {
+        return landmarks[index];
+    }
+
+    // Heuristic towards the goal for searches over the graph the landmarks were built for
+    public HeuristicLookup towards(CsrGraph graph, int goal) {
+        if (graph.nodeCount() != nodeCount || graph.edgeCount() != edgeCount) {
+            throw new IllegalArgumentException("Landmarks were built for a graph with " + nodeCount + " nodes and "
+                    + edgeCount + " edges, not " + graph.nodeCount() + " and " + graph.edgeCount());
+        }
+        if (goal < 0 || goal >= nodeCount) {
+            return node -> 0;
+        }
+        // Adding goalRow to a node's row gives d(L, goal) - d(L, v) and d(v, L) - d(goal, L)
+        int[] goalRow = new int[stride];
+        int base = goal * stride;
+        for (int j = 0; j < stride; j++) {
+            goalRow[j] = -rows[base + j];
+        }
+        return node -> estimate(node, goalRow);
+    }
+
+    // Largest bound over all landmarks; every term lies in [-MAX_VALUE, MAX_VALUE], so the
+    // int sums cannot overflow
+    private int estimate(int node, int[] goalRow) {
+        int base = node * stride;
+        int best = 0;
+        for (int j = 0; j < stride; j++) {
+            best = Math.max(best, rows[base + j] + goalRow[j]);
+        }
+        return best;
+    }
+
+    // Save the landmarks and their distances, for read
+    public void write(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(nodeCount).putInt(edgeCount).putInt(landmarks.length);
+            for (int[] section : new int[][]{landmarks, rows}) {
+                for (int value : section) {
+                    if (!buffer.hasRemaining()) {
+                        drain(channel, buffer);
+                    }
+                    buffer.putInt(value);
+                }
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Load landmarks saved by write. The distances are read onto the heap, since every
+    // estimate touches a whole row.
+    public static Landmarks read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.limit(HEADER_INTS * Integer.BYTES);
+            fill(channel, buffer);
+            if (buffer.remaining() < HEADER_INTS * Integer.BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException(file + " is not a landmark file");
+            }
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException(file + " has format version " + version + ", expected " + FORMAT_VERSION);
+            }
+            int nodeCount = buffer.getInt();
+            int edgeCount = buffer.getInt();
+            int count = buffer.getInt();
+            long rowInts = 2L * count * nodeCount;
+            if (nodeCount < 0 || edgeCount < 0 || count < 0 || rowInts > Integer.MAX_VALUE - 8
+                    || channel.size() != (HEADER_INTS + count + rowInts) * Integer.BYTES) {
+                throw new IOException(file + " is truncated or has a corrupt header");
+            }
+            int[] landmarks = new int[count];
+            int[] rows = new int[(int) rowInts];
+            for (int[] section : new int[][]{landmarks, rows}) {
+                int done = 0;
+                while (done < section.length) {
+                    buffer.clear();
+                    buffer.limit((int) Math.min(buffer.capacity(), (long) (section.length - done) * Integer.BYTES));
+                    fill(channel, buffer);
+                    int ints = buffer.remaining() / Integer.BYTES;
+                    buffer.asIntBuffer().get(section, done, ints);
+                    done += ints;
+                }
+            }
+            return new Landmarks(nodeCount, edgeCount, landmarks, rows);
+        }
+    }
+
+    // Read until the buffer is full or the file ends, then flip it
+    private static void fill(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // Keep reading
+        }
+        buffer.flip();
+    }
+
+    // Picks the landmarks one by one and fills their distances into the rows
+    private static final class Builder {
+        final CsrGraph graph;
+        final CsrGraph reversed;
+        final int count;
+        final int stride;
+        final int[] landmarks;
+        final int[] rows;
+        final boolean[] isLandmark;
+
+        // Dijkstra state, reused by every run
+        final long[] distance;
+        final int[] parent;
+        final int[] settleOrder; // Reached nodes in the order Dijkstra settled them
+        int settled;
+        final IndexedIntHeap heap;
+
+        Builder(CsrGraph graph, int count) {
+            int nodeCount = graph.nodeCount();
+            if (count < 1) {
+                throw new IllegalArgumentException("Need at least one landmark, got " + count);
+            }
+            count = Math.min(count, nodeCount);
+            if (2L * count * nodeCount > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException(count + " landmarks for " + nodeCount + " nodes do not fit in an int array");
+            }
+            this.graph = graph;
+            this.reversed = graph.reversed();
+            this.count = count;
+            this.stride = 2 * count;
+            this.landmarks = new int[count];
+            this.rows = new int[stride * nodeCount];
+            this.isLandmark = new boolean[nodeCount];
+            this.distance = new long[nodeCount];
+            this.parent = new int[nodeCount];
+            this.settleOrder = new int[nodeCount];
+            this.heap = new IndexedIntHeap(nodeCount);
+        }
+
+        Landmarks build() {
+            return new Landmarks(graph.nodeCount(), graph.edgeCount(), landmarks, rows);
+        }
+
+        // Make the node landmark number i and store its distances from and to every node
+        void add(int i, int landmark) {
+            landmarks[i] = landmark;
+            isLandmark[landmark] = true;
+            dijkstra(graph, landmark);
+            for (int node = 0; node < distance.length; node++) {
+                rows[node * stride + i] = -capped(distance[node]);
+            }
+            dijkstra(reversed, landmark);
+            for (int node = 0; node < distance.length; node++) {
+                rows[node * stride + count + i] = capped(distance[node]);
+            }
+        }
+
+        int firstNodeWithEdges() {
+            for (int node = 0; node < graph.nodeCount(); node++) {
+                if (graph.degree(node) > 0) {
+                    return node;
+                }
+            }
+            return 0;
+        }
+
+        int randomNodeWithEdges(Random random) {
+            for (int tries = 0; tries < 64; tries++) {
+                int node = random.nextInt(graph.nodeCount());
+                if (graph.degree(node) > 0) {
+                    return node;
+                }
+            }
+            return firstNodeWithEdges();
+        }
+
+        // The reachable node with edges that is farthest from the source
+        int farthestFrom(int source) {
+            dijkstra(graph, source);
+            int farthest = source;
+            for (int node = 0; node < distance.length; node++) {
+                if (graph.degree(node) > 0 && distance[node] != Long.MAX_VALUE && distance[node] > distance[farthest]) {
+                    farthest = node;
+                }
+            }
+            return farthest;
+        }
+
+        // The node with edges whose distance from the nearest of the first picked landmarks is
+        // largest; unreached nodes count as farthest, so other components get landmarks too
+        int farthestFromLandmarks(int picked) {
+            int farthest = -1;
+            long farthestDistance = -1;
+            for (int node = 0; node < graph.nodeCount(); node++) {
+                if (graph.degree(node) == 0 || isLandmark[node]) {
+                    continue;
+                }
+                long nearest = Long.MAX_VALUE;
+                for (int i = 0; i < picked; i++) {
+                    nearest = Math.min(nearest, -(long) rows[node * stride + i]);
+                }
+                if (nearest > farthestDistance) {
+                    farthest = node;
+                    farthestDistance = nearest;
+                }
+            }
+            return farthest == -1 ? landmarks[0] : farthest;
+        }
+
+        // Avoid: grow the shortest path tree of a random root, weigh each node by how much the
+        // current landmarks underestimate its distance from the root, and sum the weights up
+        // the tree, zeroing subtrees that already hold a landmark. The new landmark is the leaf
+        // reached by following the heaviest children down from the heaviest node.
+        int avoiding(int picked, Random random) {
+            int root = randomNodeWithEdges(random);
+            dijkstra(graph, root);
+            long[] size = new long[graph.nodeCount()];
+            int[] heaviestChild = new int[graph.nodeCount()];
+            boolean[] holdsLandmark = new boolean[graph.nodeCount()];
+            Arrays.fill(heaviestChild, -1);
+            int rootBase = root * stride;
+            for (int k = settled - 1; k >= 0; k--) {
+                int node = settleOrder[k];
+                if (isLandmark[node]) {
+                    holdsLandmark[node] = true;
+                }
+                if (holdsLandmark[node]) {
+                    size[node] = 0;
+                } else if (distance[node] < UNREACHABLE) {
+                    long bound = 0;
+                    int base = node * stride;
+                    for (int i = 0; i < picked; i++) {
+                        bound = Math.max(bound, (long) rows[rootBase + i] - rows[base + i]); // d(L, v) - d(L, root)
+                        bound = Math.max(bound, (long) rows[rootBase + count + i] - rows[base + count + i]); // d(root, L) - d(v, L)
+                    }
+                    size[node] += distance[node] - bound;
+                }
+                if (node != root) {
+                    int up = parent[node];
+                    holdsLandmark[up] |= holdsLandmark[node];
+                    size[up] += size[node];
+                    if (!holdsLandmark[node] && size[node] > 0
+                            && (heaviestChild[up] == -1 || size[node] > size[heaviestChild[up]])) {
+                        heaviestChild[up] = node;
+                    }
+                }
+            }
+            int heaviest = -1;
+            for (int k = 0; k < settled; k++) {
+                int node = settleOrder[k];
+                if (!holdsLandmark[node] && (heaviest == -1 || size[node] > size[heaviest])) {
+                    heaviest = node;
+                }
+            }
+            if (heaviest == -1 || size[heaviest] == 0) {
+                return farthestFromLandmarks(picked); // The root's tree is covered already
+            }
+            int leaf = heaviest;
+            while (heaviestChild[leaf] != -1) {
+                leaf = heaviestChild[leaf];
+            }
+            return leaf;
+        }
+
+        // Distances from the source over the given graph into distance[], Long.MAX_VALUE where
+        // unreached; also fills parent[] and settleOrder[]
+        void dijkstra(CsrGraph over, int source) {
+            Arrays.fill(distance, Long.MAX_VALUE);
+            heap.clear();
+            settled = 0;
+            distance[source] = 0;
+            parent[source] = -1;
+            heap.insert(source, 0);
+            while (!heap.isEmpty()) {
+                int current = heap.pollMin();
+                settleOrder[settled++] = current;
+                for (int e = over.firstEdge(current); e < over.endEdge(current); e++) {
+                    int neighbor = over.target(e);
+                    long newDistance = distance[current] + over.weight(e);
+                    if (newDistance < distance[neighbor]) {
+                        distance[neighbor] = newDistance;
+                        parent[neighbor] = current;
+                        heap.insertOrDecrease(neighbor, newDistance);
+                    }
+                }
+            }
+        }
+
+        private static int capped(long distance) {
+            return (int) Math.min(distance, UNREACHABLE);
+        }
+    }
+}
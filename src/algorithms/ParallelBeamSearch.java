@@ -0,0 +1,208 @@
+package algorithms;
+
+import model.CsrGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Beam search over a CsrGraph with the members of each level expanded in parallel on a
+// ForkJoinPool. The beam is split into chunks; every chunk's task expands its members, looks
+// up the children's heuristics and keeps its own best beamWidth children in a BeamBuffer, and
+// the chunk buffers are then merged into the next level. A child node is claimed with
+// compareAndSet by the first member that offers it in the level, so each node competes once
+// and the merged level is the same set of nodes as in the serial beamSearch. Which of two
+// members a shared child gets as its parent depends on scheduling.
+//
+// Memory per level is fixed by the width: one buffer per chunk, plus the arena entries that
+// remember the kept members for the returned path. Wide beams (hundreds of members) keep all
+// cores busy; a narrow beam is faster with the serial beamSearch.
+public final class ParallelBeamSearch {
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private int beamWidth = 256;
+
+    public ParallelBeamSearch(ForkJoinPool pool) {
+        this(pool, false);
+    }
+
+    public ParallelBeamSearch(int parallelism) {
+        this(new ForkJoinPool(parallelism), true);
+    }
+
+    private ParallelBeamSearch(ForkJoinPool pool, boolean ownsPool) {
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+    }
+
+    public void setBeamWidth(int beamWidth) {
+        if (beamWidth < 1) {
+            throw new IllegalArgumentException("Beam width must be at least 1, got " + beamWidth);
+        }
+        this.beamWidth = beamWidth;
+    }
+
+    public int getBeamWidth() {
+        return beamWidth;
+    }
+
+    // Shuts down the pool if this instance created it; a pool passed in is left to its owner
+    public void shutdown() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    // Path from start to goal found by the beam, or an empty list if the beam dies out first
+    public List<Integer> beamSearch(CsrGraph graph, int start, int goal) {
+        if (!graph.containsNode(start)) {
+            return new ArrayList<>();
+        }
+        Search search = new Search(graph, beamWidth, pool.getParallelism() * CHUNKS_PER_THREAD);
+        return search.run(start, goal, pool);
+    }
+
+    // State of one search. The coordinating thread owns everything except the claims, which
+    // the tasks of a level race for; the arrays the tasks read are only written between levels.
+    private static final class Search {
+        final CsrGraph graph;
+        final AtomicIntegerArray claimedLevel; // Last level that offered the node, 0 for none
+        final boolean[] explored; // Nodes that have been in a beam
+        final BeamBuffer[] chunkBuffers;
+        final BeamBuffer next;
+
+        // The current level, best first
+        final int[] beamNodes;
+        final int[] beamCosts;
+        final int[] beamSlots; // Arena slot of each member
+        int beamSize;
+        int level;
+
+        // Arena of the members of all levels, for the path
+        int[] arenaNodes = new int[64];
+        int[] arenaParents = new int[64];
+        int arenaSize;
+
+        Search(CsrGraph graph, int width, int maxChunks) {
+            this.graph = graph;
+            this.claimedLevel = new AtomicIntegerArray(graph.nodeCount());
+            this.explored = new boolean[graph.nodeCount()];
+            this.chunkBuffers = new BeamBuffer[Math.max(1, Math.min(maxChunks, width))];
+            for (int i = 0; i < chunkBuffers.length; i++) {
+                chunkBuffers[i] = new BeamBuffer(width);
+            }
+            this.next = new BeamBuffer(width);
+            this.beamNodes = new int[width];
+            this.beamCosts = new int[width];
+            this.beamSlots = new int[width];
+        }
+
+        List<Integer> run(int start, int goal, ForkJoinPool pool) {
+            beamNodes[0] = start;
+            beamCosts[0] = 0;
+            beamSlots[0] = addToArena(start, -1);
+            beamSize = 1;
+            explored[start] = true;
+
+            while (beamSize > 0) {
+                for (int i = 0; i < beamSize; i++) {
+                    if (beamNodes[i] == goal) {
+                        return pathTo(beamSlots[i]);
+                    }
+                }
+                level++;
+                int chunks = Math.min(chunkBuffers.length, beamSize);
+                pool.invoke(new ExpandTask(this, 0, chunks, chunks));
+
+                // Merge the chunk buffers; every node was claimed by one chunk, so there are no duplicates
+                next.clear();
+                for (int c = 0; c < chunks; c++) {
+                    BeamBuffer chunk = chunkBuffers[c];
+                    for (int i = 0; i < chunk.size(); i++) {
+                        next.offer(chunk.node(i), chunk.cost(i), chunk.heuristic(i), chunk.parent(i));
+                    }
+                }
+                next.sort();
+                for (int i = 0; i < next.size(); i++) {
+                    beamNodes[i] = next.node(i);
+                    beamCosts[i] = next.cost(i);
+                    beamSlots[i] = addToArena(next.node(i), next.parent(i));
+                    explored[next.node(i)] = true;
+                }
+                beamSize = next.size();
+            }
+            return new ArrayList<>();
+        }
+
+        // Expand the members [from, to) of the current level into the chunk's buffer
+        void expand(int from, int to, BeamBuffer buffer) {
+            buffer.clear();
+            for (int i = from; i < to; i++) {
+                int current = beamNodes[i];
+                for (int e = graph.firstEdge(current); e < graph.endEdge(current); e++) {
+                    int neighbor = graph.target(e);
+                    if (explored[neighbor]) {
+                        continue;
+                    }
+                    int claimed = claimedLevel.get(neighbor);
+                    if (claimed != level && claimedLevel.compareAndSet(neighbor, claimed, level)) {
+                        buffer.offer(neighbor, beamCosts[i] + graph.weight(e), graph.heuristic(neighbor), beamSlots[i]);
+                    }
+                }
+            }
+        }
+
+        private int addToArena(int node, int parent) {
+            if (arenaSize == arenaNodes.length) {
+                arenaNodes = Arrays.copyOf(arenaNodes, arenaSize * 2);
+                arenaParents = Arrays.copyOf(arenaParents, arenaSize * 2);
+            }
+            arenaNodes[arenaSize] = node;
+            arenaParents[arenaSize] = parent;
+            return arenaSize++;
+        }
+
+        private List<Integer> pathTo(int slot) {
+            List<Integer> path = new ArrayList<>();
+            for (int at = slot; at >= 0; at = arenaParents[at]) {
+                path.add(arenaNodes[at]);
+            }
+            Collections.reverse(path);
+            return path;
+        }
+    }
+
+    // Expands the chunks [from, to) of a level, splitting until one chunk is left
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private static final class ExpandTask extends RecursiveAction {
+        private final Search search;
+        private final int from;
+        private final int to;
+        private final int chunks;
+
+        ExpandTask(Search search, int from, int to, int chunks) {
+            this.search = search;
+            this.from = from;
+            this.to = to;
+            this.chunks = chunks;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ExpandTask(search, from, mid, chunks), new ExpandTask(search, mid, to, chunks));
+                return;
+            }
+            int members = search.beamSize;
+            search.expand((int) ((long) from * members / chunks), (int) ((long) to * members / chunks),
+                    search.chunkBuffers[from]);
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package algorithms;
+
+import model.CsrGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Level-synchronous parallel BFS over a CsrGraph on a ForkJoinPool.
+// Frontiers are bitsets. Each level runs either top-down (frontier nodes push to their
+// neighbors) or bottom-up (unvisited nodes look for a parent in the frontier), picked from
+// the frontier size as in Beamer's direction-optimizing BFS. Bottom-up steps read a node's
+// own edge list as its in-edges, so the graph must be symmetric, as every Graph is.
+//
+// The result is the serial bfs tree, whatever the thread count: every frontier node has its
+// rank in the serial queue order, a new node takes the frontier neighbor of lowest rank as
+// its parent (a compareAndSet minimum, so scheduling does not matter), and the next level is
+// ranked by parent rank, then by position in the parent's edge list, as the serial queue
+// would hold it. Ranking costs one more pass over the edges of the nodes that found children,
+// and bottom-up steps read every edge of an unvisited node instead of stopping at the first
+// frontier neighbor, so one thread takes about twice as long as an unordered parallel BFS.
+public final class ParallelBfs {
+    private static final int ALPHA = 14; // Go bottom-up once frontier edges exceed unexplored edges / ALPHA
+    private static final int BETA = 24; // Go back top-down once the frontier is smaller than nodes / BETA
+    private static final int WORDS_PER_TASK = 64; // Bitset words (64 nodes each) handled by one leaf task
+    private static final int RANKS_PER_TASK = 64 * WORDS_PER_TASK; // Frontier nodes handled by one leaf task
+    private static final int UNCLAIMED = Integer.MAX_VALUE;
+    public static final int UNREACHED = -1;
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+
+    public ParallelBfs(ForkJoinPool pool) {
+        this(pool, false);
+    }
+
+    public ParallelBfs(int parallelism) {
+        this(new ForkJoinPool(parallelism), true);
+    }
+
+    private ParallelBfs(ForkJoinPool pool, boolean ownsPool) {
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+    }
+
+    // BFS parent of every node reachable from start (parent[start] == start), UNREACHED elsewhere
+    public int[] parents(CsrGraph graph, int start) {
+        return search(graph, start, -1);
+    }
+
+    // Shortest path by hop count from start to goal, or an empty list if there is none
+    public List<Integer> bfs(CsrGraph graph, int start, int goal) {
+        List<Integer> path = new ArrayList<>();
+        if (!graph.containsNode(start) || !graph.containsNode(goal)) {
+            if (start == goal) {
+                path.add(start);
+            }
+            return path;
+        }
+        int[] parent = search(graph, start, goal);
+        if (parent[goal] == UNREACHED) {
+            return path;
+        }
+        for (int at = goal; at != start; at = parent[at]) {
+            path.add(at);
+        }
+        path.add(start);
+        Collections.reverse(path);
+        return path;
+    }
+
+    // Shuts down the pool if this instance created it; a pool passed in is left to its owner
+    public void shutdown() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    // Runs levels until the frontier is empty, or until goal has a parent when goal >= 0
+    private int[] search(CsrGraph graph, int start, int goal) {
+        int nodeCount = graph.nodeCount();
+        int[] parent = new int[nodeCount];
+        Arrays.fill(parent, UNREACHED);
+        if (!graph.containsNode(start)) {
+            return parent;
+        }
+        Level level = new Level(graph, parent);
+        parent[start] = start;
+        level.frontier[start >>> 6] |= 1L << start;
+        level.visited[start >>> 6] |= 1L << start;
+        level.order[0] = start;
+        level.rank[start] = 0;
+        level.frontierSize = 1;
+        long frontierEdges = graph.degree(start);
+        long unexploredEdges = (long) graph.edgeCount() - frontierEdges;
+        boolean bottomUp = false;
+
+        while (level.frontierSize > 0 && (goal < 0 || parent[goal] == UNREACHED)) {
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && level.frontierSize < nodeCount / BETA) {
+                bottomUp = false;
+            }
+            level.nextEdges.reset();
+            if (bottomUp) {
+                pool.invoke(new LevelTask(level, Phase.BOTTOM_UP, 0, level.words));
+            } else {
+                pool.invoke(new LevelTask(level, Phase.TOP_DOWN, 0, level.frontierSize));
+                pool.invoke(new LevelTask(level, Phase.ADOPT, 0, level.words));
+            }
+            level.rankNextLevel(pool);
+            frontierEdges = level.nextEdges.sum();
+            unexploredEdges -= frontierEdges;
+        }
+        return parent;
+    }
+
+    private enum Phase {
+        TOP_DOWN, // Over frontier ranks: offer the rank to the unvisited neighbors
+        ADOPT, // Over node words: nodes reached top-down take the parent of the lowest rank offered
+        BOTTOM_UP, // Over node words: unvisited nodes take their lowest ranked frontier neighbor as parent
+        COLLECT, // Over rank chunks: list the children of each frontier node in edge order
+        PLACE // Over rank chunks: copy the lists into the next level's order and rank them
+    }
+
+    // Search state kept across levels. During a level the frontier, order and rank of the
+    // frontier nodes are read-only; each other array slot has one writer per phase. The
+    // bitsets are checked before the per-node arrays, since they stay in cache where those do not.
+    private static final class Level {
+        final CsrGraph graph;
+        final int[] parent;
+        final int words;
+        final long[] visited; // Nodes with a parent before this level
+        final long[] frontier; // The frontier during discovery, then the nodes it found
+        final AtomicLongArray next;
+        int[] order; // order[r] is the frontier node of rank r
+        int[] nextOrder;
+        final int[] rank; // Rank of each node within its own level, for the bottom-up steps
+        final AtomicIntegerArray claim; // Rank of the parent of a node found this level, until it is listed
+        final boolean[] hasChildren; // By frontier rank, so ranking skips the nodes without children
+        final int[][] chunkChildren; // Children of the frontier ranks [c * RANKS_PER_TASK, (c + 1) * RANKS_PER_TASK)
+        final int[] chunkSize;
+        final int[] chunkOffset; // Rank of the first child of each chunk in the next level
+        int frontierSize;
+        final LongAdder nextEdges = new LongAdder();
+
+        Level(CsrGraph graph, int[] parent) {
+            int nodeCount = graph.nodeCount();
+            this.graph = graph;
+            this.parent = parent;
+            words = (nodeCount + 63) >>> 6;
+            visited = new long[words];
+            frontier = new long[words];
+            next = new AtomicLongArray(words);
+            order = new int[nodeCount];
+            nextOrder = new int[nodeCount];
+            rank = new int[nodeCount];
+            hasChildren = new boolean[nodeCount];
+            claim = new AtomicIntegerArray(nodeCount);
+            for (int i = 0; i < nodeCount; i++) {
+                claim.set(i, UNCLAIMED);
+            }
+            int chunks = (nodeCount + RANKS_PER_TASK - 1) / RANKS_PER_TASK;
+            chunkChildren = new int[chunks][];
+            chunkSize = new int[chunks];
+            chunkOffset = new int[chunks];
+        }
+
+        boolean inFrontier(int node) {
+            return (frontier[node >>> 6] & (1L << node)) != 0;
+        }
+
+        boolean isVisited(int node) {
+            return (visited[node >>> 6] & (1L << node)) != 0;
+        }
+
+        // Makes the nodes found this level the frontier, in the order the serial queue would
+        // hold them
+        void rankNextLevel(ForkJoinPool pool) {
+            for (int i = 0; i < words; i++) {
+                long found = next.get(i);
+                frontier[i] = found;
+                visited[i] |= found;
+                next.set(i, 0L);
+            }
+            int chunks = (frontierSize + RANKS_PER_TASK - 1) / RANKS_PER_TASK;
+            pool.invoke(new LevelTask(this, Phase.COLLECT, 0, chunks));
+            int total = 0;
+            for (int c = 0; c < chunks; c++) {
+                chunkOffset[c] = total;
+                total += chunkSize[c];
+            }
+            pool.invoke(new LevelTask(this, Phase.PLACE, 0, chunks));
+
+            int[] swap = order;
+            order = nextOrder;
+            nextOrder = swap;
+            frontierSize = total;
+        }
+    }
+
+    // Runs one phase over [from, to), splitting until the range is small. The range is over
+    // frontier ranks, bitset words or rank chunks, depending on the phase.
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private static final class LevelTask extends RecursiveAction {
+        private final Level level;
+        private final Phase phase;
+        private final int from;
+        private final int to;
+
+        LevelTask(Level level, Phase phase, int from, int to) {
+            this.level = level;
+            this.phase = phase;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > grain()) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new LevelTask(level, phase, from, mid), new LevelTask(level, phase, mid, to));
+                return;
+            }
+            switch (phase) {
+                case TOP_DOWN:
+                    topDown();
+                    break;
+                case ADOPT:
+                    adopt();
+                    break;
+                case BOTTOM_UP:
+                    bottomUp();
+                    break;
+                case COLLECT:
+                    for (int c = from; c < to; c++) {
+                        collect(c);
+                    }
+                    break;
+                default:
+                    for (int c = from; c < to; c++) {
+                        place(c);
+                    }
+            }
+        }
+
+        private int grain() {
+            switch (phase) {
+                case TOP_DOWN:
+                    return RANKS_PER_TASK;
+                case ADOPT:
+                case BOTTOM_UP:
+                    return WORDS_PER_TASK;
+                default:
+                    return 1;
+            }
+        }
+
+        // Every frontier node in the range offers its rank to its unvisited neighbors; the
+        // lowest rank wins, and the task that reaches a node first adds it to the next level
+        private void topDown() {
+            CsrGraph graph = level.graph;
+            long edges = 0;
+            for (int r = from; r < to; r++) {
+                int node = level.order[r];
+                for (int e = graph.firstEdge(node); e < graph.endEdge(node); e++) {
+                    int neighbor = graph.target(e);
+                    if (level.isVisited(neighbor)) {
+                        continue;
+                    }
+                    int claimed = level.claim.get(neighbor);
+                    while (r < claimed && !level.claim.compareAndSet(neighbor, claimed, r)) {
+                        claimed = level.claim.get(neighbor);
+                    }
+                    if (claimed == UNCLAIMED) {
+                        level.next.getAndAccumulate(neighbor >>> 6, 1L << neighbor, (a, b) -> a | b);
+                        edges += graph.degree(neighbor);
+                    }
+                }
+            }
+            level.nextEdges.add(edges);
+        }
+
+        // Every node reached top-down takes the frontier node of the lowest rank it was offered
+        private void adopt() {
+            for (int word = from; word < to; word++) {
+                long bits = level.next.get(word);
+                while (bits != 0) {
+                    int node = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    int parentRank = level.claim.get(node);
+                    level.parent[node] = level.order[parentRank];
+                    level.hasChildren[parentRank] = true; // Other tasks may store the same true
+                }
+            }
+        }
+
+        // Every unvisited node in the range takes its lowest ranked frontier neighbor as parent.
+        // That needs all of its edges, where an unordered bottom-up step could stop at the first
+        // frontier neighbor. Nodes in the range belong to this task only, so no compareAndSet
+        // is needed.
+        private void bottomUp() {
+            CsrGraph graph = level.graph;
+            int nodeCount = graph.nodeCount();
+            long edges = 0;
+            for (int word = from; word < to; word++) {
+                long found = 0;
+                int last = Math.min(nodeCount, (word + 1) << 6);
+                for (int node = word << 6; node < last; node++) {
+                    if (level.isVisited(node)) {
+                        continue;
+                    }
+                    int best = UNCLAIMED;
+                    for (int e = graph.firstEdge(node); e < graph.endEdge(node); e++) {
+                        int neighbor = graph.target(e);
+                        if (level.inFrontier(neighbor) && level.rank[neighbor] < best) {
+                            best = level.rank[neighbor];
+                        }
+                    }
+                    if (best != UNCLAIMED) {
+                        level.parent[node] = level.order[best];
+                        level.claim.set(node, best);
+                        level.hasChildren[best] = true;
+                        found |= 1L << node;
+                        edges += graph.degree(node);
+                    }
+                }
+                if (found != 0) {
+                    level.next.set(word, found);
+                }
+            }
+            level.nextEdges.add(edges);
+        }
+
+        // Lists the children of the chunk's nodes, by rank and then in edge order; the frontier
+        // bitset already holds the nodes found this level. A child has one parent, so only this
+        // chunk marks it, and a repeated edge lists it once.
+        private void collect(int chunk) {
+            CsrGraph graph = level.graph;
+            int[] children = level.chunkChildren[chunk];
+            if (children == null) {
+                children = new int[RANKS_PER_TASK];
+            }
+            int size = 0;
+            int last = Math.min(level.frontierSize, (chunk + 1) * RANKS_PER_TASK);
+            for (int r = chunk * RANKS_PER_TASK; r < last; r++) {
+                if (!level.hasChildren[r]) {
+                    continue;
+                }
+                level.hasChildren[r] = false;
+                int node = level.order[r];
+                for (int e = graph.firstEdge(node); e < graph.endEdge(node); e++) {
+                    int child = graph.target(e);
+                    if (level.inFrontier(child) && level.claim.get(child) == r) {
+                        level.claim.set(child, UNCLAIMED);
+                        if (size == children.length) {
+                            children = Arrays.copyOf(children, size * 2);
+                        }
+                        children[size++] = child;
+                    }
+                }
+            }
+            level.chunkChildren[chunk] = children;
+            level.chunkSize[chunk] = size;
+        }
+
+        // Gives the chunk's children their ranks in the next level
+        private void place(int chunk) {
+            int[] children = level.chunkChildren[chunk];
+            int offset = level.chunkOffset[chunk];
+            for (int i = 0; i < level.chunkSize[chunk]; i++) {
+                level.rank[children[i]] = offset + i;
+                level.nextOrder[offset + i] = children[i];
+            }
+        }
+    }
+}
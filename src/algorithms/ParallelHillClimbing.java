@@ -0,0 +1,221 @@
+package algorithms;
+
+import model.CsrGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Multi-start hill climbing over a CsrGraph on a ForkJoinPool. A single greedy climb, like
+// SearchAlgorithms.hillClimbing, fails as soon as every neighbor of the current node is on
+// its path; this runs many climbs in parallel and keeps the cheapest path any of them finds.
+//
+// Run 0 is the plain greedy climb, so the result is never worse than hillClimbing on the
+// same graph. Every other run is randomized from its own seed:
+//   random moves   the first randomMoves steps go to a random unvisited neighbor
+//   annealing      with a temperature above 0, each later step may take a random unvisited
+//                  neighbor instead of the best one, with probability
+//                  exp(-(h(random) - h(best)) / temperature); the temperature is multiplied by
+//                  the cooling factor after every step
+// Each step is one scan over the node's edges. The runs share the cost of the cheapest path
+// found so far and give up once their own path costs more. Ties between equally cheap paths
+// go to the lowest run number, and each run's moves depend only on its seed, so the result
+// does not depend on scheduling. Costs are added in long arithmetic, so missing weights
+// (NO_WEIGHT) do not wrap around; missing heuristics (NO_HEURISTIC) rank last.
+public final class ParallelHillClimbing {
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private int restarts = 64;
+    private int randomMoves = 2;
+    private double temperature;
+    private double cooling = 0.9;
+    private long seed = 42;
+
+    public ParallelHillClimbing(ForkJoinPool pool) {
+        this(pool, false);
+    }
+
+    public ParallelHillClimbing(int parallelism) {
+        this(new ForkJoinPool(parallelism), true);
+    }
+
+    private ParallelHillClimbing(ForkJoinPool pool, boolean ownsPool) {
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+    }
+
+    // Number of climbs, including the greedy run 0
+    public void setRestarts(int restarts) {
+        if (restarts < 1) {
+            throw new IllegalArgumentException("At least one restart is needed, got " + restarts);
+        }
+        this.restarts = restarts;
+    }
+
+    public int getRestarts() {
+        return restarts;
+    }
+
+    // Random steps at the start of every run but the first
+    public void setRandomMoves(int randomMoves) {
+        if (randomMoves < 0) {
+            throw new IllegalArgumentException("Random moves cannot be negative, got " + randomMoves);
+        }
+        this.randomMoves = randomMoves;
+    }
+
+    // Starting temperature for simulated annealing, in heuristic units; 0 (the default) turns it off
+    public void setTemperature(double temperature) {
+        if (!(temperature >= 0)) {
+            throw new IllegalArgumentException("Temperature cannot be negative, got " + temperature);
+        }
+        this.temperature = temperature;
+    }
+
+    // Factor applied to the temperature after every step, between 0 and 1
+    public void setCooling(double cooling) {
+        if (!(cooling >= 0 && cooling <= 1)) {
+            throw new IllegalArgumentException("Cooling must be between 0 and 1, got " + cooling);
+        }
+        this.cooling = cooling;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    // Shuts down the pool if this instance created it; a pool passed in is left to its owner
+    public void shutdown() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    // Cheapest path from start to goal found by any run, or an empty list if every run got stuck
+    public List<Integer> hillClimbing(CsrGraph graph, int start, int goal) {
+        List<Integer> path = new ArrayList<>();
+        if (!graph.containsNode(start) || !graph.containsNode(goal)) {
+            if (start == goal) {
+                path.add(start);
+            }
+            return path;
+        }
+        Best best = new Best();
+        pool.invoke(new ClimbTask(this, graph, start, goal, best, 0, restarts));
+        if (best.path != null) {
+            for (int node : best.path) {
+                path.add(node);
+            }
+        }
+        return path;
+    }
+
+    // The cheapest path so far. Runs read the cost without locking to decide when to give up.
+    private static final class Best {
+        final AtomicLong cost = new AtomicLong(Long.MAX_VALUE);
+        int run = Integer.MAX_VALUE;
+        int[] path;
+
+        synchronized void offer(long pathCost, int pathRun, int[] nodes) {
+            if (pathCost < cost.get() || (pathCost == cost.get() && pathRun < run)) {
+                path = nodes;
+                run = pathRun;
+                cost.set(pathCost);
+            }
+        }
+    }
+
+    // One climb: returns normally whether it reached the goal, got stuck or gave up
+    private void climb(CsrGraph graph, int start, int goal, int run, Best best) {
+        Random random = new Random(seed * 0x9E3779B97F4A7C15L + run);
+        IntCountMap visited = new IntCountMap();
+        int[] path = new int[16];
+        int length = 0;
+        path[length++] = start;
+        long cost = 0;
+        double heat = run == 0 ? 0 : temperature;
+        int current = start;
+
+        for (int step = 0; current != goal; step++) {
+            visited.increment(current);
+            // One scan finds the best unvisited neighbor and, by reservoir sampling, a random one
+            int bestEdge = -1;
+            int randomEdge = -1;
+            int candidates = 0;
+            for (int e = graph.firstEdge(current); e < graph.endEdge(current); e++) {
+                int neighbor = graph.target(e);
+                if (visited.get(neighbor) > 0) {
+                    continue;
+                }
+                if (bestEdge < 0 || graph.heuristic(neighbor) < graph.heuristic(graph.target(bestEdge))) {
+                    bestEdge = e;
+                }
+                if (run > 0 && random.nextInt(++candidates) == 0) {
+                    randomEdge = e;
+                }
+            }
+            if (bestEdge < 0) {
+                return; // Stuck
+            }
+
+            int edge = bestEdge;
+            if (run > 0 && step < randomMoves) {
+                edge = randomEdge;
+            } else if (heat > 0 && randomEdge != bestEdge) {
+                double worse = (double) graph.heuristic(graph.target(randomEdge)) - graph.heuristic(graph.target(bestEdge));
+                if (random.nextDouble() < Math.exp(-worse / heat)) {
+                    edge = randomEdge;
+                }
+            }
+            heat *= cooling;
+
+            cost += graph.weight(edge);
+            if (cost > best.cost.get()) {
+                return; // Another run already found a cheaper path
+            }
+            current = graph.target(edge);
+            if (length == path.length) {
+                path = Arrays.copyOf(path, length * 2);
+            }
+            path[length++] = current;
+        }
+        best.offer(cost, run, Arrays.copyOf(path, length));
+    }
+
+    // Runs the climbs [from, to), splitting until one is left
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private static final class ClimbTask extends RecursiveAction {
+        private final ParallelHillClimbing owner;
+        private final CsrGraph graph;
+        private final int start;
+        private final int goal;
+        private final Best best;
+        private final int from;
+        private final int to;
+
+        ClimbTask(ParallelHillClimbing owner, CsrGraph graph, int start, int goal, Best best, int from, int to) {
+            this.owner = owner;
+            this.graph = graph;
+            this.start = start;
+            this.goal = goal;
+            this.best = best;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ClimbTask(owner, graph, start, goal, best, from, mid),
+                        new ClimbTask(owner, graph, start, goal, best, mid, to));
+            } else {
+                owner.climb(graph, start, goal, from, best);
+            }
+        }
+    }
+}
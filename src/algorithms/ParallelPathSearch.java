@@ -0,0 +1,263 @@
+package algorithms;
+
+import model.CsrGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Cost-bounded enumeration of simple paths over a CsrGraph on a ForkJoinPool, for the
+// oracle search and branch and bound. The top splitDepth levels of the search tree become
+// one task per path prefix, and work stealing balances the uneven subtrees below them. Each
+// task copies the visited bitset and path of its prefix, and runs the rest of its subtree as
+// a serial depth-first search on its own stack, so tasks share nothing but the bound.
+//
+// Two modes:
+//   all paths     every simple path whose cost stays within the oracle value goes to the sink
+//   best so far   the bound is a shared AtomicInteger, lowered to just below the cost of
+//                 every goal path found, so all tasks prune against the cheapest path known
+//                 anywhere; the sink sees a sequence of ever cheaper paths, mostly in order
+// The sink is called from the worker threads and must be thread-safe. Costs are added in long
+// arithmetic, so missing weights (NO_WEIGHT) do not wrap around. Node ids must be valid for
+// the graph. Path order depends on scheduling.
+public final class ParallelPathSearch {
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private int splitDepth = 4;
+
+    public ParallelPathSearch(ForkJoinPool pool) {
+        this(pool, false);
+    }
+
+    public ParallelPathSearch(int parallelism) {
+        this(new ForkJoinPool(parallelism), true);
+    }
+
+    private ParallelPathSearch(ForkJoinPool pool, boolean ownsPool) {
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+    }
+
+    // Path length (in edges) up to which every prefix gets its own task
+    public void setSplitDepth(int splitDepth) {
+        this.splitDepth = splitDepth;
+    }
+
+    // Shuts down the pool if this instance created it; a pool passed in is left to its owner
+    public void shutdown() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    // Every simple path from start to goal with cost at most oracleValue, passed to the sink
+    public void oracleSearch(CsrGraph graph, int start, int goal, int oracleValue, Consumer<List<Integer>> sink) {
+        run(graph, start, goal, new AtomicInteger(oracleValue), false, (path, cost) -> sink.accept(path));
+    }
+
+    // Every simple path from start to goal with cost at most oracleValue, in no particular order
+    public List<List<Integer>> oracleSearch(CsrGraph graph, int start, int goal, int oracleValue) {
+        ConcurrentLinkedQueue<List<Integer>> paths = new ConcurrentLinkedQueue<>();
+        oracleSearch(graph, start, goal, oracleValue, paths::add);
+        return new ArrayList<>(paths);
+    }
+
+    // Best-so-far branch and bound: every path that was cheaper than all paths found before it
+    // is passed to the sink, and the last one reported is the cheapest
+    public void branchAndBound(CsrGraph graph, int start, int goal, int oracleValue, Consumer<List<Integer>> sink) {
+        run(graph, start, goal, new AtomicInteger(oracleValue), true, (path, cost) -> sink.accept(path));
+    }
+
+    // Cheapest simple path from start to goal with cost at most oracleValue, or an empty list
+    public List<Integer> branchAndBound(CsrGraph graph, int start, int goal, int oracleValue) {
+        Cheapest cheapest = new Cheapest();
+        run(graph, start, goal, new AtomicInteger(oracleValue), true, cheapest);
+        return cheapest.path;
+    }
+
+    private interface PathSink {
+        void found(List<Integer> path, long cost);
+    }
+
+    // Keeps the cheapest of the paths reported concurrently
+    private static final class Cheapest implements PathSink {
+        private long cost = Long.MAX_VALUE;
+        private List<Integer> path = new ArrayList<>();
+
+        @Override
+        public synchronized void found(List<Integer> path, long cost) {
+            if (cost < this.cost) {
+                this.cost = cost;
+                this.path = path;
+            }
+        }
+    }
+
+    private void run(CsrGraph graph, int start, int goal, AtomicInteger bound, boolean bestSoFar, PathSink sink) {
+        Search search = new Search(graph, goal, bound, bestSoFar, sink, splitDepth);
+        if (start == goal) {
+            search.report(new int[]{start}, 1, 0);
+            return;
+        }
+        if (!graph.containsNode(start)) {
+            return;
+        }
+        long[] visited = new long[(graph.nodeCount() + 63) >>> 6];
+        visited[start >>> 6] |= 1L << start;
+        pool.invoke(new PrefixTask(search, new int[]{start}, 1, visited, 0));
+    }
+
+    // State shared by all tasks of one search
+    private static final class Search {
+        final CsrGraph graph;
+        final int goal;
+        final AtomicInteger bound; // Paths costing more than this are cut off
+        final boolean bestSoFar;
+        final PathSink sink;
+        final int splitDepth;
+
+        Search(CsrGraph graph, int goal, AtomicInteger bound, boolean bestSoFar, PathSink sink, int splitDepth) {
+            this.graph = graph;
+            this.goal = goal;
+            this.bound = bound;
+            this.bestSoFar = bestSoFar;
+            this.sink = sink;
+            this.splitDepth = splitDepth;
+        }
+
+        // A goal path of the given cost was found; its cost is within the bound read by the caller
+        void report(int[] path, int length, long cost) {
+            if (bestSoFar) {
+                // Only strictly cheaper paths are wanted from now on
+                int previous = bound.getAndAccumulate((int) cost - 1, Math::min);
+                if (cost > previous) {
+                    return; // Another task found a cheaper path in the meantime
+                }
+            }
+            List<Integer> nodes = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                nodes.add(path[i]);
+            }
+            sink.found(nodes, cost);
+        }
+    }
+
+    // Searches every extension of one path prefix; the prefix arrays belong to this task
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private static final class PrefixTask extends RecursiveAction {
+        private final Search search;
+        private final int[] prefix;
+        private final int length;
+        private final long[] visited;
+        private final long cost;
+
+        PrefixTask(Search search, int[] prefix, int length, long[] visited, long cost) {
+            this.search = search;
+            this.prefix = prefix;
+            this.length = length;
+            this.visited = visited;
+            this.cost = cost;
+        }
+
+        @Override
+        protected void compute() {
+            if (length > search.splitDepth) {
+                new SubtreeSearch(search, prefix, length, visited, cost).run();
+                return;
+            }
+            CsrGraph graph = search.graph;
+            int node = prefix[length - 1];
+            List<PrefixTask> children = new ArrayList<>(graph.degree(node));
+            for (int e = graph.firstEdge(node); e < graph.endEdge(node); e++) {
+                int neighbor = graph.target(e);
+                if ((visited[neighbor >>> 6] & (1L << neighbor)) != 0) {
+                    continue;
+                }
+                long newCost = cost + graph.weight(e);
+                if (newCost > search.bound.get()) {
+                    continue;
+                }
+                int[] childPrefix = Arrays.copyOf(prefix, length + 1);
+                childPrefix[length] = neighbor;
+                if (neighbor == search.goal) {
+                    search.report(childPrefix, length + 1, newCost);
+                    continue; // A simple path cannot pass through the goal
+                }
+                long[] childVisited = visited.clone();
+                childVisited[neighbor >>> 6] |= 1L << neighbor;
+                children.add(new PrefixTask(search, childPrefix, length + 1, childVisited, newCost));
+            }
+            invokeAll(children);
+        }
+    }
+
+    // Serial depth-first search below a prefix with an explicit stack: the path, the next edge
+    // to try at each path node and the cost up to each path node
+    private static final class SubtreeSearch {
+        private final Search search;
+        private final long[] visited;
+        private int[] path;
+        private int[] nextEdge;
+        private long[] costs;
+        private int length;
+
+        SubtreeSearch(Search search, int[] prefix, int length, long[] visited, long cost) {
+            this.search = search;
+            this.visited = visited;
+            int capacity = Math.max(16, length * 2);
+            this.path = Arrays.copyOf(prefix, capacity);
+            this.nextEdge = new int[capacity];
+            this.costs = new long[capacity];
+            this.length = length;
+            nextEdge[length - 1] = search.graph.firstEdge(path[length - 1]);
+            costs[length - 1] = cost;
+        }
+
+        void run() {
+            CsrGraph graph = search.graph;
+            int bottom = length - 1; // The prefix below this is not ours to pop
+            while (length > bottom) {
+                int top = length - 1;
+                int node = path[top];
+                if (nextEdge[top] == graph.endEdge(node)) {
+                    visited[node >>> 6] &= ~(1L << node);
+                    length--;
+                    continue;
+                }
+                int e = nextEdge[top]++;
+                int neighbor = graph.target(e);
+                if ((visited[neighbor >>> 6] & (1L << neighbor)) != 0) {
+                    continue;
+                }
+                long newCost = costs[top] + graph.weight(e);
+                if (newCost > search.bound.get()) {
+                    continue;
+                }
+                push(neighbor, newCost);
+                if (neighbor == search.goal) {
+                    search.report(path, length, newCost);
+                    length--; // A simple path cannot pass through the goal
+                } else {
+                    visited[neighbor >>> 6] |= 1L << neighbor;
+                }
+            }
+        }
+
+        private void push(int node, long cost) {
+            if (length == path.length) {
+                path = Arrays.copyOf(path, length * 2);
+                nextEdge = Arrays.copyOf(nextEdge, length * 2);
+                costs = Arrays.copyOf(costs, length * 2);
+            }
+            path[length] = node;
+            nextEdge[length] = search.graph.firstEdge(node);
+            costs[length] = cost;
+            length++;
+        }
+    }
+}
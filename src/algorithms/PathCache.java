@@ -0,0 +1,185 @@
+package algorithms;
+
+import model.Graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Bounded LRU cache of search results, in front of one SearchAlgorithms instance for
+// workloads that ask the same queries again and again. An entry is keyed by the algorithm
+// name, start, goal and oracle value, the instance's beam width, node budget and frontier
+// choice at the time of the search, and the graph's id and version. So once addEdge,
+// setEdgeWeight, setHeuristic or a published batch changes the graph, or a setter changes how
+// the instance searches, the old entries can no longer be hit; they are simply evicted as
+// newer entries push them out of the LRU order. A graph and its snapshots share the id, so
+// passing graph.snapshot() and searching that snapshot ties the result to exactly the
+// version in the key. Keys hold no reference to the graph, so the entries for old versions
+// keep nothing alive but their results.
+//
+// The search is handed the cache's own SearchAlgorithms, so a result is always filed under
+// the settings it was found with. Only searches that depend on nothing but those settings,
+// the graph's own edges, weights and heuristics and the key may be cached. Results are stored
+// as unmodifiable lists, so a caller cannot change what the next caller gets.
+//
+// Safe to share between threads as long as the instance's settings are not changed during a
+// search. The search runs outside the lock, so a slow search never blocks hits on other keys;
+// two threads missing on the same key at the same moment both search, and the second result
+// replaces the first.
+public final class PathCache {
+    private static final Object NO_RESULT = new Object(); // Stands in for a null search result
+
+    private final SearchAlgorithms searches;
+    private final int capacity;
+    private final Map<Key, Object> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public PathCache(SearchAlgorithms searches, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be positive, got " + capacity);
+        }
+        this.searches = searches;
+        this.capacity = capacity;
+        // Access order: every get moves the entry to the back, so the eldest entry is the least recently used
+        this.entries = new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                if (size() > PathCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Cached result of the query, or the result of running search on this cache's
+    // SearchAlgorithms, which is cached for the next call. Use a distinct algorithm name for
+    // each search that can be passed in, and pass 0 as the oracle value for searches that do
+    // not take one.
+    @SuppressWarnings("unchecked")
+    public <T> T get(String algorithm, Graph graph, int start, int goal, int oracleValue, Function<SearchAlgorithms, T> search) {
+        // Read the version and settings before searching: if the graph changes during the
+        // search, the result is filed under the old version and is never served for the new graph
+        Key key = new Key(algorithm, graph.getId(), graph.getVersion(), start, goal, oracleValue,
+                searches.getBeamWidth(), searches.getNodeBudget(), searches.isIndexedHeap());
+        synchronized (this) {
+            Object cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached == NO_RESULT ? null : (T) cached;
+            }
+            misses++;
+        }
+        T result = (T) freeze(search.apply(searches));
+        synchronized (this) {
+            entries.put(key, result == null ? NO_RESULT : result);
+        }
+        return result;
+    }
+
+    // Drop every entry; the counters are kept
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    // Fraction of lookups answered from the cache, 0 before the first lookup
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("PathCache[size=%d/%d, hits=%d, misses=%d, evictions=%d]",
+                entries.size(), capacity, hits, misses, evictions);
+    }
+
+    // Unmodifiable copy of a path or of a list of paths
+    private static Object freeze(Object result) {
+        if (!(result instanceof List)) {
+            return result;
+        }
+        List<Object> copy = new ArrayList<>();
+        for (Object element : (List<?>) result) {
+            copy.add(freeze(element));
+        }
+        return Collections.unmodifiableList(copy);
+    }
+
+    private static final class Key {
+        private final String algorithm;
+        private final long graphId; // Two equal graphs still have separate entries
+        private final long version;
+        private final int start;
+        private final int goal;
+        private final int oracleValue;
+        private final int beamWidth;
+        private final int nodeBudget;
+        private final boolean indexedHeap;
+        private final int hash;
+
+        Key(String algorithm, long graphId, long version, int start, int goal, int oracleValue,
+            int beamWidth, int nodeBudget, boolean indexedHeap) {
+            this.algorithm = algorithm;
+            this.graphId = graphId;
+            this.version = version;
+            this.start = start;
+            this.goal = goal;
+            this.oracleValue = oracleValue;
+            this.beamWidth = beamWidth;
+            this.nodeBudget = nodeBudget;
+            this.indexedHeap = indexedHeap;
+            int h = algorithm.hashCode();
+            h = 31 * h + Long.hashCode(graphId);
+            h = 31 * h + Long.hashCode(version);
+            h = 31 * h + start;
+            h = 31 * h + goal;
+            h = 31 * h + oracleValue;
+            h = 31 * h + beamWidth;
+            h = 31 * h + nodeBudget;
+            this.hash = 31 * h + Boolean.hashCode(indexedHeap);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return graphId == key.graphId && version == key.version && start == key.start && goal == key.goal
+                    && oracleValue == key.oracleValue && beamWidth == key.beamWidth && nodeBudget == key.nodeBudget
+                    && indexedHeap == key.indexedHeap && algorithm.equals(key.algorithm);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package algorithms;
+
+import model.EdgeWeightLookup;
+import model.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+// Simple paths from start to goal, one at a time, in the order of a recursive depth-first
+// search that follows each node's neighbors in adjacency list order. The recursion is an
+// explicit stack: for each node on the current path, its neighbor list and the position of
+// the next neighbor to try. Memory is proportional to the current path, however many paths
+// there are.
+//
+// With edge weights, branches whose cost would exceed the cost limit are cut off. Costs are
+// added in long arithmetic, so missing weights (Integer.MAX_VALUE) cut the branch instead of
+// wrapping around. The stats are finished, with the first path, once the paths run out.
+// The graph must not change during the iteration.
+final class PathIterator implements Iterator<List<Integer>> {
+    private final Graph graph;
+    private final int start;
+    private final int goal;
+    private final EdgeWeightLookup edgeWeights; // null to ignore costs
+    private final long costLimit;
+    private final SearchStats stats;
+
+    private final List<Integer> path = new ArrayList<>();
+    private final Set<Integer> onPath = new HashSet<>();
+    private final List<List<Integer>> neighbors = new ArrayList<>(); // Neighbor list of each path node
+    private int[] nextNeighbor = new int[16]; // Index in that list of the next neighbor to try
+    private long[] costs = new long[16]; // Cost of the path up to each node
+
+    private boolean started;
+    private boolean finished;
+    private List<Integer> next; // Found by hasNext, not yet returned by next
+    private List<Integer> firstPath;
+
+    PathIterator(Graph graph, int start, int goal, EdgeWeightLookup edgeWeights, long costLimit, SearchStats stats) {
+        this.graph = graph;
+        this.start = start;
+        this.goal = goal;
+        this.edgeWeights = edgeWeights;
+        this.costLimit = costLimit;
+        this.stats = stats;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            next = advance();
+            if (next == null) {
+                finished = true;
+                stats.finish(firstPath);
+            } else if (firstPath == null) {
+                firstPath = next;
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public List<Integer> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<Integer> path = next;
+        next = null;
+        return path;
+    }
+
+    // Continue the depth-first search up to the next path to the goal, or null at the end
+    private List<Integer> advance() {
+        if (!started) {
+            started = true;
+            push(start, 0);
+            if (start == goal) {
+                return new ArrayList<>(path);
+            }
+        }
+        while (!path.isEmpty()) {
+            int top = path.size() - 1;
+            List<Integer> candidates = neighbors.get(top);
+            if (nextNeighbor[top] == candidates.size()) {
+                pop();
+                continue;
+            }
+            int neighbor = candidates.get(nextNeighbor[top]++);
+            if (onPath.contains(neighbor)) {
+                continue;
+            }
+            long cost = costs[top];
+            if (edgeWeights != null) {
+                cost += edgeWeights.getEdgeWeight(path.get(top), neighbor);
+                if (cost > costLimit) {
+                    stats.recordPruning();
+                    continue;
+                }
+            }
+            push(neighbor, cost);
+            if (neighbor == goal) {
+                return new ArrayList<>(path);
+            }
+        }
+        return null;
+    }
+
+    // A simple path cannot pass through the goal, so the goal is never expanded
+    private void push(int node, long cost) {
+        int depth = path.size();
+        if (depth == nextNeighbor.length) {
+            nextNeighbor = Arrays.copyOf(nextNeighbor, depth * 2);
+            costs = Arrays.copyOf(costs, depth * 2);
+        }
+        path.add(node);
+        onPath.add(node);
+        nextNeighbor[depth] = 0;
+        costs[depth] = cost;
+        stats.recordGenerated();
+        stats.recordFrontier(path.size());
+        if (node == goal) {
+            neighbors.add(Collections.emptyList());
+        } else {
+            stats.recordExpansion(node);
+            neighbors.add(graph.getNeighbors(node));
+        }
+    }
+
+    private void pop() {
+        int top = path.size() - 1;
+        onPath.remove(path.remove(top));
+        neighbors.remove(top);
+    }
+}
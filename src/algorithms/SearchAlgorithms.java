@@ -1,12 +1,81 @@
 package algorithms;
 
+import model.CsrGraph;
+import model.EdgeWeightLookup;
 import model.Graph;
+import model.HeuristicLookup;
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class SearchAlgorithms {
+    // When set, A* and the branch and bound searches keep their open list in an IndexedIntHeap
+    // (one entry per node, decrease-key on cheaper paths) instead of a PriorityQueue of Nodes
+    private boolean indexedHeap;
+
+    private int beamWidth = 3;
+
+    private int nodeBudget = 100_000;
+
+    private SearchListener listener;
+
+    // Switch between the indexed heap frontier and the original PriorityQueue frontier.
+    // The indexed heap needs non-negative node ids. It keeps one entry per node, so
+    // branchAndBound returns only the cheapest path within the oracle value. Costs are added
+    // in long arithmetic, so missing weights or heuristics (Integer.MAX_VALUE) do not wrap around.
+    public void setIndexedHeap(boolean indexedHeap) {
+        this.indexedHeap = indexedHeap;
+    }
+
+    public boolean isIndexedHeap() {
+        return indexedHeap;
+    }
+
+    // Number of nodes beam search keeps per level (3 by default). Each level expands its nodes
+    // and keeps only the best beamWidth children by heuristic, so the frontier never grows
+    // past the width, at the price of missing paths that pass through the discarded children.
+    public void setBeamWidth(int beamWidth) {
+        if (beamWidth < 1) {
+            throw new IllegalArgumentException("Beam width must be at least 1, got " + beamWidth);
+        }
+        this.beamWidth = beamWidth;
+    }
+
+    public int getBeamWidth() {
+        return beamWidth;
+    }
+
+    // Most search nodes smaStar keeps in memory at once (100000 by default). It must leave room
+    // for the path: with fewer nodes than the cheapest path has, smaStar returns a costlier path
+    // that fits, or none.
+    public void setNodeBudget(int nodeBudget) {
+        if (nodeBudget < 2) {
+            throw new IllegalArgumentException("The node budget must be at least 2, got " + nodeBudget);
+        }
+        this.nodeBudget = nodeBudget;
+    }
+
+    public int getNodeBudget() {
+        return nodeBudget;
+    }
+
+    // Receives a SearchStats after every search, or null (the default) for none.
+    // The same counters go to the "algorithms.Search" Flight Recorder event when it is enabled.
+    public void setListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    public SearchListener getListener() {
+        return listener;
+    }
+
+    private SearchStats startStats(String algorithm, int start, int goal) {
+        return SearchStats.start(algorithm, start, goal, listener);
+    }
 
     // BFS algorithm
     public List<Integer> bfs(Graph graph, int start, int goal) {
+        SearchStats stats = startStats("bfs", start, goal);
         Queue<Integer> queue = new LinkedList<>();
         Set<Integer> visited = new HashSet<>();
         Map<Integer, Integer> parent = new HashMap<>();
@@ -19,23 +88,27 @@ public class SearchAlgorithms {
             int node = queue.poll();
 
             if (node == goal) {
-                return buildPath(parent, start, goal);
+                return stats.finish(buildPath(parent, start, goal));
             }
 
+            stats.recordExpansion(node);
             for (int neighbor : graph.getNeighbors(node)) {
                 if (!visited.contains(neighbor)) {
                     visited.add(neighbor);
                     queue.add(neighbor);
                     parent.put(neighbor, node);
+                    stats.recordGenerated();
                 }
             }
+            stats.recordFrontier(queue.size());
         }
 
-        return path; // Return empty list if no path is found
+        return stats.finish(path); // Return empty list if no path is found
     }
 
     // DFS algorithm
     public List<Integer> dfs(Graph graph, int start, int goal) {
+        SearchStats stats = startStats("dfs", start, goal);
         Stack<Integer> stack = new Stack<>();
         Set<Integer> visited = new HashSet<>();
         Map<Integer, Integer> parent = new HashMap<>();
@@ -47,38 +120,56 @@ public class SearchAlgorithms {
             int node = stack.pop();
 
             if (node == goal) {
-                return buildPath(parent, start, goal);
+                return stats.finish(buildPath(parent, start, goal));
             }
 
             if (!visited.contains(node)) {
                 visited.add(node);
+                stats.recordExpansion(node);
                 for (int neighbor : graph.getNeighbors(node)) {
                     if (!visited.contains(neighbor)) {
                         stack.push(neighbor);
                         parent.put(neighbor, node);
+                        stats.recordGenerated();
                     }
                 }
+                stats.recordFrontier(stack.size());
             }
         }
 
-        return path; // Return empty list if no path is found
+        return stats.finish(path); // Return empty list if no path is found
     }
 
-    // British Museum Search (brute-force all paths)
+    // British Museum Search (brute-force all paths); returns the first path the enumeration finds
     public List<Integer> britishMuseumSearch(Graph graph, int start, int goal) {
-        List<List<Integer>> allPaths = new ArrayList<>();
-        findAllPaths(graph, start, goal, new HashSet<>(), new ArrayList<>(), allPaths);
-
-        if (!allPaths.isEmpty()) {
-            return allPaths.get(0); // Return first path found for demonstration
+        SearchStats stats = startStats("britishMuseumSearch", start, goal);
+        Iterator<List<Integer>> paths = new PathIterator(graph, start, goal, null, Long.MAX_VALUE, stats);
+        if (paths.hasNext()) {
+            return stats.finish(paths.next());
         }
-        return new ArrayList<>();
+        return new ArrayList<>(); // The exhausted iterator has finished the stats
     }
 
-    // Hill Climbing algorithm
+    // Every simple path from start to goal, enumerated lazily in depth-first order. Only the
+    // current path is kept, so a caller can stop after the first few paths on any graph size.
+    public Iterator<List<Integer>> allPathsIterator(Graph graph, int start, int goal) {
+        return new PathIterator(graph, start, goal, null, Long.MAX_VALUE, startStats("allPaths", start, goal));
+    }
+
+    public Stream<List<Integer>> allPathsStream(Graph graph, int start, int goal) {
+        return stream(allPathsIterator(graph, start, goal));
+    }
+
+    // Hill Climbing algorithm (edge weights are not used, only the heuristics)
     public List<Integer> hillClimbing(Graph graph, int start, int goal,
                                       Map<Integer, Integer> heuristics,
                                       Map<String, Integer> edgeWeights) {
+        return hillClimbing(graph, start, goal, heuristics);
+    }
+
+    // Hill Climbing algorithm
+    public List<Integer> hillClimbing(Graph graph, int start, int goal, Map<Integer, Integer> heuristics) {
+        SearchStats stats = startStats("hillClimbing", start, goal);
         List<Integer> path = new ArrayList<>();
         Set<Integer> visited = new HashSet<>();
         int current = start;
@@ -87,30 +178,154 @@ public class SearchAlgorithms {
 
         while (current != goal) {
             visited.add(current);
-            List<Integer> neighbors = graph.getNeighbors(current);
-
-            // Sort neighbors by their heuristic cost
-            neighbors.sort(Comparator.comparingInt(heuristics::get));
-
-            // Select the best neighbor based on the heuristic value
-            int bestNeighbor = -1;
-            for (int neighbor : neighbors) {
+            stats.recordExpansion(current);
+            // Select the unvisited neighbor with the best heuristic value; ties go to the earliest
+            // neighbor. One scan, leaving the graph's neighbor list as it is.
+            int bestNeighbor = 0;
+            int bestHeuristic = 0;
+            boolean found = false;
+            for (int neighbor : graph.getNeighbors(current)) {
                 if (!visited.contains(neighbor)) {
-                    bestNeighbor = neighbor;
-                    break;
+                    int heuristic = heuristics.getOrDefault(neighbor, Integer.MAX_VALUE);
+                    if (!found || heuristic < bestHeuristic) {
+                        bestNeighbor = neighbor;
+                        bestHeuristic = heuristic;
+                        found = true;
+                    }
                 }
             }
 
             // If we can't find an unvisited neighbor, the algorithm is stuck
-            if (bestNeighbor == -1) {
+            if (!found) {
                 break; // No valid path, exit
             }
 
             path.add(bestNeighbor);
             current = bestNeighbor;
+            stats.recordGenerated();
+            stats.recordFrontier(1); // Only the chosen neighbor is kept
+        }
+
+        return stats.finish(current == goal ? path : new ArrayList<>()); // Successfully reached the goal or failed
+    }
+
+    // BFS over a frozen CSR graph
+    public List<Integer> bfs(CsrGraph graph, int start, int goal) {
+        SearchStats stats = startStats("bfs", start, goal);
+        if (!graph.containsNode(start)) {
+            return stats.finish(trivialPath(start, goal));
+        }
+        int[] queue = new int[graph.nodeCount()];
+        boolean[] visited = new boolean[graph.nodeCount()];
+        int[] parent = new int[graph.nodeCount()];
+        int head = 0;
+        int tail = 0;
+
+        queue[tail++] = start;
+        visited[start] = true;
+
+        while (head < tail) {
+            int node = queue[head++];
+
+            if (node == goal) {
+                return stats.finish(buildPath(parent, start, goal));
+            }
+
+            stats.recordExpansion(node);
+            for (int e = graph.firstEdge(node); e < graph.endEdge(node); e++) {
+                int neighbor = graph.target(e);
+                if (!visited[neighbor]) {
+                    visited[neighbor] = true;
+                    queue[tail++] = neighbor;
+                    parent[neighbor] = node;
+                    stats.recordGenerated();
+                }
+            }
+            stats.recordFrontier(tail - head);
+        }
+
+        return stats.finish(new ArrayList<>()); // Return empty list if no path is found
+    }
+
+    // DFS over a frozen CSR graph
+    public List<Integer> dfs(CsrGraph graph, int start, int goal) {
+        SearchStats stats = startStats("dfs", start, goal);
+        if (!graph.containsNode(start)) {
+            return stats.finish(trivialPath(start, goal));
+        }
+        int[] stack = new int[graph.edgeCount() + 1]; // Every edge pushes at most once, plus the start node
+        boolean[] visited = new boolean[graph.nodeCount()];
+        int[] parent = new int[graph.nodeCount()];
+        int top = 0;
+
+        stack[top++] = start;
+
+        while (top > 0) {
+            int node = stack[--top];
+
+            if (node == goal) {
+                return stats.finish(buildPath(parent, start, goal));
+            }
+
+            if (!visited[node]) {
+                visited[node] = true;
+                stats.recordExpansion(node);
+                for (int e = graph.firstEdge(node); e < graph.endEdge(node); e++) {
+                    int neighbor = graph.target(e);
+                    if (!visited[neighbor]) {
+                        stack[top++] = neighbor;
+                        parent[neighbor] = node;
+                        stats.recordGenerated();
+                    }
+                }
+                stats.recordFrontier(top);
+            }
         }
 
-        return current == goal ? path : new ArrayList<>(); // Successfully reached the goal or failed
+        return stats.finish(new ArrayList<>()); // Return empty list if no path is found
+    }
+
+    // Bidirectional BFS: grows one BFS level at a time from start and from goal, always the
+    // smaller frontier, and stops as soon as the two searches meet
+    public List<Integer> bidirectionalBfs(Graph graph, int start, int goal) {
+        SearchStats stats = startStats("bidirectionalBfs", start, goal);
+        if (start == goal) {
+            return stats.finish(trivialPath(start, goal));
+        }
+        Map<Integer, Integer> forwardParent = new HashMap<>();
+        Map<Integer, Integer> backwardParent = new HashMap<>(); // Points from a node towards goal
+        forwardParent.put(start, start);
+        backwardParent.put(goal, goal);
+        Queue<Integer> forwardQueue = new ArrayDeque<>();
+        Queue<Integer> backwardQueue = new ArrayDeque<>();
+        forwardQueue.add(start);
+        backwardQueue.add(goal);
+
+        while (!forwardQueue.isEmpty() && !backwardQueue.isEmpty()) {
+            boolean forward = forwardQueue.size() <= backwardQueue.size();
+            Queue<Integer> queue = forward ? forwardQueue : backwardQueue;
+            Map<Integer, Integer> parent = forward ? forwardParent : backwardParent;
+            Map<Integer, Integer> otherParent = forward ? backwardParent : forwardParent;
+
+            // Expand one full level of the chosen side
+            for (int levelSize = queue.size(); levelSize > 0; levelSize--) {
+                int node = queue.poll();
+                stats.recordExpansion(node);
+                for (int neighbor : graph.getNeighbors(node)) {
+                    if (!parent.containsKey(neighbor)) {
+                        parent.put(neighbor, node);
+                        if (otherParent.containsKey(neighbor)) {
+                            return stats.finish(splicePath(forwardParent, backwardParent, start, neighbor, goal));
+                        }
+                        queue.add(neighbor);
+                        stats.recordGenerated();
+                    }
+                }
+            }
+            stats.recordFrontier(forwardQueue.size() + backwardQueue.size());
+        }
+
+        return stats.finish(new ArrayList<>()); // Return empty list if no path is found
     }
 
     // Helper method to build path from the parent map
@@ -124,109 +339,188 @@ public class SearchAlgorithms {
         return path;
     }
 
-    // Helper method to find all paths (for British Museum Search)
-    private void findAllPaths(Graph graph, int current, int goal, Set<Integer> visited, List<Integer> currentPath, List<List<Integer>> allPaths) {
-        visited.add(current);
-        currentPath.add(current);
+    // Helper method to build path from a primitive parent array
+    private List<Integer> buildPath(int[] parent, int start, int goal) {
+        List<Integer> path = new ArrayList<>();
+        for (int at = goal; at != start; at = parent[at]) {
+            path.add(at);
+        }
+        path.add(start);
+        Collections.reverse(path);
+        return path;
+    }
 
-        if (current == goal) {
-            allPaths.add(new ArrayList<>(currentPath));
-        } else {
-            for (int neighbor : graph.getNeighbors(current)) {
-                if (!visited.contains(neighbor)) {
-                    findAllPaths(graph, neighbor, goal, visited, currentPath, allPaths);
-                }
-            }
+    // Join the forward path start -> meet with the backward chain meet -> goal
+    private List<Integer> splicePath(Map<Integer, Integer> forwardParent, Map<Integer, Integer> backwardParent,
+                                     int start, int meet, int goal) {
+        List<Integer> path = buildPath(forwardParent, start, meet);
+        for (int at = meet; at != goal; ) {
+            at = backwardParent.get(at);
+            path.add(at);
         }
+        return path;
+    }
+
+    // Adapts the "src,dest" -> weight maps to a weight lookup
+    private static EdgeWeightLookup mapLookup(Map<String, Integer> edgeWeights) {
+        return (src, dest) -> edgeWeights.getOrDefault(src + "," + dest, Integer.MAX_VALUE);
+    }
 
-        visited.remove(current);
-        currentPath.remove(currentPath.size() - 1);
+    // Result for a start node that is not part of a CSR graph
+    private List<Integer> trivialPath(int start, int goal) {
+        List<Integer> path = new ArrayList<>();
+        if (start == goal) {
+            path.add(start);
+        }
+        return path;
+    }
+
+    private static Stream<List<Integer>> stream(Iterator<List<Integer>> paths) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(paths, Spliterator.ORDERED | Spliterator.NONNULL), false);
     }
 
     // Beam Search implementation
     public List<Integer> beamSearch(Graph graph, int start, int goal, Map<Integer, Integer> heuristics, Map<String, Integer> edgeWeights) {
-        int beamWidth = 3; // You can adjust this based on your needs
-        PriorityQueue<Node> priorityQueue = new PriorityQueue<>(Comparator.comparingInt(n -> n.heuristic));
-        Set<Integer> explored = new HashSet<>(); // To track explored nodes
-        List<Integer> path = new ArrayList<>(); // To store the final path
+        return beamSearch(graph, start, goal, heuristics, mapLookup(edgeWeights));
+    }
 
-        // Initialize the search with the starting node
-        Node startNode = new Node(start, 0, heuristics.getOrDefault(start, 0), null);
-        priorityQueue.add(startNode);
+    // Beam Search using the edge weights stored in the graph
+    public List<Integer> beamSearch(Graph graph, int start, int goal, Map<Integer, Integer> heuristics) {
+        return beamSearch(graph, start, goal, heuristics, (EdgeWeightLookup) graph);
+    }
 
-        while (!priorityQueue.isEmpty()) {
-            // Get the nodes up to the beam width
-            List<Node> currentLevelNodes = new ArrayList<>();
-            for (int i = 0; i < beamWidth && !priorityQueue.isEmpty(); i++) {
-                currentLevelNodes.add(priorityQueue.poll());
-            }
+    private List<Integer> beamSearch(Graph graph, int start, int goal, Map<Integer, Integer> heuristics, EdgeWeightLookup edgeWeights) {
+        SearchStats stats = startStats("beamSearch", start, goal);
+        BeamBuffer next = new BeamBuffer(beamWidth); // Best children of the current level
+        Node[] beam = new Node[beamWidth]; // Current level, best first
+        Node[] nextBeam = new Node[beamWidth];
+        Set<Integer> explored = new HashSet<>(); // Nodes that have been in a beam
+        Set<Integer> offered = new HashSet<>(); // Children already offered in the current level
 
-            for (Node currentNode : currentLevelNodes) {
+        // Initialize the search with the starting node
+        beam[0] = new Node(start, 0, heuristics.getOrDefault(start, 0), null);
+        int beamSize = 1;
+        explored.add(start);
+
+        while (beamSize > 0) {
+            next.clear();
+            offered.clear();
+            for (int i = 0; i < beamSize; i++) {
+                Node currentNode = beam[i];
                 int current = currentNode.id;
 
                 // Check if we reached the goal
                 if (current == goal) {
-                    path = reconstructPath(currentNode);
-                    return path;
+                    return stats.finish(reconstructPath(currentNode));
                 }
 
-                // Expand the current node
+                // Expand the current node, keeping only the best beamWidth children of the whole level
+                stats.recordExpansion(current);
                 for (int neighbor : graph.getNeighbors(current)) {
-                    if (!explored.contains(neighbor)) {
-                        // Calculate the new cost and heuristic for the neighbor
-                        int newCost = currentNode.costSoFar + edgeWeights.getOrDefault(current + "," + neighbor, Integer.MAX_VALUE);
+                    if (!explored.contains(neighbor) && offered.add(neighbor)) {
+                        int newCost = currentNode.costSoFar + edgeWeights.getEdgeWeight(current, neighbor);
                         int newHeuristic = heuristics.getOrDefault(neighbor, Integer.MAX_VALUE);
-                        Node neighborNode = new Node(neighbor, newCost, newHeuristic, currentNode);
-
-                        // Add the neighbor to the priority queue
-                        priorityQueue.add(neighborNode);
+                        if (next.offer(neighbor, newCost, newHeuristic, i)) {
+                            stats.recordGenerated();
+                        }
                     }
                 }
+            }
 
-                // Mark the current node as explored
-                explored.add(current);
+            // The kept children become the next level
+            next.sort();
+            for (int i = 0; i < next.size(); i++) {
+                nextBeam[i] = new Node(next.node(i), next.cost(i), next.heuristic(i), beam[next.parent(i)]);
+                explored.add(next.node(i));
             }
+            Node[] swap = beam;
+            beam = nextBeam;
+            nextBeam = swap;
+            beamSize = next.size();
+            stats.recordFrontier(beamSize);
         }
 
-        return null; // Return null if no path is found
+        return stats.finish(new ArrayList<>()); // Return empty list if no path is found
     }
 
     // Oracle Search implementation
     public List<List<Integer>> oracleSearch(Graph graph, int start, int goal, Map<String, Integer> edgeWeights, int oracleValue) {
+        return oracleSearch(graph, start, goal, mapLookup(edgeWeights), oracleValue);
+    }
+
+    // Oracle Search using the edge weights stored in the graph
+    public List<List<Integer>> oracleSearch(Graph graph, int start, int goal, int oracleValue) {
+        return oracleSearch(graph, start, goal, (EdgeWeightLookup) graph, oracleValue);
+    }
+
+    private List<List<Integer>> oracleSearch(Graph graph, int start, int goal, EdgeWeightLookup edgeWeights, int oracleValue) {
         List<List<Integer>> allPaths = new ArrayList<>(); // To store all valid paths
-        List<Integer> currentPath = new ArrayList<>(); // To track the current path
-        Set<Integer> visited = new HashSet<>(); // To track visited nodes
-        backtrack(graph, start, goal, currentPath, visited, allPaths, 0, oracleValue, edgeWeights);
+        Iterator<List<Integer>> paths = new PathIterator(graph, start, goal, edgeWeights, oracleValue,
+                startStats("oracleSearch", start, goal));
+        while (paths.hasNext()) {
+            allPaths.add(paths.next());
+        }
         return allPaths;
     }
 
-    private void backtrack(Graph graph, int current, int goal, List<Integer> currentPath, Set<Integer> visited,
-                           List<List<Integer>> allPaths, int currentCost, int oracleValue, Map<String, Integer> edgeWeights) {
-        currentPath.add(current); // Add current node to the path
-        visited.add(current); // Mark current node as visited
+    // The paths of oracleSearch, enumerated lazily in the same order without collecting them
+    public Iterator<List<Integer>> oracleSearchIterator(Graph graph, int start, int goal, Map<String, Integer> edgeWeights, int oracleValue) {
+        return oracleSearchIterator(graph, start, goal, mapLookup(edgeWeights), oracleValue);
+    }
 
-        // Check if we have reached the goal
-        if (current == goal) {
-            allPaths.add(new ArrayList<>(currentPath)); // Add a copy of the current path to all paths
-        }
+    public Iterator<List<Integer>> oracleSearchIterator(Graph graph, int start, int goal, int oracleValue) {
+        return oracleSearchIterator(graph, start, goal, (EdgeWeightLookup) graph, oracleValue);
+    }
 
-        // Explore neighbors
-        for (int neighbor : graph.getNeighbors(current)) {
-            if (!visited.contains(neighbor)) { // If neighbor is not visited
-                String edgeKey = current + "," + neighbor;
-                int edgeCost = edgeWeights.getOrDefault(edgeKey, Integer.MAX_VALUE); // Get edge cost, or max if edge doesn't exist
-                int newCost = currentCost + edgeCost;
+    private Iterator<List<Integer>> oracleSearchIterator(Graph graph, int start, int goal, EdgeWeightLookup edgeWeights, int oracleValue) {
+        return new PathIterator(graph, start, goal, edgeWeights, oracleValue, startStats("oracleSearch", start, goal));
+    }
 
-                // Continue exploring if the new cost does not exceed the Oracle value
-                if (newCost <= oracleValue) {
-                    backtrack(graph, neighbor, goal, currentPath, visited, allPaths, newCost, oracleValue, edgeWeights);
-                }
-            }
+    public Stream<List<Integer>> oracleSearchStream(Graph graph, int start, int goal, Map<String, Integer> edgeWeights, int oracleValue) {
+        return stream(oracleSearchIterator(graph, start, goal, edgeWeights, oracleValue));
+    }
+
+    public Stream<List<Integer>> oracleSearchStream(Graph graph, int start, int goal, int oracleValue) {
+        return stream(oracleSearchIterator(graph, start, goal, oracleValue));
+    }
+
+    // The k cheapest simple paths from start to goal in order of cost (Yen's algorithm), using
+    // the edge weights stored in the graph. Unlike the oracle-bounded searches this needs no
+    // cost guess, and each path costs one Dijkstra run per node of the path before it. The
+    // graph is frozen into a CsrGraph first, so node ids must be non-negative.
+    public List<List<Integer>> kShortestPaths(Graph graph, int start, int goal, int k) {
+        return kShortestPaths(CsrGraph.from(graph), start, goal, k);
+    }
+
+    public List<List<Integer>> kShortestPaths(Graph graph, int start, int goal, Map<String, Integer> edgeWeights, int k) {
+        return kShortestPaths(CsrGraph.from(graph, graph.getHeuristics(), edgeWeights), start, goal, k);
+    }
+
+    public List<List<Integer>> kShortestPaths(CsrGraph graph, int start, int goal, int k) {
+        KShortestPathIterator paths = new KShortestPathIterator(graph, start, goal, startStats("kShortestPaths", start, goal));
+        List<List<Integer>> result = new ArrayList<>();
+        while (result.size() < k && paths.hasNext()) {
+            result.add(paths.next());
         }
+        paths.finish();
+        return result;
+    }
 
-        // Backtrack
-        currentPath.remove(currentPath.size() - 1); // Remove current node from the path
-        visited.remove(current); // Mark current node as unvisited
+    // The same paths, computed one at a time as the caller asks for them, with no limit
+    public Iterator<List<Integer>> kShortestPathsIterator(Graph graph, int start, int goal) {
+        return kShortestPathsIterator(CsrGraph.from(graph), start, goal);
+    }
+
+    public Iterator<List<Integer>> kShortestPathsIterator(CsrGraph graph, int start, int goal) {
+        return new KShortestPathIterator(graph, start, goal, startStats("kShortestPaths", start, goal));
+    }
+
+    public Stream<List<Integer>> kShortestPathsStream(Graph graph, int start, int goal) {
+        return stream(kShortestPathsIterator(graph, start, goal));
+    }
+
+    public Stream<List<Integer>> kShortestPathsStream(CsrGraph graph, int start, int goal) {
+        return stream(kShortestPathsIterator(graph, start, goal));
     }
 
     // Branch and Bound implementation
@@ -234,6 +528,22 @@ public class SearchAlgorithms {
                                               Map<Integer, Integer> heuristics,
                                               Map<String, Integer> edgeWeights,
                                               int oracleValue) {
+        return branchAndBound(graph, start, goal, heuristics, mapLookup(edgeWeights), oracleValue);
+    }
+
+    // Branch and Bound using the edge weights stored in the graph
+    public List<List<Integer>> branchAndBound(Graph graph, int start, int goal, Map<Integer, Integer> heuristics, int oracleValue) {
+        return branchAndBound(graph, start, goal, heuristics, (EdgeWeightLookup) graph, oracleValue);
+    }
+
+    private List<List<Integer>> branchAndBound(Graph graph, int start, int goal,
+                                              Map<Integer, Integer> heuristics,
+                                              EdgeWeightLookup edgeWeights,
+                                              int oracleValue) {
+        SearchStats stats = startStats("branchAndBound", start, goal);
+        if (indexedHeap) {
+            return stats.finishPaths(asPathList(indexedBestFirst(graph, start, goal, heuristics, edgeWeights, oracleValue, false, false, stats)));
+        }
         List<List<Integer>> validPaths = new ArrayList<>();
         PriorityQueue<Node> pq = new PriorityQueue<>(Comparator.comparingInt(n -> n.costSoFar));
         Set<Integer> visited = new HashSet<>();
@@ -253,19 +563,24 @@ public class SearchAlgorithms {
             // Mark the current node as visited
             visited.add(current.id);
 
+            stats.recordExpansion(current.id);
             for (int neighbor : graph.getNeighbors(current.id)) {
                 if (!visited.contains(neighbor)) {
-                    int edgeCost = edgeWeights.getOrDefault(current.id + "," + neighbor, Integer.MAX_VALUE);
+                    int edgeCost = edgeWeights.getEdgeWeight(current.id, neighbor);
                     int newCost = current.costSoFar + edgeCost;
 
                     // Add to queue if within the oracle limit
                     if (newCost <= oracleValue) {
                         pq.add(new Node(neighbor, newCost, heuristics.getOrDefault(neighbor, Integer.MAX_VALUE), current));
+                        stats.recordGenerated();
+                    } else {
+                        stats.recordPruning();
                     }
                 }
             }
+            stats.recordFrontier(pq.size());
         }
-        return validPaths;
+        return stats.finishPaths(validPaths);
     }
 
 
@@ -287,10 +602,11 @@ public class SearchAlgorithms {
     private List<Integer> reconstructPath(Node node) {
         List<Integer> path = new ArrayList<>();
         while (node != null) {
-            path.add(0, node.id); // Insert at the beginning to maintain the order
+            path.add(node.id);
             node = node.parent; // Move to the parent
         }
-        return path; // This should return List<Integer>
+        Collections.reverse(path); // Appending and reversing once keeps this linear in the path length
+        return path;
     }
 
     // Branch and Bound with Dead Horse/Ext List
@@ -299,44 +615,71 @@ public class SearchAlgorithms {
     public List<Integer> branchAndBoundDeadHorse(Graph graph, int start, int goal,
                                                  Map<Integer, Integer> heuristics,
                                                  Map<String, Integer> edgeWeights) {
+        return branchAndBoundDeadHorse(graph, start, goal, heuristics, mapLookup(edgeWeights));
+    }
+
+    // Branch and Bound with Dead Horse/Ext List using the edge weights stored in the graph
+    public List<Integer> branchAndBoundDeadHorse(Graph graph, int start, int goal, Map<Integer, Integer> heuristics) {
+        return branchAndBoundDeadHorse(graph, start, goal, heuristics, (EdgeWeightLookup) graph);
+    }
+
+    private List<Integer> branchAndBoundDeadHorse(Graph graph, int start, int goal,
+                                                 Map<Integer, Integer> heuristics,
+                                                 EdgeWeightLookup edgeWeights) {
+        SearchStats stats = startStats("branchAndBoundDeadHorse", start, goal);
         Set<Integer> deadHorses = new HashSet<>(); // To keep track of dead-end nodes
+        IntCountMap queued = new IntCountMap(); // Number of queue entries per node
         PriorityQueue<Node> pq = new PriorityQueue<>(Comparator.comparingInt(n -> n.costSoFar));
 
         // Initialize with the start node
         pq.add(new Node(start, 0, heuristics.getOrDefault(start, 0), null));
+        queued.increment(start);
 
         while (!pq.isEmpty()) {
             Node current = pq.poll();
+            queued.decrement(current.id);
 
             // If we reach the goal, return the reconstructed path immediately
             if (current.id == goal) {
-                return reconstructPath(current); // Return the first valid path found
+                return stats.finish(reconstructPath(current)); // Return the first valid path found
             }
 
             // Check if the current node is a dead horse (dead-end)
             if (deadHorses.contains(current.id)) {
+                stats.recordPruning();
                 continue; // Skip dead horses
             }
 
+            int validChildren = 0; // Children queued by this expansion, other than the node itself
             // Expand the current node
+            stats.recordExpansion(current.id);
             for (int neighbor : graph.getNeighbors(current.id)) {
-                int edgeCost = edgeWeights.getOrDefault(current.id + "," + neighbor, Integer.MAX_VALUE);
+                int edgeCost = edgeWeights.getEdgeWeight(current.id, neighbor);
                 int newCost = current.costSoFar + edgeCost;
 
                 // Add to queue if the new cost does not exceed any limit
                 if (!deadHorses.contains(neighbor)) {
                     pq.add(new Node(neighbor, newCost, heuristics.getOrDefault(neighbor, Integer.MAX_VALUE), current));
+                    queued.increment(neighbor);
+                    stats.recordGenerated();
+                    if (neighbor != current.id) {
+                        validChildren++;
+                    }
+                } else {
+                    stats.recordPruning();
                 }
             }
+            stats.recordFrontier(pq.size());
 
-            // Mark the current node as a dead horse if it has no valid children
-            if (pq.stream().noneMatch(node -> node.id != current.id)) {
+            // The node is a dead horse if the queue holds nothing but copies of it. Counting the
+            // valid children and the queued copies answers that without scanning the queue.
+            if (validChildren == 0 && pq.size() == queued.get(current.id)) {
                 deadHorses.add(current.id);
             }
         }
 
         // Return an empty list if no valid path is found
-        return new ArrayList<>();
+        return stats.finish(new ArrayList<>());
     }
 
     // Branch and Bound with Heuristics
@@ -344,6 +687,22 @@ public class SearchAlgorithms {
                                                       Map<Integer, Integer> heuristics,
                                                       Map<String, Integer> edgeWeights,
                                                       int oracleValue) {
+        return branchAndBoundWithHeuristics(graph, start, goal, heuristics, mapLookup(edgeWeights), oracleValue);
+    }
+
+    // Branch and Bound with Heuristics using the edge weights stored in the graph
+    public List<Integer> branchAndBoundWithHeuristics(Graph graph, int start, int goal, Map<Integer, Integer> heuristics, int oracleValue) {
+        return branchAndBoundWithHeuristics(graph, start, goal, heuristics, (EdgeWeightLookup) graph, oracleValue);
+    }
+
+    private List<Integer> branchAndBoundWithHeuristics(Graph graph, int start, int goal,
+                                                      Map<Integer, Integer> heuristics,
+                                                      EdgeWeightLookup edgeWeights,
+                                                      int oracleValue) {
+        SearchStats stats = startStats("branchAndBoundWithHeuristics", start, goal);
+        if (indexedHeap) {
+            return stats.finish(indexedBestFirst(graph, start, goal, heuristics, edgeWeights, oracleValue, true, false, stats));
+        }
         PriorityQueue<Node> pq = new PriorityQueue<>(Comparator.comparingInt(n -> n.costSoFar + n.heuristic));
         Set<Integer> visited = new HashSet<>();
 
@@ -355,50 +714,76 @@ public class SearchAlgorithms {
 
             // If we reach the goal, return the reconstructed path
             if (current.id == goal) {
-                return reconstructPath(current); // Return the first valid path found
+                return stats.finish(reconstructPath(current)); // Return the first valid path found
             }
 
             // Mark the current node as visited
             visited.add(current.id);
 
+            stats.recordExpansion(current.id);
             for (int neighbor : graph.getNeighbors(current.id)) {
                 if (!visited.contains(neighbor)) {
-                    int edgeCost = edgeWeights.getOrDefault(current.id + "," + neighbor, Integer.MAX_VALUE);
+                    int edgeCost = edgeWeights.getEdgeWeight(current.id, neighbor);
                     int newCost = current.costSoFar + edgeCost;
 
                     // Add to queue only if the new cost is within the oracle limit
                     if (newCost <= oracleValue) {
                         pq.add(new Node(neighbor, newCost, heuristics.getOrDefault(neighbor, Integer.MAX_VALUE), current));
+                        stats.recordGenerated();
+                    } else {
+                        stats.recordPruning();
                     }
                 }
             }
+            stats.recordFrontier(pq.size());
         }
 
         // Return an empty list if no valid path is found within the oracleValue limit
-        return new ArrayList<>();
+        return stats.finish(new ArrayList<>());
     }
     public List<Integer> aStarAlgorithm(Graph graph, int start, int goal,
                                         Map<Integer, Integer> heuristics,
                                         Map<String, Integer> edgeWeights,
                                         int oracleValue) {
+        return aStarAlgorithm(graph, start, goal, heuristics, mapLookup(edgeWeights), oracleValue);
+    }
+
+    // A* algorithm using the edge weights stored in the graph
+    public List<Integer> aStarAlgorithm(Graph graph, int start, int goal, Map<Integer, Integer> heuristics, int oracleValue) {
+        return aStarAlgorithm(graph, start, goal, heuristics, (EdgeWeightLookup) graph, oracleValue);
+    }
+
+    private List<Integer> aStarAlgorithm(Graph graph, int start, int goal,
+                                        Map<Integer, Integer> heuristics,
+                                        EdgeWeightLookup edgeWeights,
+                                        int oracleValue) {
+        SearchStats stats = startStats("aStarAlgorithm", start, goal);
+        if (indexedHeap) {
+            return stats.finish(indexedBestFirst(graph, start, goal, heuristics, edgeWeights, oracleValue, true, true, stats));
+        }
         // PriorityQueue to store nodes to explore, ordered by (costSoFar + heuristic)
         PriorityQueue<Node> pq = new PriorityQueue<>(Comparator.comparingInt(n -> n.costSoFar + n.heuristic));
 
         // Set to store dead-end nodes (dead horses)
         Set<Integer> deadHorses = new HashSet<>();
 
+        // Number of queue entries per node, for the dead horse check
+        IntCountMap queued = new IntCountMap();
+
         // Set to track visited nodes
         Set<Integer> visited = new HashSet<>();
 
         // Initialize the queue with the start node
         pq.add(new Node(start, 0, heuristics.getOrDefault(start, 0), null));
+        queued.increment(start);
 
         while (!pq.isEmpty()) {
             Node current = pq.poll();
+            queued.decrement(current.id);
 
             // If we reach the goal, return the path
             if (current.id == goal) {
-                return reconstructPath(current); // Return the path to the goal
+                return stats.finish(reconstructPath(current)); // Return the path to the goal
             }
 
             // Mark the current node as visited
@@ -406,39 +791,935 @@ public class SearchAlgorithms {
 
             // If current node is a dead horse (no valid children), skip further exploration
             if (deadHorses.contains(current.id)) {
+                stats.recordPruning();
                 continue;
             }
 
+            int validChildren = 0; // Children queued by this expansion, other than the node itself
             // Expand the current node's neighbors
+            stats.recordExpansion(current.id);
             for (int neighbor : graph.getNeighbors(current.id)) {
                 if (!visited.contains(neighbor)) {
-                    int edgeCost = edgeWeights.getOrDefault(current.id + "," + neighbor, Integer.MAX_VALUE);
+                    int edgeCost = edgeWeights.getEdgeWeight(current.id, neighbor);
                     int newCost = current.costSoFar + edgeCost;
                     int heuristicValue = heuristics.getOrDefault(neighbor, Integer.MAX_VALUE);
                     int totalCost = newCost + heuristicValue;
 
                     // Oracle-based pruning: skip this branch if total cost exceeds the oracleValue
                     if (totalCost > oracleValue) {
+                        stats.recordPruning();
                         continue; // Stop exploring this branch
                     }
 
                     // Add the neighbor to the priority queue if not a dead horse
                     if (!deadHorses.contains(neighbor)) {
                         pq.add(new Node(neighbor, newCost, heuristicValue, current));
+                        queued.increment(neighbor);
+                        stats.recordGenerated();
+                        if (neighbor != current.id) {
+                            validChildren++;
+                        }
+                    } else {
+                        stats.recordPruning();
                     }
                 }
             }
+            stats.recordFrontier(pq.size());
 
-            // If none of the neighbors are valid (i.e., dead horse), mark the current node
-            if (pq.stream().noneMatch(node -> node.id != current.id)) {
+            // The node is a dead horse if the queue holds nothing but copies of it. Counting the
+            // valid children and the queued copies answers that without scanning the queue.
+            if (validChildren == 0 && pq.size() == queued.get(current.id)) {
                 deadHorses.add(current.id);
             }
         }
 
         // Return an empty list if no valid path is found
+        return stats.finish(new ArrayList<>());
+    }
+
+    // Iterative deepening A* (IDA*): depth-first searches bounded by cost + heuristic, starting
+    // at the start node's heuristic and raising the bound to the smallest value that went over
+    // it, until the goal is reached or the bound passes the oracle value. Only the current path
+    // is kept, on an explicit stack, so memory grows with the path length, not with the number
+    // of nodes searched. The price is time: every iteration repeats the ones before it, and a
+    // node reached along several paths is searched once per path. Missing heuristics count as 0,
+    // and costs are added in long arithmetic.
+    public List<Integer> idaStar(Graph graph, int start, int goal,
+                                 Map<Integer, Integer> heuristics,
+                                 Map<String, Integer> edgeWeights,
+                                 int oracleValue) {
+        return idaStar(graph, start, goal, heuristics, mapLookup(edgeWeights), oracleValue);
+    }
+
+    // IDA* using the edge weights stored in the graph
+    public List<Integer> idaStar(Graph graph, int start, int goal, Map<Integer, Integer> heuristics, int oracleValue) {
+        return idaStar(graph, start, goal, heuristics, (EdgeWeightLookup) graph, oracleValue);
+    }
+
+    private List<Integer> idaStar(Graph graph, int start, int goal,
+                                  Map<Integer, Integer> heuristics,
+                                  EdgeWeightLookup edgeWeights,
+                                  int oracleValue) {
+        SearchStats stats = startStats("idaStar", start, goal);
+        DepthFirstStack stack = new DepthFirstStack(); // Node, index of its next neighbor, cost
+        IntCountMap onPath = new IntCountMap(); // 1 for the nodes on the stack
+
+        long bound = heuristics.getOrDefault(start, 0);
+        while (bound <= oracleValue) {
+            long nextBound = Long.MAX_VALUE; // Smallest cost + heuristic over the bound
+            stack.push(start, 0, 0);
+            onPath.increment(start);
+            while (!stack.isEmpty()) {
+                int current = stack.topNode();
+                if (current == goal) {
+                    return stats.finish(stack.path());
+                }
+
+                List<Integer> neighbors = graph.getNeighbors(current);
+                int next = stack.nextEdge();
+                if (next == 0) {
+                    stats.recordExpansion(current);
+                }
+                if (next >= neighbors.size()) {
+                    onPath.remove(current);
+                    stack.pop();
+                    continue;
+                }
+                int neighbor = neighbors.get(next);
+                if (onPath.get(neighbor) > 0) {
+                    continue;
+                }
+                long cost = stack.topCost() + edgeWeights.getEdgeWeight(current, neighbor);
+                long totalCost = cost + heuristics.getOrDefault(neighbor, 0);
+                if (totalCost > bound) {
+                    nextBound = Math.min(nextBound, totalCost);
+                    stats.recordPruning();
+                    continue;
+                }
+                stack.push(neighbor, 0, cost);
+                onPath.increment(neighbor);
+                stats.recordGenerated();
+                stats.recordFrontier(stack.size());
+            }
+            if (nextBound == Long.MAX_VALUE) {
+                break; // Nothing was cut off, so there is no path at all
+            }
+            bound = nextBound;
+        }
+
+        return stats.finish(new ArrayList<>());
+    }
+
+    // Simplified memory-bounded A* (SMA*): A* that never keeps more than getNodeBudget() search
+    // nodes. When the budget is full it forgets the shallowest leaf with the highest cost +
+    // heuristic, and the leaf's parent remembers that value, so the branch is only generated
+    // again once everything cheaper has been tried. A copy of a node that is no cheaper than one
+    // already in memory is dropped, so unlike IDA* it re-expands little once the budget holds
+    // the nodes A* would keep; a tighter budget trades memory for re-expansions. Missing
+    // heuristics count as 0, and costs are added in long arithmetic.
+    public List<Integer> smaStar(Graph graph, int start, int goal,
+                                 Map<Integer, Integer> heuristics,
+                                 Map<String, Integer> edgeWeights) {
+        return smaStar(graph, start, goal, heuristics, mapLookup(edgeWeights));
+    }
+
+    // SMA* using the edge weights stored in the graph
+    public List<Integer> smaStar(Graph graph, int start, int goal, Map<Integer, Integer> heuristics) {
+        return smaStar(graph, start, goal, heuristics, (EdgeWeightLookup) graph);
+    }
+
+    private List<Integer> smaStar(Graph graph, int start, int goal,
+                                  Map<Integer, Integer> heuristics,
+                                  EdgeWeightLookup edgeWeights) {
+        SearchStats stats = startStats("smaStar", start, goal);
+        return stats.finish(new SmaStarSearch(graph, heuristics, edgeWeights, nodeBudget, stats).search(start, goal));
+    }
+
+    // Bidirectional A*: a forward search from start and a backward search from goal, both
+    // ordered by the average potential p(v) = h(v) / 2 (forward) and -h(v) / 2 (backward).
+    // Keys are doubled to stay in integers. With a consistent heuristic the search can stop once
+    // the two smallest keys add up to twice the best start -> goal cost seen so far.
+    // Missing heuristics count as 0, and costs are added in long arithmetic.
+    public List<Integer> bidirectionalAStar(Graph graph, int start, int goal,
+                                            Map<Integer, Integer> heuristics,
+                                            Map<String, Integer> edgeWeights) {
+        return bidirectionalAStar(graph, start, goal, heuristics, mapLookup(edgeWeights));
+    }
+
+    // Bidirectional A* using the edge weights stored in the graph
+    public List<Integer> bidirectionalAStar(Graph graph, int start, int goal, Map<Integer, Integer> heuristics) {
+        return bidirectionalAStar(graph, start, goal, heuristics, (EdgeWeightLookup) graph);
+    }
+
+    private List<Integer> bidirectionalAStar(Graph graph, int start, int goal,
+                                             Map<Integer, Integer> heuristics,
+                                             EdgeWeightLookup edgeWeights) {
+        SearchStats stats = startStats("bidirectionalAStar", start, goal);
+        if (start == goal) {
+            return stats.finish(trivialPath(start, goal));
+        }
+        Map<Integer, Long> forwardCost = new HashMap<>();
+        Map<Integer, Long> backwardCost = new HashMap<>();
+        Map<Integer, Integer> forwardParent = new HashMap<>();
+        Map<Integer, Integer> backwardParent = new HashMap<>(); // Points from a node towards goal
+        PriorityQueue<long[]> forwardQueue = new PriorityQueue<>(Comparator.comparingLong(entry -> entry[0]));
+        PriorityQueue<long[]> backwardQueue = new PriorityQueue<>(Comparator.comparingLong(entry -> entry[0]));
+
+        forwardCost.put(start, 0L);
+        backwardCost.put(goal, 0L);
+        forwardQueue.add(new long[]{heuristics.getOrDefault(start, 0), start});
+        backwardQueue.add(new long[]{-heuristics.getOrDefault(goal, 0), goal});
+
+        long bestCost = Long.MAX_VALUE; // Cheapest start -> goal cost found so far
+        int meet = start;
+
+        while (true) {
+            skipStaleEntries(forwardQueue, forwardCost, heuristics, 1);
+            skipStaleEntries(backwardQueue, backwardCost, heuristics, -1);
+            if (forwardQueue.isEmpty() || backwardQueue.isEmpty()) {
+                break;
+            }
+            if (bestCost != Long.MAX_VALUE && forwardQueue.peek()[0] + backwardQueue.peek()[0] >= 2 * bestCost) {
+                break; // Neither side can still find a cheaper meeting point
+            }
+
+            boolean forward = forwardQueue.size() <= backwardQueue.size();
+            PriorityQueue<long[]> queue = forward ? forwardQueue : backwardQueue;
+            Map<Integer, Long> cost = forward ? forwardCost : backwardCost;
+            Map<Integer, Long> otherCost = forward ? backwardCost : forwardCost;
+            Map<Integer, Integer> parent = forward ? forwardParent : backwardParent;
+            int sign = forward ? 1 : -1;
+
+            int current = (int) queue.poll()[1];
+            long currentCost = cost.get(current);
+
+            stats.recordExpansion(current);
+            for (int neighbor : graph.getNeighbors(current)) {
+                // The backward search walks edges against their direction
+                int edgeCost = forward ? edgeWeights.getEdgeWeight(current, neighbor) : edgeWeights.getEdgeWeight(neighbor, current);
+                long newCost = currentCost + edgeCost;
+                Long oldCost = cost.get(neighbor);
+                if (oldCost != null && newCost >= oldCost) {
+                    continue;
+                }
+                cost.put(neighbor, newCost);
+                parent.put(neighbor, current);
+                queue.add(new long[]{2 * newCost + sign * heuristics.getOrDefault(neighbor, 0), neighbor});
+                stats.recordGenerated();
+
+                Long remaining = otherCost.get(neighbor);
+                if (remaining != null && newCost + remaining < bestCost) {
+                    bestCost = newCost + remaining;
+                    meet = neighbor;
+                }
+            }
+            stats.recordFrontier(forwardQueue.size() + backwardQueue.size());
+        }
+
+        if (bestCost == Long.MAX_VALUE) {
+            return stats.finish(new ArrayList<>());
+        }
+        return stats.finish(splicePath(forwardParent, backwardParent, start, meet, goal));
+    }
+
+    // Drop queue entries whose key no longer matches the node's best known cost
+    private void skipStaleEntries(PriorityQueue<long[]> queue, Map<Integer, Long> cost,
+                                  Map<Integer, Integer> heuristics, int sign) {
+        while (!queue.isEmpty()) {
+            long[] entry = queue.peek();
+            int node = (int) entry[1];
+            if (entry[0] == 2 * cost.get(node) + sign * heuristics.getOrDefault(node, 0)) {
+                return;
+            }
+            queue.poll();
+        }
+    }
+
+    // Branch and Bound over a frozen CSR graph, using its edge weights and heuristics
+    public List<List<Integer>> branchAndBound(CsrGraph graph, int start, int goal, int oracleValue) {
+        SearchStats stats = startStats("branchAndBound", start, goal);
+        List<List<Integer>> validPaths = new ArrayList<>();
+        if (!graph.containsNode(start)) {
+            return stats.finishPaths(validPaths);
+        }
+        if (indexedHeap) {
+            return stats.finishPaths(asPathList(indexedBestFirst(graph, start, goal, graph, oracleValue, false, false, stats)));
+        }
+        PriorityQueue<Node> pq = new PriorityQueue<>(Comparator.comparingInt(n -> n.costSoFar));
+        boolean[] visited = new boolean[graph.nodeCount()];
+
+        pq.add(new Node(start, 0, startHeuristic(graph, start), null));
+
+        while (!pq.isEmpty()) {
+            Node current = pq.poll();
+
+            if (current.id == goal) {
+                validPaths.add(reconstructPath(current));
+                continue; // We found a valid path, but we need to keep exploring
+            }
+
+            visited[current.id] = true;
+
+            stats.recordExpansion(current.id);
+            for (int e = graph.firstEdge(current.id); e < graph.endEdge(current.id); e++) {
+                int neighbor = graph.target(e);
+                if (!visited[neighbor]) {
+                    int newCost = current.costSoFar + graph.weight(e);
+
+                    if (newCost <= oracleValue) {
+                        pq.add(new Node(neighbor, newCost, graph.heuristic(neighbor), current));
+                        stats.recordGenerated();
+                    } else {
+                        stats.recordPruning();
+                    }
+                }
+            }
+            stats.recordFrontier(pq.size());
+        }
+        return stats.finishPaths(validPaths);
+    }
+
+    // Branch and Bound with Dead Horse/Ext List over a frozen CSR graph
+    public List<Integer> branchAndBoundDeadHorse(CsrGraph graph, int start, int goal) {
+        SearchStats stats = startStats("branchAndBoundDeadHorse", start, goal);
+        if (!graph.containsNode(start)) {
+            return stats.finish(new ArrayList<>());
+        }
+        boolean[] deadHorses = new boolean[graph.nodeCount()];
+        int[] queued = new int[graph.nodeCount()]; // Number of queue entries per node
+        PriorityQueue<Node> pq = new PriorityQueue<>(Comparator.comparingInt(n -> n.costSoFar));
+
+        pq.add(new Node(start, 0, startHeuristic(graph, start), null));
+        queued[start]++;
+
+        while (!pq.isEmpty()) {
+            Node current = pq.poll();
+            queued[current.id]--;
+
+            if (current.id == goal) {
+                return stats.finish(reconstructPath(current));
+            }
+
+            if (deadHorses[current.id]) {
+                stats.recordPruning();
+                continue;
+            }
+
+            int validChildren = 0; // Children queued by this expansion, other than the node itself
+            stats.recordExpansion(current.id);
+            for (int e = graph.firstEdge(current.id); e < graph.endEdge(current.id); e++) {
+                int neighbor = graph.target(e);
+                int newCost = current.costSoFar + graph.weight(e);
+
+                if (!deadHorses[neighbor]) {
+                    pq.add(new Node(neighbor, newCost, graph.heuristic(neighbor), current));
+                    queued[neighbor]++;
+                    stats.recordGenerated();
+                    if (neighbor != current.id) {
+                        validChildren++;
+                    }
+                } else {
+                    stats.recordPruning();
+                }
+            }
+            stats.recordFrontier(pq.size());
+
+            // The node is a dead horse if the queue holds nothing but copies of it. Counting the
+            // valid children and the queued copies answers that without scanning the queue.
+            if (validChildren == 0 && pq.size() == queued[current.id]) {
+                deadHorses[current.id] = true;
+            }
+        }
+
+        return stats.finish(new ArrayList<>());
+    }
+
+    // Branch and Bound with Heuristics over a frozen CSR graph
+    public List<Integer> branchAndBoundWithHeuristics(CsrGraph graph, int start, int goal, int oracleValue) {
+        return branchAndBoundWithHeuristics(graph, start, goal, oracleValue, (HeuristicLookup) graph);
+    }
+
+    // Same, with landmark (ALT) heuristics in place of the graph's own
+    public List<Integer> branchAndBoundWithHeuristics(CsrGraph graph, int start, int goal, int oracleValue, Landmarks landmarks) {
+        return branchAndBoundWithHeuristics(graph, start, goal, oracleValue, landmarks.towards(graph, goal));
+    }
+
+    private List<Integer> branchAndBoundWithHeuristics(CsrGraph graph, int start, int goal, int oracleValue,
+                                                      HeuristicLookup heuristics) {
+        SearchStats stats = startStats("branchAndBoundWithHeuristics", start, goal);
+        if (!graph.containsNode(start)) {
+            return stats.finish(new ArrayList<>());
+        }
+        if (indexedHeap) {
+            return stats.finish(indexedBestFirst(graph, start, goal, heuristics, oracleValue, true, false, stats));
+        }
+        PriorityQueue<Node> pq = new PriorityQueue<>(Comparator.comparingInt(n -> n.costSoFar + n.heuristic));
+        boolean[] visited = new boolean[graph.nodeCount()];
+
+        pq.add(new Node(start, 0, startHeuristic(heuristics, start), null));
+
+        while (!pq.isEmpty()) {
+            Node current = pq.poll();
+
+            if (current.id == goal) {
+                return stats.finish(reconstructPath(current));
+            }
+
+            visited[current.id] = true;
+
+            stats.recordExpansion(current.id);
+            for (int e = graph.firstEdge(current.id); e < graph.endEdge(current.id); e++) {
+                int neighbor = graph.target(e);
+                if (!visited[neighbor]) {
+                    int newCost = current.costSoFar + graph.weight(e);
+
+                    if (newCost <= oracleValue) {
+                        pq.add(new Node(neighbor, newCost, heuristics.heuristic(neighbor), current));
+                        stats.recordGenerated();
+                    } else {
+                        stats.recordPruning();
+                    }
+                }
+            }
+            stats.recordFrontier(pq.size());
+        }
+
+        return stats.finish(new ArrayList<>());
+    }
+
+    // A* over a frozen CSR graph, using its edge weights and heuristics
+    public List<Integer> aStarAlgorithm(CsrGraph graph, int start, int goal, int oracleValue) {
+        return aStarAlgorithm(graph, start, goal, oracleValue, (HeuristicLookup) graph);
+    }
+
+    // A* over a frozen CSR graph with landmark (ALT) heuristics in place of the graph's own,
+    // for graphs that have no good heuristics of their own
+    public List<Integer> aStarAlgorithm(CsrGraph graph, int start, int goal, int oracleValue, Landmarks landmarks) {
+        return aStarAlgorithm(graph, start, goal, oracleValue, landmarks.towards(graph, goal));
+    }
+
+    private List<Integer> aStarAlgorithm(CsrGraph graph, int start, int goal, int oracleValue, HeuristicLookup heuristics) {
+        SearchStats stats = startStats("aStarAlgorithm", start, goal);
+        if (!graph.containsNode(start)) {
+            return stats.finish(new ArrayList<>());
+        }
+        if (indexedHeap) {
+            return stats.finish(indexedBestFirst(graph, start, goal, heuristics, oracleValue, true, true, stats));
+        }
+        PriorityQueue<Node> pq = new PriorityQueue<>(Comparator.comparingInt(n -> n.costSoFar + n.heuristic));
+        boolean[] deadHorses = new boolean[graph.nodeCount()];
+        int[] queued = new int[graph.nodeCount()]; // Number of queue entries per node
+        boolean[] visited = new boolean[graph.nodeCount()];
+
+        pq.add(new Node(start, 0, startHeuristic(heuristics, start), null));
+        queued[start]++;
+
+        while (!pq.isEmpty()) {
+            Node current = pq.poll();
+            queued[current.id]--;
+
+            if (current.id == goal) {
+                return stats.finish(reconstructPath(current));
+            }
+
+            visited[current.id] = true;
+
+            if (deadHorses[current.id]) {
+                stats.recordPruning();
+                continue;
+            }
+
+            int validChildren = 0; // Children queued by this expansion, other than the node itself
+            stats.recordExpansion(current.id);
+            for (int e = graph.firstEdge(current.id); e < graph.endEdge(current.id); e++) {
+                int neighbor = graph.target(e);
+                if (!visited[neighbor]) {
+                    int newCost = current.costSoFar + graph.weight(e);
+                    int heuristicValue = heuristics.heuristic(neighbor);
+                    int totalCost = newCost + heuristicValue;
+
+                    if (totalCost > oracleValue) {
+                        stats.recordPruning();
+                        continue; // Stop exploring this branch
+                    }
+
+                    if (!deadHorses[neighbor]) {
+                        pq.add(new Node(neighbor, newCost, heuristicValue, current));
+                        queued[neighbor]++;
+                        stats.recordGenerated();
+                        if (neighbor != current.id) {
+                            validChildren++;
+                        }
+                    } else {
+                        stats.recordPruning();
+                    }
+                }
+            }
+            stats.recordFrontier(pq.size());
+
+            // The node is a dead horse if the queue holds nothing but copies of it. Counting the
+            // valid children and the queued copies answers that without scanning the queue.
+            if (validChildren == 0 && pq.size() == queued[current.id]) {
+                deadHorses[current.id] = true;
+            }
+        }
+
+        return stats.finish(new ArrayList<>());
+    }
+
+    // SMA* over a frozen CSR graph, using its edge weights and heuristics
+    public List<Integer> smaStar(CsrGraph graph, int start, int goal) {
+        SearchStats stats = startStats("smaStar", start, goal);
+        if (!graph.containsNode(start)) {
+            return stats.finish(trivialPath(start, goal));
+        }
+        return stats.finish(new SmaStarSearch(graph, nodeBudget, stats).search(start, goal));
+    }
+
+    // Shortest path by a bidirectional upward search in a contraction hierarchy, with its
+    // shortcuts unpacked into the edges of the graph it was built from. The query holds the
+    // search state and is reused across calls; give each thread its own.
+    public List<Integer> contractionHierarchySearch(ContractionHierarchy.Query query, int start, int goal) {
+        SearchStats stats = startStats("contractionHierarchySearch", start, goal);
+        return stats.finish(query.search(start, goal, stats));
+    }
+
+    // Path from the planner's start to its goal on its graph, repairing the previous search after
+    // graph changes instead of starting over (Lifelong Planning A*). Empty if there is none.
+    public List<Integer> incrementalAStar(IncrementalPlanner planner) {
+        SearchStats stats = startStats("incrementalAStar", planner.getStart(), planner.getGoal());
+        return stats.finish(planner.plan(stats));
+    }
+
+    // The searches below take a SearchWorkspace that the calling thread reuses across queries.
+    // They follow the CSR searches above, but keep their per-node state and search nodes in the
+    // workspace, so after warm-up only the returned path is allocated. They always use the
+    // workspace's own frontier, whatever setIndexedHeap says, and break ties between equal
+    // priorities in a fixed order where a PriorityQueue leaves it unspecified: A* and branch and
+    // bound newest first. Beam search keeps the same children as the Graph version, breaking
+    // ties by node id.
+
+    // BFS over a frozen CSR graph, reusing the workspace
+    public List<Integer> bfs(CsrGraph graph, int start, int goal, SearchWorkspace workspace) {
+        SearchStats stats = startStats("bfs", start, goal);
+        if (!graph.containsNode(start)) {
+            return stats.finish(trivialPath(start, goal));
+        }
+        workspace.begin(graph.nodeCount());
+        int[] queue = workspace.buffer(graph.nodeCount());
+        int head = 0;
+        int tail = 0;
+
+        queue[tail++] = start;
+        workspace.markVisited(start);
+
+        while (head < tail) {
+            int node = queue[head++];
+
+            if (node == goal) {
+                return stats.finish(workspace.pathTo(start, goal));
+            }
+
+            stats.recordExpansion(node);
+            for (int e = graph.firstEdge(node); e < graph.endEdge(node); e++) {
+                int neighbor = graph.target(e);
+                if (!workspace.isVisited(neighbor)) {
+                    workspace.markVisited(neighbor);
+                    workspace.setParent(neighbor, node);
+                    queue[tail++] = neighbor;
+                    stats.recordGenerated();
+                }
+            }
+            stats.recordFrontier(tail - head);
+        }
+
+        return stats.finish(new ArrayList<>());
+    }
+
+    // DFS over a frozen CSR graph, reusing the workspace
+    public List<Integer> dfs(CsrGraph graph, int start, int goal, SearchWorkspace workspace) {
+        SearchStats stats = startStats("dfs", start, goal);
+        if (!graph.containsNode(start)) {
+            return stats.finish(trivialPath(start, goal));
+        }
+        workspace.begin(graph.nodeCount());
+        int[] stack = workspace.buffer(graph.edgeCount() + 1);
+        int top = 0;
+
+        stack[top++] = start;
+
+        while (top > 0) {
+            int node = stack[--top];
+
+            if (node == goal) {
+                return stats.finish(workspace.pathTo(start, goal));
+            }
+
+            if (!workspace.isVisited(node)) {
+                workspace.markVisited(node);
+                stats.recordExpansion(node);
+                for (int e = graph.firstEdge(node); e < graph.endEdge(node); e++) {
+                    int neighbor = graph.target(e);
+                    if (!workspace.isVisited(neighbor)) {
+                        stack[top++] = neighbor;
+                        workspace.setParent(neighbor, node);
+                        stats.recordGenerated();
+                    }
+                }
+                stats.recordFrontier(top);
+            }
+        }
+
+        return stats.finish(new ArrayList<>());
+    }
+
+    // Beam Search over a frozen CSR graph, reusing the workspace
+    public List<Integer> beamSearch(CsrGraph graph, int start, int goal, SearchWorkspace workspace) {
+        SearchStats stats = startStats("beamSearch", start, goal);
+        if (!graph.containsNode(start)) {
+            return stats.finish(new ArrayList<>());
+        }
+        workspace.begin(graph.nodeCount());
+        BeamBuffer next = workspace.beam(beamWidth); // Best children of the current level
+        int[] beam = workspace.buffer(beamWidth); // Arena slots of the current level, best first
+
+        beam[0] = workspace.newNode(start, 0, startHeuristic(graph, start), -1);
+        int beamSize = 1;
+        workspace.markVisited(start);
+
+        for (int level = 1; beamSize > 0; level++) {
+            next.clear();
+            for (int i = 0; i < beamSize; i++) {
+                int slot = beam[i];
+                int current = workspace.nodeId(slot);
+
+                if (current == goal) {
+                    return stats.finish(workspace.pathTo(slot));
+                }
+
+                stats.recordExpansion(current);
+                for (int e = graph.firstEdge(current); e < graph.endEdge(current); e++) {
+                    int neighbor = graph.target(e);
+                    // The count holds the last level that offered the node, so each is offered once per level
+                    if (!workspace.isVisited(neighbor) && workspace.count(neighbor) != level) {
+                        workspace.setCount(neighbor, level);
+                        if (next.offer(neighbor, workspace.nodeCost(slot) + graph.weight(e), graph.heuristic(neighbor), slot)) {
+                            stats.recordGenerated();
+                        }
+                    }
+                }
+            }
+
+            next.sort();
+            for (int i = 0; i < next.size(); i++) {
+                beam[i] = workspace.newNode(next.node(i), next.cost(i), next.heuristic(i), next.parent(i));
+                workspace.markVisited(next.node(i)); // Mark the node as explored
+            }
+            beamSize = next.size();
+            stats.recordFrontier(beamSize);
+        }
+
+        return stats.finish(new ArrayList<>());
+    }
+
+    // Branch and Bound with Heuristics over a frozen CSR graph, reusing the workspace
+    public List<Integer> branchAndBoundWithHeuristics(CsrGraph graph, int start, int goal, int oracleValue,
+                                                      SearchWorkspace workspace) {
+        SearchStats stats = startStats("branchAndBoundWithHeuristics", start, goal);
+        if (!graph.containsNode(start)) {
+            return stats.finish(new ArrayList<>());
+        }
+        workspace.begin(graph.nodeCount());
+        IndexedIntHeap pq = workspace.heap(); // Arena slots ordered by cost + heuristic
+
+        int root = workspace.newNode(start, 0, startHeuristic(graph, start), -1);
+        pq.insert(root, newestFirstKey(totalCost(workspace, root), root));
+
+        while (!pq.isEmpty()) {
+            int slot = pq.pollMin();
+            int current = workspace.nodeId(slot);
+
+            if (current == goal) {
+                return stats.finish(workspace.pathTo(slot));
+            }
+
+            workspace.markVisited(current);
+
+            stats.recordExpansion(current);
+            for (int e = graph.firstEdge(current); e < graph.endEdge(current); e++) {
+                int neighbor = graph.target(e);
+                if (!workspace.isVisited(neighbor)) {
+                    int newCost = workspace.nodeCost(slot) + graph.weight(e);
+
+                    if (newCost <= oracleValue) {
+                        int child = workspace.newNode(neighbor, newCost, graph.heuristic(neighbor), slot);
+                        pq.insert(child, newestFirstKey(totalCost(workspace, child), child));
+                        stats.recordGenerated();
+                    } else {
+                        stats.recordPruning();
+                    }
+                }
+            }
+            stats.recordFrontier(pq.size());
+        }
+
+        return stats.finish(new ArrayList<>());
+    }
+
+    // A* over a frozen CSR graph, reusing the workspace
+    public List<Integer> aStarAlgorithm(CsrGraph graph, int start, int goal, int oracleValue, SearchWorkspace workspace) {
+        SearchStats stats = startStats("aStarAlgorithm", start, goal);
+        if (!graph.containsNode(start)) {
+            return stats.finish(new ArrayList<>());
+        }
+        workspace.begin(graph.nodeCount());
+        IndexedIntHeap pq = workspace.heap(); // Arena slots ordered by cost + heuristic
+
+        int root = workspace.newNode(start, 0, startHeuristic(graph, start), -1);
+        pq.insert(root, newestFirstKey(totalCost(workspace, root), root));
+        workspace.addCount(start, 1); // Queue entries per node, for the dead horse check
+
+        while (!pq.isEmpty()) {
+            int slot = pq.pollMin();
+            int current = workspace.nodeId(slot);
+            workspace.addCount(current, -1);
+
+            if (current == goal) {
+                return stats.finish(workspace.pathTo(slot));
+            }
+
+            workspace.markVisited(current);
+
+            if (workspace.isDead(current)) {
+                stats.recordPruning();
+                continue;
+            }
+
+            int validChildren = 0;
+            stats.recordExpansion(current);
+            for (int e = graph.firstEdge(current); e < graph.endEdge(current); e++) {
+                int neighbor = graph.target(e);
+                if (!workspace.isVisited(neighbor)) {
+                    int newCost = workspace.nodeCost(slot) + graph.weight(e);
+                    int heuristicValue = graph.heuristic(neighbor);
+
+                    if (newCost + heuristicValue > oracleValue) {
+                        stats.recordPruning();
+                        continue; // Stop exploring this branch
+                    }
+
+                    if (!workspace.isDead(neighbor)) {
+                        int child = workspace.newNode(neighbor, newCost, heuristicValue, slot);
+                        pq.insert(child, newestFirstKey(totalCost(workspace, child), child));
+                        workspace.addCount(neighbor, 1);
+                        stats.recordGenerated();
+                        if (neighbor != current) {
+                            validChildren++;
+                        }
+                    } else {
+                        stats.recordPruning();
+                    }
+                }
+            }
+            stats.recordFrontier(pq.size());
+
+            if (validChildren == 0 && pq.size() == workspace.count(current)) {
+                workspace.markDead(current);
+            }
+        }
+
+        return stats.finish(new ArrayList<>());
+    }
+
+    // IDA* over a frozen CSR graph, reusing the workspace for the stack and for marking the nodes
+    // on the current path
+    public List<Integer> idaStar(CsrGraph graph, int start, int goal, int oracleValue, SearchWorkspace workspace) {
+        SearchStats stats = startStats("idaStar", start, goal);
+        if (!graph.containsNode(start)) {
+            return stats.finish(trivialPath(start, goal));
+        }
+        workspace.begin(graph.nodeCount());
+        DepthFirstStack stack = workspace.stack(); // Node, its next edge, cost
+
+        long bound = startHeuristic(graph, start);
+        while (bound <= oracleValue) {
+            long nextBound = Long.MAX_VALUE; // Smallest cost + heuristic over the bound
+            stack.push(start, graph.firstEdge(start), 0);
+            workspace.setCount(start, 1); // 1 while the node is on the stack
+            while (!stack.isEmpty()) {
+                int current = stack.topNode();
+                if (current == goal) {
+                    return stats.finish(stack.path());
+                }
+
+                int e = stack.nextEdge();
+                if (e == graph.firstEdge(current)) {
+                    stats.recordExpansion(current);
+                }
+                if (e >= graph.endEdge(current)) {
+                    workspace.setCount(current, 0);
+                    stack.pop();
+                    continue;
+                }
+                int neighbor = graph.target(e);
+                if (workspace.count(neighbor) > 0) {
+                    continue;
+                }
+                long cost = stack.topCost() + graph.weight(e);
+                int heuristicValue = graph.heuristic(neighbor);
+                long totalCost = cost + (heuristicValue == CsrGraph.NO_HEURISTIC ? 0 : heuristicValue);
+                if (totalCost > bound) {
+                    nextBound = Math.min(nextBound, totalCost);
+                    stats.recordPruning();
+                    continue;
+                }
+                stack.push(neighbor, graph.firstEdge(neighbor), cost);
+                workspace.setCount(neighbor, 1);
+                stats.recordGenerated();
+                stats.recordFrontier(stack.size());
+            }
+            if (nextBound == Long.MAX_VALUE) {
+                break; // Nothing was cut off, so there is no path at all
+            }
+            bound = nextBound;
+        }
+
+        return stats.finish(new ArrayList<>());
+    }
+
+    // Priority of an arena node, summed in int like the Node comparators
+    private static int totalCost(SearchWorkspace workspace, int slot) {
+        return workspace.nodeCost(slot) + workspace.nodeHeuristic(slot);
+    }
+
+    // Heap key ordering by priority first and the newest arena slot second. On the wide plateaus
+    // of equal cost this follows the deepest branch instead of widening every tied one.
+    private static long newestFirstKey(int priority, int slot) {
+        return ((long) priority << 32) | (Integer.MAX_VALUE - slot);
+    }
+
+    // Best-first search on an IndexedIntHeap, shared by A* and the branch and bound searches.
+    // Nodes are ordered by cost (plus heuristic if useHeuristics) and pruned when the cost
+    // (plus heuristic if boundTotalCost) exceeds the oracle value. Each node is queued at most
+    // once and closed when polled, which also makes the dead horse check of A* unnecessary.
+    private List<Integer> indexedBestFirst(Graph graph, int start, int goal,
+                                           Map<Integer, Integer> heuristics,
+                                           EdgeWeightLookup edgeWeights, int oracleValue,
+                                           boolean useHeuristics, boolean boundTotalCost, SearchStats stats) {
+        if (start < 0) {
+            throw new IllegalArgumentException("The indexed heap needs non-negative node ids, got " + start);
+        }
+        int slots = start + 1;
+        for (int node : graph.getAdjacencyList().keySet()) {
+            if (node < 0) {
+                throw new IllegalArgumentException("The indexed heap needs non-negative node ids, got " + node);
+            }
+            slots = Math.max(slots, node + 1);
+        }
+        long[] cost = new long[slots];
+        int[] parent = new int[slots];
+        boolean[] closed = new boolean[slots];
+        Arrays.fill(cost, Long.MAX_VALUE);
+        IndexedIntHeap heap = new IndexedIntHeap(slots);
+
+        cost[start] = 0;
+        heap.insert(start, 0);
+
+        while (!heap.isEmpty()) {
+            int current = heap.pollMin();
+
+            if (current == goal) {
+                return buildPath(parent, start, goal);
+            }
+
+            closed[current] = true;
+
+            stats.recordExpansion(current);
+            for (int neighbor : graph.getNeighbors(current)) {
+                if (!closed[neighbor]) {
+                    long newCost = cost[current] + edgeWeights.getEdgeWeight(current, neighbor);
+                    long heuristicValue = heuristics.getOrDefault(neighbor, Integer.MAX_VALUE);
+
+                    if ((boundTotalCost ? newCost + heuristicValue : newCost) > oracleValue) {
+                        stats.recordPruning();
+                        continue;
+                    }
+                    if (newCost >= cost[neighbor]) {
+                        continue;
+                    }
+                    cost[neighbor] = newCost;
+                    parent[neighbor] = current;
+                    heap.insertOrDecrease(neighbor, useHeuristics ? newCost + heuristicValue : newCost);
+                    stats.recordGenerated();
+                }
+            }
+            stats.recordFrontier(heap.size());
+        }
+
         return new ArrayList<>();
     }
 
-}
+    // Same as above over a frozen CSR graph, using its edge weights
+    private List<Integer> indexedBestFirst(CsrGraph graph, int start, int goal,
+                                           HeuristicLookup heuristics, int oracleValue,
+                                           boolean useHeuristics, boolean boundTotalCost, SearchStats stats) {
+        long[] cost = new long[graph.nodeCount()];
+        int[] parent = new int[graph.nodeCount()];
+        boolean[] closed = new boolean[graph.nodeCount()];
+        Arrays.fill(cost, Long.MAX_VALUE);
+        IndexedIntHeap heap = new IndexedIntHeap(graph.nodeCount());
 
+        cost[start] = 0;
+        heap.insert(start, 0);
 
+        while (!heap.isEmpty()) {
+            int current = heap.pollMin();
+
+            if (current == goal) {
+                return buildPath(parent, start, goal);
+            }
+
+            closed[current] = true;
+
+            stats.recordExpansion(current);
+            for (int e = graph.firstEdge(current); e < graph.endEdge(current); e++) {
+                int neighbor = graph.target(e);
+                if (!closed[neighbor]) {
+                    long newCost = cost[current] + graph.weight(e);
+                    long heuristicValue = heuristics.heuristic(neighbor);
+
+                    if ((boundTotalCost ? newCost + heuristicValue : newCost) > oracleValue) {
+                        stats.recordPruning();
+                        continue;
+                    }
+                    if (newCost >= cost[neighbor]) {
+                        continue;
+                    }
+                    cost[neighbor] = newCost;
+                    parent[neighbor] = current;
+                    heap.insertOrDecrease(neighbor, useHeuristics ? newCost + heuristicValue : newCost);
+                    stats.recordGenerated();
+                }
+            }
+            stats.recordFrontier(heap.size());
+        }
+
+        return new ArrayList<>();
+    }
+
+    // Wrap a single path (or no path) in the list-of-paths form used by branchAndBound
+    private List<List<Integer>> asPathList(List<Integer> path) {
+        List<List<Integer>> paths = new ArrayList<>();
+        if (!path.isEmpty()) {
+            paths.add(path);
+        }
+        return paths;
+    }
+
+    // The map-based searches default a missing start heuristic to 0
+    private int startHeuristic(HeuristicLookup heuristics, int start) {
+        int heuristic = heuristics.heuristic(start);
+        return heuristic == CsrGraph.NO_HEURISTIC ? 0 : heuristic;
+    }
+
+}
@@ -0,0 +1,46 @@
+package algorithms;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Flight Recorder event for one search, with the same counters as SearchStats. Its duration
+// is the wall time of the search, so slow queries line up with GC and CPU events in a recording.
+// Enable it with -XX:StartFlightRecording or a Recording that enables "algorithms.Search".
+@Name("algorithms.Search")
+@Label("Graph Search")
+@Category("AI Search")
+@Description("One run of a graph search in SearchAlgorithms or of AlphaBetaPruning.minimax")
+final class SearchEvent extends Event {
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Start")
+    int start;
+
+    @Label("Goal")
+    int goal;
+
+    @Label("Found")
+    boolean found;
+
+    @Label("Path Length")
+    int pathLength;
+
+    @Label("Expanded")
+    long expanded;
+
+    @Label("Generated")
+    long generated;
+
+    @Label("Max Frontier")
+    int maxFrontier;
+
+    @Label("Prunings")
+    long prunings;
+
+    @Label("Re-expansions")
+    long reExpansions;
+}
@@ -0,0 +1,8 @@
+package algorithms;
+
+// Receives the statistics of every search run by the SearchAlgorithms it is set on.
+// It is called on the searching thread, so a listener shared by concurrent searches must be
+// thread-safe.
+public interface SearchListener {
+    void searchFinished(SearchStats stats);
+}
@@ -0,0 +1,203 @@
+package algorithms;
+
+import jdk.jfr.FlightRecorder;
+
+import java.util.List;
+
+// Counters for one search run, handed to the SearchListener (and written to a SearchEvent)
+// when the search finishes:
+//   expanded      nodes whose neighbors were examined
+//   generated     nodes put on the frontier (queue, stack, heap or recursion)
+//   maxFrontier   largest frontier size seen, the recursion depth for the recursive searches
+//   prunings      branches cut by the oracle value or the dead horse check
+//   reExpansions  expansions of a node that was already expanded earlier in the same search
+// When nobody listens and the event is disabled the searches get the shared DISABLED instance,
+// which ignores every call, so the counting costs one predictable branch per call.
+// start, the record methods and finishValue are public so that searches outside this package,
+// such as cia2.AlphaBetaPruning.minimax, report through the same listener and event.
+public final class SearchStats {
+    static final SearchStats DISABLED = new SearchStats(null, 0, 0, null, false);
+
+    private final String algorithm;
+    private final int start;
+    private final int goal;
+    private final SearchListener listener;
+    private final boolean enabled;
+    private final SearchEvent event;
+    private final IntCountMap expansions; // Times each node was expanded
+    private final long startNanos;
+
+    private long expanded;
+    private long generated;
+    private int maxFrontier;
+    private long prunings;
+    private long reExpansions;
+    private long wallTimeNanos;
+    private boolean found;
+    private int pathLength;
+
+    private SearchStats(String algorithm, int start, int goal, SearchListener listener, boolean enabled) {
+        this.algorithm = algorithm;
+        this.start = start;
+        this.goal = goal;
+        this.listener = listener;
+        this.enabled = enabled;
+        this.event = enabled && eventEnabled() ? new SearchEvent() : null;
+        this.expansions = enabled ? new IntCountMap() : null;
+        if (event != null) {
+            event.begin();
+        }
+        this.startNanos = enabled ? System.nanoTime() : 0;
+    }
+
+    // Stats for a new search, or DISABLED when neither a listener nor the event wants them
+    public static SearchStats start(String algorithm, int start, int goal, SearchListener listener) {
+        if (listener == null && !eventEnabled()) {
+            return DISABLED;
+        }
+        return new SearchStats(algorithm, start, goal, listener, true);
+    }
+
+    // The first use of an event class sets up Flight Recorder, which takes a noticeable part of a
+    // second, so SearchEvent is only touched once a recording has started
+    private static boolean eventEnabled() {
+        return FlightRecorder.isInitialized() && new SearchEvent().isEnabled();
+    }
+
+    // False for DISABLED, so a search can skip work that only feeds the counters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void recordExpansion(int node) {
+        if (!enabled) {
+            return;
+        }
+        expanded++;
+        if (expansions.get(node) > 0) {
+            reExpansions++;
+        }
+        expansions.increment(node);
+    }
+
+    public void recordGenerated() {
+        if (enabled) {
+            generated++;
+        }
+    }
+
+    public void recordFrontier(int size) {
+        if (enabled && size > maxFrontier) {
+            maxFrontier = size;
+        }
+    }
+
+    public void recordPruning() {
+        if (enabled) {
+            prunings++;
+        }
+    }
+
+    // Finish a search that returns one path (empty or null when it failed) and pass it through
+    List<Integer> finish(List<Integer> path) {
+        if (enabled) {
+            complete(path != null && !path.isEmpty(), path == null ? 0 : path.size());
+        }
+        return path;
+    }
+
+    // Finish a search that returns several paths; the path length is that of the first one
+    List<List<Integer>> finishPaths(List<List<Integer>> paths) {
+        if (enabled) {
+            complete(!paths.isEmpty(), paths.isEmpty() ? 0 : paths.get(0).size());
+        }
+        return paths;
+    }
+
+    // Finish a game-tree search, which always ends with a value but has no path, and pass the value through
+    public int finishValue(int value) {
+        if (enabled) {
+            complete(true, 0);
+        }
+        return value;
+    }
+
+    private void complete(boolean found, int pathLength) {
+        this.wallTimeNanos = System.nanoTime() - startNanos;
+        this.found = found;
+        this.pathLength = pathLength;
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.algorithm = algorithm;
+                event.start = start;
+                event.goal = goal;
+                event.found = found;
+                event.pathLength = pathLength;
+                event.expanded = expanded;
+                event.generated = generated;
+                event.maxFrontier = maxFrontier;
+                event.prunings = prunings;
+                event.reExpansions = reExpansions;
+                event.commit();
+            }
+        }
+        if (listener != null) {
+            listener.searchFinished(this);
+        }
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getGoal() {
+        return goal;
+    }
+
+    public long getExpanded() {
+        return expanded;
+    }
+
+    public long getGenerated() {
+        return generated;
+    }
+
+    public int getMaxFrontier() {
+        return maxFrontier;
+    }
+
+    public long getPrunings() {
+        return prunings;
+    }
+
+    public long getReExpansions() {
+        return reExpansions;
+    }
+
+    public long getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    // Nodes on the returned path, 0 if none was found or the search returns a value (minimax)
+    public int getPathLength() {
+        return pathLength;
+    }
+
+    @Override
+    public String toString() {
+        String result = !found ? "no path" : pathLength == 0 ? "value found" : "path of " + pathLength + " nodes";
+        return algorithm + " " + start + " -> " + goal + ": " + result
+                + ", expanded " + expanded + ", generated " + generated + ", max frontier " + maxFrontier
+                + ", prunings " + prunings + ", re-expansions " + reExpansions
+                + ", " + wallTimeNanos / 1_000 + " us";
+    }
+}
@@ -0,0 +1,192 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Reusable scratch space for repeated searches over CsrGraphs.
+// Per-node state is epoch-stamped: a node is visited (or dead) only if its stamp equals the
+// current epoch, so starting a new search is O(1) instead of clearing every array. Search
+// nodes live in a struct-of-arrays arena instead of Node objects. Arrays only grow, so after
+// warm-up a search allocates nothing but the path it returns.
+// A workspace is not thread-safe; give each thread its own.
+public final class SearchWorkspace {
+    private int epoch;
+
+    // Per graph node
+    private int[] visitedStamp = new int[0];
+    private int[] deadStamp = new int[0];
+    private int[] countStamp = new int[0];
+    private int[] counts = new int[0];
+    private int[] costStamp = new int[0];
+    private long[] costs = new long[0];
+    private int[] parent = new int[0];
+
+    // Search node arena, one slot per generated node
+    private int[] nodeId = new int[16];
+    private int[] nodeCost = new int[16];
+    private int[] nodeHeuristic = new int[16];
+    private int[] nodeParent = new int[16];
+    private int nodeCount;
+
+    // Queue, stack or beam buffer
+    private int[] buffer = new int[16];
+
+    // Frontier over arena slots
+    private final IndexedIntHeap heap = new IndexedIntHeap(16);
+
+    // Top-k selection of the next beam search level
+    private BeamBuffer beam;
+
+    // Current path of the iterative deepening searches
+    private final DepthFirstStack stack = new DepthFirstStack();
+
+    // Start a new search over a graph with the given number of node slots
+    void begin(int graphNodes) {
+        if (graphNodes > parent.length) {
+            int size = Math.max(graphNodes, parent.length * 2);
+            visitedStamp = Arrays.copyOf(visitedStamp, size);
+            deadStamp = Arrays.copyOf(deadStamp, size);
+            countStamp = Arrays.copyOf(countStamp, size);
+            counts = Arrays.copyOf(counts, size);
+            costStamp = Arrays.copyOf(costStamp, size);
+            costs = Arrays.copyOf(costs, size);
+            parent = Arrays.copyOf(parent, size);
+        }
+        if (++epoch == Integer.MAX_VALUE) {
+            // Stamps from 2^31 searches ago would look current again, so clear them once
+            Arrays.fill(visitedStamp, 0);
+            Arrays.fill(deadStamp, 0);
+            Arrays.fill(countStamp, 0);
+            Arrays.fill(costStamp, 0);
+            epoch = 1;
+        }
+        nodeCount = 0;
+        heap.clear();
+    }
+
+    boolean isVisited(int node) {
+        return visitedStamp[node] == epoch;
+    }
+
+    void markVisited(int node) {
+        visitedStamp[node] = epoch;
+    }
+
+    boolean isDead(int node) {
+        return deadStamp[node] == epoch;
+    }
+
+    void markDead(int node) {
+        deadStamp[node] = epoch;
+    }
+
+    // Per-node counter that reads as 0 at the start of every search
+    int count(int node) {
+        return countStamp[node] == epoch ? counts[node] : 0;
+    }
+
+    void addCount(int node, int delta) {
+        setCount(node, count(node) + delta);
+    }
+
+    void setCount(int node, int value) {
+        counts[node] = value;
+        countStamp[node] = epoch;
+    }
+
+    // Best known distance of a node, Long.MAX_VALUE until set in this search
+    long cost(int node) {
+        return costStamp[node] == epoch ? costs[node] : Long.MAX_VALUE;
+    }
+
+    void setCost(int node, long cost) {
+        costs[node] = cost;
+        costStamp[node] = epoch;
+    }
+
+    int parent(int node) {
+        return parent[node];
+    }
+
+    void setParent(int node, int parentNode) {
+        parent[node] = parentNode;
+    }
+
+    // Buffer with room for at least size entries
+    int[] buffer(int size) {
+        if (buffer.length < size) {
+            buffer = new int[Math.max(size, buffer.length * 2)];
+        }
+        return buffer;
+    }
+
+    IndexedIntHeap heap() {
+        return heap;
+    }
+
+    // Beam buffer of exactly the given width, emptied
+    BeamBuffer beam(int width) {
+        if (beam == null || beam.width() != width) {
+            beam = new BeamBuffer(width);
+        }
+        beam.clear();
+        return beam;
+    }
+
+    // Depth-first stack, emptied
+    DepthFirstStack stack() {
+        stack.clear();
+        return stack;
+    }
+
+    // Add a search node to the arena and return its slot
+    int newNode(int id, int cost, int heuristic, int parentSlot) {
+        if (nodeCount == nodeId.length) {
+            int size = nodeCount * 2;
+            nodeId = Arrays.copyOf(nodeId, size);
+            nodeCost = Arrays.copyOf(nodeCost, size);
+            nodeHeuristic = Arrays.copyOf(nodeHeuristic, size);
+            nodeParent = Arrays.copyOf(nodeParent, size);
+        }
+        nodeId[nodeCount] = id;
+        nodeCost[nodeCount] = cost;
+        nodeHeuristic[nodeCount] = heuristic;
+        nodeParent[nodeCount] = parentSlot;
+        return nodeCount++;
+    }
+
+    int nodeId(int slot) {
+        return nodeId[slot];
+    }
+
+    int nodeCost(int slot) {
+        return nodeCost[slot];
+    }
+
+    int nodeHeuristic(int slot) {
+        return nodeHeuristic[slot];
+    }
+
+    // Path from the root of the arena tree to the given slot (a negative parent ends the chain)
+    List<Integer> pathTo(int slot) {
+        List<Integer> path = new ArrayList<>();
+        for (int at = slot; at >= 0; at = nodeParent[at]) {
+            path.add(nodeId[at]);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    // Path from start to goal along the per-node parent links
+    List<Integer> pathTo(int start, int goal) {
+        List<Integer> path = new ArrayList<>();
+        for (int at = goal; at != start; at = parent[at]) {
+            path.add(at);
+        }
+        path.add(start);
+        Collections.reverse(path);
+        return path;
+    }
+}
@@ -0,0 +1,315 @@
+package algorithms;
+
+import model.CsrGraph;
+import model.EdgeWeightLookup;
+import model.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Simplified memory-bounded A* (SMA*) for one query. The search tree holds at most budget
+// nodes. A node generates its successors one at a time, best-first by cost + heuristic (f),
+// the deepest node first among equal f. When the tree is over budget the shallowest leaf with
+// the highest f is forgotten; its parent remembers that f and generates the child again, with
+// the remembered f, once nothing cheaper is left. Once all successors of a node have been
+// generated, its f is backed up to the lowest f of its children and forgotten children, so the
+// tree keeps an accurate bound for every branch it has given up.
+//
+// A successor that is not the goal and would fill the budget on its own path can never lead
+// to a path that fits, so its f is infinite. The search fails when the best f is infinite.
+// On graphs a node is often reached along many paths. A successor is dropped for good when a
+// copy of the same node in memory is at least as cheap, since every path through it is matched
+// by one through that copy; this keeps the tree from filling up with copies. When the budget
+// is barely larger than the path, a deeper copy can run into the budget where the dropped one
+// would not have, so leave some room.
+// Successors skip the nodes on their own path, missing heuristics count as 0 and costs are
+// added in long arithmetic. Each node keeps its successors, their edge costs and forgotten f
+// values, so memory is bounded by the budget times the largest degree.
+final class SmaStarSearch {
+    private static final long INFINITE = Long.MAX_VALUE;
+    private static final long FORGOTTEN_NONE = -1;
+
+    // Best candidate first: lowest f, then deepest, then newest
+    private static final Comparator<TreeNode> BEST_FIRST = (a, b) -> {
+        if (a.f != b.f) {
+            return Long.compare(a.f, b.f);
+        }
+        if (a.depth != b.depth) {
+            return Integer.compare(b.depth, a.depth);
+        }
+        return Integer.compare(b.sequence, a.sequence);
+    };
+
+    // Leaf to forget first: highest f, then shallowest, then oldest
+    private static final Comparator<TreeNode> WORST_FIRST = (a, b) -> {
+        if (a.f != b.f) {
+            return Long.compare(b.f, a.f);
+        }
+        if (a.depth != b.depth) {
+            return Integer.compare(a.depth, b.depth);
+        }
+        return Integer.compare(a.sequence, b.sequence);
+    };
+
+    private final Graph graph;
+    private final Map<Integer, Integer> heuristics;
+    private final EdgeWeightLookup edgeWeights;
+    private final CsrGraph csr;
+    private final int budget;
+    private final SearchStats stats;
+
+    private final TreeSet<TreeNode> open = new TreeSet<>(BEST_FIRST); // Nodes with successors left to generate
+    private final TreeSet<TreeNode> leaves = new TreeSet<>(WORST_FIRST); // Nodes without children, except the root
+    private final Map<Integer, TreeNode> copies = new HashMap<>(); // Cheapest copy of each node in memory
+    private int used;
+    private int sequence;
+
+    SmaStarSearch(Graph graph, Map<Integer, Integer> heuristics, EdgeWeightLookup edgeWeights, int budget, SearchStats stats) {
+        this.graph = graph;
+        this.heuristics = heuristics;
+        this.edgeWeights = edgeWeights;
+        this.csr = null;
+        this.budget = budget;
+        this.stats = stats;
+    }
+
+    SmaStarSearch(CsrGraph csr, int budget, SearchStats stats) {
+        this.graph = null;
+        this.heuristics = null;
+        this.edgeWeights = null;
+        this.csr = csr;
+        this.budget = budget;
+        this.stats = stats;
+    }
+
+    private static final class TreeNode {
+        final int id;
+        final long cost;
+        final int depth;
+        final TreeNode parent;
+        final int index; // Position among the parent's successors
+        final int sequence;
+        final List<TreeNode> children = new ArrayList<>(2); // Children in memory
+        long f;
+        int[] successors; // Null until the node is first expanded
+        long[] successorCosts;
+        long[] forgotten; // f of each forgotten successor, FORGOTTEN_NONE for the others
+        int next; // Index of the next successor to generate for the first time
+        boolean generatedAll; // Every successor has been generated at least once
+        boolean inOpen;
+        boolean inLeaves;
+
+        TreeNode(int id, long cost, int depth, TreeNode parent, int index, int sequence) {
+            this.id = id;
+            this.cost = cost;
+            this.depth = depth;
+            this.parent = parent;
+            this.index = index;
+            this.sequence = sequence;
+        }
+    }
+
+    List<Integer> search(int start, int goal) {
+        TreeNode root = new TreeNode(start, 0, 0, null, -1, sequence++);
+        root.f = heuristic(start);
+        used = 1;
+        track(root);
+        copies.put(start, root);
+
+        while (!open.isEmpty()) {
+            TreeNode best = open.first();
+            if (best.f == INFINITE) {
+                break; // No path fits in the budget
+            }
+            if (best.id == goal) {
+                return pathTo(best);
+            }
+
+            untrack(best);
+            if (best.successors == null) {
+                expand(best);
+                stats.recordExpansion(best.id);
+                if (best.successors.length == 0) {
+                    best.f = INFINITE;
+                    track(best);
+                    backUp(best.parent);
+                    continue;
+                }
+            }
+
+            TreeNode child = nextChild(best);
+            TreeNode copy = copies.get(child.id);
+            if (copy != null && copy.cost <= child.cost) {
+                best.forgotten[child.index] = INFINITE; // Never worth generating again
+                track(best);
+                backUp(best);
+                stats.recordPruning();
+                continue;
+            }
+            copies.put(child.id, child);
+            if (child.id != goal && child.depth >= budget - 1) {
+                child.f = INFINITE;
+            } else {
+                child.f = Math.max(best.f, child.cost + heuristic(child.id));
+                child.f = Math.max(child.f, best.forgotten[child.index]);
+            }
+            best.forgotten[child.index] = FORGOTTEN_NONE;
+            best.children.add(child);
+            used++;
+            track(best);
+            track(child);
+            stats.recordGenerated();
+            backUp(best);
+
+            while (used > budget) {
+                forget(leaves.first());
+            }
+            stats.recordFrontier(open.size());
+        }
+        return new ArrayList<>();
+    }
+
+    // The successors in order until each has been generated once, then the forgotten successor
+    // with the lowest remembered f
+    private TreeNode nextChild(TreeNode node) {
+        int i = node.next;
+        if (node.generatedAll) {
+            i = -1;
+            for (int j = 0; j < node.successors.length; j++) {
+                if (node.forgotten[j] != FORGOTTEN_NONE && (i < 0 || node.forgotten[j] < node.forgotten[i])) {
+                    i = j;
+                }
+            }
+        } else if (++node.next == node.successors.length) {
+            node.generatedAll = true;
+        }
+        return new TreeNode(node.successors[i], node.cost + node.successorCosts[i], node.depth + 1, node, i, sequence++);
+    }
+
+    // Drop a leaf from memory; its parent keeps its f for when it is generated again
+    private void forget(TreeNode leaf) {
+        TreeNode parent = leaf.parent;
+        untrack(leaf);
+        untrack(parent);
+        parent.children.remove(leaf);
+        copies.remove(leaf.id, leaf);
+        parent.forgotten[leaf.index] = leaf.f;
+        track(parent);
+        used--;
+        stats.recordPruning();
+    }
+
+    // Raise the f of a node whose successors have all been generated to the lowest f below it,
+    // and repeat for its ancestors while that changes anything
+    private void backUp(TreeNode node) {
+        while (node != null && node.generatedAll) {
+            long lowest = INFINITE;
+            for (TreeNode child : node.children) {
+                lowest = Math.min(lowest, child.f);
+            }
+            for (long f : node.forgotten) {
+                if (f != FORGOTTEN_NONE) {
+                    lowest = Math.min(lowest, f);
+                }
+            }
+            if (lowest <= node.f) {
+                return;
+            }
+            untrack(node);
+            node.f = lowest;
+            track(node);
+            node = node.parent;
+        }
+    }
+
+    // Successors of the node, without the nodes on its own path and keeping the cheapest of
+    // parallel edges
+    private void expand(TreeNode node) {
+        int degree = csr != null ? csr.endEdge(node.id) - csr.firstEdge(node.id) : graph.getNeighbors(node.id).size();
+        int[] successors = new int[degree];
+        long[] costs = new long[degree];
+        int count = 0;
+        for (int i = 0; i < degree; i++) {
+            int successor;
+            long cost;
+            if (csr != null) {
+                int e = csr.firstEdge(node.id) + i;
+                successor = csr.target(e);
+                cost = csr.weight(e);
+            } else {
+                successor = graph.getNeighbors(node.id).get(i);
+                cost = edgeWeights.getEdgeWeight(node.id, successor);
+            }
+            if (onPath(node, successor)) {
+                continue;
+            }
+            int j = 0;
+            while (j < count && successors[j] != successor) {
+                j++;
+            }
+            if (j == count) {
+                successors[count] = successor;
+                costs[count++] = cost;
+            } else {
+                costs[j] = Math.min(costs[j], cost);
+            }
+        }
+        node.successors = count == degree ? successors : Arrays.copyOf(successors, count);
+        node.successorCosts = count == degree ? costs : Arrays.copyOf(costs, count);
+        node.forgotten = new long[count];
+        Arrays.fill(node.forgotten, FORGOTTEN_NONE);
+    }
+
+    private static boolean onPath(TreeNode node, int id) {
+        for (TreeNode at = node; at != null; at = at.parent) {
+            if (at.id == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long heuristic(int node) {
+        int heuristic = csr != null ? csr.heuristic(node) : heuristics.getOrDefault(node, 0);
+        return heuristic == CsrGraph.NO_HEURISTIC ? 0 : heuristic;
+    }
+
+    // The sets are ordered by f, depth and children, so a node leaves them before any of those
+    // change and comes back after
+    private void untrack(TreeNode node) {
+        if (node.inOpen) {
+            open.remove(node);
+            node.inOpen = false;
+        }
+        if (node.inLeaves) {
+            leaves.remove(node);
+            node.inLeaves = false;
+        }
+    }
+
+    private void track(TreeNode node) {
+        node.inOpen = node.successors == null || node.children.size() < node.successors.length;
+        if (node.inOpen) {
+            open.add(node);
+        }
+        node.inLeaves = node.children.isEmpty() && node.parent != null;
+        if (node.inLeaves) {
+            leaves.add(node);
+        }
+    }
+
+    private static List<Integer> pathTo(TreeNode node) {
+        List<Integer> path = new ArrayList<>();
+        for (TreeNode at = node; at != null; at = at.parent) {
+            path.add(at.id);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
@@ -0,0 +1,93 @@
+package benchmarks;
+
+import model.Graph;
+import model.GraphBatch;
+
+import java.util.Random;
+
+// Deterministic synthetic graphs for the benchmarks. The same arguments always give the
+// same graph, with random weights in [1, maxWeight] and heuristics of 0 (always admissible).
+// Each graph is built in one batch, so it is published as a single version.
+public final class GraphGenerators {
+    private GraphGenerators() {
+    }
+
+    // side x side grid, each node linked to its right and lower neighbor
+    public static Graph grid(int side, int maxWeight, long seed) {
+        Random random = new Random(seed);
+        Graph graph = new Graph();
+        GraphBatch batch = graph.batch();
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                int node = row * side + col;
+                if (col + 1 < side) {
+                    addWeightedEdge(batch, node, node + 1, maxWeight, random);
+                }
+                if (row + 1 < side) {
+                    addWeightedEdge(batch, node, node + side, maxWeight, random);
+                }
+            }
+        }
+        setZeroHeuristics(batch, side * side);
+        batch.publish();
+        return graph;
+    }
+
+    // Erdos-Renyi style graph with the given number of uniformly random edges
+    public static Graph erdosRenyi(int nodes, long edges, int maxWeight, long seed) {
+        Random random = new Random(seed);
+        Graph graph = new Graph();
+        GraphBatch batch = graph.batch();
+        for (long i = 0; i < edges; i++) {
+            int src = random.nextInt(nodes);
+            int dest = random.nextInt(nodes);
+            if (src != dest) {
+                addWeightedEdge(batch, src, dest, maxWeight, random);
+            }
+        }
+        setZeroHeuristics(batch, nodes);
+        batch.publish();
+        return graph;
+    }
+
+    // Scale-free graph (Barabasi-Albert): each new node links to edgesPerNode existing nodes,
+    // picked with probability proportional to their degree
+    public static Graph scaleFree(int nodes, int edgesPerNode, int maxWeight, long seed) {
+        Random random = new Random(seed);
+        Graph graph = new Graph();
+        GraphBatch batch = graph.batch();
+        int[] endpoints = new int[2 * nodes * edgesPerNode]; // Every edge endpoint once, so a uniform pick is degree-weighted
+        int endpointCount = 0;
+        int core = Math.min(nodes, edgesPerNode + 1);
+        for (int src = 0; src < core; src++) {
+            for (int dest = src + 1; dest < core; dest++) {
+                addWeightedEdge(batch, src, dest, maxWeight, random);
+                endpoints[endpointCount++] = src;
+                endpoints[endpointCount++] = dest;
+            }
+        }
+        for (int node = core; node < nodes; node++) {
+            int added = endpointCount;
+            for (int i = 0; i < edgesPerNode; i++) {
+                int dest = endpoints[random.nextInt(added)];
+                addWeightedEdge(batch, node, dest, maxWeight, random);
+                endpoints[endpointCount++] = node;
+                endpoints[endpointCount++] = dest;
+            }
+        }
+        setZeroHeuristics(batch, nodes);
+        batch.publish();
+        return graph;
+    }
+
+    private static void addWeightedEdge(GraphBatch batch, int src, int dest, int maxWeight, Random random) {
+        batch.addEdge(src, dest, 1 + random.nextInt(maxWeight));
+        batch.setEdgeWeight(dest, src, 1 + random.nextInt(maxWeight)); // Make the edge usable both ways
+    }
+
+    private static void setZeroHeuristics(GraphBatch batch, int nodes) {
+        for (int node = 0; node < nodes; node++) {
+            batch.setHeuristic(node, 0);
+        }
+    }
+}
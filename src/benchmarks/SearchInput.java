@@ -0,0 +1,137 @@
+package benchmarks;
+
+import algorithms.SearchAlgorithms;
+import model.CsrGraph;
+import model.Graph;
+import model.GraphBatch;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// One benchmark query: a seeded synthetic graph in every form the searches take (Graph, CSR,
+// the heuristic and "src,dest" weight maps) and a query across it. The query runs from node 0
+// to the node farthest from it in hops, with the hop count to that goal as the heuristic, and
+// an oracle value of 1.5 times the cheapest path cost. Shared by the JMH benchmarks and the
+// tests, so both use the same inputs.
+public final class SearchInput {
+    public static final String[] SHAPES = {"grid", "erdos-renyi", "scale-free"};
+    public static final String[] SIZES = {"small", "medium", "large"};
+
+    public final String name;
+    public final Graph graph;
+    public final CsrGraph csr;
+    public final Map<Integer, Integer> heuristics;
+    public final Map<String, Integer> weights;
+    public final int start;
+    public final int goal;
+    public final int oracle;
+
+    private SearchInput(String name, Graph graph) {
+        this.name = name;
+        this.graph = graph;
+        start = 0;
+        goal = lastReached(hopsFrom(CsrGraph.from(graph), start));
+        // Hop count to the goal is admissible since every weight is at least 1
+        int[] hopsToGoal = hopsFrom(CsrGraph.from(graph), goal);
+        GraphBatch batch = graph.batch();
+        for (int node = 0; node < hopsToGoal.length; node++) {
+            if (hopsToGoal[node] >= 0) {
+                batch.setHeuristic(node, hopsToGoal[node]);
+            }
+        }
+        batch.publish();
+        csr = CsrGraph.from(graph);
+        heuristics = graph.getHeuristics();
+        weights = weightMap(graph);
+        SearchAlgorithms indexed = new SearchAlgorithms();
+        indexed.setIndexedHeap(true);
+        List<Integer> shortest = indexed.aStarAlgorithm(graph, start, goal, heuristics, Integer.MAX_VALUE);
+        int shortestCost = 0;
+        for (int i = 1; i < shortest.size(); i++) {
+            shortestCost += graph.getEdgeWeight(shortest.get(i - 1), shortest.get(i));
+        }
+        oracle = shortestCost * 3 / 2; // Bounds the oracle-limited searches to near-optimal paths
+    }
+
+    // shape is one of SHAPES and size one of SIZES: a grid of 4x4, 32x32 or 256x256 nodes, or a
+    // graph of 12, 1000 or 65536 nodes with two edges per node on average
+    public static SearchInput of(String shape, String size) {
+        int index = Arrays.asList(SIZES).indexOf(size);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown graph size " + size);
+        }
+        switch (shape) {
+            case "grid": {
+                int side = new int[]{4, 32, 256}[index];
+                return new SearchInput("grid-" + side + "x" + side, GraphGenerators.grid(side, 10, side));
+            }
+            case "erdos-renyi": {
+                int nodes = new int[]{12, 1_000, 65_536}[index];
+                return new SearchInput("erdos-renyi-" + nodes, GraphGenerators.erdosRenyi(nodes, 2L * nodes, 10, nodes));
+            }
+            case "scale-free": {
+                int nodes = new int[]{12, 1_000, 65_536}[index];
+                return new SearchInput("scale-free-" + nodes, GraphGenerators.scaleFree(nodes, 2, 10, nodes));
+            }
+            default:
+                throw new IllegalArgumentException("Unknown graph shape " + shape);
+        }
+    }
+
+    // Leaf values of a complete binary game tree of the given depth for AlphaBetaPruning.minimax
+    public static int[] minimaxLeaves(int depth) {
+        Random random = new Random(depth);
+        int[] values = new int[1 << depth];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(1000) - 500;
+        }
+        return values;
+    }
+
+    // The "src,dest" weight map that the map-based overloads expect
+    private static Map<String, Integer> weightMap(Graph graph) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (Map.Entry<Integer, List<Integer>> entry : graph.getAdjacencyList().entrySet()) {
+            for (int dest : entry.getValue()) {
+                if (graph.hasEdgeWeight(entry.getKey(), dest)) {
+                    weights.put(entry.getKey() + "," + dest, graph.getEdgeWeight(entry.getKey(), dest));
+                }
+            }
+        }
+        return weights;
+    }
+
+    // Hop distance of every node from the source, -1 where unreachable
+    private static int[] hopsFrom(CsrGraph graph, int source) {
+        int[] hops = new int[graph.nodeCount()];
+        Arrays.fill(hops, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        hops[source] = 0;
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int e = graph.firstEdge(node); e < graph.endEdge(node); e++) {
+                if (hops[graph.target(e)] < 0) {
+                    hops[graph.target(e)] = hops[node] + 1;
+                    queue.add(graph.target(e));
+                }
+            }
+        }
+        return hops;
+    }
+
+    // A reachable node with the most hops, so every query crosses its component
+    private static int lastReached(int[] hops) {
+        int farthest = 0;
+        for (int node = 0; node < hops.length; node++) {
+            if (hops[node] > hops[farthest]) {
+                farthest = node;
+            }
+        }
+        return farthest;
+    }
+}
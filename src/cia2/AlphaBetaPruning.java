@@ -0,0 +1,129 @@
+package cia2;
+
+import algorithms.SearchListener;
+import algorithms.SearchStats;
+
+import java.lang.Math;
+
+public class AlphaBetaPruning {
+    public static int minimax(int depth, int nodeIndex, boolean isMaximizingPlayer, int[] values, int alpha, int beta, int maxDepth) {
+        return minimax(depth, nodeIndex, isMaximizingPlayer, values, alpha, beta, maxDepth, MinimaxTracer.DISABLED, null);
+    }
+
+    // Same search, reporting every step to the tracer
+    public static int minimax(int depth, int nodeIndex, boolean isMaximizingPlayer, int[] values, int alpha, int beta, int maxDepth,
+                              MinimaxTracer tracer) {
+        return minimax(depth, nodeIndex, isMaximizingPlayer, values, alpha, beta, maxDepth, tracer, null);
+    }
+
+    // Same search, also passing its SearchStats to the listener (which may be null) and to the
+    // algorithms.Search Flight Recorder event, like the searches in SearchAlgorithms. The
+    // algorithm is "minimax", the start is nodeIndex and there is no goal (-1). Expanded counts
+    // the inner nodes, generated the children searched, prunings the cutoffs and the max
+    // frontier the deepest level reached.
+    public static int minimax(int depth, int nodeIndex, boolean isMaximizingPlayer, int[] values, int alpha, int beta, int maxDepth,
+                              MinimaxTracer tracer, SearchListener listener) {
+        SearchStats stats = SearchStats.start("minimax", nodeIndex, -1, listener);
+        if (stats.isEnabled()) {
+            tracer = new CountingTracer(stats, tracer);
+        }
+        return stats.finishValue(search(depth, nodeIndex, isMaximizingPlayer, values, alpha, beta, maxDepth, tracer));
+    }
+
+    private static int search(int depth, int nodeIndex, boolean isMaximizingPlayer, int[] values, int alpha, int beta, int maxDepth,
+                              MinimaxTracer tracer) {
+        // Terminal node (leaf nodes)
+        if (depth == maxDepth) {
+            tracer.leaf(depth, nodeIndex, values[nodeIndex]);
+            return values[nodeIndex];
+        }
+
+        if (isMaximizingPlayer) {
+            int best = Integer.MIN_VALUE;
+            tracer.enter(depth, nodeIndex, true);
+
+            // Maximizer's choice (MAX player)
+            for (int i = 0; i < 2; i++) {
+                int value = search(depth + 1, nodeIndex * 2 + i, false, values, alpha, beta, maxDepth, tracer);
+                tracer.compare(depth, nodeIndex, true, value, best);
+                best = Math.max(best, value);
+                alpha = Math.max(alpha, best);
+
+                // Alpha Beta Pruning
+                if (beta <= alpha) {
+                    tracer.prune(depth, nodeIndex);
+                    break;
+                }
+            }
+            tracer.select(depth, nodeIndex, true, best);
+            return best;
+        } else {
+            int best = Integer.MAX_VALUE;
+            tracer.enter(depth, nodeIndex, false);
+
+            // Minimizer's choice (MIN player)
+            for (int i = 0; i < 2; i++) {
+                int value = search(depth + 1, nodeIndex * 2 + i, true, values, alpha, beta, maxDepth, tracer);
+                tracer.compare(depth, nodeIndex, false, value, best);
+                best = Math.min(best, value);
+                beta = Math.min(beta, best);
+
+                // Alpha Beta Pruning
+                if (beta <= alpha) {
+                    tracer.prune(depth, nodeIndex);
+                    break;
+                }
+            }
+            tracer.select(depth, nodeIndex, false, best);
+            return best;
+        }
+    }
+
+    // Counts the steps into the stats, then hands them on to the caller's tracer
+    private static final class CountingTracer implements MinimaxTracer {
+        private final SearchStats stats;
+        private final MinimaxTracer tracer;
+
+        CountingTracer(SearchStats stats, MinimaxTracer tracer) {
+            this.stats = stats;
+            this.tracer = tracer;
+        }
+
+        @Override
+        public void enter(int depth, int nodeIndex, boolean isMaximizingPlayer) {
+            stats.recordExpansion((1 << depth) - 1 + nodeIndex); // Level-order number, unique across levels
+            stats.recordFrontier(depth);
+            tracer.enter(depth, nodeIndex, isMaximizingPlayer);
+        }
+
+        @Override
+        public void leaf(int depth, int nodeIndex, int value) {
+            stats.recordFrontier(depth);
+            tracer.leaf(depth, nodeIndex, value);
+        }
+
+        @Override
+        public void compare(int depth, int nodeIndex, boolean isMaximizingPlayer, int value, int best) {
+            stats.recordGenerated();
+            tracer.compare(depth, nodeIndex, isMaximizingPlayer, value, best);
+        }
+
+        @Override
+        public void prune(int depth, int nodeIndex) {
+            stats.recordPruning();
+            tracer.prune(depth, nodeIndex);
+        }
+
+        @Override
+        public void select(int depth, int nodeIndex, boolean isMaximizingPlayer, int best) {
+            tracer.select(depth, nodeIndex, isMaximizingPlayer, best);
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] values = {3, 5, 6, 9, 1, 2, 0, -1};
+        int maxDepth = (int) (Math.log(values.length) / Math.log(2));
+        int result = minimax(0, 0, true, values, Integer.MIN_VALUE, Integer.MAX_VALUE, maxDepth, MinimaxTracer.printing(System.out));
+        System.out.println("The optimal value is: " + result);
+    }
+}
@@ -0,0 +1,247 @@
+package cia2;
+
+// Alpha-beta game-tree search over any GameState, in negamax form: every score is from the
+// point of view of the side to move, and a child's score is negated for its parent.
+//
+// Iterative deepening searches depth 1, 2, ... up to the limit, so a time limit can stop it
+// with the result of the last finished depth. Each iteration is cheap because of:
+//   - the transposition table, which returns or narrows the scores of positions reached before
+//     and remembers their best move,
+//   - move ordering: the table's best move first, then the two killer moves of the ply (moves
+//     that caused a cutoff in a sibling position), then the rest by history score (how often
+//     and how deep the move caused cutoffs).
+// A searcher is not thread-safe; give each thread its own.
+public final class AlphaBetaSearcher {
+    // Bound on every score; GameState.evaluate must stay strictly inside (-INFINITY, INFINITY)
+    public static final int INFINITY = 1_000_000_000;
+
+    private static final int TT_MOVE_SCORE = Integer.MAX_VALUE;
+    private static final int KILLER_SCORE = Integer.MAX_VALUE - 2;
+    private static final int HISTORY_LIMIT = 1 << 28; // History scores are halved once one passes this
+
+    public static final class Result {
+        private final int bestMove;
+        private final int value;
+        private final int depth;
+        private final long nodes;
+
+        Result(int bestMove, int value, int depth, long nodes) {
+            this.bestMove = bestMove;
+            this.value = value;
+            this.depth = depth;
+            this.nodes = nodes;
+        }
+
+        // The best move found, or -1 if the position has none
+        public int getBestMove() {
+            return bestMove;
+        }
+
+        // Score of the position for the side to move
+        public int getValue() {
+            return value;
+        }
+
+        // Depth of the last completed iteration
+        public int getDepth() {
+            return depth;
+        }
+
+        // Positions visited over all iterations
+        public long getNodes() {
+            return nodes;
+        }
+
+        @Override
+        public String toString() {
+            return "best move " + bestMove + ", value " + value + ", depth " + depth + ", nodes " + nodes;
+        }
+    }
+
+    private final TranspositionTable table;
+    private int[][] moves = new int[0][];
+    private int[][] scores = new int[0][];
+    private int[][] killers = new int[0][];
+    private int[] history = new int[0];
+
+    private long nodes;
+    private long deadline;
+    private boolean aborted;
+    private int rootBestMove;
+
+    // A searcher with a transposition table of 2^tableSizeBits entries
+    public AlphaBetaSearcher(int tableSizeBits) {
+        this.table = new TranspositionTable(tableSizeBits);
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    public Result search(GameState state, int maxDepth) {
+        return search(state, maxDepth, 0);
+    }
+
+    // Search to maxDepth, or until timeLimitMillis runs out if it is positive. The state is
+    // restored before this returns.
+    public Result search(GameState state, int maxDepth, long timeLimitMillis) {
+        if (state.moveSpace() > 0xFFFE) {
+            throw new IllegalArgumentException("Moves must fit in 16 bits, moveSpace is " + state.moveSpace());
+        }
+        prepare(state, maxDepth);
+        deadline = timeLimitMillis > 0 ? System.nanoTime() + timeLimitMillis * 1_000_000 : Long.MAX_VALUE;
+        aborted = false;
+        nodes = 0;
+        table.newSearch();
+
+        Result result = new Result(-1, state.evaluate(), 0, 0);
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            rootBestMove = -1;
+            int value = negamax(state, depth, 0, -INFINITY, INFINITY);
+            if (aborted) {
+                break;
+            }
+            result = new Result(rootBestMove, value, depth, nodes);
+            if (rootBestMove == -1) {
+                break; // Terminal position, deeper iterations would not change anything
+            }
+        }
+        return new Result(result.bestMove, result.value, result.depth, nodes);
+    }
+
+    private int negamax(GameState state, int depth, int ply, int alpha, int beta) {
+        nodes++;
+        if ((nodes & 1023) == 0 && System.nanoTime() > deadline) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        if (depth == 0 || state.isTerminal()) {
+            return state.evaluate();
+        }
+
+        long key = state.hash();
+        int originalAlpha = alpha;
+        int ttMove = -1;
+        long entry = table.probe(key);
+        if (entry != TranspositionTable.MISS) {
+            ttMove = TranspositionTable.move(entry);
+            // At the root the search must still run to find the best move
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int value = TranspositionTable.value(entry);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT) {
+                    return value;
+                } else if (bound == TranspositionTable.LOWER_BOUND) {
+                    alpha = Math.max(alpha, value);
+                } else {
+                    beta = Math.min(beta, value);
+                }
+                if (alpha >= beta) {
+                    return value;
+                }
+            }
+        }
+
+        int[] plyMoves = moves[ply];
+        int[] plyScores = scores[ply];
+        int count = state.generateMoves(plyMoves);
+        for (int i = 0; i < count; i++) {
+            plyScores[i] = orderScore(plyMoves[i], ttMove, ply);
+        }
+
+        int best = -INFINITY;
+        int bestMove = -1;
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(plyMoves, plyScores, i, count);
+            state.makeMove(move);
+            int value = -negamax(state, depth - 1, ply + 1, -beta, -alpha);
+            state.undoMove(move);
+            if (aborted) {
+                return 0;
+            }
+
+            if (value > best) {
+                best = value;
+                bestMove = move;
+                if (ply == 0) {
+                    rootBestMove = move;
+                }
+            }
+            alpha = Math.max(alpha, value);
+
+            if (alpha >= beta) {
+                if (move != killers[ply][0]) {
+                    killers[ply][1] = killers[ply][0];
+                    killers[ply][0] = move;
+                }
+                history[move] += depth * depth;
+                if (history[move] > HISTORY_LIMIT) {
+                    ageHistory(); // Long games would otherwise overflow; halving keeps the order
+                }
+                break;
+            }
+        }
+
+        int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        table.store(key, depth, best, bestMove, bound);
+        return best;
+    }
+
+    private int orderScore(int move, int ttMove, int ply) {
+        if (move == ttMove) {
+            return TT_MOVE_SCORE;
+        }
+        if (move == killers[ply][0]) {
+            return KILLER_SCORE;
+        }
+        if (move == killers[ply][1]) {
+            return KILLER_SCORE - 1;
+        }
+        return Math.min(history[move], KILLER_SCORE - 2);
+    }
+
+    // Selection sort step: move the best scored of the remaining moves to index i and return it.
+    // Cutoffs usually come early, so this beats sorting all moves up front.
+    private static int pickNext(int[] moves, int[] scores, int i, int count) {
+        int best = i;
+        for (int j = i + 1; j < count; j++) {
+            if (scores[j] > scores[best]) {
+                best = j;
+            }
+        }
+        int move = moves[best];
+        moves[best] = moves[i];
+        moves[i] = move;
+        int score = scores[best];
+        scores[best] = scores[i];
+        scores[i] = score;
+        return move;
+    }
+
+    // Size the per-ply buffers and age the history scores of earlier searches
+    private void prepare(GameState state, int maxDepth) {
+        int plies = maxDepth + 1;
+        if (moves.length < plies || (plies > 0 && moves[0].length < state.maxMoves())) {
+            moves = new int[plies][state.maxMoves()];
+            scores = new int[plies][state.maxMoves()];
+            killers = new int[plies][2];
+        }
+        for (int[] plyKillers : killers) {
+            plyKillers[0] = -1;
+            plyKillers[1] = -1;
+        }
+        if (history.length < state.moveSpace()) {
+            history = new int[state.moveSpace()];
+        }
+        ageHistory();
+    }
+
+    private void ageHistory() {
+        for (int i = 0; i < history.length; i++) {
+            history[i] /= 2;
+        }
+    }
+}
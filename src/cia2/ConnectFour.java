@@ -0,0 +1,189 @@
+package cia2;
+
+// Connect Four on bitboards, as a GameState for AlphaBetaSearcher.
+// Each column takes 7 bits of a long: 6 cells from the bottom up and an always-empty
+// sentinel bit, so shifting a board by 1 (vertical), 7 (horizontal), 6 and 8 (diagonals)
+// never wraps one line into the next. Moves are column numbers 0-6.
+public final class ConnectFour implements GameState {
+    public static final int WIDTH = 7;
+    public static final int HEIGHT = 6;
+    private static final int COLUMN_BITS = HEIGHT + 1;
+    private static final int CELLS = WIDTH * HEIGHT;
+    private static final int WIN = 1_000_000;
+    private static final int[] COLUMN_ORDER = {3, 2, 4, 1, 5, 0, 6}; // Center columns first
+    private static final int[] WINDOW_WEIGHTS = {0, 1, 4, 16}; // Score of a window by pieces of one side
+    private static final long[] WINDOWS = windows();
+    private static final Zobrist ZOBRIST = new Zobrist(2 * WIDTH * COLUMN_BITS, 0x43344C);
+
+    private final long[] boards = new long[2]; // Pieces of the first and the second player
+    private final int[] heights = new int[WIDTH]; // Bit index of the next free cell per column
+    private int movesPlayed;
+    private long hash;
+
+    public ConnectFour() {
+        for (int column = 0; column < WIDTH; column++) {
+            heights[column] = column * COLUMN_BITS;
+        }
+    }
+
+    // Position after the given moves, as 1-based column digits, e.g. "4453"
+    public static ConnectFour of(String moves) {
+        ConnectFour game = new ConnectFour();
+        for (char c : moves.toCharArray()) {
+            int column = c - '1';
+            if (column < 0 || column >= WIDTH || !game.canPlay(column) || game.isTerminal()) {
+                throw new IllegalArgumentException("Illegal move " + c + " in " + moves);
+            }
+            game.makeMove(column);
+        }
+        return game;
+    }
+
+    public boolean canPlay(int column) {
+        return heights[column] < column * COLUMN_BITS + HEIGHT;
+    }
+
+    public int getMovesPlayed() {
+        return movesPlayed;
+    }
+
+    @Override
+    public int maxMoves() {
+        return WIDTH;
+    }
+
+    @Override
+    public int moveSpace() {
+        return WIDTH;
+    }
+
+    @Override
+    public int generateMoves(int[] moves) {
+        int count = 0;
+        for (int column : COLUMN_ORDER) {
+            if (canPlay(column)) {
+                moves[count++] = column;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void makeMove(int column) {
+        int player = movesPlayed & 1;
+        int bit = heights[column]++;
+        boards[player] |= 1L << bit;
+        hash ^= ZOBRIST.key(player * WIDTH * COLUMN_BITS + bit) ^ ZOBRIST.sideToMove();
+        movesPlayed++;
+    }
+
+    @Override
+    public void undoMove(int column) {
+        movesPlayed--;
+        int player = movesPlayed & 1;
+        int bit = --heights[column];
+        boards[player] &= ~(1L << bit);
+        hash ^= ZOBRIST.key(player * WIDTH * COLUMN_BITS + bit) ^ ZOBRIST.sideToMove();
+    }
+
+    @Override
+    public boolean isTerminal() {
+        return lastMoverWon() || movesPlayed == CELLS;
+    }
+
+    // Window count for the side to move minus that of the opponent. A lost position scores
+    // -(WIN - movesPlayed), so the winner prefers quick wins and the loser slow losses.
+    @Override
+    public int evaluate() {
+        if (lastMoverWon()) {
+            return -(WIN - movesPlayed);
+        }
+        if (movesPlayed == CELLS) {
+            return 0;
+        }
+        long own = boards[movesPlayed & 1];
+        long other = boards[(movesPlayed & 1) ^ 1];
+        int score = 0;
+        for (long window : WINDOWS) {
+            int ownCount = Long.bitCount(own & window);
+            int otherCount = Long.bitCount(other & window);
+            if (otherCount == 0) {
+                score += WINDOW_WEIGHTS[ownCount];
+            } else if (ownCount == 0) {
+                score -= WINDOW_WEIGHTS[otherCount];
+            }
+        }
+        return score;
+    }
+
+    @Override
+    public long hash() {
+        return hash;
+    }
+
+    private boolean lastMoverWon() {
+        return movesPlayed > 0 && hasFour(boards[(movesPlayed - 1) & 1]);
+    }
+
+    // Four in a line vertically, horizontally or along either diagonal
+    private static boolean hasFour(long board) {
+        return hasFour(board, 1) || hasFour(board, COLUMN_BITS)
+                || hasFour(board, COLUMN_BITS - 1) || hasFour(board, COLUMN_BITS + 1);
+    }
+
+    private static boolean hasFour(long board, int shift) {
+        long pairs = board & (board >>> shift);
+        return (pairs & (pairs >>> 2 * shift)) != 0;
+    }
+
+    // Masks of the 69 lines of four cells
+    private static long[] windows() {
+        long[] windows = new long[69];
+        int count = 0;
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}}; // (column, row) steps
+        for (int column = 0; column < WIDTH; column++) {
+            for (int row = 0; row < HEIGHT; row++) {
+                for (int[] direction : directions) {
+                    int endColumn = column + 3 * direction[0];
+                    int endRow = row + 3 * direction[1];
+                    if (endColumn >= WIDTH || endRow < 0 || endRow >= HEIGHT) {
+                        continue;
+                    }
+                    long window = 0;
+                    for (int i = 0; i < 4; i++) {
+                        window |= 1L << ((column + i * direction[0]) * COLUMN_BITS + row + i * direction[1]);
+                    }
+                    windows[count++] = window;
+                }
+            }
+        }
+        return windows;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int row = HEIGHT - 1; row >= 0; row--) {
+            for (int column = 0; column < WIDTH; column++) {
+                long bit = 1L << (column * COLUMN_BITS + row);
+                text.append((boards[0] & bit) != 0 ? 'X' : (boards[1] & bit) != 0 ? 'O' : '.');
+            }
+            text.append('\n');
+        }
+        return text.append("1234567").toString();
+    }
+
+    // Engine against itself, printing the board and the search result of every move
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        ConnectFour game = args.length > 1 ? of(args[1]) : new ConnectFour();
+        AlphaBetaSearcher searcher = new AlphaBetaSearcher(20);
+        while (!game.isTerminal()) {
+            AlphaBetaSearcher.Result result = searcher.search(game, depth);
+            System.out.println((game.movesPlayed % 2 == 0 ? "X" : "O") + " plays " + (result.getBestMove() + 1) + " (" + result + ")");
+            game.makeMove(result.getBestMove());
+        }
+        System.out.println(game);
+        System.out.println(game.lastMoverWon() ? ((game.movesPlayed % 2 == 1 ? "X" : "O") + " wins") : "Draw");
+    }
+}
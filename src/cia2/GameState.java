@@ -0,0 +1,29 @@
+package cia2;
+
+// A two-player, zero-sum game position that AlphaBetaSearcher can search.
+// Moves are played and taken back in place, so the searcher needs no copies of the position.
+// Moves are ints in [0, moveSpace()), for example a column or a from/to square pair.
+public interface GameState {
+    // Upper bound on the number of legal moves in any position
+    int maxMoves();
+
+    // Number of distinct move values; history scores are kept per move value
+    int moveSpace();
+
+    // Write the legal moves into the buffer (at least maxMoves() long) and return how many there are
+    int generateMoves(int[] moves);
+
+    void makeMove(int move);
+
+    // Take back the move that was played last
+    void undoMove(int move);
+
+    boolean isTerminal();
+
+    // Score of the position for the side to move, higher is better. It must stay strictly
+    // between -AlphaBetaSearcher.INFINITY and AlphaBetaSearcher.INFINITY.
+    int evaluate();
+
+    // Zobrist key of the position, including the side to move
+    long hash();
+}
@@ -0,0 +1,62 @@
+package cia2;
+
+import java.io.PrintStream;
+
+// Receives the steps of AlphaBetaPruning.minimax. Every call takes only ints and booleans, so
+// with DISABLED the JIT inlines the empty methods and a search builds no strings at all.
+public interface MinimaxTracer {
+    MinimaxTracer DISABLED = new MinimaxTracer() {
+    };
+
+    // A maximizer or minimizer node is entered
+    default void enter(int depth, int nodeIndex, boolean isMaximizingPlayer) {
+    }
+
+    default void leaf(int depth, int nodeIndex, int value) {
+    }
+
+    // A child's value is compared with the node's best so far
+    default void compare(int depth, int nodeIndex, boolean isMaximizingPlayer, int value, int best) {
+    }
+
+    // The remaining children of the node are cut off
+    default void prune(int depth, int nodeIndex) {
+    }
+
+    default void select(int depth, int nodeIndex, boolean isMaximizingPlayer, int best) {
+    }
+
+    // Writes each step as a line of text, as the demo in AlphaBetaPruning.main does
+    static MinimaxTracer printing(PrintStream out) {
+        return new MinimaxTracer() {
+            @Override
+            public void enter(int depth, int nodeIndex, boolean isMaximizingPlayer) {
+                out.println(role(isMaximizingPlayer) + " at depth " + depth);
+            }
+
+            @Override
+            public void leaf(int depth, int nodeIndex, int value) {
+                out.println("Leaf node reached at depth " + depth + ", returning value: " + value);
+            }
+
+            @Override
+            public void compare(int depth, int nodeIndex, boolean isMaximizingPlayer, int value, int best) {
+                out.println(role(isMaximizingPlayer) + " at depth " + depth + ", comparing value: " + value + " with best: " + best);
+            }
+
+            @Override
+            public void prune(int depth, int nodeIndex) {
+                out.println("Pruning at depth " + depth + " as beta <= alpha");
+            }
+
+            @Override
+            public void select(int depth, int nodeIndex, boolean isMaximizingPlayer, int best) {
+                out.println(role(isMaximizingPlayer) + " at depth " + depth + ", selected best: " + best);
+            }
+
+            private String role(boolean isMaximizingPlayer) {
+                return isMaximizingPlayer ? "Maximizer" : "Minimizer";
+            }
+        };
+    }
+}
@@ -0,0 +1,250 @@
+package cia2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Parallel alpha-beta over the same implicit game tree as AlphaBetaPruning.minimax: the leaves
+// are values[], and node i at one level has children i * b ... i * b + b - 1 at the next, where
+// b is the branching factor (2 in AlphaBetaPruning).
+//
+// Young Brothers Wait: at each node the first child is searched alone, since with good move
+// ordering it usually decides the bounds or causes the cutoff. Only then are the remaining
+// siblings searched in parallel on the ForkJoinPool. They share the node's bound in an
+// AtomicInteger, so a sibling that starts later gets the narrowest window found so far. A
+// sibling whose value crosses the other bound cancels the rest, and cancellation reaches
+// every task below them. The last serialDepth levels above the leaves run as plain serial
+// alpha-beta, where forking would cost more than it saves.
+//
+// The result equals AlphaBetaPruning.minimax on the same tree.
+public final class ParallelAlphaBeta {
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private int serialDepth = -1; // -1 picks a depth with at least 1024 leaves per serial subtree
+
+    public ParallelAlphaBeta(int parallelism) {
+        this(new ForkJoinPool(parallelism), true);
+    }
+
+    public ParallelAlphaBeta(ForkJoinPool pool) {
+        this(pool, false);
+    }
+
+    private ParallelAlphaBeta(ForkJoinPool pool, boolean ownsPool) {
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+    }
+
+    // Number of levels above the leaves that are searched serially, or -1 for automatic
+    public void setSerialDepth(int serialDepth) {
+        this.serialDepth = serialDepth;
+    }
+
+    // Value of the tree for the maximizing player at the root
+    public int search(int[] values, int branchingFactor, int maxDepth) {
+        checkTree(values, branchingFactor, maxDepth);
+        int serialLevels = serialDepth >= 0 ? serialDepth : automaticSerialDepth(branchingFactor);
+        Search search = new Search(values, branchingFactor, maxDepth, serialLevels);
+        NodeTask root = new NodeTask(search, 0, 0, true, Integer.MIN_VALUE, Integer.MAX_VALUE, null);
+        pool.invoke(root);
+        return root.value;
+    }
+
+    // Serial alpha-beta with the same tree layout, for comparison
+    public static int serialSearch(int[] values, int branchingFactor, int maxDepth) {
+        checkTree(values, branchingFactor, maxDepth);
+        return serial(values, branchingFactor, maxDepth, 0, 0, true, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    public void shutdown() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    private static void checkTree(int[] values, int branchingFactor, int maxDepth) {
+        if (branchingFactor < 1 || maxDepth < 0 || Math.pow(branchingFactor, maxDepth) != values.length) {
+            throw new IllegalArgumentException("Expected " + branchingFactor + "^" + maxDepth + " leaf values, got " + values.length);
+        }
+    }
+
+    private static int automaticSerialDepth(int branchingFactor) {
+        int depth = 0;
+        for (long leaves = 1; leaves < 1024 && branchingFactor > 1; leaves *= branchingFactor) {
+            depth++;
+        }
+        return depth;
+    }
+
+    private static int serial(int[] values, int branchingFactor, int maxDepth,
+                              int depth, int nodeIndex, boolean isMaximizingPlayer, int alpha, int beta) {
+        if (depth == maxDepth) {
+            return values[nodeIndex];
+        }
+        int best = isMaximizingPlayer ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (int i = 0; i < branchingFactor; i++) {
+            int value = serial(values, branchingFactor, maxDepth, depth + 1, nodeIndex * branchingFactor + i, !isMaximizingPlayer, alpha, beta);
+            if (isMaximizingPlayer) {
+                best = Math.max(best, value);
+                alpha = Math.max(alpha, best);
+            } else {
+                best = Math.min(best, value);
+                beta = Math.min(beta, best);
+            }
+            if (beta <= alpha) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    // The fixed parameters of one search
+    private static final class Search {
+        final int[] values;
+        final int branchingFactor;
+        final int maxDepth;
+        final int serialLevels;
+
+        Search(int[] values, int branchingFactor, int maxDepth, int serialLevels) {
+            this.values = values;
+            this.branchingFactor = branchingFactor;
+            this.maxDepth = maxDepth;
+            this.serialLevels = serialLevels;
+        }
+    }
+
+    // Set when a sibling caused a cutoff; a node is cancelled if any of its ancestors' flags is
+    private static final class Cancellation {
+        private final Cancellation parent;
+        private volatile boolean cancelled;
+
+        Cancellation(Cancellation parent) {
+            this.parent = parent;
+        }
+
+        boolean isCancelled() {
+            for (Cancellation c = this; c != null; c = c.parent) {
+                if (c.cancelled) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+    }
+
+    // Searches one node. value is only meaningful if the node was not cancelled.
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private static final class NodeTask extends RecursiveAction {
+        private final Search search;
+        private final int depth;
+        private final int nodeIndex;
+        private final boolean isMaximizingPlayer;
+        private final int alpha;
+        private final int beta;
+        private final Cancellation cancellation;
+        int value;
+
+        NodeTask(Search search, int depth, int nodeIndex, boolean isMaximizingPlayer, int alpha, int beta,
+                 Cancellation cancellation) {
+            this.search = search;
+            this.depth = depth;
+            this.nodeIndex = nodeIndex;
+            this.isMaximizingPlayer = isMaximizingPlayer;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.cancellation = cancellation;
+        }
+
+        @Override
+        protected void compute() {
+            value = searchNode(search, depth, nodeIndex, isMaximizingPlayer, alpha, beta, cancellation);
+        }
+    }
+
+    // A younger sibling: reads the parent's current bound when it starts and tightens it when done
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private static final class SiblingTask extends RecursiveAction {
+        private final Search search;
+        private final int depth;
+        private final int nodeIndex;
+        private final boolean parentMaximizing;
+        private final int alpha;
+        private final int beta;
+        private final AtomicInteger bound; // The parent's alpha (maximizing) or beta (minimizing)
+        private final Cancellation siblings;
+
+        SiblingTask(Search search, int depth, int nodeIndex, boolean parentMaximizing, int alpha, int beta,
+                    AtomicInteger bound, Cancellation siblings) {
+            this.search = search;
+            this.depth = depth;
+            this.nodeIndex = nodeIndex;
+            this.parentMaximizing = parentMaximizing;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.bound = bound;
+            this.siblings = siblings;
+        }
+
+        @Override
+        protected void compute() {
+            int childAlpha = parentMaximizing ? bound.get() : alpha;
+            int childBeta = parentMaximizing ? beta : bound.get();
+            if (childBeta <= childAlpha || siblings.isCancelled()) {
+                return;
+            }
+            int value = searchNode(search, depth, nodeIndex, !parentMaximizing, childAlpha, childBeta, siblings);
+            if (siblings.isCancelled()) {
+                return; // The value may be incomplete
+            }
+            if (parentMaximizing) {
+                if (bound.accumulateAndGet(value, Math::max) >= beta) {
+                    siblings.cancel();
+                }
+            } else if (bound.accumulateAndGet(value, Math::min) <= alpha) {
+                siblings.cancel();
+            }
+        }
+    }
+
+    private static int searchNode(Search search, int depth, int nodeIndex, boolean isMaximizingPlayer,
+                                  int alpha, int beta, Cancellation cancellation) {
+        if (cancellation != null && cancellation.isCancelled()) {
+            return 0;
+        }
+        if (search.maxDepth - depth <= search.serialLevels) {
+            return serial(search.values, search.branchingFactor, search.maxDepth, depth, nodeIndex, isMaximizingPlayer, alpha, beta);
+        }
+
+        // The eldest brother is searched first, alone
+        int b = search.branchingFactor;
+        int best = searchNode(search, depth + 1, nodeIndex * b, !isMaximizingPlayer, alpha, beta, cancellation);
+        if (isMaximizingPlayer) {
+            alpha = Math.max(alpha, best);
+        } else {
+            beta = Math.min(beta, best);
+        }
+        if (beta <= alpha || b == 1 || (cancellation != null && cancellation.isCancelled())) {
+            return best;
+        }
+
+        // The younger brothers run in parallel and share the bound
+        AtomicInteger bound = new AtomicInteger(isMaximizingPlayer ? alpha : beta);
+        Cancellation siblings = new Cancellation(cancellation);
+        List<SiblingTask> tasks = new ArrayList<>(b - 1);
+        for (int i = 1; i < b; i++) {
+            tasks.add(new SiblingTask(search, depth + 1, nodeIndex * b + i, isMaximizingPlayer, alpha, beta, bound, siblings));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        // The bound started at alpha (or beta), so a node whose children all fail low (high)
+        // returns that bound, which is just as final for the parent
+        return isMaximizingPlayer ? Math.max(best, bound.get()) : Math.min(best, bound.get());
+    }
+}
@@ -0,0 +1,121 @@
+package cia2;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+// A MinimaxTracer that keeps every step in one growing int array, five ints per step:
+// kind and player, depth, node index, value, best. Nothing is formatted while the search runs;
+// replay or dump the steps afterwards, or read them one by one to draw the pruned tree.
+// Not thread-safe.
+public final class TraceRecorder implements MinimaxTracer {
+    public static final int ENTER = 0;
+    public static final int LEAF = 1;
+    public static final int COMPARE = 2;
+    public static final int PRUNE = 3;
+    public static final int SELECT = 4;
+
+    private static final int STEP_INTS = 5;
+
+    private int[] steps = new int[16 * STEP_INTS];
+    private int size;
+
+    @Override
+    public void enter(int depth, int nodeIndex, boolean isMaximizingPlayer) {
+        add(ENTER, isMaximizingPlayer, depth, nodeIndex, 0, 0);
+    }
+
+    @Override
+    public void leaf(int depth, int nodeIndex, int value) {
+        add(LEAF, false, depth, nodeIndex, value, 0);
+    }
+
+    @Override
+    public void compare(int depth, int nodeIndex, boolean isMaximizingPlayer, int value, int best) {
+        add(COMPARE, isMaximizingPlayer, depth, nodeIndex, value, best);
+    }
+
+    @Override
+    public void prune(int depth, int nodeIndex) {
+        add(PRUNE, false, depth, nodeIndex, 0, 0);
+    }
+
+    @Override
+    public void select(int depth, int nodeIndex, boolean isMaximizingPlayer, int best) {
+        add(SELECT, isMaximizingPlayer, depth, nodeIndex, 0, best);
+    }
+
+    private void add(int kind, boolean isMaximizingPlayer, int depth, int nodeIndex, int value, int best) {
+        if ((size + 1) * STEP_INTS > steps.length) {
+            steps = Arrays.copyOf(steps, steps.length * 2);
+        }
+        int offset = size * STEP_INTS;
+        steps[offset] = kind << 1 | (isMaximizingPlayer ? 1 : 0);
+        steps[offset + 1] = depth;
+        steps[offset + 2] = nodeIndex;
+        steps[offset + 3] = value;
+        steps[offset + 4] = best;
+        size++;
+    }
+
+    // Number of recorded steps
+    public int size() {
+        return size;
+    }
+
+    public int kind(int step) {
+        return steps[step * STEP_INTS] >> 1;
+    }
+
+    public boolean isMaximizingPlayer(int step) {
+        return (steps[step * STEP_INTS] & 1) != 0;
+    }
+
+    public int depth(int step) {
+        return steps[step * STEP_INTS + 1];
+    }
+
+    public int nodeIndex(int step) {
+        return steps[step * STEP_INTS + 2];
+    }
+
+    // The leaf value or the compared child value
+    public int value(int step) {
+        return steps[step * STEP_INTS + 3];
+    }
+
+    // The best value so far of a COMPARE step, or the selected value of a SELECT step
+    public int best(int step) {
+        return steps[step * STEP_INTS + 4];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // Sends the recorded steps, in order, to another tracer
+    public void replay(MinimaxTracer tracer) {
+        for (int step = 0; step < size; step++) {
+            switch (kind(step)) {
+                case ENTER:
+                    tracer.enter(depth(step), nodeIndex(step), isMaximizingPlayer(step));
+                    break;
+                case LEAF:
+                    tracer.leaf(depth(step), nodeIndex(step), value(step));
+                    break;
+                case COMPARE:
+                    tracer.compare(depth(step), nodeIndex(step), isMaximizingPlayer(step), value(step), best(step));
+                    break;
+                case PRUNE:
+                    tracer.prune(depth(step), nodeIndex(step));
+                    break;
+                default:
+                    tracer.select(depth(step), nodeIndex(step), isMaximizingPlayer(step), best(step));
+            }
+        }
+    }
+
+    // Prints the steps in the format of MinimaxTracer.printing
+    public void dump(PrintStream out) {
+        replay(MinimaxTracer.printing(out));
+    }
+}
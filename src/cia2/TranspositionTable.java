@@ -0,0 +1,112 @@
+package cia2;
+
+import java.util.Arrays;
+
+// Fixed-size transposition table keyed by Zobrist hashes, in two parallel long arrays.
+// Each entry packs the score (32 bits), best move + 1 (16 bits, 0 for none), search depth
+// (8 bits), bound type (2 bits) and the search generation (6 bits) into one long.
+//
+// Replacement policy: slots come in pairs. The first slot keeps the deepest result, and is
+// only overwritten by an equal or deeper search or once its entry is left over from an older
+// search. The second slot always takes the newest result that the first slot refused.
+// Not thread-safe.
+public final class TranspositionTable {
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1; // The score is at least the stored value (beta cutoff)
+    public static final int UPPER_BOUND = 2; // The score is at most the stored value (no move raised alpha)
+
+    // Returned by probe when the key is not stored
+    public static final long MISS = 0;
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int mask;
+    private int generation = 1; // Never 0, so a stored entry never equals MISS
+
+    // A table with 2^sizeBits entries
+    public TranspositionTable(int sizeBits) {
+        if (sizeBits < 1 || sizeBits > 30) {
+            throw new IllegalArgumentException("sizeBits must be between 1 and 30, got " + sizeBits);
+        }
+        keys = new long[1 << sizeBits];
+        entries = new long[1 << sizeBits];
+        mask = (1 << sizeBits) - 1;
+    }
+
+    // Start a new search; entries from earlier searches become preferred victims
+    public void newSearch() {
+        generation = generation % 63 + 1;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(entries, MISS);
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    // The packed entry for the key, or MISS
+    public long probe(long key) {
+        int first = firstSlot(key);
+        if (entries[first] != MISS && keys[first] == key) {
+            return entries[first];
+        }
+        if (entries[first + 1] != MISS && keys[first + 1] == key) {
+            return entries[first + 1];
+        }
+        return MISS;
+    }
+
+    // Store a result; move is -1 if there is none. Moves must fit in 16 bits.
+    public void store(long key, int depth, int value, int move, int bound) {
+        long entry = pack(depth, value, move, bound);
+        int first = firstSlot(key);
+        int second = first + 1;
+        if (keys[second] == key && entries[second] != MISS) {
+            keys[second] = key;
+            entries[second] = entry;
+        } else if (keys[first] == key || entries[first] == MISS
+                || depth >= depth(entries[first]) || generation(entries[first]) != generation) {
+            keys[first] = key;
+            entries[first] = entry;
+        } else {
+            keys[second] = key;
+            entries[second] = entry;
+        }
+    }
+
+    public static int value(long entry) {
+        return (int) entry;
+    }
+
+    // The best move of the entry, or -1
+    public static int move(long entry) {
+        return (int) (entry >>> 32 & 0xFFFF) - 1;
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> 48 & 0xFF);
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> 56 & 0x3);
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> 58);
+    }
+
+    private long pack(int depth, int value, int move, int bound) {
+        return (value & 0xFFFFFFFFL)
+                | (long) (move + 1) << 32
+                | (long) Math.min(depth, 0xFF) << 48
+                | (long) bound << 56
+                | (long) generation << 58;
+    }
+
+    private int firstSlot(long key) {
+        return (int) (key ^ key >>> 32) & mask & ~1;
+    }
+}
@@ -0,0 +1,28 @@
+package cia2;
+
+import java.util.SplittableRandom;
+
+// Random keys for Zobrist hashing. A position's hash is the XOR of the keys of its features
+// (typically one per piece and square) and of the side-to-move key when the second player is to
+// move, so making or undoing a move updates the hash with a few XORs.
+public final class Zobrist {
+    private final long[] keys;
+    private final long sideToMove;
+
+    public Zobrist(int features, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        keys = new long[features];
+        for (int i = 0; i < features; i++) {
+            keys[i] = random.nextLong();
+        }
+        sideToMove = random.nextLong();
+    }
+
+    public long key(int feature) {
+        return keys[feature];
+    }
+
+    public long sideToMove() {
+        return sideToMove;
+    }
+}
@@ -0,0 +1,339 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+// Frozen, read-only compressed sparse row (CSR) copy of a Graph.
+// The neighbors of node n are targets[offsets[n]] .. targets[offsets[n + 1] - 1], and
+// weights[e] is the cost of edge e. Node ids are used directly as array indices, so they
+// must be non-negative; ids that never appear in the source graph just have no edges.
+//
+// Graphs built by from and reversed keep the arrays as int[] on the heap. A graph opened by
+// map reads them as IntBuffers mapped straight from a file in the binary format below, so it
+// is searched in place without being read first and the OS page cache shares it between
+// processes. The two are separate subclasses, so a program that never maps a graph only ever
+// loads the int[] one and the accessors below inline to plain array reads.
+// File layout, little-endian ints:
+//   MAGIC, FORMAT_VERSION, nodeCount, edgeCount,
+//   offsets (nodeCount + 1), targets (edgeCount), weights (edgeCount), heuristics (nodeCount)
+// One mapping holds at most 2 GB, so a mapped graph has at most MAX_MAPPED_NODES nodes and
+// MAX_MAPPED_EDGES edges.
+public abstract class CsrGraph implements HeuristicLookup {
+    public static final int NO_WEIGHT = Integer.MAX_VALUE; // Same default as edgeWeights.getOrDefault(..., Integer.MAX_VALUE)
+    public static final int NO_HEURISTIC = Integer.MAX_VALUE; // Same default as Graph.getHeuristic
+
+    public static final int MAGIC = 0x47525343; // "CSRG" in little-endian bytes
+    public static final int FORMAT_VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+    public static final int MAX_MAPPED_NODES = Integer.MAX_VALUE / Integer.BYTES - 1; // The offsets hold one more
+    public static final int MAX_MAPPED_EDGES = Integer.MAX_VALUE / Integer.BYTES;
+
+    private final int nodeCount;
+    private final int edgeCount;
+
+    private CsrGraph(int nodeCount, int edgeCount) {
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+    }
+
+    // Build a CSR copy of the graph. Neighbor order is the same as graph.getNeighbors,
+    // so searches over the copy visit nodes in the same order as the original ones.
+    public static CsrGraph from(Graph graph, Map<Integer, Integer> heuristics, Map<String, Integer> edgeWeights) {
+        return from(graph, heuristics, (src, dest) -> edgeWeights.getOrDefault(src + "," + dest, NO_WEIGHT));
+    }
+
+    // Build a CSR copy using the graph's own edge weights and heuristics, all from one version
+    public static CsrGraph from(Graph graph) {
+        Graph snapshot = graph.snapshot();
+        return from(snapshot, snapshot.getHeuristics(), snapshot);
+    }
+
+    // Build a CSR copy using the graph's own edge weights, from one version of the graph
+    public static CsrGraph from(Graph graph, Map<Integer, Integer> heuristics) {
+        Graph snapshot = graph.snapshot();
+        return from(snapshot, heuristics, snapshot);
+    }
+
+    private static CsrGraph from(Graph graph, Map<Integer, Integer> heuristics, EdgeWeightLookup edgeWeights) {
+        Map<Integer, List<Integer>> adjacency = graph.getAdjacencyList();
+        int nodeCount = 0;
+        int edgeCount = 0;
+        for (Map.Entry<Integer, List<Integer>> entry : adjacency.entrySet()) {
+            nodeCount = Math.max(nodeCount, checkNodeId(entry.getKey()) + 1);
+            for (int neighbor : entry.getValue()) {
+                nodeCount = Math.max(nodeCount, checkNodeId(neighbor) + 1);
+            }
+            edgeCount += entry.getValue().size();
+        }
+        for (int node : heuristics.keySet()) {
+            nodeCount = Math.max(nodeCount, checkNodeId(node) + 1);
+        }
+
+        int[] offsets = new int[nodeCount + 1];
+        int[] targets = new int[edgeCount];
+        int[] weights = new int[edgeCount];
+        int edge = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            offsets[node] = edge;
+            List<Integer> neighbors = adjacency.get(node);
+            if (neighbors == null) {
+                continue;
+            }
+            for (int neighbor : neighbors) {
+                targets[edge] = neighbor;
+                weights[edge] = edgeWeights.getEdgeWeight(node, neighbor);
+                edge++;
+            }
+        }
+        offsets[nodeCount] = edge;
+
+        int[] heuristicValues = new int[nodeCount];
+        Arrays.fill(heuristicValues, NO_HEURISTIC);
+        for (Map.Entry<Integer, Integer> entry : heuristics.entrySet()) {
+            heuristicValues[entry.getKey()] = entry.getValue();
+        }
+        return new HeapGraph(offsets, targets, weights, heuristicValues);
+    }
+
+    private static int checkNodeId(int node) {
+        if (node < 0) {
+            throw new IllegalArgumentException("CSR graphs need non-negative node ids, got " + node);
+        }
+        return node;
+    }
+
+    // Number of node slots (highest node id + 1)
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    // Total number of edges (each undirected edge is stored in both directions)
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public boolean containsNode(int node) {
+        return node >= 0 && node < nodeCount;
+    }
+
+    // Index of the first edge of the node; iterate with: for (e = firstEdge(n); e < endEdge(n); e++)
+    public abstract int firstEdge(int node);
+
+    // One past the index of the last edge of the node
+    public abstract int endEdge(int node);
+
+    public int degree(int node) {
+        return endEdge(node) - firstEdge(node);
+    }
+
+    // Node that edge e points to
+    public abstract int target(int edge);
+
+    // Cost of edge e, or NO_WEIGHT if the edge had no weight
+    public abstract int weight(int edge);
+
+    // Heuristic value of the node, or NO_HEURISTIC if none was set
+    @Override
+    public abstract int heuristic(int node);
+
+    // Heap copy with every edge turned around, keeping its weight and the heuristics, for
+    // searches that run backwards from the goal
+    public CsrGraph reversed() {
+        int[] reverseOffsets = new int[nodeCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            reverseOffsets[target(e) + 1]++;
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            reverseOffsets[node + 1] += reverseOffsets[node];
+        }
+        int[] reverseTargets = new int[edgeCount];
+        int[] reverseWeights = new int[edgeCount];
+        int[] fill = Arrays.copyOf(reverseOffsets, nodeCount);
+        for (int node = 0; node < nodeCount; node++) {
+            for (int e = firstEdge(node); e < endEdge(node); e++) {
+                int slot = fill[target(e)]++;
+                reverseTargets[slot] = node;
+                reverseWeights[slot] = weight(e);
+            }
+        }
+        int[] heuristicValues = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            heuristicValues[node] = heuristic(node);
+        }
+        return new HeapGraph(reverseOffsets, reverseTargets, reverseWeights, heuristicValues);
+    }
+
+    // Write the graph in the binary format, for CsrGraph.map
+    public void write(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(nodeCount).putInt(edgeCount);
+            for (int node = 0; node <= nodeCount; node++) {
+                put(channel, buffer, firstEdge(node)); // firstEdge(nodeCount) is the end of the last node's edges
+            }
+            for (int e = 0; e < edgeCount; e++) {
+                put(channel, buffer, target(e));
+            }
+            for (int e = 0; e < edgeCount; e++) {
+                put(channel, buffer, weight(e));
+            }
+            for (int node = 0; node < nodeCount; node++) {
+                put(channel, buffer, heuristic(node));
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    private static void put(FileChannel channel, ByteBuffer buffer, int value) throws IOException {
+        if (!buffer.hasRemaining()) {
+            drain(channel, buffer);
+        }
+        buffer.putInt(value);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Open a graph written by write or EdgeListImporter without reading it: the sections are
+    // mapped read-only and pages are loaded as the searches touch them
+    public static CsrGraph map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Keep reading until the header is complete or the file ends
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException(file + " is not a CSR graph file");
+            }
+            int version = header.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException(file + " has format version " + version + ", expected " + FORMAT_VERSION);
+            }
+            int nodeCount = header.getInt();
+            int edgeCount = header.getInt();
+            if (nodeCount < 0 || nodeCount > MAX_MAPPED_NODES || edgeCount < 0 || edgeCount > MAX_MAPPED_EDGES
+                    || channel.size() != fileSize(nodeCount, edgeCount)) {
+                throw new IOException(file + " is truncated or has a corrupt header");
+            }
+            long position = HEADER_BYTES;
+            IntBuffer offsets = mapInts(channel, position, nodeCount + 1L);
+            position += (nodeCount + 1L) * Integer.BYTES;
+            IntBuffer targets = mapInts(channel, position, edgeCount);
+            position += (long) edgeCount * Integer.BYTES;
+            IntBuffer weights = mapInts(channel, position, edgeCount);
+            position += (long) edgeCount * Integer.BYTES;
+            IntBuffer heuristics = mapInts(channel, position, nodeCount);
+            return new MappedGraph(offsets, targets, weights, heuristics);
+        }
+    }
+
+    // Size in bytes of a graph file with the given counts
+    public static long fileSize(int nodeCount, int edgeCount) {
+        return HEADER_BYTES + (2L * nodeCount + 1 + 2L * edgeCount) * Integer.BYTES;
+    }
+
+    private static IntBuffer mapInts(FileChannel channel, long position, long count) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, count * Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    // Built by from and reversed
+    private static final class HeapGraph extends CsrGraph {
+        private final int[] offsets; // offsets[n] is the index of the first edge of node n, length nodeCount + 1
+        private final int[] targets; // Edge targets, grouped by source node
+        private final int[] weights; // Edge weights, parallel to targets
+        private final int[] heuristics; // Heuristic value per node
+
+        HeapGraph(int[] offsets, int[] targets, int[] weights, int[] heuristics) {
+            super(heuristics.length, targets.length);
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.heuristics = heuristics;
+        }
+
+        @Override
+        public int firstEdge(int node) {
+            return offsets[node];
+        }
+
+        @Override
+        public int endEdge(int node) {
+            return offsets[node + 1];
+        }
+
+        @Override
+        public int degree(int node) {
+            return offsets[node + 1] - offsets[node];
+        }
+
+        @Override
+        public int target(int edge) {
+            return targets[edge];
+        }
+
+        @Override
+        public int weight(int edge) {
+            return weights[edge];
+        }
+
+        @Override
+        public int heuristic(int node) {
+            return heuristics[node];
+        }
+    }
+
+    // Opened by map; the same sections, read from the mapped file
+    private static final class MappedGraph extends CsrGraph {
+        private final IntBuffer offsets;
+        private final IntBuffer targets;
+        private final IntBuffer weights;
+        private final IntBuffer heuristics;
+
+        MappedGraph(IntBuffer offsets, IntBuffer targets, IntBuffer weights, IntBuffer heuristics) {
+            super(heuristics.limit(), targets.limit());
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.heuristics = heuristics;
+        }
+
+        @Override
+        public int firstEdge(int node) {
+            return offsets.get(node);
+        }
+
+        @Override
+        public int endEdge(int node) {
+            return offsets.get(node + 1);
+        }
+
+        @Override
+        public int target(int edge) {
+            return targets.get(edge);
+        }
+
+        @Override
+        public int weight(int edge) {
+            return weights.get(edge);
+        }
+
+        @Override
+        public int heuristic(int node) {
+            return heuristics.get(node);
+        }
+    }
+}
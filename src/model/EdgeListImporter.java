@@ -0,0 +1,317 @@
+package model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+// Converts an edge list text file into the binary CsrGraph format, without holding the file
+// in memory. Each line is "src,dest" or "src,dest,weight", like the edges typed into
+// GraphSearchUI; commas, semicolons, tabs and spaces all separate fields, and blank lines,
+// lines starting with '#', a CSV header line and a UTF-8 byte order mark are skipped. An
+// optional heuristics file has "node,value" lines.
+//
+// The result is the graph that Graph.addEdge would build from the same lines, frozen as by
+// CsrGraph.from: each line adds the edge in both directions, the weight applies to
+// src -> dest only, and the last weight given for a pair wins. A weight of NO_WEIGHT counts
+// as no weight.
+//
+// Two passes over the text: the first counts the degree of every node, the second writes
+// every edge straight into its slot of the memory-mapped output file. Only per-node arrays
+// are kept on the heap, so the edge count is limited by the disk, not the heap.
+public final class EdgeListImporter {
+    private EdgeListImporter() {
+    }
+
+    // Usage: java model.EdgeListImporter edges.csv [heuristics.csv] graph.csrg
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: java model.EdgeListImporter edges.csv [heuristics.csv] graph.csrg");
+            System.exit(2);
+        }
+        Path heuristics = args.length == 3 ? Paths.get(args[1]) : null;
+        Path output = Paths.get(args[args.length - 1]);
+        long begin = System.nanoTime();
+        convert(Paths.get(args[0]), heuristics, output);
+        CsrGraph graph = CsrGraph.map(output);
+        System.out.printf("%d nodes, %d edges written to %s in %.1f s%n",
+                graph.nodeCount(), graph.edgeCount(), output, (System.nanoTime() - begin) / 1e9);
+    }
+
+    // Convert the edge list, and the heuristics file unless it is null, into a graph file
+    public static void convert(Path edges, Path heuristics, Path output) throws IOException {
+        // Pass 1: degrees and the highest node id
+        int[] degree = new int[1024];
+        int maxNode = -1;
+        long edgeCount = 0;
+        try (LineReader reader = new LineReader(edges)) {
+            int[] fields = new int[3];
+            int count;
+            while ((count = reader.next(fields)) != 0) {
+                checkFields(reader, count, 2, 3);
+                int src = checkNode(reader, fields[0]);
+                int dest = checkNode(reader, fields[1]);
+                maxNode = Math.max(maxNode, Math.max(src, dest));
+                if (maxNode >= degree.length) {
+                    degree = Arrays.copyOf(degree, Math.max(degree.length * 2, maxNode + 1));
+                }
+                degree[src]++;
+                degree[dest]++;
+                edgeCount += 2;
+            }
+        }
+        if (heuristics != null) {
+            try (LineReader reader = new LineReader(heuristics)) {
+                int[] fields = new int[2];
+                int count;
+                while ((count = reader.next(fields)) != 0) {
+                    checkFields(reader, count, 2, 2);
+                    maxNode = Math.max(maxNode, checkNode(reader, fields[0]));
+                }
+            }
+        }
+        if (edgeCount > CsrGraph.MAX_MAPPED_EDGES) {
+            throw new IOException(edges + " has " + edgeCount / 2 + " edges, the binary format holds at most "
+                    + CsrGraph.MAX_MAPPED_EDGES / 2);
+        }
+        int nodeCount = maxNode + 1;
+        int directedEdges = (int) edgeCount;
+        // A heuristics line can name a node above every edge, which needs an offset too
+        if (degree.length < nodeCount) {
+            degree = Arrays.copyOf(degree, nodeCount);
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(output.toFile(), "rw");
+             FileChannel channel = file.getChannel()) {
+            file.setLength(0);
+            file.setLength(CsrGraph.fileSize(nodeCount, directedEdges));
+            IntBuffer header = mapInts(channel, 0, 4);
+            long position = CsrGraph.HEADER_BYTES;
+            IntBuffer offsets = mapInts(channel, position, nodeCount + 1L);
+            position += (nodeCount + 1L) * Integer.BYTES;
+            IntBuffer targets = mapInts(channel, position, directedEdges);
+            position += (long) directedEdges * Integer.BYTES;
+            IntBuffer weights = mapInts(channel, position, directedEdges);
+            position += (long) directedEdges * Integer.BYTES;
+            IntBuffer heuristicValues = mapInts(channel, position, nodeCount);
+
+            // Offsets from the degrees; degree[] then becomes the next free slot of each node
+            int offset = 0;
+            for (int node = 0; node < nodeCount; node++) {
+                offsets.put(node, offset);
+                int nodeDegree = degree[node];
+                degree[node] = offset;
+                offset += nodeDegree;
+            }
+            offsets.put(nodeCount, offset);
+
+            // Pass 2: every line fills the next slot of both of its nodes, so each node's
+            // edges keep the order of Graph.getNeighbors
+            try (LineReader reader = new LineReader(edges)) {
+                int[] fields = new int[3];
+                int count;
+                while ((count = reader.next(fields)) != 0) {
+                    int src = fields[0];
+                    int dest = fields[1];
+                    int forward = degree[src]++;
+                    targets.put(forward, dest);
+                    weights.put(forward, count == 3 ? fields[2] : CsrGraph.NO_WEIGHT);
+                    int backward = degree[dest]++;
+                    targets.put(backward, src);
+                    weights.put(backward, CsrGraph.NO_WEIGHT);
+                }
+            }
+            applyLastWeights(nodeCount, offsets, targets, weights);
+
+            for (int node = 0; node < nodeCount; node++) {
+                heuristicValues.put(node, CsrGraph.NO_HEURISTIC);
+            }
+            if (heuristics != null) {
+                try (LineReader reader = new LineReader(heuristics)) {
+                    int[] fields = new int[2];
+                    while (reader.next(fields) != 0) {
+                        heuristicValues.put(fields[0], fields[1]);
+                    }
+                }
+            }
+
+            header.put(0, CsrGraph.MAGIC);
+            header.put(1, CsrGraph.FORMAT_VERSION);
+            header.put(2, nodeCount);
+            header.put(3, directedEdges);
+        }
+    }
+
+    // Like Graph's weight index, one weight per (src, dest) pair: within each node's edges,
+    // which are in line order, the last weighted entry for a target applies to all of them
+    private static void applyLastWeights(int nodeCount, IntBuffer offsets, IntBuffer targets, IntBuffer weights) {
+        // The stamps hold node + 1 while the node's edges are processed, so they need no clearing
+        int[] seen = new int[nodeCount];
+        int[] weighted = new int[nodeCount];
+        int[] lastWeight = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            int first = offsets.get(node);
+            int end = offsets.get(node + 1);
+            boolean repeated = false;
+            for (int e = end - 1; e >= first; e--) {
+                int target = targets.get(e);
+                if (seen[target] == node + 1) {
+                    repeated = true;
+                }
+                seen[target] = node + 1;
+                if (weighted[target] != node + 1 && weights.get(e) != CsrGraph.NO_WEIGHT) {
+                    weighted[target] = node + 1;
+                    lastWeight[target] = weights.get(e);
+                }
+            }
+            if (!repeated) {
+                continue; // Every target appears once, so its entry already has its weight
+            }
+            for (int e = first; e < end; e++) {
+                int target = targets.get(e);
+                weights.put(e, weighted[target] == node + 1 ? lastWeight[target] : CsrGraph.NO_WEIGHT);
+            }
+        }
+    }
+
+    private static IntBuffer mapInts(FileChannel channel, long position, long count) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, position, count * Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    private static void checkFields(LineReader reader, int count, int min, int max) throws IOException {
+        if (count < min || count > max) {
+            throw reader.error("expected " + (min == max ? min : min + " or " + max) + " fields, got " + count);
+        }
+    }
+
+    private static int checkNode(LineReader reader, int node) throws IOException {
+        if (node < 0) {
+            throw reader.error("node ids must be non-negative, got " + node);
+        }
+        if (node >= CsrGraph.MAX_MAPPED_NODES) {
+            throw reader.error("node ids must be below " + CsrGraph.MAX_MAPPED_NODES + ", got " + node);
+        }
+        return node;
+    }
+
+    // Reads lines of integers straight from a byte buffer, without building Strings
+    private static final class LineReader implements AutoCloseable {
+        private final Path file;
+        private final InputStream in;
+        private final byte[] buffer = new byte[1 << 16];
+        private int position;
+        private int limit;
+        private long line;
+        private boolean headerChecked;
+
+        LineReader(Path file) throws IOException {
+            this.file = file;
+            this.in = Files.newInputStream(file);
+            skipByteOrderMark();
+        }
+
+        // Spreadsheet exports often start with a UTF-8 byte order mark, which is not part of
+        // the first line
+        private void skipByteOrderMark() throws IOException {
+            limit = in.readNBytes(buffer, 0, 3);
+            if (limit == 3 && (buffer[0] & 0xFF) == 0xEF && (buffer[1] & 0xFF) == 0xBB && (buffer[2] & 0xFF) == 0xBF) {
+                position = 3;
+            }
+        }
+
+        private int read() throws IOException {
+            if (position == limit) {
+                limit = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++] & 0xFF; // Bytes above 0x7F must not read as -1, the end of the file
+        }
+
+        // Parse the next data line into fields; returns the number of fields, 0 at the end.
+        // Only the first fields.length fields are stored, but all of them are counted.
+        int next(int[] fields) throws IOException {
+            while (true) {
+                int c = read();
+                if (c == -1) {
+                    return 0;
+                }
+                line++;
+                if (c == '#') {
+                    skipLine();
+                    continue;
+                }
+                boolean isHeader = !headerChecked && (Character.isLetter(c) || c == '"');
+                headerChecked = true;
+                if (isHeader) {
+                    skipLine();
+                    continue;
+                }
+                int count = parseLine(c, fields);
+                if (count > 0) {
+                    return count;
+                }
+            }
+        }
+
+        private int parseLine(int c, int[] fields) throws IOException {
+            int count = 0;
+            while (c != -1 && c != '\n') {
+                if (c == ',' || c == ';' || c == ' ' || c == '\t' || c == '\r') {
+                    c = read();
+                    continue;
+                }
+                boolean negative = c == '-';
+                if (negative) {
+                    c = read();
+                }
+                if (c < '0' || c > '9') {
+                    throw error("unexpected character '" + (char) c + "'");
+                }
+                long value = 0;
+                while (c >= '0' && c <= '9') {
+                    value = value * 10 + (c - '0');
+                    if (value > Integer.MAX_VALUE + 1L) {
+                        throw error("number out of int range");
+                    }
+                    c = read();
+                }
+                value = negative ? -value : value;
+                if (value > Integer.MAX_VALUE) {
+                    throw error("number out of int range");
+                }
+                if (count < fields.length) {
+                    fields[count] = (int) value;
+                }
+                count++;
+            }
+            return count;
+        }
+
+        private void skipLine() throws IOException {
+            int c;
+            do {
+                c = read();
+            } while (c != -1 && c != '\n');
+        }
+
+        IOException error(String message) {
+            return new IOException(file + ":" + line + ": " + message);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
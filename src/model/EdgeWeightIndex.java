@@ -0,0 +1,111 @@
+package model;
+
+import java.util.Map;
+
+// Open-addressing map from a directed (src, dest) pair to an int weight.
+// Both node ids are packed into one long key, so lookups never allocate.
+public final class EdgeWeightIndex {
+    private static final float MAX_LOAD = 0.5f;
+
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+
+    public EdgeWeightIndex() {
+        this(16);
+    }
+
+    public EdgeWeightIndex(int expectedEdges) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedEdges / MAX_LOAD)) - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+    }
+
+    // Build an index from the "src,dest" -> weight maps used by the UI and older callers
+    public static EdgeWeightIndex fromMap(Map<String, Integer> edgeWeights) {
+        EdgeWeightIndex index = new EdgeWeightIndex(edgeWeights.size());
+        for (Map.Entry<String, Integer> entry : edgeWeights.entrySet()) {
+            String[] parts = entry.getKey().split(",");
+            index.put(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()), entry.getValue());
+        }
+        return index;
+    }
+
+    // Independent copy, for the copy-on-write node records of Graph
+    EdgeWeightIndex copy() {
+        EdgeWeightIndex copy = new EdgeWeightIndex();
+        copy.keys = keys.clone();
+        copy.values = values.clone();
+        copy.used = used.clone();
+        copy.size = size;
+        return copy;
+    }
+
+    // Store the weight of the src -> dest edge, replacing any previous weight
+    public void put(int src, int dest, int weight) {
+        long key = pack(src, dest);
+        int slot = findSlot(key);
+        if (!used[slot]) {
+            used[slot] = true;
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = weight;
+        if (size > keys.length * MAX_LOAD) {
+            resize();
+        }
+    }
+
+    // Weight of the src -> dest edge, or defaultValue if it has none
+    public int get(int src, int dest, int defaultValue) {
+        int slot = findSlot(pack(src, dest));
+        return used[slot] ? values[slot] : defaultValue;
+    }
+
+    public boolean contains(int src, int dest) {
+        return used[findSlot(pack(src, dest))];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int findSlot(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask; // Linear probing
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = findSlot(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static long pack(int src, int dest) {
+        return ((long) src << 32) | (dest & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        key ^= key >>> 33; // Murmur3 finalizer, spreads both halves of the key
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -0,0 +1,7 @@
+package model;
+
+// Weight of a directed edge, without building "src,dest" string keys
+@FunctionalInterface
+public interface EdgeWeightLookup {
+    int getEdgeWeight(int src, int dest); // Integer.MAX_VALUE when the edge has no weight
+}
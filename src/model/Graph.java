@@ -1,44 +1,408 @@
 package model;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
-public class Graph {
-    private Map<Integer, List<Integer>> adjacencyList; // To store the adjacency list of the graph
-    private Map<Integer, Integer> heuristics; // To store the heuristic values of the nodes
+// An undirected graph with a weight per directed edge and a heuristic value per node, that any
+// number of threads can read while others write to it.
+//
+// The adjacency lists, edge weights and heuristics live in an immutable state: a persistent
+// trie from node id to an immutable record of the node's neighbors, outgoing edge weights and
+// heuristic. A write never changes a published state: it builds the next one, copying only the
+// records of the nodes it touches and the trie arrays above them and sharing the rest, and
+// publishes it with a single volatile write. Readers take no lock and never wait for a writer,
+// and each getter call reads one published state. A search makes many getter calls, so a
+// search that may run while another thread writes should be given snapshot(), a read-only
+// Graph fixed at the current state, which costs nothing to take. Writers are serialized by a
+// lock of their own.
+//
+// Every mutator publishes a new version on its own, at a cost that grows with the degree of
+// the nodes it touches, not with the size of the graph. batch() collects many edits and
+// publishes them as one version.
+public class Graph implements EdgeWeightLookup {
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    private final long id; // Shared by the graph and its snapshots
+    private volatile State state; // The latest published state
+    private final boolean snapshot; // Snapshots are fixed at one state and reject every mutator
+    private final Object writeLock = new Object(); // Held while a write builds and publishes the next state
+    private final List<GraphListener> listeners; // Told about every change made through the mutators
 
     public Graph() {
-        adjacencyList = new HashMap<>();
-        heuristics = new HashMap<>(); // Initialize the heuristic map
+        id = NEXT_ID.incrementAndGet();
+        state = State.empty(id);
+        snapshot = false;
+        listeners = new CopyOnWriteArrayList<>();
+    }
+
+    // Read-only view of one state
+    private Graph(State state) {
+        this.id = state.graphId;
+        this.state = state;
+        snapshot = true;
+        listeners = Collections.emptyList();
     }
 
     // Method to add an edge between two nodes
     public void addEdge(int src, int dest) {
-        adjacencyList.computeIfAbsent(src, k -> new ArrayList<>()).add(dest);
-        adjacencyList.computeIfAbsent(dest, k -> new ArrayList<>()).add(src); // For an undirected graph
+        batch().addEdge(src, dest).publish();
     }
 
-    // Method to get neighbors of a node
-    public List<Integer> getNeighbors(int node) {
-        return adjacencyList.getOrDefault(node, new ArrayList<>());
+    // Method to add a weighted edge; like the "src,dest" weight maps, the weight is stored for src -> dest only
+    public void addEdge(int src, int dest, int weight) {
+        batch().addEdge(src, dest, weight).publish();
     }
 
-    // Method to get the adjacency list
-    public Map<Integer, List<Integer>> getAdjacencyList() {
-        return adjacencyList;
+    // Method to set the weight of the src -> dest edge
+    public void setEdgeWeight(int src, int dest, int weight) {
+        batch().setEdgeWeight(src, dest, weight).publish();
     }
 
     // Method to set the heuristic value for a node
     public void setHeuristic(int node, int heuristicValue) {
-        heuristics.put(node, heuristicValue);
+        batch().setHeuristic(node, heuristicValue).publish();
+    }
+
+    // Method to start a batch of edits that become visible together when it is published
+    public GraphBatch batch() {
+        checkWritable();
+        return new GraphBatch(this);
+    }
+
+    // Method to get a read-only graph fixed at the current state. It is the same object until
+    // the next write, so its identity and version together name one state of this graph.
+    public Graph snapshot() {
+        return state.snapshot;
+    }
+
+    // Method to get an id that the graph and all of its snapshots share, and no other graph has.
+    // Together with getVersion it names one state of the graph without holding on to it.
+    public long getId() {
+        return id;
+    }
+
+    // Method to check whether this graph is a read-only snapshot
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    // Method to get the weight of the src -> dest edge
+    @Override
+    public int getEdgeWeight(int src, int dest) {
+        EdgeWeightIndex weights = state.weights(src);
+        return weights != null ? weights.get(src, dest, Integer.MAX_VALUE) : Integer.MAX_VALUE; // Return a large number if the weight is missing
+    }
+
+    // Method to check whether the src -> dest edge has a weight
+    public boolean hasEdgeWeight(int src, int dest) {
+        EdgeWeightIndex weights = state.weights(src);
+        return weights != null && weights.contains(src, dest);
+    }
+
+    // Method to get a read-only view of the edge weights of the current state
+    public EdgeWeightLookup getEdgeWeights() {
+        return state.snapshot;
+    }
+
+    // Method to get the read-only neighbors of a node
+    public List<Integer> getNeighbors(int node) {
+        NodeData data = state.nodes.get(node);
+        return data != null && data.neighbors != null ? data.neighbors : Collections.emptyList();
+    }
+
+    // Method to get a read-only view of the adjacency list
+    public Map<Integer, List<Integer>> getAdjacencyList() {
+        return state.adjacencyView;
     }
 
     // Method to get the heuristic value of a node
     public int getHeuristic(int node) {
-        return heuristics.getOrDefault(node, Integer.MAX_VALUE); // Return a large number if heuristic is missing
+        NodeData data = state.nodes.get(node);
+        Integer heuristic = data != null ? data.heuristic : null;
+        return heuristic != null ? heuristic : Integer.MAX_VALUE; // Return a large number if heuristic is missing
     }
 
-    // Method to get all heuristic values
+    // Method to get the version: it changes with every published write, whether from addEdge,
+    // setEdgeWeight, setHeuristic or a batch
+    public long getVersion() {
+        return state.version;
+    }
+
+    // Method to get a read-only view of all heuristic values
     public Map<Integer, Integer> getHeuristics() {
-        return heuristics;
+        return state.heuristicsView;
+    }
+
+    // Method to register a listener for changes made through addEdge, setEdgeWeight, setHeuristic and batches
+    public void addListener(GraphListener listener) {
+        checkWritable();
+        listeners.add(listener);
+    }
+
+    // Method to unregister a listener
+    public void removeListener(GraphListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void checkWritable() {
+        if (snapshot) {
+            throw new UnsupportedOperationException("A graph snapshot is read-only");
+        }
+    }
+
+    // Build the next state from the edits of a batch, publish it and then tell the listeners
+    // about each edit in order, all under the write lock, so listeners see writes one at a time
+    void publish(int[] edits, int size) {
+        checkWritable();
+        if (size == 0) {
+            return;
+        }
+        synchronized (writeLock) {
+            NextState next = new NextState(state);
+            for (int i = 0; i < size; i += GraphBatch.EDIT_SIZE) {
+                int a = edits[i + 1];
+                int b = edits[i + 2];
+                int c = edits[i + 3];
+                switch (edits[i]) {
+                    case GraphBatch.ADD_EDGE:
+                        next.link(a, b);
+                        break;
+                    case GraphBatch.ADD_WEIGHTED_EDGE:
+                        next.link(a, b);
+                        next.node(a).setWeight(a, b, c);
+                        break;
+                    case GraphBatch.SET_EDGE_WEIGHT:
+                        next.node(a).setWeight(a, b, c);
+                        break;
+                    default:
+                        next.node(a).heuristic = b;
+                }
+            }
+            state = next.build();
+
+            for (int i = 0; i < size; i += GraphBatch.EDIT_SIZE) {
+                for (GraphListener listener : listeners) {
+                    switch (edits[i]) {
+                        case GraphBatch.ADD_EDGE:
+                        case GraphBatch.ADD_WEIGHTED_EDGE:
+                            listener.edgeAdded(edits[i + 1], edits[i + 2]);
+                            break;
+                        case GraphBatch.SET_EDGE_WEIGHT:
+                            listener.edgeWeightChanged(edits[i + 1], edits[i + 2]);
+                            break;
+                        default:
+                            listener.heuristicChanged(edits[i + 1]);
+                    }
+                }
+            }
+        }
+    }
+
+    // What the graph holds for one node. Nothing in it changes after construction.
+    private static final class NodeData {
+        final List<Integer> neighbors; // Read-only; null if no edge has touched the node
+        final EdgeWeightIndex weights; // Weights of the edges from this node; null if it has none
+        final Integer heuristic; // Null if none was set
+
+        NodeData(List<Integer> neighbors, EdgeWeightIndex weights, Integer heuristic) {
+            this.neighbors = neighbors;
+            this.weights = weights;
+            this.heuristic = heuristic;
+        }
+    }
+
+    // One published version of the graph. Nothing in it changes after construction.
+    private static final class State {
+        final NodeTrie<NodeData> nodes;
+        final int adjacencySize; // Nodes with a neighbor list
+        final int heuristicsSize; // Nodes with a heuristic
+        final long graphId;
+        final long version;
+        final Map<Integer, List<Integer>> adjacencyView;
+        final Map<Integer, Integer> heuristicsView;
+        final Graph snapshot;
+
+        State(NodeTrie<NodeData> nodes, int adjacencySize, int heuristicsSize, long graphId, long version) {
+            this.nodes = nodes;
+            this.adjacencySize = adjacencySize;
+            this.heuristicsSize = heuristicsSize;
+            this.graphId = graphId;
+            this.version = version;
+            this.adjacencyView = new NodeMap<>(nodes, data -> data.neighbors, adjacencySize);
+            this.heuristicsView = new NodeMap<>(nodes, data -> data.heuristic, heuristicsSize);
+            this.snapshot = new Graph(this);
+        }
+
+        static State empty(long graphId) {
+            return new State(NodeTrie.empty(), 0, 0, graphId, 0);
+        }
+
+        EdgeWeightIndex weights(int src) {
+            NodeData data = nodes.get(src);
+            return data != null ? data.weights : null;
+        }
+    }
+
+    // The state a write is building: keeps a changeable copy of each node the write touches,
+    // made the first time it touches it, and puts them all into the trie in build()
+    private static final class NextState {
+        private final State base;
+        private final Map<Integer, NodeEdit> changed = new HashMap<>();
+
+        NextState(State base) {
+            this.base = base;
+        }
+
+        void link(int src, int dest) {
+            node(src).addNeighbor(dest);
+            node(dest).addNeighbor(src); // For an undirected graph
+        }
+
+        NodeEdit node(int node) {
+            NodeEdit edit = changed.get(node);
+            if (edit == null) {
+                edit = new NodeEdit(base.nodes.get(node));
+                changed.put(node, edit);
+            }
+            return edit;
+        }
+
+        State build() {
+            NodeTrie.Editor<NodeData> nodes = base.nodes.edit();
+            int adjacencySize = base.adjacencySize;
+            int heuristicsSize = base.heuristicsSize;
+            for (Map.Entry<Integer, NodeEdit> entry : changed.entrySet()) {
+                NodeEdit edit = entry.getValue();
+                NodeData before = edit.base;
+                if ((before == null || before.neighbors == null) && edit.neighbors != null) {
+                    adjacencySize++;
+                }
+                if ((before == null || before.heuristic == null) && edit.heuristic != null) {
+                    heuristicsSize++;
+                }
+                nodes.put(entry.getKey(), edit.build());
+            }
+            return new State(nodes.build(), adjacencySize, heuristicsSize, base.graphId, base.version + 1);
+        }
+    }
+
+    // A node that a write changes: starts out sharing the published neighbor list and weights
+    // and copies each of them the first time the write changes it
+    private static final class NodeEdit {
+        final NodeData base; // Null if the node was not in the graph
+        List<Integer> neighbors;
+        EdgeWeightIndex weights;
+        Integer heuristic;
+        private boolean neighborsCopied;
+        private boolean weightsCopied;
+
+        NodeEdit(NodeData base) {
+            this.base = base;
+            if (base != null) {
+                neighbors = base.neighbors;
+                weights = base.weights;
+                heuristic = base.heuristic;
+            }
+        }
+
+        void addNeighbor(int node) {
+            if (!neighborsCopied) {
+                neighbors = neighbors != null ? new ArrayList<>(neighbors) : new ArrayList<>();
+                neighborsCopied = true;
+            }
+            neighbors.add(node);
+        }
+
+        void setWeight(int src, int dest, int weight) {
+            if (!weightsCopied) {
+                weights = weights != null ? weights.copy() : new EdgeWeightIndex(1);
+                weightsCopied = true;
+            }
+            weights.put(src, dest, weight);
+        }
+
+        NodeData build() {
+            return new NodeData(neighborsCopied ? Collections.unmodifiableList(neighbors) : neighbors, weights, heuristic);
+        }
+    }
+
+    // Read-only Map view of one part of every node's record in a state, as returned by
+    // getAdjacencyList and getHeuristics. Nodes without that part are left out. Keys come in
+    // ascending order of their unsigned value.
+    private static final class NodeMap<V> extends AbstractMap<Integer, V> {
+        private final NodeTrie<NodeData> nodes;
+        private final Function<NodeData, V> part;
+        private final int size;
+
+        NodeMap(NodeTrie<NodeData> nodes, Function<NodeData, V> part, int size) {
+            this.nodes = nodes;
+            this.part = part;
+            this.size = size;
+        }
+
+        @Override
+        public V get(Object key) {
+            if (!(key instanceof Integer)) {
+                return null;
+            }
+            NodeData data = nodes.get((Integer) key);
+            return data != null ? part.apply(data) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Set<Map.Entry<Integer, V>> entrySet() {
+            return new AbstractSet<Map.Entry<Integer, V>>() {
+                @Override
+                public Iterator<Map.Entry<Integer, V>> iterator() {
+                    return new Iterator<Map.Entry<Integer, V>>() {
+                        private final Iterator<Map.Entry<Integer, NodeData>> all = nodes.iterator();
+                        private Map.Entry<Integer, V> next = advance();
+
+                        private Map.Entry<Integer, V> advance() {
+                            while (all.hasNext()) {
+                                Map.Entry<Integer, NodeData> entry = all.next();
+                                V value = part.apply(entry.getValue());
+                                if (value != null) {
+                                    return new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), value);
+                                }
+                            }
+                            return null;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return next != null;
+                        }
+
+                        @Override
+                        public Map.Entry<Integer, V> next() {
+                            if (next == null) {
+                                throw new NoSuchElementException();
+                            }
+                            Map.Entry<Integer, V> entry = next;
+                            next = advance();
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
     }
 }
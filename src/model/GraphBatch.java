@@ -0,0 +1,66 @@
+package model;
+
+import java.util.Arrays;
+
+// Edits to a Graph that are published together: until publish() no reader sees any of them,
+// and after it every reader sees all of them, in one new graph version. Publishing copies
+// the record of each node the edits touch once, however many edits touch it, so a batch costs
+// less than making the same edits one mutator call at a time. The edits are kept
+// in a flat int array, and the batch is empty again after publish(), ready for reuse.
+// A batch is not thread-safe; the graph serializes publish() calls from different batches.
+public final class GraphBatch {
+    static final int ADD_EDGE = 0;
+    static final int ADD_WEIGHTED_EDGE = 1;
+    static final int SET_EDGE_WEIGHT = 2;
+    static final int SET_HEURISTIC = 3;
+    static final int EDIT_SIZE = 4; // Kind and up to three arguments per edit
+
+    private final Graph graph;
+    private int[] edits = new int[4 * EDIT_SIZE];
+    private int size; // Ints used in edits
+
+    GraphBatch(Graph graph) {
+        this.graph = graph;
+    }
+
+    // Link src and dest in both directions, like Graph.addEdge
+    public GraphBatch addEdge(int src, int dest) {
+        return add(ADD_EDGE, src, dest, 0);
+    }
+
+    // Link src and dest and store the weight for src -> dest only, like Graph.addEdge
+    public GraphBatch addEdge(int src, int dest, int weight) {
+        return add(ADD_WEIGHTED_EDGE, src, dest, weight);
+    }
+
+    public GraphBatch setEdgeWeight(int src, int dest, int weight) {
+        return add(SET_EDGE_WEIGHT, src, dest, weight);
+    }
+
+    public GraphBatch setHeuristic(int node, int heuristicValue) {
+        return add(SET_HEURISTIC, node, heuristicValue, 0);
+    }
+
+    // Number of edits waiting to be published
+    public int size() {
+        return size / EDIT_SIZE;
+    }
+
+    // Apply the edits to the graph as one new version and empty the batch
+    public void publish() {
+        graph.publish(edits, size);
+        size = 0;
+    }
+
+    private GraphBatch add(int kind, int a, int b, int c) {
+        if (size + EDIT_SIZE > edits.length) {
+            edits = Arrays.copyOf(edits, edits.length * 2);
+        }
+        edits[size] = kind;
+        edits[size + 1] = a;
+        edits[size + 2] = b;
+        edits[size + 3] = c;
+        size += EDIT_SIZE;
+        return this;
+    }
+}
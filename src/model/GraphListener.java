@@ -0,0 +1,21 @@
+package model;
+
+// Told about every change made through Graph's mutators and batches, on the thread that
+// published it, once the change is visible to readers. For a batch the calls come one per
+// edit, in order, after the whole batch is visible, and no other write is published until they
+// return. Incremental searches use it to repair their state instead of starting over. Every
+// method does nothing by default.
+public interface GraphListener {
+    // addEdge linked src and dest in both directions; for the weighted addEdge the src -> dest
+    // weight is already stored
+    default void edgeAdded(int src, int dest) {
+    }
+
+    // setEdgeWeight changed the weight of the src -> dest edge
+    default void edgeWeightChanged(int src, int dest) {
+    }
+
+    // setHeuristic changed the heuristic value of the node
+    default void heuristicChanged(int node) {
+    }
+}
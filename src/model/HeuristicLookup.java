@@ -0,0 +1,8 @@
+package model;
+
+// Estimated cost from a node to the goal, so searches can take heuristics from other sources
+// than the graph's own
+@FunctionalInterface
+public interface HeuristicLookup {
+    int heuristic(int node); // CsrGraph.NO_HEURISTIC when there is no estimate
+}
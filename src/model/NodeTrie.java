@@ -0,0 +1,181 @@
+package model;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+// Immutable map from an int node id to a value, as a radix trie of 32-slot arrays: each level
+// takes 5 bits of the id, read as unsigned, and the trie is only as tall as the largest id
+// needs (2 levels for ids below 1024, 4 below a million, 7 for any id). It is persistent: an
+// Editor copies just the arrays on the path to each key it changes and shares the rest with
+// the trie it started from, so one change costs a few small array copies, not a copy of the
+// whole map. Iteration visits the ids in unsigned order.
+final class NodeTrie<V> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final int MAX_SHIFT = 30; // A root at this shift covers every int
+    private static final int MAX_LEVELS = MAX_SHIFT / BITS + 1;
+
+    private static final NodeTrie<Object> EMPTY = new NodeTrie<>(new Object[WIDTH], 0);
+
+    private final Object[] root;
+    private final int shift; // Bits of the id below the root's index
+
+    private NodeTrie(Object[] root, int shift) {
+        this.root = root;
+        this.shift = shift;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> NodeTrie<V> empty() {
+        return (NodeTrie<V>) EMPTY;
+    }
+
+    // Value of the id, or null if it has none
+    @SuppressWarnings("unchecked")
+    V get(int id) {
+        if (!covers(shift, id)) {
+            return null;
+        }
+        Object[] node = root;
+        for (int s = shift; s > 0; s -= BITS) {
+            node = (Object[]) node[(id >>> s) & MASK];
+            if (node == null) {
+                return null;
+            }
+        }
+        return (V) node[id & MASK];
+    }
+
+    Editor<V> edit() {
+        return new Editor<>(this);
+    }
+
+    // The ids with a value and their values, in unsigned id order
+    Iterator<Map.Entry<Integer, V>> iterator() {
+        return new EntryIterator<>(root, shift);
+    }
+
+    private static boolean covers(int shift, int id) {
+        return shift >= MAX_SHIFT || (id >>> (shift + BITS)) == 0;
+    }
+
+    // Changes to a trie that build() returns as a new trie; the trie it started from never
+    // changes. An array is copied the first time a change goes through it and then reused for
+    // later changes, so a batch of changes near each other copies each array once.
+    // Not for reuse after build(), since the new trie shares the arrays.
+    static final class Editor<V> {
+        private Object[] root;
+        private int shift;
+        private final Set<Object[]> copied = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private Editor(NodeTrie<V> base) {
+            root = base.root;
+            shift = base.shift;
+        }
+
+        void put(int id, V value) {
+            while (!covers(shift, id)) {
+                Object[] taller = fresh(); // The old root becomes the subtree of the smallest ids
+                taller[0] = root;
+                root = taller;
+                shift += BITS;
+            }
+            root = writable(root);
+            Object[] node = root;
+            for (int s = shift; s > 0; s -= BITS) {
+                int i = (id >>> s) & MASK;
+                Object[] child = (Object[]) node[i];
+                child = child == null ? fresh() : writable(child);
+                node[i] = child;
+                node = child;
+            }
+            node[id & MASK] = value;
+        }
+
+        NodeTrie<V> build() {
+            return new NodeTrie<>(root, shift);
+        }
+
+        private Object[] writable(Object[] node) {
+            if (copied.contains(node)) {
+                return node;
+            }
+            Object[] copy = node.clone();
+            copied.add(copy);
+            return copy;
+        }
+
+        private Object[] fresh() {
+            Object[] node = new Object[WIDTH];
+            copied.add(node);
+            return node;
+        }
+    }
+
+    // Depth-first walk over the arrays, keeping the slot index of every level on the way down
+    private static final class EntryIterator<V> implements Iterator<Map.Entry<Integer, V>> {
+        private final Object[][] path = new Object[MAX_LEVELS][];
+        private final int[] index = new int[MAX_LEVELS];
+        private final int leafLevel;
+        private int level;
+        private Map.Entry<Integer, V> next;
+
+        EntryIterator(Object[] root, int shift) {
+            leafLevel = shift / BITS;
+            path[0] = root;
+            index[0] = -1;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<Integer, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<Integer, V> entry = next;
+            advance();
+            return entry;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (level >= 0) {
+                int i = ++index[level];
+                if (i == WIDTH) {
+                    level--;
+                    continue;
+                }
+                Object child = path[level][i];
+                if (child == null) {
+                    continue;
+                }
+                if (level == leafLevel) {
+                    next = new AbstractMap.SimpleImmutableEntry<>(id(), (V) child);
+                    return;
+                }
+                path[++level] = (Object[]) child;
+                index[level] = -1;
+            }
+        }
+
+        private int id() {
+            int id = 0;
+            for (int l = 0; l <= leafLevel; l++) {
+                id = (id << BITS) | index[l];
+            }
+            return id;
+        }
+    }
+}
@@ -9,18 +9,16 @@ import java.util.Map;
 
 public class GraphPanel extends JPanel {
     private Graph graph;
-    private Map<String, Integer> edgeCosts; // Map to hold the cost of each edge
-    private Map<Integer, Integer> heuristics; // Map to hold the heuristic values for nodes
 
-    public GraphPanel(Graph graph, Map<String, Integer> edgeCosts, Map<Integer, Integer> heuristics) {
+    public GraphPanel(Graph graph) {
         this.graph = graph;
-        this.edgeCosts = edgeCosts;
-        this.heuristics = heuristics; // Initialize heuristics
     }
 
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
+        Graph graph = this.graph.snapshot(); // Paint one version of the graph even if it changes meanwhile
+        Map<Integer, Integer> heuristics = graph.getHeuristics();
 
         // Draw edges and costs
         for (Map.Entry<Integer, List<Integer>> entry : graph.getAdjacencyList().entrySet()) {
@@ -31,9 +29,8 @@ public class GraphPanel extends JPanel {
                 g.drawLine(srcPoint.x, srcPoint.y, destPoint.x, destPoint.y);
 
                 // Draw the cost at the midpoint between src and dest
-                String edgeKey = src + "," + dest;
-                if (edgeCosts.containsKey(edgeKey)) {
-                    int cost = edgeCosts.get(edgeKey);
+                if (graph.hasEdgeWeight(src, dest)) {
+                    int cost = graph.getEdgeWeight(src, dest);
                     Point midPoint = getMidpoint(srcPoint, destPoint);
                     g.setColor(Color.RED);
                     g.drawString(String.valueOf(cost), midPoint.x, midPoint.y);
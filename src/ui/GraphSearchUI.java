@@ -2,27 +2,25 @@ package ui;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import model.Graph;
+import algorithms.PathCache;
 import algorithms.SearchAlgorithms;
 
 public class GraphSearchUI {
     private Graph graph;
     private JTextArea resultArea;
     private SearchAlgorithms searchAlgorithms;
+    private PathCache pathCache; // Results of earlier searches, until the graph or the search settings change
     private GraphPanel graphPanel; // Panel for drawing the graph
-    private Map<String, Integer> edgeWeights; // Store edge weights
-    private Map<Integer, Integer> heuristics; // Store heuristic costs
     private JTextField oracleInput; // Oracle value input field
 
     public GraphSearchUI() {
         graph = new Graph();
         searchAlgorithms = new SearchAlgorithms();
-        edgeWeights = new HashMap<>();
-        heuristics = new HashMap<>();
+        pathCache = new PathCache(searchAlgorithms, 256);
         initComponents();
     }
 
@@ -36,7 +34,7 @@ public class GraphSearchUI {
         frame.add(panel);
 
         // Graph visualization panel
-        graphPanel = new GraphPanel(graph, edgeWeights, heuristics); // Pass edgeWeights and heuristics for drawing
+        graphPanel = new GraphPanel(graph); // Edge weights and heuristics are drawn from the graph itself
         graphPanel.setBounds(350, 10, 400, 500); // Positioned on the right side
         panel.add(graphPanel);
 
@@ -67,7 +65,8 @@ public class GraphSearchUI {
                 "BFS", "DFS", "British Museum", "Hill Climbing",
                 "Beam search", "Oracle", "Branch and bound",
                 "Branch and bound with dead horse/ext list",
-                "Branch and bound with heuristics", "A* algorithm"
+                "Branch and bound with heuristics", "A* algorithm",
+                "Bidirectional BFS", "Bidirectional A*", "IDA*", "SMA*"
         };
         JComboBox<String> algorithmList = new JComboBox<>(algorithms);
         algorithmList.setBounds(10, 110, 160, 25);
@@ -126,8 +125,7 @@ public class GraphSearchUI {
                     int src = Integer.parseInt(edgeData[0].trim());
                     int dest = Integer.parseInt(edgeData[1].trim());
                     int weight = Integer.parseInt(edgeData[2].trim());
-                    graph.addEdge(src, dest);
-                    edgeWeights.put(src + "," + dest, weight); // Store the edge weight
+                    graph.addEdge(src, dest, weight); // Store the edge with its weight
                     edgeInput.setText("");
                     graphPanel.repaint(); // Repaint graph panel after adding an edge
                 } catch (NumberFormatException ex) {
@@ -144,7 +142,7 @@ public class GraphSearchUI {
                 try {
                     int node = Integer.parseInt(nodeData[0].trim());
                     int heuristicCost = Integer.parseInt(nodeData[1].trim());
-                    heuristics.put(node, heuristicCost); // Store heuristic cost
+                    graph.setHeuristic(node, heuristicCost); // Store heuristic cost
                     heuristicInput.setText("");
 
                     // Check if all heuristics are added
@@ -152,7 +150,7 @@ public class GraphSearchUI {
 
 
                         JOptionPane.showMessageDialog(panel, "Heuristic added! Enter the next one.");
-                    JOptionPane.showMessageDialog(panel, "All heuristic values entered: " + heuristics.toString());
+                    JOptionPane.showMessageDialog(panel, "All heuristic values entered: " + graph.getHeuristics());
 
                 } catch (NumberFormatException ex) {
                     JOptionPane.showMessageDialog(panel, "Invalid heuristic input: " + ex.getMessage());
@@ -170,39 +168,69 @@ public class GraphSearchUI {
                 String selectedAlgorithm = (String) algorithmList.getSelectedItem();
                 int oracleValue = oracleInput.getText().isEmpty() ? 0 : Integer.parseInt(oracleInput.getText().trim()); // Read oracle value if applicable
 
+                // Search a snapshot so edits made meanwhile cannot change the graph under the
+                // search; heuristics are kept in the graph, so adding one invalidates cached results
+                Graph snapshot = graph.snapshot();
+                Map<Integer, Integer> heuristics = snapshot.getHeuristics();
                 List<Integer> path = null;
                 List<List<Integer>> allPaths = null;
 
                 switch (selectedAlgorithm) {
                     case "BFS":
-                        path = searchAlgorithms.bfs(graph, start, goal);
+                        path = pathCache.get(selectedAlgorithm, snapshot, start, goal, 0,
+                                search -> search.bfs(snapshot, start, goal));
                         break;
                     case "DFS":
-                        path = searchAlgorithms.dfs(graph, start, goal);
+                        path = pathCache.get(selectedAlgorithm, snapshot, start, goal, 0,
+                                search -> search.dfs(snapshot, start, goal));
                         break;
                     case "British Museum":
-                        path = searchAlgorithms.britishMuseumSearch(graph, start, goal);
+                        path = pathCache.get(selectedAlgorithm, snapshot, start, goal, 0,
+                                search -> search.britishMuseumSearch(snapshot, start, goal));
                         break;
                     case "Hill Climbing":
-                        path = searchAlgorithms.hillClimbing(graph, start, goal, heuristics, edgeWeights);
+                        path = pathCache.get(selectedAlgorithm, snapshot, start, goal, 0,
+                                search -> search.hillClimbing(snapshot, start, goal, heuristics));
                         break;
                     case "Beam search":
-                        path = searchAlgorithms.beamSearch(graph, start, goal, heuristics, edgeWeights);
+                        path = pathCache.get(selectedAlgorithm, snapshot, start, goal, 0,
+                                search -> search.beamSearch(snapshot, start, goal, heuristics));
                         break;
                     case "Oracle":
-                        allPaths = searchAlgorithms.oracleSearch(graph, start, goal, edgeWeights, oracleValue);
+                        allPaths = pathCache.get(selectedAlgorithm, snapshot, start, goal, oracleValue,
+                                search -> search.oracleSearch(snapshot, start, goal, oracleValue));
                         break;
                     case "Branch and bound":
-                        allPaths = searchAlgorithms.branchAndBound(graph, start, goal, heuristics, edgeWeights, oracleValue);
+                        allPaths = pathCache.get(selectedAlgorithm, snapshot, start, goal, oracleValue,
+                                search -> search.branchAndBound(snapshot, start, goal, heuristics, oracleValue));
                         break;
                     case "Branch and bound with dead horse/ext list":
-                        path = searchAlgorithms.branchAndBoundDeadHorse(graph, start, goal, heuristics, edgeWeights);
+                        path = pathCache.get(selectedAlgorithm, snapshot, start, goal, 0,
+                                search -> search.branchAndBoundDeadHorse(snapshot, start, goal, heuristics));
                         break;
                     case "Branch and bound with heuristics":
-                        path = searchAlgorithms.branchAndBoundWithHeuristics(graph, start, goal, heuristics, edgeWeights, oracleValue);
+                        path = pathCache.get(selectedAlgorithm, snapshot, start, goal, oracleValue,
+                                search -> search.branchAndBoundWithHeuristics(snapshot, start, goal, heuristics, oracleValue));
                         break;
                     case "A* algorithm":
-                        path = searchAlgorithms.aStarAlgorithm(graph, start, goal, heuristics, edgeWeights, oracleValue);
+                        path = pathCache.get(selectedAlgorithm, snapshot, start, goal, oracleValue,
+                                search -> search.aStarAlgorithm(snapshot, start, goal, heuristics, oracleValue));
+                        break;
+                    case "Bidirectional BFS":
+                        path = pathCache.get(selectedAlgorithm, snapshot, start, goal, 0,
+                                search -> search.bidirectionalBfs(snapshot, start, goal));
+                        break;
+                    case "Bidirectional A*":
+                        path = pathCache.get(selectedAlgorithm, snapshot, start, goal, 0,
+                                search -> search.bidirectionalAStar(snapshot, start, goal, heuristics));
+                        break;
+                    case "IDA*":
+                        path = pathCache.get(selectedAlgorithm, snapshot, start, goal, oracleValue,
+                                search -> search.idaStar(snapshot, start, goal, heuristics, oracleValue));
+                        break;
+                    case "SMA*":
+                        path = pathCache.get(selectedAlgorithm, snapshot, start, goal, 0,
+                                search -> search.smaStar(snapshot, start, goal, heuristics));
                         break;
                     default:
                         JOptionPane.showMessageDialog(panel, "Invalid algorithm selected.");
@@ -0,0 +1,100 @@
+package algorithms;
+
+import benchmarks.SearchInput;
+import model.CsrGraph;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchSearchTest {
+    @Test
+    void batchedQueriesGetTheSingleQueryAnswers() {
+        SearchInput in = SearchInput.of("erdos-renyi", "medium");
+        List<BatchSearch.Query> queries = randomQueries(in.csr, 4, 60);
+        SearchAlgorithms search = new SearchAlgorithms();
+        SearchWorkspace workspace = new SearchWorkspace();
+        try (BatchSearch batch = new BatchSearch(in.graph)) {
+            List<BatchSearch.Result> bfs = batch.runAll(queries, BatchSearch.Algorithm.BFS);
+            List<BatchSearch.Result> dijkstra = batch.runAll(queries, BatchSearch.Algorithm.DIJKSTRA);
+            List<BatchSearch.Result> aStar = batch.runAll(queries, BatchSearch.Algorithm.A_STAR);
+            for (int i = 0; i < queries.size(); i++) {
+                BatchSearch.Query query = queries.get(i);
+                assertSame(query, bfs.get(i).getQuery());
+                List<Integer> expected = search.bfs(in.csr, query.getStart(), query.getGoal());
+                assertEquals(expected.size(), bfs.get(i).getPath().size(), query.toString());
+                int cheapest = Paths.shortestCost(in.csr, query.getStart(), query.getGoal());
+                if (cheapest == Paths.UNREACHABLE) {
+                    assertTrue(dijkstra.get(i).getPath().isEmpty(), query.toString());
+                } else {
+                    assertEquals(cheapest, Paths.cost(in.graph, query.getStart(), query.getGoal(), dijkstra.get(i).getPath()));
+                }
+                // The heuristics only suit the benchmark goal, so compare with the same A*, not with Dijkstra
+                assertEquals(search.aStarAlgorithm(in.csr, query.getStart(), query.getGoal(), Integer.MAX_VALUE, workspace),
+                        aStar.get(i).getPath(), query.toString());
+            }
+        }
+    }
+
+    @Test
+    void sharedStartsWithRepeatedAndMissingGoals() {
+        Graph graph = new Graph();
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(4, 5, 1); // Not reachable from 0
+        List<BatchSearch.Query> queries = new ArrayList<>();
+        queries.add(new BatchSearch.Query(0, 2));
+        queries.add(new BatchSearch.Query(0, 2));
+        queries.add(new BatchSearch.Query(0, 5));
+        queries.add(new BatchSearch.Query(0, 99));
+        queries.add(new BatchSearch.Query(0, 0));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (BatchSearch batch = new BatchSearch(CsrGraph.from(graph), executor)) {
+            for (BatchSearch.Algorithm algorithm : BatchSearch.Algorithm.values()) {
+                List<BatchSearch.Result> results = batch.runAll(queries, algorithm);
+                assertEquals(List.of(0, 1, 2), results.get(0).getPath(), algorithm.name());
+                assertEquals(List.of(0, 1, 2), results.get(1).getPath(), algorithm.name());
+                assertTrue(results.get(2).getPath().isEmpty(), algorithm.name());
+                assertTrue(results.get(3).getPath().isEmpty(), algorithm.name());
+                assertEquals(List.of(0), results.get(4).getPath(), algorithm.name());
+            }
+        }
+        assertFalse(executor.isShutdown()); // An executor passed in belongs to the caller
+        executor.shutdown();
+    }
+
+    @Test
+    void everyResultReachesTheSinkBeforeTheFutureCompletes() {
+        SearchInput in = SearchInput.of("grid", "medium");
+        List<BatchSearch.Query> queries = randomQueries(in.csr, 10, 200);
+        ConcurrentLinkedQueue<BatchSearch.Result> sink = new ConcurrentLinkedQueue<>();
+        try (BatchSearch batch = new BatchSearch(in.graph)) {
+            batch.submit(queries, BatchSearch.Algorithm.BFS, sink::add).join();
+        }
+        assertEquals(queries.size(), sink.size());
+    }
+
+    // count queries from a few shared starts, so the grouping is exercised
+    private static List<BatchSearch.Query> randomQueries(CsrGraph graph, int starts, int count) {
+        Random random = new Random(17);
+        int[] startNodes = new int[starts];
+        for (int i = 0; i < starts; i++) {
+            startNodes[i] = random.nextInt(graph.nodeCount());
+        }
+        List<BatchSearch.Query> queries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            queries.add(new BatchSearch.Query(startNodes[random.nextInt(starts)], random.nextInt(graph.nodeCount())));
+        }
+        return queries;
+    }
+}
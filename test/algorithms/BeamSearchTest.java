@@ -0,0 +1,114 @@
+package algorithms;
+
+import benchmarks.SearchInput;
+import model.CsrGraph;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BeamSearchTest {
+    private static final int[] WIDTHS = {1, 2, 3, 16, 256, 100_000};
+
+    @ParameterizedTest
+    @ValueSource(strings = {"grid", "erdos-renyi", "scale-free"})
+    void beamNeverGrowsPastItsWidth(String shape) {
+        SearchInput in = SearchInput.of(shape, "medium");
+        List<SearchStats> seen = new ArrayList<>();
+        SearchAlgorithms search = new SearchAlgorithms();
+        search.setListener(seen::add);
+        for (int width : WIDTHS) {
+            search.setBeamWidth(width);
+            seen.clear();
+            List<Integer> path = search.beamSearch(in.graph, in.start, in.goal, in.heuristics);
+            List<Integer> csrPath = search.beamSearch(in.csr, in.start, in.goal, new SearchWorkspace());
+            assertEquals(path, csrPath, "width " + width);
+            if (!path.isEmpty()) {
+                Paths.cost(in.graph, in.start, in.goal, path);
+            }
+            for (SearchStats stats : seen) {
+                assertTrue(stats.getMaxFrontier() <= width, stats.toString());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"grid", "erdos-renyi", "scale-free"})
+    void anUnboundedBeamIsABreadthFirstSearch(String shape) {
+        SearchInput in = SearchInput.of(shape, "medium");
+        SearchAlgorithms search = new SearchAlgorithms();
+        search.setBeamWidth(in.csr.nodeCount());
+        assertEquals(search.bfs(in.graph, in.start, in.goal).size(), search.beamSearch(in.graph, in.start, in.goal, in.heuristics).size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"grid", "erdos-renyi", "scale-free"})
+    void parallelBeamKeepsTheSerialLevels(String shape) {
+        // The levels hold the same nodes, so the goal is found at the same depth or not at all;
+        // only the parent a shared child gets may differ
+        SearchInput in = SearchInput.of(shape, "medium");
+        SearchAlgorithms serial = new SearchAlgorithms();
+        for (int threads : new int[]{1, 2, 4}) {
+            ParallelBeamSearch parallel = new ParallelBeamSearch(threads);
+            try {
+                for (int width : WIDTHS) {
+                    serial.setBeamWidth(width);
+                    parallel.setBeamWidth(width);
+                    List<Integer> expected = serial.beamSearch(in.graph, in.start, in.goal, in.heuristics);
+                    List<Integer> path = parallel.beamSearch(in.csr, in.start, in.goal);
+                    String run = threads + " threads, width " + width;
+                    assertEquals(expected.size(), path.size(), run);
+                    if (!path.isEmpty()) {
+                        Paths.cost(in.graph, in.start, in.goal, path);
+                    }
+                }
+            } finally {
+                parallel.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void aNarrowBeamCanMissTheGoal() {
+        // 1 looks closer to the goal than 2 but is a dead end
+        Graph graph = new Graph();
+        int[][] edges = {{0, 1, 1}, {0, 2, 1}, {2, 3, 1}};
+        for (int[] edge : edges) {
+            graph.addEdge(edge[0], edge[1], edge[2]);
+            graph.setEdgeWeight(edge[1], edge[0], edge[2]);
+        }
+        Map<Integer, Integer> heuristics = new HashMap<>(Map.of(0, 2, 1, 0, 2, 1, 3, 0));
+        CsrGraph csr = CsrGraph.from(graph, heuristics);
+        SearchAlgorithms search = new SearchAlgorithms();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ParallelBeamSearch parallel = new ParallelBeamSearch(pool);
+            search.setBeamWidth(1);
+            parallel.setBeamWidth(1);
+            assertTrue(search.beamSearch(graph, 0, 3, heuristics).isEmpty());
+            assertTrue(search.beamSearch(csr, 0, 3, new SearchWorkspace()).isEmpty());
+            assertTrue(parallel.beamSearch(csr, 0, 3).isEmpty());
+            search.setBeamWidth(2);
+            parallel.setBeamWidth(2);
+            assertEquals(List.of(0, 2, 3), search.beamSearch(graph, 0, 3, heuristics));
+            assertEquals(List.of(0, 2, 3), search.beamSearch(csr, 0, 3, new SearchWorkspace()));
+            assertEquals(List.of(0, 2, 3), parallel.beamSearch(csr, 0, 3));
+            parallel.shutdown();
+            assertFalse(pool.isShutdown()); // A pool passed in is left to its owner
+        } finally {
+            pool.shutdown();
+        }
+        assertThrows(IllegalArgumentException.class, () -> search.setBeamWidth(0));
+    }
+}
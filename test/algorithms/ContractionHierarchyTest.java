@@ -0,0 +1,107 @@
+package algorithms;
+
+import benchmarks.GraphGenerators;
+import benchmarks.SearchInput;
+import model.CsrGraph;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContractionHierarchyTest {
+    @ParameterizedTest
+    @ValueSource(strings = {"grid", "erdos-renyi", "scale-free"})
+    void findsTheCheapestPath(String shape) {
+        SearchInput in = SearchInput.of(shape, "medium");
+        assertCheapestPaths(in.graph, ContractionHierarchy.build(in.graph), 200, 1);
+    }
+
+    @Test
+    void followsTheDirectionOfTheWeights() {
+        // Every edge gets a different weight back
+        Graph graph = GraphGenerators.erdosRenyi(400, 900, 10, 8);
+        Random random = new Random(8);
+        for (Map.Entry<Integer, List<Integer>> entry : graph.getAdjacencyList().entrySet()) {
+            for (int dest : entry.getValue()) {
+                if (entry.getKey() < dest) {
+                    graph.setEdgeWeight(dest, entry.getKey(), 1 + random.nextInt(40));
+                }
+            }
+        }
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+        assertTrue(hierarchy.shortcutCount() > 0);
+        assertCheapestPaths(graph, hierarchy, 300, 2);
+    }
+
+    @Test
+    void handlesTrivialAndUnreachableGoals() {
+        Graph graph = new Graph();
+        graph.addEdge(0, 1, 2);
+        graph.setEdgeWeight(1, 0, 2);
+        graph.addEdge(2, 3, 2);
+        graph.setEdgeWeight(3, 2, 2);
+        ContractionHierarchy.Query query = ContractionHierarchy.build(graph).newQuery();
+        SearchAlgorithms search = new SearchAlgorithms();
+        assertEquals(List.of(1), search.contractionHierarchySearch(query, 1, 1));
+        assertEquals(List.of(1, 0), search.contractionHierarchySearch(query, 1, 0));
+        assertTrue(search.contractionHierarchySearch(query, 0, 3).isEmpty());
+        assertTrue(search.contractionHierarchySearch(query, 0, 9).isEmpty());
+    }
+
+    @Test
+    void readGivesBackTheSameHierarchy(@TempDir Path dir) throws IOException {
+        Graph graph = GraphGenerators.scaleFree(500, 2, 10, 3);
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+        Path file = dir.resolve("graph.ch");
+        hierarchy.write(file);
+        ContractionHierarchy read = ContractionHierarchy.read(file);
+        assertEquals(hierarchy.nodeCount(), read.nodeCount());
+        assertEquals(hierarchy.edgeCount(), read.edgeCount());
+        assertEquals(hierarchy.shortcutCount(), read.shortcutCount());
+        ContractionHierarchy.Query built = hierarchy.newQuery();
+        ContractionHierarchy.Query loaded = read.newQuery();
+        SearchAlgorithms search = new SearchAlgorithms();
+        Random random = new Random(3);
+        for (int query = 0; query < 100; query++) {
+            int start = random.nextInt(500);
+            int goal = random.nextInt(500);
+            assertEquals(search.contractionHierarchySearch(built, start, goal), search.contractionHierarchySearch(loaded, start, goal));
+        }
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 8));
+        assertThrows(IOException.class, () -> ContractionHierarchy.read(file));
+    }
+
+    // Random queries on one reused Query must return valid paths of the Dijkstra cost
+    private static void assertCheapestPaths(Graph graph, ContractionHierarchy hierarchy, int queries, long seed) {
+        CsrGraph csr = CsrGraph.from(graph);
+        ContractionHierarchy.Query query = hierarchy.newQuery();
+        SearchAlgorithms search = new SearchAlgorithms();
+        Random random = new Random(seed);
+        for (int i = 0; i < queries; i++) {
+            int start = random.nextInt(csr.nodeCount());
+            int goal = random.nextInt(csr.nodeCount());
+            int cheapest = Paths.shortestCost(csr, start, goal);
+            List<Integer> path = search.contractionHierarchySearch(query, start, goal);
+            if (cheapest == Paths.UNREACHABLE) {
+                assertTrue(path.isEmpty(), start + " -> " + goal);
+            } else {
+                assertEquals(cheapest, Paths.cost(graph, start, goal, path), start + " -> " + goal);
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package algorithms;
+
+import benchmarks.GraphGenerators;
+import model.CsrGraph;
+import model.Graph;
+import model.GraphBatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IncrementalPlannerTest {
+    private static final int SIDE = 20;
+
+    @Test
+    void replansToTheCheapestPathAfterEveryChange() {
+        Graph graph = GraphGenerators.grid(SIDE, 10, 5);
+        int goal = SIDE * SIDE - 1;
+        SearchAlgorithms search = new SearchAlgorithms();
+        Random random = new Random(5);
+        try (IncrementalPlanner planner = new IncrementalPlanner(graph, 0, goal)) {
+            assertCheapest(search, planner);
+            for (int change = 0; change < 300; change++) {
+                int node = random.nextInt(SIDE * SIDE);
+                List<Integer> neighbors = graph.getNeighbors(node);
+                int neighbor = neighbors.get(random.nextInt(neighbors.size()));
+                switch (random.nextInt(5)) {
+                    case 0: // Cheaper or dearer one way only
+                        graph.setEdgeWeight(node, neighbor, 1 + random.nextInt(20));
+                        break;
+                    case 1: // Both ways at once
+                        int weight = 1 + random.nextInt(20);
+                        graph.batch().setEdgeWeight(node, neighbor, weight).setEdgeWeight(neighbor, node, weight).publish();
+                        break;
+                    case 2: // A shortcut to a random node
+                        int other = random.nextInt(SIDE * SIDE);
+                        if (other != node) {
+                            GraphBatch batch = graph.batch();
+                            batch.addEdge(node, other, 1 + random.nextInt(40));
+                            batch.setEdgeWeight(other, node, 1 + random.nextInt(40));
+                            batch.publish();
+                        }
+                        break;
+                    case 3: // Practically cut, on the cheapest path to make the planner work
+                        List<Integer> path = search.incrementalAStar(planner);
+                        int i = random.nextInt(path.size() - 1);
+                        graph.setEdgeWeight(path.get(i), path.get(i + 1), 100_000);
+                        break;
+                    default: // Zero stays consistent whatever the weights; the open list is still rekeyed
+                        graph.setHeuristic(node, 0);
+                }
+                if (change % 3 == 0) {
+                    assertCheapest(search, planner);
+                }
+            }
+            assertCheapest(search, planner);
+        }
+    }
+
+    @Test
+    void replansWithAConsistentHeuristic() {
+        // Grid distance to the goal, consistent while every weight is at least 1
+        Graph graph = GraphGenerators.grid(SIDE, 10, 6);
+        int goal = SIDE * SIDE - 1;
+        GraphBatch heuristics = graph.batch();
+        for (int node = 0; node < SIDE * SIDE; node++) {
+            heuristics.setHeuristic(node, (SIDE - 1 - node / SIDE) + (SIDE - 1 - node % SIDE));
+        }
+        heuristics.publish();
+        SearchAlgorithms search = new SearchAlgorithms();
+        Random random = new Random(6);
+        try (IncrementalPlanner planner = new IncrementalPlanner(graph, 0, goal)) {
+            for (int change = 0; change < 100; change++) {
+                List<Integer> path = search.incrementalAStar(planner);
+                int i = random.nextInt(path.size() - 1);
+                graph.setEdgeWeight(path.get(i), path.get(i + 1), 1 + random.nextInt(50));
+                int node = random.nextInt(SIDE * SIDE);
+                graph.setEdgeWeight(node, graph.getNeighbors(node).get(0), 1);
+                assertCheapest(search, planner);
+            }
+        }
+    }
+
+    @Test
+    void findsAPathOnceTheGoalBecomesReachable() {
+        Graph graph = new Graph();
+        graph.addEdge(0, 1, 2);
+        graph.setEdgeWeight(1, 0, 2);
+        graph.addEdge(2, 3, 2);
+        graph.setEdgeWeight(3, 2, 2);
+        SearchAlgorithms search = new SearchAlgorithms();
+        try (IncrementalPlanner planner = new IncrementalPlanner(graph, 0, 3)) {
+            assertTrue(search.incrementalAStar(planner).isEmpty());
+            assertEquals(Long.MAX_VALUE, planner.getCost());
+            graph.addEdge(1, 2, 5);
+            assertEquals(List.of(0, 1, 2, 3), search.incrementalAStar(planner));
+            assertEquals(9, planner.getCost());
+            graph.addEdge(0, 3, 8);
+            assertEquals(List.of(0, 3), search.incrementalAStar(planner));
+            assertEquals(8, planner.getCost());
+        }
+    }
+
+    @Test
+    void stopsPlanningWhenClosed() {
+        Graph graph = GraphGenerators.grid(4, 10, 1);
+        IncrementalPlanner planner = new IncrementalPlanner(graph, 0, 15);
+        planner.close();
+        graph.setEdgeWeight(0, 1, 1); // No longer reaches the planner
+        assertThrows(IllegalStateException.class, () -> new SearchAlgorithms().incrementalAStar(planner));
+    }
+
+    // The repaired path must cost as much as a fresh Dijkstra search over the changed graph
+    private static void assertCheapest(SearchAlgorithms search, IncrementalPlanner planner) {
+        Graph graph = planner.getGraph();
+        int cheapest = Paths.shortestCost(CsrGraph.from(graph), planner.getStart(), planner.getGoal());
+        List<Integer> path = search.incrementalAStar(planner);
+        assertEquals(cheapest, Paths.cost(graph, planner.getStart(), planner.getGoal(), path));
+        assertEquals(cheapest, planner.getCost());
+    }
+}
@@ -0,0 +1,80 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexedIntHeapTest {
+    @Test
+    void pollsInKeyOrderUnderRandomUpdates() {
+        IndexedIntHeap heap = new IndexedIntHeap(4);
+        Map<Integer, Long> queued = new HashMap<>();
+        Random random = new Random(11);
+        for (int step = 0; step < 20_000; step++) {
+            int id = random.nextInt(500);
+            long key = random.nextInt(1_000);
+            switch (random.nextInt(4)) {
+                case 0:
+                    if (heap.insertOrDecrease(id, key)) {
+                        queued.merge(id, key, Math::min);
+                    } else {
+                        assertTrue(queued.get(id) <= key);
+                    }
+                    break;
+                case 1:
+                    if (queued.containsKey(id)) {
+                        heap.changeKey(id, key);
+                        queued.put(id, key);
+                    }
+                    break;
+                default:
+                    if (!queued.isEmpty()) {
+                        long min = queued.values().stream().min(Long::compare).get();
+                        assertEquals(min, heap.peekMinKey());
+                        int polled = heap.pollMin();
+                        assertEquals(min, (long) queued.remove(polled));
+                        assertFalse(heap.contains(polled));
+                    }
+            }
+            assertEquals(queued.size(), heap.size());
+        }
+    }
+
+    @Test
+    void decreaseKeyIgnoresLargerKeys() {
+        IndexedIntHeap heap = new IndexedIntHeap(1);
+        heap.insert(3, 10);
+        heap.insert(7, 20);
+        heap.decreaseKey(7, 30);
+        assertEquals(20, heap.key(7));
+        heap.decreaseKey(7, 5);
+        assertEquals(7, heap.peekMin());
+    }
+
+    @Test
+    void rejectsNegativeAndDuplicateIds() {
+        IndexedIntHeap heap = new IndexedIntHeap(2);
+        heap.insert(1, 0);
+        assertThrows(IllegalStateException.class, () -> heap.insert(1, 5));
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(-1, 5));
+    }
+
+    @Test
+    void clearLetsIdsBeInsertedAgain() {
+        IndexedIntHeap heap = new IndexedIntHeap(8);
+        heap.insert(2, 4);
+        heap.insert(5, 1);
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(5));
+        heap.insert(5, 9);
+        assertEquals(5, heap.pollMin());
+    }
+}
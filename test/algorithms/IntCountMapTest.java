@@ -0,0 +1,58 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntCountMapTest {
+    @Test
+    void matchesAHashMapUnderRandomUpdates() {
+        IntCountMap counts = new IntCountMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(3);
+        for (int step = 0; step < 50_000; step++) {
+            int key = random.nextInt(400) - 200;
+            switch (random.nextInt(3)) {
+                case 0:
+                    counts.increment(key);
+                    expected.merge(key, 1, Integer::sum);
+                    break;
+                case 1:
+                    if (expected.containsKey(key)) {
+                        counts.decrement(key);
+                        expected.merge(key, -1, Integer::sum);
+                    }
+                    break;
+                default:
+                    counts.remove(key);
+                    expected.remove(key);
+            }
+            assertEquals((int) expected.getOrDefault(key, 0), counts.get(key));
+        }
+        for (int key = -200; key < 200; key++) {
+            assertEquals((int) expected.getOrDefault(key, 0), counts.get(key));
+        }
+    }
+
+    @Test
+    void removedKeysStartAgainFromZero() {
+        IntCountMap counts = new IntCountMap();
+        counts.increment(5);
+        counts.increment(5);
+        counts.remove(5);
+        counts.increment(5);
+        assertEquals(1, counts.get(5));
+    }
+
+    @Test
+    void rejectsDecrementingAMissingKey() {
+        IntCountMap counts = new IntCountMap();
+        counts.increment(1);
+        assertThrows(IllegalStateException.class, () -> counts.decrement(2));
+    }
+}
@@ -0,0 +1,115 @@
+package algorithms;
+
+import benchmarks.GraphGenerators;
+import benchmarks.SearchInput;
+import model.CsrGraph;
+import model.Graph;
+import model.HeuristicLookup;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LandmarksTest {
+    @Test
+    void estimatesAreAdmissibleAndConsistent() {
+        // Some edges get a different weight back, and some none at all, so the graph is directed
+        Graph graph = GraphGenerators.erdosRenyi(300, 700, 10, 4);
+        Random random = new Random(4);
+        for (Map.Entry<Integer, List<Integer>> entry : graph.getAdjacencyList().entrySet()) {
+            for (int dest : entry.getValue()) {
+                if (entry.getKey() < dest && random.nextInt(3) == 0) {
+                    graph.setEdgeWeight(dest, entry.getKey(), random.nextInt(3) == 0 ? Integer.MAX_VALUE : 1 + random.nextInt(30));
+                }
+            }
+        }
+        CsrGraph csr = CsrGraph.from(graph);
+        CsrGraph reversed = csr.reversed();
+        for (Landmarks landmarks : new Landmarks[]{Landmarks.farthest(csr, 4), Landmarks.avoid(csr, 4, 9)}) {
+            assertEquals(4, landmarks.count());
+            for (int goal = 0; goal < csr.nodeCount(); goal += 37) {
+                long[] toGoal = Paths.costsFrom(reversed, goal);
+                HeuristicLookup estimate = landmarks.towards(csr, goal);
+                assertEquals(0, estimate.heuristic(goal));
+                for (int node = 0; node < csr.nodeCount(); node++) {
+                    assertTrue(estimate.heuristic(node) >= 0);
+                    assertTrue(estimate.heuristic(node) <= toGoal[node], "goal " + goal + ", node " + node);
+                    for (int e = csr.firstEdge(node); e < csr.endEdge(node); e++) {
+                        assertTrue(estimate.heuristic(node) <= (long) csr.weight(e) + estimate.heuristic(csr.target(e)));
+                    }
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"grid", "erdos-renyi", "scale-free"})
+    void altSearchesFindTheCheapestPath(String shape) {
+        SearchInput in = SearchInput.of(shape, "medium");
+        CsrGraph graph = in.csr;
+        Landmarks landmarks = Landmarks.avoid(graph, 8, 1);
+        SearchAlgorithms search = new SearchAlgorithms();
+        SearchAlgorithms indexed = new SearchAlgorithms();
+        indexed.setIndexedHeap(true);
+        Random random = new Random(2);
+        for (int query = 0; query < 20; query++) {
+            int start = random.nextInt(graph.nodeCount());
+            int goal = random.nextInt(graph.nodeCount());
+            int cheapest = Paths.shortestCost(graph, start, goal);
+            List<Integer> path = search.aStarAlgorithm(graph, start, goal, Integer.MAX_VALUE, landmarks);
+            if (cheapest == Paths.UNREACHABLE) {
+                assertTrue(path.isEmpty());
+                continue;
+            }
+            assertEquals(cheapest, Paths.cost(in.graph, start, goal, path));
+            assertEquals(cheapest, Paths.cost(in.graph, start, goal,
+                    indexed.aStarAlgorithm(graph, start, goal, Integer.MAX_VALUE, landmarks)));
+            assertEquals(cheapest, Paths.cost(in.graph, start, goal,
+                    search.branchAndBoundWithHeuristics(graph, start, goal, Integer.MAX_VALUE, landmarks)));
+        }
+    }
+
+    @Test
+    void readGivesBackTheSameEstimates(@TempDir Path dir) throws IOException {
+        CsrGraph graph = CsrGraph.from(GraphGenerators.scaleFree(400, 2, 10, 6));
+        Landmarks landmarks = Landmarks.farthest(graph, 5);
+        Path file = dir.resolve("graph.alt");
+        landmarks.write(file);
+        Landmarks read = Landmarks.read(file);
+        assertEquals(landmarks.count(), read.count());
+        for (int i = 0; i < landmarks.count(); i++) {
+            assertEquals(landmarks.landmark(i), read.landmark(i));
+        }
+        for (int goal : new int[]{0, 17, 399}) {
+            HeuristicLookup expected = landmarks.towards(graph, goal);
+            HeuristicLookup actual = read.towards(graph, goal);
+            for (int node = 0; node < graph.nodeCount(); node++) {
+                assertEquals(expected.heuristic(node), actual.heuristic(node));
+            }
+        }
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+        assertThrows(IOException.class, () -> Landmarks.read(file));
+    }
+
+    @Test
+    void refusesAnotherGraph() {
+        CsrGraph graph = CsrGraph.from(GraphGenerators.grid(10, 10, 1));
+        Landmarks landmarks = Landmarks.farthest(graph, 2);
+        assertThrows(IllegalArgumentException.class, () -> landmarks.towards(CsrGraph.from(GraphGenerators.grid(11, 10, 1)), 0));
+        assertEquals(0, landmarks.towards(graph, -1).heuristic(5)); // No such goal, no estimate
+    }
+}
@@ -0,0 +1,116 @@
+package algorithms;
+
+import benchmarks.GraphGenerators;
+import benchmarks.SearchInput;
+import model.CsrGraph;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelBfsTest {
+    @ParameterizedTest
+    @ValueSource(strings = {"grid", "erdos-renyi", "scale-free"})
+    void everyPathIsTheSerialBfsPath(String shape) {
+        SearchInput in = SearchInput.of(shape, "medium");
+        SearchAlgorithms serial = new SearchAlgorithms();
+        ParallelBfs bfs = new ParallelBfs(4);
+        try {
+            int[] parent = bfs.parents(in.csr, in.start);
+            for (int node = 0; node < in.csr.nodeCount(); node++) {
+                assertEquals(serial.bfs(in.csr, in.start, node), pathTo(parent, in.start, node), "Path to " + node);
+            }
+            assertEquals(serial.bfs(in.csr, in.start, in.goal), bfs.bfs(in.csr, in.start, in.goal));
+        } finally {
+            bfs.shutdown();
+        }
+    }
+
+    @Test
+    void largeGraphsGetTheSameTreeWithAnyThreadCount() {
+        // Big enough for levels that split into several tasks and run bottom-up
+        CsrGraph graph = CsrGraph.from(GraphGenerators.erdosRenyi(60_000, 240_000, 10, 9));
+        int[] expected = null;
+        for (int threads : new int[]{1, 2, 3, 8}) {
+            ParallelBfs bfs = new ParallelBfs(threads);
+            try {
+                int[] parent = bfs.parents(graph, 0);
+                if (expected == null) {
+                    expected = parent;
+                } else {
+                    assertArrayEquals(expected, parent, threads + " threads");
+                }
+            } finally {
+                bfs.shutdown();
+            }
+        }
+        SearchAlgorithms serial = new SearchAlgorithms();
+        Random random = new Random(1);
+        for (int i = 0; i < 50; i++) {
+            int goal = random.nextInt(graph.nodeCount());
+            assertEquals(serial.bfs(graph, 0, goal), pathTo(expected, 0, goal), "Path to " + goal);
+        }
+    }
+
+    @Test
+    void repeatedEdgesAndSelfLoopsDoNotChangeTheTree() {
+        Graph graph = new Graph();
+        int[][] edges = {{0, 3}, {0, 1}, {0, 3}, {1, 1}, {1, 2}, {3, 2}, {2, 4}, {3, 4}, {0, 0}};
+        for (int[] edge : edges) {
+            graph.addEdge(edge[0], edge[1]);
+        }
+        CsrGraph csr = CsrGraph.from(graph);
+        SearchAlgorithms serial = new SearchAlgorithms();
+        ParallelBfs bfs = new ParallelBfs(2);
+        try {
+            int[] parent = bfs.parents(csr, 0);
+            for (int node = 0; node < csr.nodeCount(); node++) {
+                assertEquals(serial.bfs(csr, 0, node), pathTo(parent, 0, node), "Path to " + node);
+            }
+        } finally {
+            bfs.shutdown();
+        }
+    }
+
+    @Test
+    void unreachableNodesHaveNoParent() {
+        Graph graph = new Graph();
+        graph.addEdge(0, 1);
+        graph.addEdge(2, 3);
+        CsrGraph csr = CsrGraph.from(graph);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        ParallelBfs bfs = new ParallelBfs(pool);
+        assertArrayEquals(new int[]{0, 0, ParallelBfs.UNREACHED, ParallelBfs.UNREACHED}, bfs.parents(csr, 0));
+        assertTrue(bfs.bfs(csr, 0, 3).isEmpty());
+        assertEquals(Arrays.asList(5), bfs.bfs(csr, 5, 5));
+        bfs.shutdown();
+        assertFalse(pool.isShutdown()); // A pool passed in belongs to the caller
+        pool.shutdown();
+    }
+
+    // Path from start to node along the parent array, empty if node was not reached
+    private static List<Integer> pathTo(int[] parent, int start, int node) {
+        List<Integer> path = new ArrayList<>();
+        if (parent[node] == ParallelBfs.UNREACHED) {
+            return path;
+        }
+        for (int at = node; at != start; at = parent[at]) {
+            path.add(at);
+        }
+        path.add(start);
+        Collections.reverse(path);
+        return path;
+    }
+}
@@ -0,0 +1,99 @@
+package algorithms;
+
+import benchmarks.SearchInput;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelHillClimbingTest {
+    @ParameterizedTest
+    @ValueSource(strings = {"grid", "erdos-renyi", "scale-free"})
+    void resultDoesNotDependOnTheThreads(String shape) {
+        SearchInput in = SearchInput.of(shape, "medium");
+        Random random = new Random(3);
+        int[] goals = {in.goal, random.nextInt(in.csr.nodeCount()), random.nextInt(in.csr.nodeCount())};
+        for (double temperature : new double[]{0, 2}) {
+            List<List<Integer>> expected = null;
+            for (int threads : new int[]{1, 2, 4}) {
+                ParallelHillClimbing climbing = new ParallelHillClimbing(threads);
+                try {
+                    climbing.setTemperature(temperature);
+                    List<List<Integer>> paths = new ArrayList<>();
+                    for (int goal : goals) {
+                        List<Integer> path = climbing.hillClimbing(in.csr, in.start, goal);
+                        assertEquals(path, climbing.hillClimbing(in.csr, in.start, goal)); // Same on every call
+                        paths.add(path);
+                    }
+                    if (expected == null) {
+                        expected = paths;
+                    }
+                    assertEquals(expected, paths, threads + " threads, temperature " + temperature);
+                } finally {
+                    climbing.shutdown();
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"grid", "erdos-renyi", "scale-free"})
+    void neverDoesWorseThanOneGreedyClimb(String shape) {
+        SearchInput in = SearchInput.of(shape, "medium");
+        List<Integer> greedy = new SearchAlgorithms().hillClimbing(in.graph, in.start, in.goal, in.heuristics);
+        ParallelHillClimbing climbing = new ParallelHillClimbing(2);
+        try {
+            climbing.setRestarts(1); // Run 0 alone is the greedy climb
+            assertEquals(greedy, climbing.hillClimbing(in.csr, in.start, in.goal));
+            climbing.setRestarts(64);
+            List<Integer> path = climbing.hillClimbing(in.csr, in.start, in.goal);
+            if (!greedy.isEmpty()) {
+                assertTrue(Paths.cost(in.graph, in.start, in.goal, path) <= Paths.cost(in.graph, in.start, in.goal, greedy));
+            } else if (!path.isEmpty()) {
+                Paths.cost(in.graph, in.start, in.goal, path);
+            }
+        } finally {
+            climbing.shutdown();
+        }
+    }
+
+    @Test
+    void handlesTrivialGoalsAndLeavesAPoolPassedInRunning() {
+        SearchInput in = SearchInput.of("grid", "small");
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ParallelHillClimbing climbing = new ParallelHillClimbing(pool);
+            assertEquals(List.of(in.start), climbing.hillClimbing(in.csr, in.start, in.start));
+            assertEquals(List.of(), climbing.hillClimbing(in.csr, in.start, in.csr.nodeCount()));
+            climbing.shutdown();
+            assertFalse(pool.isShutdown()); // A pool passed in is left to its owner
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsBadSettings() {
+        ParallelHillClimbing climbing = new ParallelHillClimbing(1);
+        try {
+            assertThrows(IllegalArgumentException.class, () -> climbing.setRestarts(0));
+            assertThrows(IllegalArgumentException.class, () -> climbing.setRandomMoves(-1));
+            assertThrows(IllegalArgumentException.class, () -> climbing.setTemperature(-1));
+            assertThrows(IllegalArgumentException.class, () -> climbing.setTemperature(Double.NaN));
+            assertThrows(IllegalArgumentException.class, () -> climbing.setCooling(1.5));
+            assertThrows(IllegalArgumentException.class, () -> climbing.setCooling(Double.NaN));
+            assertEquals(64, climbing.getRestarts());
+        } finally {
+            climbing.shutdown();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package algorithms;
+
+import benchmarks.GraphGenerators;
+import benchmarks.SearchInput;
+import model.CsrGraph;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelPathSearchTest {
+    @Test
+    void findsTheSerialPathsAndTheCheapest() {
+        for (String shape : SearchInput.SHAPES) {
+            SearchInput in = SearchInput.of(shape, "small");
+            assertSerialResults(in.graph, in.start, in.goal, in.oracle);
+        }
+        Graph grid = GraphGenerators.grid(6, 9, 42);
+        assertSerialResults(grid, 0, 35, Paths.shortestCost(CsrGraph.from(grid), 0, 35) * 3 / 2);
+    }
+
+    @Test
+    void reportsEverCheaperPaths() {
+        Graph graph = GraphGenerators.grid(6, 9, 7);
+        CsrGraph csr = CsrGraph.from(graph);
+        int goal = csr.nodeCount() - 1;
+        int cheapest = Paths.shortestCost(csr, 0, goal);
+        ParallelPathSearch search = new ParallelPathSearch(1); // One worker reports in order
+        try {
+            List<Integer> costs = Collections.synchronizedList(new ArrayList<>());
+            search.branchAndBound(csr, 0, goal, cheapest * 2, path -> costs.add(Paths.cost(graph, 0, goal, path)));
+            assertFalse(costs.isEmpty());
+            for (int i = 1; i < costs.size(); i++) {
+                assertTrue(costs.get(i) < costs.get(i - 1), costs.toString());
+            }
+            assertEquals(cheapest, (int) costs.get(costs.size() - 1));
+        } finally {
+            search.shutdown();
+        }
+    }
+
+    @Test
+    void findsNothingBelowTheCheapestCost() {
+        Graph graph = GraphGenerators.grid(5, 9, 3);
+        CsrGraph csr = CsrGraph.from(graph);
+        int goal = csr.nodeCount() - 1;
+        int cheapest = Paths.shortestCost(csr, 0, goal);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ParallelPathSearch search = new ParallelPathSearch(pool);
+            assertTrue(search.oracleSearch(csr, 0, goal, cheapest - 1).isEmpty());
+            assertTrue(search.branchAndBound(csr, 0, goal, cheapest - 1).isEmpty());
+            assertEquals(List.of(List.of(3)), search.oracleSearch(csr, 3, 3, 0));
+            search.shutdown();
+            assertFalse(pool.isShutdown()); // A pool passed in is left to its owner
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // The paths as a set and the cheapest cost must not depend on threads or task splitting
+    private static void assertSerialResults(Graph graph, int start, int goal, int oracle) {
+        CsrGraph csr = CsrGraph.from(graph);
+        int cheapest = Paths.shortestCost(csr, start, goal);
+        List<List<Integer>> expected = new SearchAlgorithms().oracleSearch(graph, start, goal, oracle);
+        assertFalse(expected.isEmpty());
+        for (int threads : new int[]{1, 2, 4}) {
+            ParallelPathSearch search = new ParallelPathSearch(threads);
+            try {
+                for (int splitDepth : new int[]{0, 1, 4, 100}) {
+                    search.setSplitDepth(splitDepth);
+                    String run = threads + " threads, split depth " + splitDepth;
+                    List<List<Integer>> paths = search.oracleSearch(csr, start, goal, oracle);
+                    assertEquals(expected.size(), paths.size(), run);
+                    assertEquals(new HashSet<>(expected), new HashSet<>(paths), run);
+                    assertEquals(cheapest, Paths.cost(graph, start, goal, search.branchAndBound(csr, start, goal, oracle)), run);
+                }
+            } finally {
+                search.shutdown();
+            }
+        }
+    }
+}
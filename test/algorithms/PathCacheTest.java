@@ -0,0 +1,109 @@
+package algorithms;
+
+import benchmarks.GraphGenerators;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PathCacheTest {
+    @Test
+    void answersARepeatedQueryFromTheCache() {
+        Graph graph = GraphGenerators.grid(8, 10, 1);
+        PathCache cache = new PathCache(new SearchAlgorithms(), 4);
+        AtomicInteger searches = new AtomicInteger();
+        List<Integer> first = cache.get("BFS", graph, 0, 63, 0, search -> {
+            searches.incrementAndGet();
+            return search.bfs(graph, 0, 63);
+        });
+        List<Integer> second = cache.get("BFS", graph, 0, 63, 0, search -> {
+            searches.incrementAndGet();
+            return search.bfs(graph, 0, 63);
+        });
+        assertSame(first, second);
+        assertEquals(1, searches.get());
+        assertEquals(new SearchAlgorithms().bfs(graph, 0, 63), first);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRate());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(1));
+
+        // Other goals, oracle values and algorithm names are other entries
+        assertEquals(List.of(2), cache.get("BFS", graph, 0, 62, 0, search -> List.of(2)));
+        assertEquals(List.of(3), cache.get("BFS", graph, 0, 63, 5, search -> List.of(3)));
+        assertEquals(List.of(4), cache.get("DFS", graph, 0, 63, 0, search -> List.of(4)));
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    void missesAfterTheGraphChanges() {
+        Graph graph = GraphGenerators.grid(4, 10, 1);
+        PathCache cache = new PathCache(new SearchAlgorithms(), 16);
+        Graph snapshot = graph.snapshot();
+        assertEquals(List.of(1), cache.get("A*", snapshot, 0, 15, 0, search -> List.of(1)));
+        assertEquals(List.of(1), cache.get("A*", graph, 0, 15, 0, search -> List.of(9))); // Same version
+        graph.setEdgeWeight(0, 1, 3);
+        assertEquals(List.of(2), cache.get("A*", graph, 0, 15, 0, search -> List.of(2)));
+        graph.setHeuristic(5, 1);
+        assertEquals(List.of(3), cache.get("A*", graph, 0, 15, 0, search -> List.of(3)));
+        graph.addEdge(0, 15, 1);
+        assertEquals(List.of(4), cache.get("A*", graph, 0, 15, 0, search -> List.of(4)));
+        graph.batch().setEdgeWeight(15, 0, 1).publish();
+        assertEquals(List.of(5), cache.get("A*", graph, 0, 15, 0, search -> List.of(5)));
+        assertEquals(List.of(1), cache.get("A*", snapshot, 0, 15, 0, search -> List.of(9))); // The snapshot never changes
+        assertEquals(List.of(6), cache.get("A*", GraphGenerators.grid(4, 10, 1), 0, 15, 0, search -> List.of(6)));
+    }
+
+    @Test
+    void missesAfterASettingChanges() {
+        Graph graph = GraphGenerators.grid(6, 10, 2);
+        SearchAlgorithms searches = new SearchAlgorithms();
+        PathCache cache = new PathCache(searches, 16);
+        List<String> seen = new ArrayList<>();
+        for (int round = 0; round < 2; round++) {
+            for (int beamWidth : new int[]{1, 3}) {
+                for (int nodeBudget : new int[]{10, 1000}) {
+                    for (boolean indexedHeap : new boolean[]{false, true}) {
+                        searches.setBeamWidth(beamWidth);
+                        searches.setNodeBudget(nodeBudget);
+                        searches.setIndexedHeap(indexedHeap);
+                        String settings = beamWidth + "," + nodeBudget + "," + indexedHeap;
+                        assertEquals(settings, cache.get("Beam search", graph, 0, 35, 0, search -> {
+                            seen.add(settings);
+                            return search.getBeamWidth() + "," + search.getNodeBudget() + "," + search.isIndexedHeap();
+                        }));
+                    }
+                }
+            }
+        }
+        assertEquals(8, seen.size()); // Each setting searched once, and found again in the second round
+        assertEquals(8, cache.getHits());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        Graph graph = new Graph();
+        PathCache cache = new PathCache(new SearchAlgorithms(), 2);
+        cache.get("BFS", graph, 0, 1, 0, search -> List.of(1));
+        cache.get("BFS", graph, 0, 2, 0, search -> List.of(2));
+        cache.get("BFS", graph, 0, 1, 0, search -> List.of(9)); // Hit, so goal 2 is now the eldest
+        cache.get("BFS", graph, 0, 3, 0, search -> List.of(3));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertEquals(List.of(1), cache.get("BFS", graph, 0, 1, 0, search -> List.of(9)));
+        assertEquals(List.of(9), cache.get("BFS", graph, 0, 2, 0, search -> List.of(9)));
+
+        assertNull(cache.get("Missing", graph, 0, 4, 0, search -> null));
+        assertNull(cache.get("Missing", graph, 0, 4, 0, search -> List.of(9))); // A null result is cached too
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new PathCache(new SearchAlgorithms(), 0));
+    }
+}
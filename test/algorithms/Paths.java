@@ -0,0 +1,83 @@
+package algorithms;
+
+import model.CsrGraph;
+import model.Graph;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Reference answers for the search tests: path validation and a plain Dijkstra to compare
+// optimal searches against
+final class Paths {
+    static final int UNREACHABLE = -1;
+
+    private Paths() {
+    }
+
+    // Cost of a path, after checking that it runs from start to goal over edges of the graph
+    static int cost(Graph graph, int start, int goal, List<Integer> path) {
+        assertEquals(start, (int) path.get(0), "Wrong start in " + path);
+        assertEquals(goal, (int) path.get(path.size() - 1), "Wrong goal in " + path);
+        int cost = 0;
+        for (int i = 1; i < path.size(); i++) {
+            assertTrue(graph.getNeighbors(path.get(i - 1)).contains(path.get(i)), "No edge in " + path);
+            cost += graph.getEdgeWeight(path.get(i - 1), path.get(i));
+        }
+        return cost;
+    }
+
+    // Cheapest path cost from start to goal, or UNREACHABLE
+    static int shortestCost(CsrGraph graph, int start, int goal) {
+        long[] distance = new long[graph.nodeCount()];
+        Arrays.fill(distance, Long.MAX_VALUE);
+        PriorityQueue<long[]> queue = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        distance[start] = 0;
+        queue.add(new long[]{0, start});
+        while (!queue.isEmpty()) {
+            long[] entry = queue.poll();
+            int node = (int) entry[1];
+            if (entry[0] > distance[node]) {
+                continue;
+            }
+            if (node == goal) {
+                return (int) entry[0];
+            }
+            for (int e = graph.firstEdge(node); e < graph.endEdge(node); e++) {
+                long next = entry[0] + graph.weight(e);
+                if (next < distance[graph.target(e)]) {
+                    distance[graph.target(e)] = next;
+                    queue.add(new long[]{next, graph.target(e)});
+                }
+            }
+        }
+        return UNREACHABLE;
+    }
+
+    // Cheapest path cost from the source to every node, Long.MAX_VALUE where unreachable
+    static long[] costsFrom(CsrGraph graph, int source) {
+        long[] distance = new long[graph.nodeCount()];
+        Arrays.fill(distance, Long.MAX_VALUE);
+        PriorityQueue<long[]> queue = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        distance[source] = 0;
+        queue.add(new long[]{0, source});
+        while (!queue.isEmpty()) {
+            long[] entry = queue.poll();
+            int node = (int) entry[1];
+            if (entry[0] > distance[node]) {
+                continue;
+            }
+            for (int e = graph.firstEdge(node); e < graph.endEdge(node); e++) {
+                long next = entry[0] + graph.weight(e);
+                if (next < distance[graph.target(e)]) {
+                    distance[graph.target(e)] = next;
+                    queue.add(new long[]{next, graph.target(e)});
+                }
+            }
+        }
+        return distance;
+    }
+}
@@ -0,0 +1,378 @@
+package algorithms;
+
+import benchmarks.SearchInput;
+import model.CsrGraph;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the forms of each search on the small and medium benchmark graphs and checks that they
+// return valid paths that agree with each other
+class SearchAlgorithmsTest {
+    @ParameterizedTest
+    @ValueSource(strings = {"grid", "erdos-renyi", "scale-free"})
+    void csrOverloadsReturnTheGraphResults(String shape) {
+        for (String size : new String[]{"small", "medium"}) {
+            SearchInput in = SearchInput.of(shape, size);
+            SearchAlgorithms search = new SearchAlgorithms();
+            assertEquals(search.bfs(in.graph, in.start, in.goal), search.bfs(in.csr, in.start, in.goal));
+            assertEquals(search.dfs(in.graph, in.start, in.goal), search.dfs(in.csr, in.start, in.goal));
+            assertEquals(search.aStarAlgorithm(in.graph, in.start, in.goal, in.heuristics, in.oracle),
+                    search.aStarAlgorithm(in.csr, in.start, in.goal, in.oracle));
+            if (size.equals("small")) { // The list-based branch and bound forms grow too fast for larger graphs
+                assertEquals(search.branchAndBoundWithHeuristics(in.graph, in.start, in.goal, in.heuristics, in.oracle),
+                        search.branchAndBoundWithHeuristics(in.csr, in.start, in.goal, in.oracle));
+                assertEquals(search.branchAndBoundDeadHorse(in.graph, in.start, in.goal, in.heuristics),
+                        search.branchAndBoundDeadHorse(in.csr, in.start, in.goal));
+                assertEquals(search.branchAndBound(in.graph, in.start, in.goal, in.heuristics, in.oracle),
+                        search.branchAndBound(in.csr, in.start, in.goal, in.oracle));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"grid", "erdos-renyi", "scale-free"})
+    void optimalSearchesFindTheCheapestPath(String shape) {
+        for (String size : new String[]{"small", "medium"}) {
+            SearchInput in = SearchInput.of(shape, size);
+            SearchAlgorithms search = new SearchAlgorithms();
+            int cheapest = Paths.shortestCost(in.csr, in.start, in.goal);
+            assertEquals(cheapest, cost(in, search.aStarAlgorithm(in.csr, in.start, in.goal, in.oracle)));
+            assertEquals(cheapest, cost(in, search.branchAndBoundWithHeuristics(in.csr, in.start, in.goal, in.oracle)));
+            assertEquals(cheapest, cost(in, search.smaStar(in.graph, in.start, in.goal, in.heuristics)));
+            assertEquals(cheapest, cost(in, search.smaStar(in.csr, in.start, in.goal)));
+            if (size.equals("small")) { // IDA* re-expands too much on the larger graphs
+                assertEquals(cheapest, cost(in, search.branchAndBoundDeadHorse(in.csr, in.start, in.goal)));
+                assertEquals(cheapest, cost(in, search.idaStar(in.graph, in.start, in.goal, in.heuristics, in.oracle)));
+                assertEquals(cheapest, cost(in, search.idaStar(in.csr, in.start, in.goal, in.oracle, new SearchWorkspace())));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"grid", "erdos-renyi", "scale-free"})
+    void indexedHeapFindsPathsOfTheSameCost(String shape) {
+        for (String size : new String[]{"small", "medium"}) {
+            SearchInput in = SearchInput.of(shape, size);
+            SearchAlgorithms search = new SearchAlgorithms();
+            SearchAlgorithms indexed = new SearchAlgorithms();
+            indexed.setIndexedHeap(true);
+            int cheapest = Paths.shortestCost(in.csr, in.start, in.goal);
+            assertEquals(cheapest, cost(in, indexed.aStarAlgorithm(in.graph, in.start, in.goal, in.heuristics, in.oracle)));
+            assertEquals(cheapest, cost(in, indexed.aStarAlgorithm(in.csr, in.start, in.goal, in.oracle)));
+            assertEquals(cheapest, cost(in, indexed.branchAndBoundWithHeuristics(in.csr, in.start, in.goal, in.oracle)));
+            assertEquals(cheapest, cost(in, indexed.branchAndBound(in.csr, in.start, in.goal, in.oracle).get(0)));
+            assertEquals(cost(in, search.aStarAlgorithm(in.graph, in.start, in.goal, in.heuristics, in.weights, in.oracle)),
+                    cost(in, indexed.aStarAlgorithm(in.graph, in.start, in.goal, in.heuristics, in.weights, in.oracle)));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"grid", "erdos-renyi", "scale-free"})
+    void smaStarFallsBackToCostlierPathsOnATightBudget(String shape) {
+        SearchInput in = SearchInput.of(shape, "small"); // A tight budget re-expands too much on larger graphs
+        SearchAlgorithms search = new SearchAlgorithms();
+        int cheapest = Paths.shortestCost(in.csr, in.start, in.goal);
+        int shortest = search.bfs(in.csr, in.start, in.goal).size();
+        for (int budget : new int[]{2, shortest - 1, shortest, 2 * shortest, 1000}) {
+            if (budget < 2) {
+                continue;
+            }
+            search.setNodeBudget(budget);
+            for (List<Integer> path : List.of(search.smaStar(in.graph, in.start, in.goal, in.heuristics),
+                    search.smaStar(in.csr, in.start, in.goal))) {
+                assertTrue(path.size() <= budget, "budget " + budget); // Every node on the path is in memory
+                if (!path.isEmpty()) {
+                    assertTrue(cost(in, path) >= cheapest);
+                }
+            }
+        }
+        search.setNodeBudget(100000);
+        assertEquals(cheapest, cost(in, search.smaStar(in.csr, in.start, in.goal)));
+        assertThrows(IllegalArgumentException.class, () -> search.setNodeBudget(1));
+        assertEquals(100000, search.getNodeBudget());
+    }
+
+    @Test
+    void smaStarTakesTheCostlierPathThatFitsTheBudget() {
+        Graph graph = new Graph();
+        for (int i = 0; i < 4; i++) { // 0-1-2-3-4 costs 4, 0-4 costs 10
+            graph.addEdge(i, i + 1, 1);
+            graph.setEdgeWeight(i + 1, i, 1);
+        }
+        graph.addEdge(0, 4, 10);
+        graph.setEdgeWeight(4, 0, 10);
+        Map<Integer, Integer> heuristics = Map.of();
+        CsrGraph csr = CsrGraph.from(graph, heuristics);
+        SearchAlgorithms search = new SearchAlgorithms();
+        assertEquals(List.of(0, 1, 2, 3, 4), search.smaStar(graph, 0, 4, heuristics));
+        assertEquals(List.of(0, 1, 2, 3, 4), search.smaStar(csr, 0, 4));
+        search.setNodeBudget(3);
+        assertEquals(List.of(0, 4), search.smaStar(graph, 0, 4, heuristics));
+        assertEquals(List.of(0, 4), search.smaStar(csr, 0, 4));
+        search.setNodeBudget(2);
+        assertEquals(List.of(0, 4), search.smaStar(csr, 0, 4));
+        assertTrue(search.smaStar(csr, 0, 3).isEmpty()); // Every path to 3 needs more than two nodes
+    }
+
+    @Test
+    void memoryBoundedSearchesHandleTrivialAndUnreachableGoals() {
+        Graph graph = new Graph();
+        graph.addEdge(0, 1, 2);
+        graph.setEdgeWeight(1, 0, 2);
+        graph.addEdge(2, 3, 1);
+        graph.setEdgeWeight(3, 2, 1);
+        Map<Integer, Integer> heuristics = Map.of(0, 0, 1, 0, 2, 0, 3, 0);
+        CsrGraph csr = CsrGraph.from(graph, heuristics);
+        SearchAlgorithms search = new SearchAlgorithms();
+        assertEquals(List.of(0), search.smaStar(graph, 0, 0, heuristics));
+        assertEquals(List.of(0), search.smaStar(csr, 0, 0));
+        assertEquals(List.of(0), search.idaStar(graph, 0, 0, heuristics, 10));
+        assertEquals(List.of(0), search.idaStar(csr, 0, 0, 10, new SearchWorkspace()));
+        assertTrue(search.smaStar(graph, 0, 3, heuristics).isEmpty());
+        assertTrue(search.smaStar(csr, 0, 3).isEmpty());
+        assertTrue(search.idaStar(graph, 0, 3, heuristics, 10).isEmpty());
+        assertTrue(search.idaStar(csr, 0, 3, 10, new SearchWorkspace()).isEmpty());
+        assertEquals(List.of(3, 2), search.idaStar(csr, 3, 2, 10, new SearchWorkspace()));
+    }
+
+    @Test
+    void deadHorseSearchesLeaveDeadEndsBehind() {
+        // 0 - 1 - 2 is a cheap dead end; the goal 4 is only reachable through 3
+        Graph graph = new Graph();
+        int[][] edges = {{0, 1, 1}, {1, 2, 1}, {0, 3, 5}, {3, 4, 5}};
+        for (int[] edge : edges) {
+            graph.addEdge(edge[0], edge[1], edge[2]);
+            graph.setEdgeWeight(edge[1], edge[0], edge[2]);
+        }
+        Map<Integer, Integer> heuristics = new HashMap<>();
+        for (int node = 0; node <= 4; node++) {
+            heuristics.put(node, 0);
+        }
+        SearchAlgorithms search = new SearchAlgorithms();
+        List<Integer> expected = Arrays.asList(0, 3, 4);
+        assertEquals(expected, search.branchAndBoundDeadHorse(graph, 0, 4, heuristics));
+        assertEquals(expected, search.branchAndBoundDeadHorse(CsrGraph.from(graph, heuristics), 0, 4));
+        assertEquals(expected, search.aStarAlgorithm(graph, 0, 4, heuristics, 100));
+        assertEquals(expected, search.aStarAlgorithm(CsrGraph.from(graph, heuristics), 0, 4, 100));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"grid", "erdos-renyi", "scale-free"})
+    void bidirectionalSearchesMatchTheOneWaySearches(String shape) {
+        for (String size : new String[]{"small", "medium"}) {
+            SearchInput in = SearchInput.of(shape, size);
+            SearchAlgorithms search = new SearchAlgorithms();
+            List<Integer> path = search.bidirectionalBfs(in.graph, in.start, in.goal);
+            cost(in, path);
+            assertEquals(search.bfs(in.graph, in.start, in.goal).size(), path.size());
+            assertEquals(Paths.shortestCost(in.csr, in.start, in.goal),
+                    cost(in, search.bidirectionalAStar(in.graph, in.start, in.goal, in.heuristics)));
+            assertEquals(Paths.shortestCost(in.csr, in.start, in.goal),
+                    cost(in, search.bidirectionalAStar(in.graph, in.start, in.goal, in.heuristics, in.weights)));
+        }
+    }
+
+    @Test
+    void bidirectionalSearchesHandleTrivialAndUnreachableGoals() {
+        Graph graph = new Graph();
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(2, 3, 2);
+        SearchAlgorithms search = new SearchAlgorithms();
+        assertEquals(Arrays.asList(1), search.bidirectionalBfs(graph, 1, 1));
+        assertEquals(Arrays.asList(1), search.bidirectionalAStar(graph, 1, 1, new HashMap<>()));
+        assertTrue(search.bidirectionalBfs(graph, 0, 3).isEmpty());
+        assertTrue(search.bidirectionalAStar(graph, 0, 3, new HashMap<>()).isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"grid", "erdos-renyi", "scale-free"})
+    void lazyPathsMatchTheRecursiveEnumeration(String shape) {
+        SearchInput in = SearchInput.of(shape, "small");
+        SearchAlgorithms search = new SearchAlgorithms();
+        List<List<Integer>> all = new ArrayList<>();
+        allPaths(in.graph, in.goal, new ArrayList<>(List.of(in.start)), all);
+        assertFalse(all.isEmpty(), in.name);
+        List<Integer> first = all.get(0);
+        assertEquals(all, collect(search.allPathsIterator(in.graph, in.start, in.goal)));
+        assertEquals(all, search.allPathsStream(in.graph, in.start, in.goal).collect(Collectors.toList()));
+        assertEquals(first, search.britishMuseumSearch(in.graph, in.start, in.goal));
+
+        List<List<Integer>> withinOracle = new ArrayList<>();
+        for (List<Integer> path : all) {
+            if (cost(in, path) <= in.oracle) {
+                withinOracle.add(path);
+            }
+        }
+        assertFalse(withinOracle.isEmpty(), in.name);
+        assertTrue(withinOracle.size() < all.size(), in.name);
+        assertEquals(withinOracle, search.oracleSearch(in.graph, in.start, in.goal, in.oracle));
+        assertEquals(withinOracle, search.oracleSearch(in.graph, in.start, in.goal, in.weights, in.oracle));
+        assertEquals(withinOracle, collect(search.oracleSearchIterator(in.graph, in.start, in.goal, in.oracle)));
+        assertEquals(withinOracle, search.oracleSearchStream(in.graph, in.start, in.goal, in.weights, in.oracle)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void lazyPathsStopAtTheLimit() {
+        // 2^40 simple paths end to end, so only a lazy enumeration gets the first few
+        int diamonds = 40;
+        int goal = 3 * diamonds;
+        Graph graph = diamondChain(diamonds);
+        SearchAlgorithms search = new SearchAlgorithms();
+        List<List<Integer>> paths = search.allPathsStream(graph, 0, goal).limit(3).collect(Collectors.toList());
+        assertEquals(3, paths.size());
+        assertEquals(3, new HashSet<>(paths).size());
+        for (List<Integer> path : paths) {
+            assertEquals(2 * diamonds + 1, path.size());
+            Paths.cost(graph, 0, goal, path);
+        }
+        assertEquals(paths.get(0), search.britishMuseumSearch(graph, 0, goal));
+        Iterator<List<Integer>> oracle = search.oracleSearchIterator(graph, 0, goal, 2 * diamonds);
+        assertEquals(2 * diamonds, Paths.cost(graph, 0, goal, oracle.next()));
+    }
+
+    @Test
+    void oraclePathsStayWithinTheOracleValue() {
+        int diamonds = 10;
+        int goal = 3 * diamonds;
+        Graph graph = diamondChain(diamonds);
+        SearchAlgorithms search = new SearchAlgorithms();
+        // The cheapest path, then the 10 that go the long way round once
+        assertEquals(1, search.oracleSearch(graph, 0, goal, 2 * diamonds).size());
+        List<List<Integer>> paths = search.oracleSearchStream(graph, 0, goal, 2 * diamonds + 1).collect(Collectors.toList());
+        assertEquals(diamonds + 1, paths.size());
+        for (List<Integer> path : paths) {
+            assertTrue(Paths.cost(graph, 0, goal, path) <= 2 * diamonds + 1);
+        }
+        assertEquals(1 << diamonds, search.allPathsStream(graph, 0, goal).count());
+    }
+
+    @Test
+    void lazyPathsHandleTrivialAndUnreachableGoals() {
+        Graph graph = new Graph();
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(2, 3, 2);
+        SearchAlgorithms search = new SearchAlgorithms();
+        assertEquals(List.of(List.of(1)), collect(search.allPathsIterator(graph, 1, 1)));
+        assertTrue(search.britishMuseumSearch(graph, 0, 3).isEmpty());
+        Iterator<List<Integer>> none = search.oracleSearchIterator(graph, 0, 3, 100);
+        assertFalse(none.hasNext());
+        assertThrows(NoSuchElementException.class, none::next);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"grid", "erdos-renyi", "scale-free"})
+    void kShortestPathsComeInCostOrder(String shape) {
+        SearchInput in = SearchInput.of(shape, "medium");
+        List<List<Integer>> paths = new SearchAlgorithms().kShortestPaths(in.csr, in.start, in.goal, 20);
+        assertEquals(20, paths.size());
+        assertEquals(Paths.shortestCost(in.csr, in.start, in.goal), cost(in, paths.get(0)));
+        for (int i = 1; i < paths.size(); i++) {
+            assertTrue(cost(in, paths.get(i - 1)) <= cost(in, paths.get(i)), in.name + " path " + i);
+        }
+        for (List<Integer> path : paths) {
+            assertEquals(path.size(), new HashSet<>(path).size(), "Loop in " + path);
+        }
+        assertEquals(paths.size(), new HashSet<>(paths).size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"grid", "erdos-renyi", "scale-free"})
+    void kShortestPathsListEverySimplePathInCostOrder(String shape) {
+        SearchInput in = SearchInput.of(shape, "small");
+        List<List<Integer>> found = new ArrayList<>();
+        allPaths(in.graph, in.goal, new ArrayList<>(List.of(in.start)), found);
+        Set<List<Integer>> all = new HashSet<>(found); // Repeated edges list a path more than once
+        List<Integer> expectedCosts = new ArrayList<>();
+        for (List<Integer> path : all) {
+            expectedCosts.add(cost(in, path));
+        }
+        Collections.sort(expectedCosts);
+
+        SearchAlgorithms search = new SearchAlgorithms();
+        List<List<Integer>> paths = collect(search.kShortestPathsIterator(in.csr, in.start, in.goal));
+        List<Integer> costs = new ArrayList<>();
+        for (List<Integer> path : paths) {
+            costs.add(cost(in, path));
+        }
+        assertEquals(expectedCosts, costs, in.name);
+        assertEquals(all, new HashSet<>(paths), in.name);
+        assertEquals(paths.subList(0, 5), search.kShortestPaths(in.graph, in.start, in.goal, 5));
+        assertEquals(paths.subList(0, 5), search.kShortestPaths(in.graph, in.start, in.goal, in.weights, 5));
+    }
+
+    @Test
+    void kShortestPathsHandleTrivialAndUnreachableGoals() {
+        Graph graph = new Graph();
+        graph.addEdge(0, 1, 2);
+        graph.setEdgeWeight(1, 0, 2);
+        graph.addEdge(2, 3, 2);
+        graph.setEdgeWeight(3, 2, 2);
+        SearchAlgorithms search = new SearchAlgorithms();
+        assertEquals(List.of(List.of(1)), search.kShortestPaths(graph, 1, 1, 3));
+        assertEquals(List.of(List.of(0, 1)), search.kShortestPaths(graph, 0, 1, 3));
+        assertTrue(search.kShortestPaths(graph, 0, 3, 3).isEmpty());
+    }
+
+    private static int cost(SearchInput in, List<Integer> path) {
+        return Paths.cost(in.graph, in.start, in.goal, path);
+    }
+
+    // Nodes 3i and 3i + 3 joined through 3i + 1 at cost 2 and through 3i + 2 at cost 3, with
+    // every edge weighted both ways
+    private static Graph diamondChain(int diamonds) {
+        Graph graph = new Graph();
+        for (int i = 0; i < diamonds; i++) {
+            int from = 3 * i;
+            int to = from + 3;
+            for (int middle = from + 1; middle <= from + 2; middle++) {
+                graph.addEdge(from, middle, 1);
+                graph.setEdgeWeight(middle, from, 1);
+                graph.addEdge(middle, to, middle - from);
+                graph.setEdgeWeight(to, middle, middle - from);
+            }
+        }
+        return graph;
+    }
+
+    // Every simple path in the order of a recursive depth-first search
+    private static void allPaths(Graph graph, int goal, List<Integer> path, List<List<Integer>> paths) {
+        int node = path.get(path.size() - 1);
+        if (node == goal) {
+            paths.add(new ArrayList<>(path));
+            return;
+        }
+        for (int neighbor : graph.getNeighbors(node)) {
+            if (!path.contains(neighbor)) {
+                path.add(neighbor);
+                allPaths(graph, goal, path, paths);
+                path.remove(path.size() - 1);
+            }
+        }
+    }
+
+    private static <T> List<T> collect(Iterator<T> iterator) {
+        List<T> items = new ArrayList<>();
+        iterator.forEachRemaining(items::add);
+        return items;
+    }
+}
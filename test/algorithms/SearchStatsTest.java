@@ -0,0 +1,121 @@
+package algorithms;
+
+import cia2.AlphaBetaPruning;
+import cia2.MinimaxTracer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import model.CsrGraph;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchStatsTest {
+    @Test
+    void listenerGetsTheCountersOfEverySearch() {
+        CsrGraph line = CsrGraph.from(line(4));
+        List<SearchStats> seen = new ArrayList<>();
+        SearchAlgorithms search = new SearchAlgorithms();
+        search.setListener(seen::add);
+
+        search.bfs(line, 0, 3);
+        search.bfs(line, 0, 7);
+        search.setListener(null);
+        search.bfs(line, 0, 3);
+
+        assertEquals(2, seen.size());
+        SearchStats found = seen.get(0);
+        assertEquals("bfs", found.getAlgorithm());
+        assertEquals(0, found.getStart());
+        assertEquals(3, found.getGoal());
+        assertTrue(found.isFound());
+        assertEquals(4, found.getPathLength());
+        assertEquals(3, found.getExpanded()); // The goal is reached before it is expanded
+        assertEquals(3, found.getGenerated());
+        assertEquals(1, found.getMaxFrontier());
+        assertEquals(0, found.getReExpansions());
+        assertTrue(found.getWallTimeNanos() >= 0);
+        SearchStats missed = seen.get(1);
+        assertFalse(missed.isFound());
+        assertEquals(0, missed.getPathLength());
+        assertEquals(4, missed.getExpanded());
+    }
+
+    @Test
+    void oraclePruningsAreCounted() {
+        Graph graph = line(4);
+        List<SearchStats> seen = new ArrayList<>();
+        SearchAlgorithms search = new SearchAlgorithms();
+        search.setListener(seen::add);
+        assertTrue(search.aStarAlgorithm(CsrGraph.from(graph), 0, 3, 2).isEmpty()); // The path costs 3
+        assertEquals(1, seen.get(0).getPrunings());
+    }
+
+    @Test
+    void nobodyListeningDisablesTheCounters() {
+        SearchStats stats = SearchStats.start("bfs", 0, 1, null);
+        assertFalse(stats.isEnabled()); // Holds while no recording enables algorithms.Search
+        assertTrue(SearchStats.start("bfs", 0, 1, s -> { }).isEnabled());
+    }
+
+    @Test
+    void minimaxReportsThroughTheSameListener() {
+        int[] values = {3, 5, 6, 9, 1, 2, 0, -1};
+        List<SearchStats> seen = new ArrayList<>();
+        int value = AlphaBetaPruning.minimax(0, 0, true, values, Integer.MIN_VALUE, Integer.MAX_VALUE, 3,
+                MinimaxTracer.DISABLED, seen::add);
+        assertEquals(5, value);
+        SearchStats stats = seen.get(0);
+        assertEquals("minimax", stats.getAlgorithm());
+        assertEquals(-1, stats.getGoal());
+        assertTrue(stats.isFound());
+        assertTrue(stats.getPrunings() > 0);
+        assertTrue(stats.getExpanded() > 0 && stats.getExpanded() < 7); // Cutoffs skip some of the 7 inner nodes
+        assertEquals(3, stats.getMaxFrontier());
+    }
+
+    @Test
+    void recordingGetsOneEventPerSearch(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("search.jfr");
+        SearchAlgorithms search = new SearchAlgorithms();
+        try (Recording recording = new Recording()) {
+            recording.enable("algorithms.Search");
+            recording.start();
+            search.bfs(CsrGraph.from(line(5)), 0, 4);
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            if (event.getEventType().getName().equals("algorithms.Search")) {
+                events.add(event);
+            }
+        }
+        assertEquals(1, events.size());
+        assertEquals("bfs", events.get(0).getString("algorithm"));
+        assertEquals(5, events.get(0).getInt("pathLength"));
+        assertEquals(4, events.get(0).getLong("expanded"));
+    }
+
+    // 0 - 1 - ... - (nodes - 1), every edge of weight 1
+    private static Graph line(int nodes) {
+        Graph graph = new Graph();
+        for (int node = 1; node < nodes; node++) {
+            graph.addEdge(node - 1, node, 1);
+            graph.setEdgeWeight(node, node - 1, 1);
+        }
+        for (int node = 0; node < nodes; node++) {
+            graph.setHeuristic(node, 0);
+        }
+        return graph;
+    }
+}
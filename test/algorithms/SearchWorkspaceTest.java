@@ -0,0 +1,69 @@
+package algorithms;
+
+import benchmarks.SearchInput;
+import model.CsrGraph;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchWorkspaceTest {
+    @Test
+    void oneWorkspaceServesQueriesOnGraphsOfAnySize() {
+        SearchAlgorithms search = new SearchAlgorithms();
+        SearchWorkspace workspace = new SearchWorkspace();
+        // Alternate between sizes so stale epochs and grown arrays are both exercised
+        for (String size : new String[]{"medium", "small", "medium", "small"}) {
+            for (String shape : SearchInput.SHAPES) {
+                SearchInput in = SearchInput.of(shape, size);
+                int cheapest = Paths.shortestCost(in.csr, in.start, in.goal);
+                assertEquals(search.bfs(in.csr, in.start, in.goal), search.bfs(in.csr, in.start, in.goal, workspace));
+                assertEquals(search.dfs(in.csr, in.start, in.goal), search.dfs(in.csr, in.start, in.goal, workspace));
+                assertEquals(cheapest, cost(in, search.aStarAlgorithm(in.csr, in.start, in.goal, in.oracle, workspace)));
+                assertEquals(cheapest, cost(in, search.branchAndBoundWithHeuristics(in.csr, in.start, in.goal, in.oracle, workspace)));
+                assertEquals(search.beamSearch(in.graph, in.start, in.goal, in.heuristics),
+                        search.beamSearch(in.csr, in.start, in.goal, workspace));
+            }
+        }
+    }
+
+    @Test
+    void equalPrioritiesExpandTheNewestNodeFirst() {
+        // 0 -> 3 directly and 0 -> 1 -> 3 both cost 2. The direct edge is queued first, but the
+        // node for 3 through 1 is newer, so it wins the tie.
+        Graph graph = new Graph();
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(0, 3, 2);
+        graph.addEdge(1, 3, 1);
+        for (int node = 0; node <= 3; node++) {
+            graph.setHeuristic(node, 0);
+        }
+        CsrGraph csr = CsrGraph.from(graph);
+        SearchAlgorithms search = new SearchAlgorithms();
+        SearchWorkspace workspace = new SearchWorkspace();
+        List<Integer> newestFirst = Arrays.asList(0, 1, 3);
+        for (int i = 0; i < 3; i++) { // The order must not depend on what the workspace held before
+            assertEquals(newestFirst, search.aStarAlgorithm(csr, 0, 3, 10, workspace));
+            assertEquals(newestFirst, search.branchAndBoundWithHeuristics(csr, 0, 3, 10, workspace));
+        }
+    }
+
+    @Test
+    void oracleValueBoundsTheWorkspaceSearches() {
+        SearchInput in = SearchInput.of("grid", "small");
+        SearchAlgorithms search = new SearchAlgorithms();
+        SearchWorkspace workspace = new SearchWorkspace();
+        int cheapest = Paths.shortestCost(in.csr, in.start, in.goal);
+        assertTrue(search.aStarAlgorithm(in.csr, in.start, in.goal, cheapest - 1, workspace).isEmpty());
+        assertTrue(search.branchAndBoundWithHeuristics(in.csr, in.start, in.goal, cheapest - 1, workspace).isEmpty());
+        assertEquals(cheapest, cost(in, search.aStarAlgorithm(in.csr, in.start, in.goal, cheapest, workspace)));
+    }
+
+    private static int cost(SearchInput in, List<Integer> path) {
+        return Paths.cost(in.graph, in.start, in.goal, path);
+    }
+}
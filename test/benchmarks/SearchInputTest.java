@@ -0,0 +1,58 @@
+package benchmarks;
+
+import model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The benchmark inputs must be the same on every run, or results from two runs measure
+// different graphs
+class SearchInputTest {
+    @Test
+    void generatorsAreDeterministic() {
+        assertEquals(GraphGenerators.grid(8, 10, 1).getAdjacencyList(), GraphGenerators.grid(8, 10, 1).getAdjacencyList());
+        assertEquals(GraphGenerators.erdosRenyi(200, 400, 10, 7).getAdjacencyList(),
+                GraphGenerators.erdosRenyi(200, 400, 10, 7).getAdjacencyList());
+        assertEquals(GraphGenerators.scaleFree(200, 2, 10, 7).getAdjacencyList(),
+                GraphGenerators.scaleFree(200, 2, 10, 7).getAdjacencyList());
+        Graph a = GraphGenerators.erdosRenyi(200, 400, 10, 7);
+        Graph b = GraphGenerators.erdosRenyi(200, 400, 10, 7);
+        for (Map.Entry<Integer, List<Integer>> entry : a.getAdjacencyList().entrySet()) {
+            for (int dest : entry.getValue()) {
+                assertEquals(a.getEdgeWeight(entry.getKey(), dest), b.getEdgeWeight(entry.getKey(), dest));
+            }
+        }
+    }
+
+    @Test
+    void everyEdgeIsWeightedBothWays() {
+        Graph graph = GraphGenerators.scaleFree(300, 2, 10, 3);
+        for (Map.Entry<Integer, List<Integer>> entry : graph.getAdjacencyList().entrySet()) {
+            for (int dest : entry.getValue()) {
+                assertTrue(graph.getNeighbors(dest).contains(entry.getKey()));
+                int weight = graph.getEdgeWeight(entry.getKey(), dest);
+                assertTrue(weight >= 1 && weight <= 10, "weight " + weight);
+            }
+        }
+    }
+
+    @Test
+    void queriesCrossTheStartComponent() {
+        for (String shape : SearchInput.SHAPES) {
+            SearchInput in = SearchInput.of(shape, "medium");
+            assertFalse(in.start == in.goal, in.name);
+            assertEquals(0, (int) in.heuristics.get(in.goal), in.name);
+            assertTrue(in.oracle > 0, in.name);
+            assertEquals(in.graph.getEdgeWeight(in.start, in.graph.getNeighbors(in.start).get(0)),
+                    (int) in.weights.get(in.start + "," + in.graph.getNeighbors(in.start).get(0)), in.name);
+        }
+        assertThrows(IllegalArgumentException.class, () -> SearchInput.of("grid", "huge"));
+        assertThrows(IllegalArgumentException.class, () -> SearchInput.of("ring", "small"));
+    }
+}
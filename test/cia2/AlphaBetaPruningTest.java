@@ -0,0 +1,107 @@
+package cia2;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AlphaBetaPruningTest {
+    private static final int[] DEMO = {3, 5, 6, 9, 1, 2, 0, -1};
+
+    @Test
+    void findsTheMinimaxValueOfRandomTrees() {
+        Random random = new Random(1);
+        for (int depth = 1; depth <= 10; depth++) {
+            for (int tree = 0; tree < 20; tree++) {
+                int[] values = new int[1 << depth];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = random.nextInt(200) - 100;
+                }
+                int expected = minimax(0, 0, true, values, depth);
+                assertEquals(expected, AlphaBetaPruning.minimax(0, 0, true, values, Integer.MIN_VALUE, Integer.MAX_VALUE, depth));
+                assertEquals(expected, AlphaBetaPruning.minimax(0, 0, true, values, Integer.MIN_VALUE, Integer.MAX_VALUE, depth,
+                        new TraceRecorder()));
+            }
+        }
+    }
+
+    @Test
+    void recorderKeepsTheStepsOfTheSearch() {
+        TraceRecorder recorder = new TraceRecorder();
+        assertEquals(5, AlphaBetaPruning.minimax(0, 0, true, DEMO, Integer.MIN_VALUE, Integer.MAX_VALUE, 3, recorder));
+
+        List<Integer> leaves = new ArrayList<>();
+        List<String> prunings = new ArrayList<>();
+        int enters = 0;
+        int selects = 0;
+        for (int step = 0; step < recorder.size(); step++) {
+            switch (recorder.kind(step)) {
+                case TraceRecorder.ENTER:
+                    enters++;
+                    assertEquals(recorder.depth(step) % 2 == 0, recorder.isMaximizingPlayer(step));
+                    break;
+                case TraceRecorder.LEAF:
+                    assertEquals(3, recorder.depth(step));
+                    assertEquals(DEMO[recorder.nodeIndex(step)], recorder.value(step));
+                    leaves.add(recorder.value(step));
+                    break;
+                case TraceRecorder.PRUNE:
+                    prunings.add(recorder.depth(step) + ":" + recorder.nodeIndex(step));
+                    break;
+                case TraceRecorder.SELECT:
+                    selects++;
+                    break;
+                default:
+                    assertEquals(TraceRecorder.COMPARE, recorder.kind(step));
+            }
+        }
+        // 9, 0 and -1 are cut off: node 1 at depth 2 after its first leaf, node 1 at depth 1 after its first child
+        assertEquals(List.of(3, 5, 6, 1, 2), leaves);
+        assertEquals(List.of("2:1", "1:1"), prunings);
+        assertEquals(enters, selects);
+        int last = recorder.size() - 1;
+        assertEquals(TraceRecorder.SELECT, recorder.kind(last));
+        assertEquals(0, recorder.depth(last));
+        assertEquals(5, recorder.best(last));
+
+        recorder.clear();
+        assertEquals(0, recorder.size());
+    }
+
+    @Test
+    void dumpPrintsWhatThePrintingTracerPrints() {
+        ByteArrayOutputStream direct = new ByteArrayOutputStream();
+        AlphaBetaPruning.minimax(0, 0, true, DEMO, Integer.MIN_VALUE, Integer.MAX_VALUE, 3,
+                MinimaxTracer.printing(new PrintStream(direct, true, StandardCharsets.UTF_8)));
+        TraceRecorder recorder = new TraceRecorder();
+        AlphaBetaPruning.minimax(0, 0, true, DEMO, Integer.MIN_VALUE, Integer.MAX_VALUE, 3, recorder);
+        ByteArrayOutputStream dumped = new ByteArrayOutputStream();
+        recorder.dump(new PrintStream(dumped, true, StandardCharsets.UTF_8));
+
+        String text = direct.toString(StandardCharsets.UTF_8);
+        assertEquals(text, dumped.toString(StandardCharsets.UTF_8));
+        String[] lines = text.split(System.lineSeparator());
+        assertEquals(29, lines.length);
+        assertEquals("Maximizer at depth 0", lines[0]);
+        assertEquals("Leaf node reached at depth 3, returning value: 3", lines[3]);
+        assertEquals("Maximizer at depth 2, comparing value: 3 with best: -2147483648", lines[4]);
+        assertEquals("Pruning at depth 2 as beta <= alpha", lines[12]);
+        assertEquals("Maximizer at depth 0, selected best: 5", lines[28]);
+    }
+
+    // Plain minimax without pruning
+    private static int minimax(int depth, int nodeIndex, boolean maximizing, int[] values, int maxDepth) {
+        if (depth == maxDepth) {
+            return values[nodeIndex];
+        }
+        int left = minimax(depth + 1, nodeIndex * 2, !maximizing, values, maxDepth);
+        int right = minimax(depth + 1, nodeIndex * 2 + 1, !maximizing, values, maxDepth);
+        return maximizing ? Math.max(left, right) : Math.min(left, right);
+    }
+}
@@ -0,0 +1,100 @@
+package cia2;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlphaBetaSearcherTest {
+    @Test
+    void valueMatchesPlainNegamaxAtEveryDepth() {
+        AlphaBetaSearcher searcher = new AlphaBetaSearcher(16); // Shared, so the table carries entries between searches
+        Random random = new Random(8);
+        for (int game = 0; game < 6; game++) {
+            ConnectFour position = randomPosition(random, 4 + 4 * game);
+            for (int depth = 1; depth <= 5; depth++) {
+                long hash = position.hash();
+                AlphaBetaSearcher.Result result = searcher.search(position, depth);
+                int expected = negamax(position, depth);
+                assertEquals(expected, result.getValue(), "depth " + depth + "\n" + position);
+                assertEquals(hash, position.hash()); // The position is restored
+                if (result.getBestMove() >= 0) {
+                    position.makeMove(result.getBestMove());
+                    assertEquals(expected, -negamax(position, depth - 1), "best move of depth " + depth);
+                    position.undoMove(result.getBestMove());
+                }
+            }
+        }
+    }
+
+    @Test
+    void takesAnImmediateWin() {
+        // X has three in column 1 and O must not get to move first
+        ConnectFour position = ConnectFour.of("121212");
+        AlphaBetaSearcher.Result result = new AlphaBetaSearcher(12).search(position, 4);
+        assertEquals(0, result.getBestMove());
+    }
+
+    @Test
+    void timeLimitKeepsTheLastFinishedDepth() {
+        AlphaBetaSearcher.Result result = new AlphaBetaSearcher(16).search(new ConnectFour(), 40, 50);
+        assertTrue(result.getDepth() >= 1 && result.getDepth() < 40, result.toString());
+        assertTrue(result.getBestMove() >= 0 && result.getBestMove() < ConnectFour.WIDTH);
+    }
+
+    @Test
+    void tableKeepsDeeperEntriesFirst() {
+        TranspositionTable table = new TranspositionTable(4);
+        table.newSearch();
+        long deep = 16; // Same slot pair as the shallow keys below
+        table.store(deep, 6, -123, 3, TranspositionTable.LOWER_BOUND);
+        long entry = table.probe(deep);
+        assertEquals(-123, TranspositionTable.value(entry));
+        assertEquals(3, TranspositionTable.move(entry));
+        assertEquals(6, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(entry));
+
+        table.store(32, 2, 7, -1, TranspositionTable.EXACT); // Shallower, so it takes the second slot
+        assertEquals(-1, TranspositionTable.move(table.probe(32)));
+        table.store(48, 2, 9, 0, TranspositionTable.EXACT); // The second slot always takes the newest
+        assertEquals(TranspositionTable.MISS, table.probe(32));
+        assertEquals(6, TranspositionTable.depth(table.probe(deep)));
+
+        table.newSearch(); // Entries of an older search give way to any depth
+        table.store(64, 1, 5, 1, TranspositionTable.UPPER_BOUND);
+        assertEquals(TranspositionTable.MISS, table.probe(deep));
+        assertEquals(5, TranspositionTable.value(table.probe(64)));
+
+        table.clear();
+        assertEquals(TranspositionTable.MISS, table.probe(64));
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+
+    // Full-width negamax with the same leaf evaluation, no pruning or table
+    private static int negamax(GameState state, int depth) {
+        if (depth == 0 || state.isTerminal()) {
+            return state.evaluate();
+        }
+        int[] moves = new int[state.maxMoves()];
+        int count = state.generateMoves(moves);
+        int best = -AlphaBetaSearcher.INFINITY;
+        for (int i = 0; i < count; i++) {
+            state.makeMove(moves[i]);
+            best = Math.max(best, -negamax(state, depth - 1));
+            state.undoMove(moves[i]);
+        }
+        return best;
+    }
+
+    private static ConnectFour randomPosition(Random random, int moves) {
+        ConnectFour position = new ConnectFour();
+        int[] legal = new int[position.maxMoves()];
+        for (int i = 0; i < moves && !position.isTerminal(); i++) {
+            position.makeMove(legal[random.nextInt(position.generateMoves(legal))]);
+        }
+        return position;
+    }
+}
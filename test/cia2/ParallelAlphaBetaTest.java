@@ -0,0 +1,96 @@
+package cia2;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParallelAlphaBetaTest {
+    @Test
+    void valueMatchesMinimaxOnRandomTrees() {
+        Random random = new Random(12);
+        for (int threads : new int[]{1, 2, 4}) {
+            ParallelAlphaBeta search = new ParallelAlphaBeta(threads);
+            try {
+                for (int serialDepth : new int[]{-1, 0, 1, 3}) {
+                    search.setSerialDepth(serialDepth);
+                    for (int depth = 0; depth <= 12; depth++) {
+                        int[] values = randomLeaves(random, 1 << depth);
+                        int expected = AlphaBetaPruning.minimax(0, 0, true, values, Integer.MIN_VALUE, Integer.MAX_VALUE, depth);
+                        String tree = threads + " threads, serial depth " + serialDepth + ", depth " + depth;
+                        assertEquals(expected, search.search(values, 2, depth), tree);
+                        assertEquals(expected, ParallelAlphaBeta.serialSearch(values, 2, depth), tree);
+                    }
+                }
+            } finally {
+                search.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void valueMatchesMinimaxForWiderTrees() {
+        Random random = new Random(13);
+        ParallelAlphaBeta search = new ParallelAlphaBeta(4);
+        search.setSerialDepth(1);
+        try {
+            for (int branchingFactor = 1; branchingFactor <= 6; branchingFactor++) {
+                for (int depth = 0; Math.pow(branchingFactor, depth) <= 50_000 && depth <= 10; depth++) {
+                    int[] values = randomLeaves(random, (int) Math.pow(branchingFactor, depth));
+                    int expected = minimax(values, branchingFactor, depth, 0, 0, true);
+                    String tree = "branching factor " + branchingFactor + ", depth " + depth;
+                    assertEquals(expected, search.search(values, branchingFactor, depth), tree);
+                    assertEquals(expected, ParallelAlphaBeta.serialSearch(values, branchingFactor, depth), tree);
+                }
+            }
+        } finally {
+            search.shutdown();
+        }
+    }
+
+    @Test
+    void leavesAPoolItWasGivenRunning() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ParallelAlphaBeta search = new ParallelAlphaBeta(pool);
+            int[] values = randomLeaves(new Random(14), 1 << 8);
+            assertEquals(ParallelAlphaBeta.serialSearch(values, 2, 8), search.search(values, 2, 8));
+            search.shutdown();
+            assertFalse(pool.isShutdown());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsALeafCountThatDoesNotFitTheTree() {
+        assertThrows(IllegalArgumentException.class, () -> ParallelAlphaBeta.serialSearch(new int[7], 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> ParallelAlphaBeta.serialSearch(new int[1], 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> ParallelAlphaBeta.serialSearch(new int[1], 2, -1));
+    }
+
+    private static int[] randomLeaves(Random random, int count) {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = random.nextInt(200) - 100; // Narrow, so ties between siblings are common
+        }
+        return values;
+    }
+
+    // Minimax with no pruning over the same tree layout
+    private static int minimax(int[] values, int branchingFactor, int maxDepth, int depth, int nodeIndex, boolean maximizing) {
+        if (depth == maxDepth) {
+            return values[nodeIndex];
+        }
+        int best = maximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (int child = 0; child < branchingFactor; child++) {
+            int value = minimax(values, branchingFactor, maxDepth, depth + 1, nodeIndex * branchingFactor + child, !maximizing);
+            best = maximizing ? Math.max(best, value) : Math.min(best, value);
+        }
+        return best;
+    }
+}
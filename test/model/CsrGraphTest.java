@@ -0,0 +1,100 @@
+package model;
+
+import benchmarks.GraphGenerators;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsrGraphTest {
+    @Test
+    void keepsTheEdgesWeightsAndHeuristicsOfTheGraph() {
+        Graph graph = GraphGenerators.scaleFree(200, 2, 10, 1);
+        graph.setHeuristic(7, 3);
+        assertSameGraph(graph, CsrGraph.from(graph));
+    }
+
+    @Test
+    void missingWeightsAndHeuristicsGetTheGraphDefaults() {
+        Graph graph = new Graph();
+        graph.addEdge(0, 2);
+        CsrGraph csr = CsrGraph.from(graph);
+        assertEquals(3, csr.nodeCount());
+        assertTrue(csr.containsNode(1));
+        assertFalse(csr.containsNode(3));
+        assertEquals(0, csr.degree(1));
+        assertEquals(CsrGraph.NO_WEIGHT, csr.weight(csr.firstEdge(0)));
+        assertEquals(CsrGraph.NO_HEURISTIC, csr.heuristic(1));
+    }
+
+    @Test
+    void mappedFileMatchesTheGraphItWasWrittenFrom(@TempDir Path dir) throws IOException {
+        Graph graph = GraphGenerators.grid(12, 10, 3);
+        graph.addEdge(150, 151); // No weight, and nodes above the grid
+        graph.setHeuristic(5, 4);
+        Path file = dir.resolve("grid.csrg");
+        CsrGraph.from(graph).write(file);
+        assertEquals(CsrGraph.fileSize(152, CsrGraph.from(graph).edgeCount()), Files.size(file));
+        assertSameGraph(graph, CsrGraph.map(file));
+    }
+
+    @Test
+    void mapRejectsFilesThatAreNotGraphs(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("graph.csrg");
+        CsrGraph.from(GraphGenerators.grid(4, 10, 1)).write(file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+        assertThrows(IOException.class, () -> CsrGraph.map(file));
+        Files.write(file, "src,dest\n0,1\n".getBytes());
+        assertThrows(IOException.class, () -> CsrGraph.map(file));
+    }
+
+    @Test
+    void reversedTurnsEveryEdgeAround() {
+        Graph graph = GraphGenerators.erdosRenyi(200, 500, 10, 2);
+        graph.setEdgeWeight(1, graph.getNeighbors(1).get(0), 77); // One direction only
+        graph.setHeuristic(3, 5);
+        CsrGraph csr = CsrGraph.from(graph);
+        CsrGraph reversed = csr.reversed();
+        assertEquals(csr.nodeCount(), reversed.nodeCount());
+        assertEquals(csr.edgeCount(), reversed.edgeCount());
+        Map<String, Integer> forward = new HashMap<>();
+        for (int node = 0; node < csr.nodeCount(); node++) {
+            for (int e = csr.firstEdge(node); e < csr.endEdge(node); e++) {
+                forward.merge(node + "," + csr.target(e) + "," + csr.weight(e), 1, Integer::sum);
+            }
+            assertEquals(csr.heuristic(node), reversed.heuristic(node));
+        }
+        Map<String, Integer> backward = new HashMap<>();
+        for (int node = 0; node < reversed.nodeCount(); node++) {
+            for (int e = reversed.firstEdge(node); e < reversed.endEdge(node); e++) {
+                backward.merge(reversed.target(e) + "," + node + "," + reversed.weight(e), 1, Integer::sum);
+            }
+        }
+        assertEquals(forward, backward);
+    }
+
+    static void assertSameGraph(Graph graph, CsrGraph csr) {
+        int edges = 0;
+        for (int node = 0; node < csr.nodeCount(); node++) {
+            assertEquals(graph.getNeighbors(node).size(), csr.degree(node));
+            for (int e = csr.firstEdge(node); e < csr.endEdge(node); e++) {
+                assertEquals(graph.getNeighbors(node).get(e - csr.firstEdge(node)).intValue(), csr.target(e));
+                assertEquals(graph.getEdgeWeight(node, csr.target(e)), csr.weight(e));
+                edges++;
+            }
+            assertEquals(graph.getHeuristic(node), csr.heuristic(node));
+        }
+        assertEquals(edges, csr.edgeCount());
+    }
+}
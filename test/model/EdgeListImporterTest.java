@@ -0,0 +1,116 @@
+package model;
+
+import benchmarks.GraphGenerators;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EdgeListImporterTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void buildsTheGraphThatAddEdgeBuilds() throws IOException {
+        Path edges = write("edges.csv", "src,dest,weight\n"
+                + "# comment\n"
+                + "0,1,4\n"
+                + "\n"
+                + "1;2;6\r\n"
+                + "2\t0\n" // No weight
+                + "0 1 9\n" // The last weight for a pair wins
+                + "3,1,-2\n"
+                + "5,4\n");
+        Path heuristics = write("heuristics.csv", "node,value\n0,7\n7,1\n"); // A node above every edge
+        Path output = dir.resolve("graph.csrg");
+        EdgeListImporter.convert(edges, heuristics, output);
+
+        Graph expected = new Graph();
+        expected.addEdge(0, 1, 4);
+        expected.addEdge(1, 2, 6);
+        expected.addEdge(2, 0);
+        expected.addEdge(0, 1, 9);
+        expected.addEdge(3, 1, -2);
+        expected.addEdge(5, 4);
+        expected.setHeuristic(0, 7);
+        expected.setHeuristic(7, 1);
+        CsrGraph graph = CsrGraph.map(output);
+        assertEquals(8, graph.nodeCount());
+        CsrGraphTest.assertSameGraph(expected, graph);
+    }
+
+    @Test
+    void roundTripsAGeneratedGraph() throws IOException {
+        // One line per direction of every edge, so every pair is also repeated
+        Graph generated = GraphGenerators.scaleFree(500, 2, 10, 5);
+        Graph expected = new Graph();
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<Integer, List<Integer>> entry : generated.getAdjacencyList().entrySet()) {
+            for (int dest : entry.getValue()) {
+                int weight = generated.getEdgeWeight(entry.getKey(), dest);
+                text.append(entry.getKey()).append(',').append(dest).append(',').append(weight).append('\n');
+                expected.addEdge(entry.getKey(), dest, weight);
+            }
+        }
+        Path output = dir.resolve("graph.csrg");
+        EdgeListImporter.convert(write("edges.csv", text.toString()), null, output);
+        CsrGraphTest.assertSameGraph(expected, CsrGraph.map(output));
+    }
+
+    @Test
+    void skipsAByteOrderMark() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}); // An unexpected character before
+        bytes.write("0,1,5\n1,2,7\n".getBytes(StandardCharsets.US_ASCII));
+        Path edges = dir.resolve("bom.csv");
+        Files.write(edges, bytes.toByteArray());
+        Path output = dir.resolve("graph.csrg");
+        EdgeListImporter.convert(edges, null, output);
+
+        Graph expected = new Graph();
+        expected.addEdge(0, 1, 5);
+        expected.addEdge(1, 2, 7);
+        CsrGraphTest.assertSameGraph(expected, CsrGraph.map(output));
+    }
+
+    @Test
+    void highBytesAreErrorsNotTheEndOfTheFile() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write("0,1,5\n".getBytes(StandardCharsets.US_ASCII));
+        bytes.write(0xFF); // Read as -1 before, which ended the file here
+        bytes.write("\n1,2,7\n".getBytes(StandardCharsets.US_ASCII));
+        Path edges = dir.resolve("edges.csv");
+        Files.write(edges, bytes.toByteArray());
+        IOException error = assertThrows(IOException.class, () -> EdgeListImporter.convert(edges, null, dir.resolve("graph.csrg")));
+        assertTrue(error.getMessage().endsWith(":2: unexpected character '\u00ff'"), error.getMessage());
+    }
+
+    @Test
+    void reportsTheLineOfABadEntry() throws IOException {
+        assertError("0,1\n1\n", ":2: expected 2 or 3 fields, got 1");
+        assertError("0,1\n1,2,3,4\n", ":2: expected 2 or 3 fields, got 4");
+        assertError("0,-1\n", ":1: node ids must be non-negative, got -1");
+        assertError("0,1\n1,x\n", ":2: unexpected character 'x'");
+        assertError("0,3000000000\n", ":1: number out of int range");
+    }
+
+    private void assertError(String text, String suffix) throws IOException {
+        Path edges = write("bad.csv", text);
+        IOException error = assertThrows(IOException.class, () -> EdgeListImporter.convert(edges, null, dir.resolve("bad.csrg")));
+        assertTrue(error.getMessage().endsWith(suffix), error.getMessage());
+    }
+
+    private Path write(String name, String text) throws IOException {
+        return Files.write(dir.resolve(name), text.getBytes(StandardCharsets.US_ASCII));
+    }
+}
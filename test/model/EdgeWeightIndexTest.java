@@ -0,0 +1,81 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EdgeWeightIndexTest {
+    @Test
+    void storesEachDirectionSeparately() {
+        EdgeWeightIndex index = new EdgeWeightIndex();
+        index.put(1, 2, 5);
+        index.put(2, 1, 7);
+        index.put(1, 2, 6);
+        assertEquals(6, index.get(1, 2, -1));
+        assertEquals(7, index.get(2, 1, -1));
+        assertEquals(-1, index.get(1, 3, -1));
+        assertFalse(index.contains(3, 1));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void keepsEveryWeightThroughResizes() {
+        EdgeWeightIndex index = new EdgeWeightIndex(2);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 10_000; i++) {
+            int src = random.nextInt(2_000) - 1_000; // Negative ids must not collide with positive ones
+            int dest = random.nextInt(2_000) - 1_000;
+            int weight = random.nextInt(100);
+            index.put(src, dest, weight);
+            expected.put(((long) src << 32) | (dest & 0xFFFFFFFFL), weight);
+        }
+        assertEquals(expected.size(), index.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            int src = (int) (entry.getKey() >> 32);
+            int dest = (int) (long) entry.getKey();
+            assertTrue(index.contains(src, dest));
+            assertEquals((int) entry.getValue(), index.get(src, dest, -1));
+        }
+    }
+
+    @Test
+    void readsTheStringKeyedMaps() {
+        Map<String, Integer> weights = new HashMap<>();
+        weights.put("0,1", 3);
+        weights.put(" 4, 2 ", 9);
+        EdgeWeightIndex index = EdgeWeightIndex.fromMap(weights);
+        assertEquals(3, index.get(0, 1, -1));
+        assertEquals(9, index.get(4, 2, -1));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void copiesDoNotShareStorage() {
+        EdgeWeightIndex index = new EdgeWeightIndex();
+        index.put(0, 1, 3);
+        EdgeWeightIndex copy = index.copy();
+        copy.put(0, 1, 4);
+        copy.put(1, 0, 8);
+        assertEquals(3, index.get(0, 1, -1));
+        assertFalse(index.contains(1, 0));
+        assertEquals(4, copy.get(0, 1, -1));
+    }
+
+    @Test
+    void graphReportsMissingWeightsAsMaxValue() {
+        Graph graph = new Graph();
+        graph.addEdge(0, 1);
+        graph.setEdgeWeight(1, 0, 4);
+        assertFalse(graph.hasEdgeWeight(0, 1));
+        assertEquals(Integer.MAX_VALUE, graph.getEdgeWeight(0, 1));
+        assertEquals(4, graph.getEdgeWeight(1, 0));
+        assertEquals(4, graph.getEdgeWeights().getEdgeWeight(1, 0));
+    }
+}
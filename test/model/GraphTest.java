@@ -0,0 +1,177 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphTest {
+    @Test
+    void addEdgeLinksBothWaysAndWeighsOneDirection() {
+        Graph graph = new Graph();
+        graph.addEdge(1, 2, 5);
+        assertEquals(Collections.singletonList(2), graph.getNeighbors(1));
+        assertEquals(Collections.singletonList(1), graph.getNeighbors(2));
+        assertEquals(5, graph.getEdgeWeight(1, 2));
+        assertFalse(graph.hasEdgeWeight(2, 1));
+        assertEquals(Integer.MAX_VALUE, graph.getEdgeWeight(2, 1));
+    }
+
+    @Test
+    void snapshotStaysAtItsVersion() {
+        Graph graph = new Graph();
+        graph.addEdge(0, 1, 3);
+        graph.setHeuristic(0, 7);
+        Graph snapshot = graph.snapshot();
+        assertSame(snapshot, graph.snapshot()); // Same object until the next write
+
+        graph.addEdge(0, 2, 4);
+        graph.setEdgeWeight(0, 1, 9);
+        graph.setHeuristic(0, 1);
+
+        assertEquals(Collections.singletonList(1), snapshot.getNeighbors(0));
+        assertEquals(3, snapshot.getEdgeWeight(0, 1));
+        assertEquals(7, snapshot.getHeuristic(0));
+        assertEquals(Arrays.asList(1, 2), graph.getNeighbors(0));
+        assertEquals(9, graph.getEdgeWeight(0, 1));
+        assertEquals(graph.getId(), snapshot.getId());
+        assertTrue(snapshot.getVersion() < graph.getVersion());
+    }
+
+    @Test
+    void writesShareTheNodesTheyDoNotTouch() {
+        Graph graph = new Graph();
+        graph.addEdge(0, 1, 3);
+        Graph snapshot = graph.snapshot();
+        graph.addEdge(5, 6, 1);
+        assertSame(snapshot.getNeighbors(0), graph.getNeighbors(0));
+        assertSame(snapshot.getNeighbors(1), graph.getNeighbors(1));
+        assertTrue(snapshot.getNeighbors(5).isEmpty());
+    }
+
+    @Test
+    void readersSeeWholeBatchesWhileAWriterPublishes() throws InterruptedException {
+        // Batch k links node 0 to node k and sets the heuristic of 0 to k, so in every state the
+        // heuristic of 0 is its degree
+        Graph graph = new Graph();
+        graph.setHeuristic(0, 0);
+        int batches = 2_000;
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[3];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                try {
+                    long version = -1;
+                    while (version < batches + 1) {
+                        Graph snapshot = graph.snapshot();
+                        assertTrue(snapshot.getVersion() >= version);
+                        version = snapshot.getVersion();
+                        List<Integer> neighbors = snapshot.getNeighbors(0);
+                        assertEquals(neighbors.size(), snapshot.getHeuristic(0));
+                        for (int i = 0; i < neighbors.size(); i++) {
+                            assertEquals(i + 1, (int) neighbors.get(i));
+                            assertEquals(i + 1, snapshot.getEdgeWeight(0, i + 1));
+                        }
+                        assertEquals(neighbors, snapshot.getNeighbors(0)); // Still the same state
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            readers[r].start();
+        }
+        for (int k = 1; k <= batches; k++) {
+            graph.batch().addEdge(0, k, k).setHeuristic(0, k).publish();
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        assertEquals(batches, graph.getNeighbors(0).size());
+    }
+
+    @Test
+    void snapshotRejectsWrites() {
+        Graph snapshot = new Graph().snapshot();
+        assertTrue(snapshot.isSnapshot());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.addEdge(0, 1));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.setHeuristic(0, 1));
+        assertThrows(UnsupportedOperationException.class, snapshot::batch);
+    }
+
+    @Test
+    void batchPublishesOneVersion() {
+        Graph graph = new Graph();
+        long before = graph.getVersion();
+        GraphBatch batch = graph.batch();
+        batch.addEdge(0, 1, 2).addEdge(1, 2, 3).setHeuristic(2, 0);
+        assertTrue(graph.getNeighbors(0).isEmpty()); // Nothing is visible before publish
+        batch.publish();
+        assertEquals(before + 1, graph.getVersion());
+        assertEquals(Arrays.asList(0, 2), graph.getNeighbors(1));
+        assertEquals(0, graph.getHeuristic(2));
+    }
+
+    @Test
+    void viewsAreReadOnly() {
+        Graph graph = new Graph();
+        graph.addEdge(0, 1);
+        graph.setHeuristic(0, 1);
+        assertThrows(UnsupportedOperationException.class, () -> graph.getAdjacencyList().put(5, new ArrayList<>()));
+        assertThrows(UnsupportedOperationException.class, () -> graph.getHeuristics().put(5, 1));
+        assertThrows(UnsupportedOperationException.class, () -> graph.getNeighbors(0).add(3));
+    }
+
+    @Test
+    void viewsMatchTheEditsForAnyNodeId() {
+        Graph graph = new Graph();
+        int[] ids = {0, 31, 32, 1_024, -1, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        for (int i = 1; i < ids.length; i++) {
+            graph.addEdge(ids[i - 1], ids[i], i);
+            graph.setHeuristic(ids[i], i);
+        }
+        assertEquals(ids.length, graph.getAdjacencyList().size());
+        assertEquals(ids.length - 1, graph.getHeuristics().size());
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(graph.getAdjacencyList().get(ids[i]).contains(ids[i - 1]));
+            assertEquals(i, graph.getEdgeWeight(ids[i - 1], ids[i]));
+            assertEquals(i, (int) graph.getHeuristics().get(ids[i]));
+        }
+        assertFalse(graph.getHeuristics().containsKey(0));
+    }
+
+    @Test
+    void listenersSeeEveryEditInOrder() {
+        Graph graph = new Graph();
+        List<String> seen = new ArrayList<>();
+        graph.addListener(new GraphListener() {
+            @Override
+            public void edgeAdded(int src, int dest) {
+                seen.add("edge " + src + "," + dest);
+            }
+
+            @Override
+            public void edgeWeightChanged(int src, int dest) {
+                seen.add("weight " + src + "," + dest);
+            }
+
+            @Override
+            public void heuristicChanged(int node) {
+                seen.add("heuristic " + node);
+            }
+        });
+        graph.batch().addEdge(0, 1).setEdgeWeight(1, 0, 4).setHeuristic(1, 2).publish();
+        assertEquals(Arrays.asList("edge 0,1", "weight 1,0", "heuristic 1"), seen);
+    }
+}